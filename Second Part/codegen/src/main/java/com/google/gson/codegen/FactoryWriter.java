@@ -0,0 +1,427 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.codegen;
+
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.annotations.Since;
+import com.google.gson.annotations.Until;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.Types;
+
+/**
+ * Writes the source code of the {@link com.google.gson.GeneratedTypeAdapterFactory} for
+ * one class. Types are always written with their qualified names, so the generated code
+ * only imports Gson classes.
+ */
+final class FactoryWriter {
+  /** A field of the class or of one of its superclasses */
+  static final class BoundField {
+    final VariableElement field;
+    /** The class declaring the field, as supertype of the class */
+    final DeclaredType declaringType;
+    /** The type of the field, as member of the class */
+    final TypeMirror type;
+
+    BoundField(VariableElement field, DeclaredType declaringType, TypeMirror type) {
+      this.field = field;
+      this.declaringType = declaringType;
+      this.type = type;
+    }
+  }
+
+  private final Types types;
+  private final TypeElement type;
+  private final List<BoundField> fields;
+  private final String packageName;
+  private final String factorySimpleName;
+  private final StringBuilder out = new StringBuilder();
+
+  FactoryWriter(ProcessingEnvironment processingEnv, TypeElement type, List<BoundField> fields) {
+    this.types = processingEnv.getTypeUtils();
+    this.type = type;
+    this.fields = fields;
+    this.packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+
+    StringBuilder simpleName = new StringBuilder();
+    for (Element e = type; e.getKind().isClass() || e.getKind().isInterface(); e = e.getEnclosingElement()) {
+      simpleName.insert(0, simpleName.length() == 0 ? "" : "_").insert(0, e.getSimpleName());
+    }
+    this.factorySimpleName = simpleName + GenerateTypeAdapterProcessor.FACTORY_SUFFIX;
+  }
+
+  /** Returns the qualified name of the generated factory. */
+  String getFactoryName() {
+    return packageName.isEmpty() ? factorySimpleName : packageName + "." + factorySimpleName;
+  }
+
+  /** Returns the source code of the generated factory. */
+  String write() {
+    String className = type.getQualifiedName().toString();
+
+    line(0, "// Generated by the Gson annotation processor; do not edit.");
+    if (!packageName.isEmpty()) {
+      line(0, "package " + packageName + ";");
+    }
+    line(0, "");
+    line(0, "import com.google.gson.GeneratedTypeAdapterFactory;");
+    line(0, "import com.google.gson.JsonSyntaxException;");
+    line(0, "import com.google.gson.TypeAdapter;");
+    line(0, "import com.google.gson.reflect.TypeToken;");
+    line(0, "import com.google.gson.stream.JsonReader;");
+    line(0, "import com.google.gson.stream.JsonToken;");
+    line(0, "import com.google.gson.stream.JsonWriter;");
+    line(0, "import com.google.gson.stream.PreparedName;");
+    line(0, "import java.io.IOException;");
+    line(0, "");
+    line(0, "public final class " + factorySimpleName + " extends GeneratedTypeAdapterFactory {");
+    line(1, "public " + factorySimpleName + "() {");
+    line(2, "super(" + className + ".class);");
+    line(1, "}");
+    line(0, "");
+    line(1, "@Override");
+    line(1, "protected void addFields(Fields fields) {");
+    for (BoundField field : fields) {
+      writeAddField(field);
+    }
+    line(1, "}");
+    line(0, "");
+    line(1, "@Override");
+    line(1, "protected TypeAdapter<?> createAdapter(Fields fields) {");
+    line(2, "return new Adapter(fields);");
+    line(1, "}");
+    line(0, "");
+    line(1, "private static final class Adapter extends TypeAdapter<" + className + "> {");
+    line(2, "private final Fields fields;");
+    for (int i = 0; i < fields.size(); i++) {
+      String boxedType = boxedTypeName(fields.get(i).type);
+      line(2, "private final PreparedName name" + i + ";");
+      line(2, "private final TypeAdapter<" + boxedType + "> read" + i + ";");
+      line(2, "private final TypeAdapter<" + boxedType + "> write" + i + ";");
+    }
+    line(0, "");
+    line(2, "Adapter(Fields fields) {");
+    line(3, "this.fields = fields;");
+    for (int i = 0; i < fields.size(); i++) {
+      writeInitAdapters(i, fields.get(i));
+    }
+    line(2, "}");
+    line(0, "");
+    writeWrite(className);
+    line(0, "");
+    writeRead(className);
+    line(1, "}");
+    line(0, "}");
+    return out.toString();
+  }
+
+  private void writeAddField(BoundField field) {
+    VariableElement element = field.field;
+    SerializedName serializedName = element.getAnnotation(SerializedName.class);
+    Since since = element.getAnnotation(Since.class);
+    Until until = element.getAnnotation(Until.class);
+    Expose expose = element.getAnnotation(Expose.class);
+
+    StringBuilder alternates = new StringBuilder("new String[] {");
+    if (serializedName != null) {
+      String[] names = serializedName.alternate();
+      for (int i = 0; i < names.length; i++) {
+        alternates.append(i == 0 ? "" : ", ").append(stringLiteral(names[i]));
+      }
+    }
+    alternates.append('}');
+
+    line(2, "fields.add("
+        + erasedTypeName(field.declaringType) + ".class, "
+        + stringLiteral(element.getSimpleName().toString()) + ", "
+        + "0x" + Integer.toHexString(modifiers(element.getModifiers())) + ", "
+        + (serializedName != null ? stringLiteral(serializedName.value()) : "null") + ", "
+        + alternates + ", "
+        + (since != null ? doubleLiteral(since.value()) : "NO_SINCE") + ", "
+        + (until != null ? doubleLiteral(until.value()) : "NO_UNTIL") + ", "
+        + (expose != null && expose.serialize()) + ", "
+        + (expose != null && expose.deserialize()) + ", "
+        + typeName(types.erasure(field.type)) + ".class);");
+  }
+
+  private void writeInitAdapters(int i, BoundField field) {
+    String boxedType = boxedTypeName(field.type);
+    line(3, "name" + i + " = fields.getSerializedName(" + i + ");");
+    line(3, "if (fields.isIncluded(" + i + ")) {");
+    line(4, "TypeToken<" + boxedType + "> type = " + typeTokenExpression(field.type) + ";");
+    AnnotationMirror jsonAdapter = getJsonAdapter(field.field);
+    if (jsonAdapter == null) {
+      line(4, "read" + i + " = fields.getAdapter(type);");
+      line(4, "write" + i + " = fields.getWriteAdapter(read" + i + ", type);");
+    } else {
+      TypeMirror adapterType = null;
+      boolean nullSafe = true;
+      for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+          : jsonAdapter.getElementValues().entrySet()) {
+        String name = entry.getKey().getSimpleName().toString();
+        if (name.equals("value")) {
+          adapterType = (TypeMirror) entry.getValue().getValue();
+        } else if (name.equals("nullSafe")) {
+          nullSafe = (Boolean) entry.getValue().getValue();
+        }
+      }
+      line(4, "TypeAdapter<" + boxedType + "> jsonAdapter = fields.getJsonAdapter(new "
+          + erasedTypeName(adapterType) + "(), type, " + nullSafe + ");");
+      // Like the reflective adapter, fall back to the default adapter if a factory returns null
+      line(4, "read" + i + " = jsonAdapter != null ? jsonAdapter : fields.getAdapter(type);");
+      line(4, "write" + i + " = jsonAdapter != null ? jsonAdapter : fields.getWriteAdapter(read" + i + ", type);");
+    }
+    line(3, "} else {");
+    line(4, "read" + i + " = null;");
+    line(4, "write" + i + " = null;");
+    line(3, "}");
+  }
+
+  private void writeWrite(String className) {
+    line(2, "@Override");
+    line(2, "public void write(JsonWriter out, " + className + " value) throws IOException {");
+    line(3, "if (value == null) {");
+    line(4, "out.nullValue();");
+    line(4, "return;");
+    line(3, "}");
+    line(3, "out.beginObject();");
+    for (int i = 0; i < fields.size(); i++) {
+      BoundField field = fields.get(i);
+      line(3, "if (name" + i + " != null) {");
+      line(4, typeName(field.type) + " fieldValue = " + fieldAccess(field) + ";");
+      if (field.type.getKind().isPrimitive()) {
+        line(4, "out.preparedName(name" + i + ");");
+        line(4, "write" + i + ".write(out, fieldValue);");
+      } else {
+        // Like the reflective adapter, avoid direct recursion
+        line(4, "if ((Object) fieldValue != value) {");
+        line(5, "out.preparedName(name" + i + ");");
+        line(5, "write" + i + ".write(out, fieldValue);");
+        line(4, "}");
+      }
+      line(3, "}");
+    }
+    line(3, "out.endObject();");
+    line(2, "}");
+  }
+
+  private void writeRead(String className) {
+    line(2, "@Override");
+    line(2, "public " + className + " read(JsonReader in) throws IOException {");
+    line(3, "if (in.peek() == JsonToken.NULL) {");
+    line(4, "in.nextNull();");
+    line(4, "return null;");
+    line(3, "}");
+    line(3, className + " value = new " + className + "();");
+    line(3, "try {");
+    line(4, "in.beginObject();");
+    line(4, "int expected = 0;");
+    line(4, "while (in.hasNext()) {");
+    line(5, "int field = fields.nextField(in, expected);");
+    line(5, "switch (field) {");
+    for (int i = 0; i < fields.size(); i++) {
+      BoundField field = fields.get(i);
+      line(6, "case " + i + ": {");
+      if (field.type.getKind().isPrimitive()) {
+        // Like the reflective adapter, keep the default value for JSON null
+        line(7, boxedTypeName(field.type) + " fieldValue = read" + i + ".read(in);");
+        line(7, "if (fieldValue != null) {");
+        line(8, fieldAccess(field) + " = fieldValue;");
+        line(7, "}");
+      } else {
+        line(7, fieldAccess(field) + " = read" + i + ".read(in);");
+      }
+      line(7, "expected = " + (i + 1) + ";");
+      line(7, "break;");
+      line(6, "}");
+    }
+    line(6, "default:");
+    line(7, "in.skipValue();");
+    line(5, "}");
+    line(4, "}");
+    line(3, "} catch (IllegalStateException e) {");
+    line(4, "throw new JsonSyntaxException(e);");
+    line(3, "}");
+    line(3, "in.endObject();");
+    line(3, "return value;");
+    line(2, "}");
+  }
+
+  private String fieldAccess(BoundField field) {
+    String name = field.field.getSimpleName().toString();
+    if (field.declaringType.asElement().equals(type)) {
+      return "value." + name;
+    }
+    // Cast to the superclass, the field might be hidden by a field of a subclass
+    return "((" + typeName(field.declaringType) + ") value)." + name;
+  }
+
+  private static AnnotationMirror getJsonAdapter(VariableElement field) {
+    for (AnnotationMirror annotation : field.getAnnotationMirrors()) {
+      TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+      if (annotationType.getQualifiedName().contentEquals("com.google.gson.annotations.JsonAdapter")) {
+        return annotation;
+      }
+    }
+    return null;
+  }
+
+  /** Returns the {@link java.lang.reflect.Modifier} flags for {@code modifiers}. */
+  private static int modifiers(Set<Modifier> modifiers) {
+    int result = 0;
+    for (Modifier modifier : modifiers) {
+      switch (modifier) {
+        case PUBLIC:
+          result |= java.lang.reflect.Modifier.PUBLIC;
+          break;
+        case PROTECTED:
+          result |= java.lang.reflect.Modifier.PROTECTED;
+          break;
+        case PRIVATE:
+          result |= java.lang.reflect.Modifier.PRIVATE;
+          break;
+        case STATIC:
+          result |= java.lang.reflect.Modifier.STATIC;
+          break;
+        case FINAL:
+          result |= java.lang.reflect.Modifier.FINAL;
+          break;
+        case TRANSIENT:
+          result |= java.lang.reflect.Modifier.TRANSIENT;
+          break;
+        case VOLATILE:
+          result |= java.lang.reflect.Modifier.VOLATILE;
+          break;
+        default:
+          break;
+      }
+    }
+    return result;
+  }
+
+  /** Returns an expression creating the {@code TypeToken} of {@code type}. */
+  private String typeTokenExpression(TypeMirror type) {
+    TypeMirror component = type;
+    while (component.getKind() == TypeKind.ARRAY) {
+      component = ((ArrayType) component).getComponentType();
+    }
+    if (component.getKind().isPrimitive()
+        || ((DeclaredType) component).getTypeArguments().isEmpty()) {
+      return "TypeToken.get(" + typeName(type) + ".class)";
+    }
+    return "new TypeToken<" + typeName(type) + ">() {}";
+  }
+
+  private String boxedTypeName(TypeMirror type) {
+    if (type.getKind().isPrimitive()) {
+      return types.boxedClass((PrimitiveType) type).getQualifiedName().toString();
+    }
+    return typeName(type);
+  }
+
+  private static String erasedTypeName(TypeMirror type) {
+    return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+  }
+
+  /** Returns the source code for {@code type}, without type annotations. */
+  private static String typeName(TypeMirror type) {
+    switch (type.getKind()) {
+      case ARRAY:
+        return typeName(((ArrayType) type).getComponentType()) + "[]";
+      case DECLARED:
+        StringBuilder result = new StringBuilder(erasedTypeName(type));
+        List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+        if (!arguments.isEmpty()) {
+          result.append('<');
+          for (int i = 0; i < arguments.size(); i++) {
+            result.append(i == 0 ? "" : ", ").append(typeName(arguments.get(i)));
+          }
+          result.append('>');
+        }
+        return result.toString();
+      case WILDCARD:
+        WildcardType wildcard = (WildcardType) type;
+        if (wildcard.getExtendsBound() != null) {
+          return "? extends " + typeName(wildcard.getExtendsBound());
+        } else if (wildcard.getSuperBound() != null) {
+          return "? super " + typeName(wildcard.getSuperBound());
+        }
+        return "?";
+      default:
+        // Primitive types
+        return type.getKind().name().toLowerCase(Locale.ROOT);
+    }
+  }
+
+  static String stringLiteral(String s) {
+    StringBuilder result = new StringBuilder("\"");
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      switch (c) {
+        case '"':
+          result.append("\\\"");
+          break;
+        case '\\':
+          result.append("\\\\");
+          break;
+        default:
+          if (c < 0x20 || c > 0x7e) {
+            result.append(String.format("\\u%04x", (int) c));
+          } else {
+            result.append(c);
+          }
+      }
+    }
+    return result.append('"').toString();
+  }
+
+  private static String doubleLiteral(double value) {
+    if (Double.isNaN(value)) {
+      return "Double.NaN";
+    } else if (Double.isInfinite(value)) {
+      return value > 0 ? "Double.POSITIVE_INFINITY" : "Double.NEGATIVE_INFINITY";
+    }
+    return Double.toString(value);
+  }
+
+  private void line(int indent, String line) {
+    if (!line.isEmpty()) {
+      for (int i = 0; i < indent; i++) {
+        out.append("  ");
+      }
+      out.append(line);
+    }
+    out.append('\n');
+  }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.codegen;
+
+import com.google.gson.annotations.GenerateTypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor which generates a {@link com.google.gson.GeneratedTypeAdapterFactory}
+ * for each class annotated with {@link GenerateTypeAdapter}, and registers the generated
+ * factories in {@code META-INF/services} so that {@link com.google.gson.Gson} discovers them.
+ *
+ * <p>The factory for a class {@code com.example.Outer.Inner} is named
+ * {@code com.example.Outer_Inner_GsonTypeAdapterFactory}. Classes which do not meet the
+ * requirements described by {@code GenerateTypeAdapter} are reported as compilation errors.
+ */
+@SupportedAnnotationTypes("com.google.gson.annotations.GenerateTypeAdapter")
+public final class GenerateTypeAdapterProcessor extends AbstractProcessor {
+  static final String FACTORY_SUFFIX = "_GsonTypeAdapterFactory";
+  private static final String SERVICE_FILE =
+      "META-INF/services/com.google.gson.GeneratedTypeAdapterFactory";
+
+  /** Names of the factories generated in all rounds */
+  private final Set<String> factoryNames = new TreeSet<>();
+  private final List<Element> originatingElements = new ArrayList<>();
+
+  @Override public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    for (Element element : roundEnv.getElementsAnnotatedWith(GenerateTypeAdapter.class)) {
+      TypeElement type = (TypeElement) element;
+      List<FactoryWriter.BoundField> fields = getFields(type);
+      if (fields == null) {
+        continue;
+      }
+      FactoryWriter writer = new FactoryWriter(processingEnv, type, fields);
+      try {
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(writer.getFactoryName(), type);
+        try (Writer out = file.openWriter()) {
+          out.write(writer.write());
+        }
+      } catch (IOException e) {
+        error(type, "Failed writing type adapter factory: " + e);
+        continue;
+      }
+      factoryNames.add(writer.getFactoryName());
+      originatingElements.add(type);
+    }
+
+    if (roundEnv.processingOver() && !factoryNames.isEmpty()) {
+      writeServiceFile();
+    }
+    return false;
+  }
+
+  /**
+   * Returns the fields of {@code type} and its superclasses, or null after reporting an error
+   * if the class is not supported.
+   */
+  private List<FactoryWriter.BoundField> getFields(TypeElement type) {
+    Elements elements = processingEnv.getElementUtils();
+    Types types = processingEnv.getTypeUtils();
+
+    if (type.getKind() != ElementKind.CLASS) {
+      error(type, "@GenerateTypeAdapter is only supported for classes");
+      return null;
+    }
+    if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+      error(type, "@GenerateTypeAdapter is not supported for abstract classes");
+      return null;
+    }
+    if (!type.getTypeParameters().isEmpty()) {
+      error(type, "@GenerateTypeAdapter is not supported for generic classes");
+      return null;
+    }
+    NestingKind nesting = type.getNestingKind();
+    if (nesting == NestingKind.LOCAL || nesting == NestingKind.ANONYMOUS
+        || (nesting == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)
+            && !type.getEnclosingElement().getKind().isInterface())) {
+      error(type, "@GenerateTypeAdapter is only supported for top-level and static nested classes");
+      return null;
+    }
+    for (Element e = type; e.getKind().isClass() || e.getKind().isInterface(); e = e.getEnclosingElement()) {
+      if (e.getModifiers().contains(Modifier.PRIVATE)) {
+        error(type, "@GenerateTypeAdapter is not supported for private classes");
+        return null;
+      }
+    }
+    if (type.getAnnotation(JsonAdapter.class) != null) {
+      error(type, "@GenerateTypeAdapter cannot be combined with @JsonAdapter");
+      return null;
+    }
+    for (String collectionType : new String[] {"java.util.Collection", "java.util.Map"}) {
+      TypeMirror erasure = types.erasure(elements.getTypeElement(collectionType).asType());
+      if (types.isAssignable(type.asType(), erasure)) {
+        error(type, "@GenerateTypeAdapter is not supported for implementations of " + collectionType);
+        return null;
+      }
+    }
+    if (!hasNoArgsConstructor(type)) {
+      error(type, "@GenerateTypeAdapter requires a non-private constructor without parameters");
+      return null;
+    }
+
+    String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+    DeclaredType declaredType = (DeclaredType) type.asType();
+    List<FactoryWriter.BoundField> result = new ArrayList<>();
+    boolean valid = true;
+    // Like the reflective adapter, start with the fields of the class itself
+    for (DeclaredType current = declaredType; current != null; current = getSuperclass(current)) {
+      TypeElement currentElement = (TypeElement) current.asElement();
+      boolean samePackage = elements.getPackageOf(currentElement).getQualifiedName().contentEquals(packageName);
+      for (VariableElement field : ElementFilter.fieldsIn(currentElement.getEnclosedElements())) {
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+          continue;
+        }
+        if (modifiers.contains(Modifier.PRIVATE)
+            || (!samePackage && !(modifiers.contains(Modifier.PUBLIC)
+                && currentElement.getModifiers().contains(Modifier.PUBLIC)))) {
+          error(field, "Field " + field.getSimpleName() + " is not accessible from the generated type"
+              + " adapter of " + type.getQualifiedName() + "; increase its visibility or make it transient");
+          valid = false;
+          continue;
+        }
+        if (modifiers.contains(Modifier.FINAL)) {
+          error(field, "Final field " + field.getSimpleName() + " cannot be set by the generated type"
+              + " adapter of " + type.getQualifiedName() + "; remove the modifier or make it transient");
+          valid = false;
+          continue;
+        }
+        TypeMirror fieldType = types.asMemberOf(declaredType, field);
+        if (!isSupportedType(fieldType)) {
+          error(field, "Type " + fieldType + " of field " + field.getSimpleName()
+              + " is not supported by @GenerateTypeAdapter");
+          valid = false;
+          continue;
+        }
+        result.add(new FactoryWriter.BoundField(field, current, fieldType));
+      }
+    }
+    return valid ? result : null;
+  }
+
+  private static boolean hasNoArgsConstructor(TypeElement type) {
+    for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+      if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Returns the superclass of {@code type}, or null if it is {@code Object}. */
+  private DeclaredType getSuperclass(DeclaredType type) {
+    for (TypeMirror supertype : processingEnv.getTypeUtils().directSupertypes(type)) {
+      if (supertype.getKind() == TypeKind.DECLARED) {
+        DeclaredType declared = (DeclaredType) supertype;
+        TypeElement element = (TypeElement) declared.asElement();
+        if (element.getKind() == ElementKind.CLASS) {
+          return element.getQualifiedName().contentEquals("java.lang.Object") ? null : declared;
+        }
+      }
+    }
+    return null;
+  }
+
+  /** Returns true if the generated code can refer to {@code type} in source code. */
+  private static boolean isSupportedType(TypeMirror type) {
+    switch (type.getKind()) {
+      case BOOLEAN:
+      case BYTE:
+      case SHORT:
+      case INT:
+      case LONG:
+      case CHAR:
+      case FLOAT:
+      case DOUBLE:
+        return true;
+      case ARRAY:
+        return isSupportedType(((ArrayType) type).getComponentType());
+      case DECLARED:
+        for (TypeMirror argument : ((DeclaredType) type).getTypeArguments()) {
+          if (!isSupportedType(argument)) {
+            return false;
+          }
+        }
+        return true;
+      case WILDCARD:
+        WildcardType wildcard = (WildcardType) type;
+        return (wildcard.getExtendsBound() == null || isSupportedType(wildcard.getExtendsBound()))
+            && (wildcard.getSuperBound() == null || isSupportedType(wildcard.getSuperBound()));
+      default:
+        return false;
+    }
+  }
+
+  private void writeServiceFile() {
+    Set<String> entries = new TreeSet<>(factoryNames);
+    // Keep the entries of a previous compilation, for example by an incremental build
+    try {
+      FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+      try (BufferedReader reader = new BufferedReader(
+          new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          line = line.trim();
+          if (!line.isEmpty() && !line.startsWith("#") && isExistingFactory(line)) {
+            entries.add(line);
+          }
+        }
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      // There is no previous file, or the Filer does not support reading it
+    }
+
+    try {
+      FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+          SERVICE_FILE, originatingElements.toArray(new Element[0]));
+      try (Writer out = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+        for (String entry : entries) {
+          out.write(entry);
+          out.write('\n');
+        }
+      }
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+          "Failed writing " + SERVICE_FILE + ": " + e);
+    }
+  }
+
+  /**
+   * Returns true if the factory {@code name} of a previous compilation still exists and its
+   * class is still annotated with {@link GenerateTypeAdapter}; otherwise its service entry is
+   * stale and would make the {@code ServiceLoader} lookup fail.
+   */
+  private boolean isExistingFactory(String name) {
+    TypeElement factory = processingEnv.getElementUtils().getTypeElement(name);
+    if (factory == null) {
+      return false;
+    }
+    // The generated factory has a nested class `Adapter extends TypeAdapter<AnnotatedClass>`
+    for (TypeElement nested : ElementFilter.typesIn(factory.getEnclosedElements())) {
+      TypeMirror superclass = nested.getSuperclass();
+      if (!nested.getSimpleName().contentEquals("Adapter") || superclass.getKind() != TypeKind.DECLARED) {
+        continue;
+      }
+      List<? extends TypeMirror> arguments = ((DeclaredType) superclass).getTypeArguments();
+      if (arguments.size() == 1 && arguments.get(0).getKind() == TypeKind.DECLARED) {
+        Element type = ((DeclaredType) arguments.get(0)).asElement();
+        return type.getAnnotation(GenerateTypeAdapter.class) != null;
+      }
+    }
+    return false;
+  }
+
+  private void error(Element element, String message) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+  }
+}
@@ -0,0 +1,401 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.codegen;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.FieldNamingStrategy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GenerateTypeAdapterProcessorTest {
+  private Path tempDir;
+  private int folders;
+
+  @Before
+  public void setUp() throws IOException {
+    tempDir = Files.createTempDirectory("gson");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.walkFileTree(tempDir, new SimpleFileVisitor<Path>() {
+      @Override public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+        Files.delete(file);
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+        Files.delete(dir);
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
+  private File newFolder() throws IOException {
+    return Files.createDirectory(tempDir.resolve(Integer.toString(folders++))).toFile();
+  }
+
+  private static final String BASE = "package test;\n"
+      + "public class Base {\n"
+      + "  public int baseValue;\n"
+      + "  public String name;\n"
+      + "}\n";
+
+  private static final String GENERIC_BASE = "package test;\n"
+      + "public class GenericBase<T> {\n"
+      + "  public T generic;\n"
+      + "}\n";
+
+  private static final String UPPER_CASE_ADAPTER = "package test;\n"
+      + "import com.google.gson.TypeAdapter;\n"
+      + "import com.google.gson.stream.*;\n"
+      + "import java.io.IOException;\n"
+      + "public class UpperCaseAdapter extends TypeAdapter<String> {\n"
+      + "  @Override public void write(JsonWriter out, String value) throws IOException {\n"
+      + "    out.value(value.toUpperCase());\n"
+      + "  }\n"
+      + "  @Override public String read(JsonReader in) throws IOException {\n"
+      + "    return in.nextString().toLowerCase();\n"
+      + "  }\n"
+      + "}\n";
+
+  private static final String VERSIONED = "package test;\n"
+      + "@com.google.gson.annotations.Since(2.0)\n"
+      + "public class Versioned {}\n";
+
+  private static final String DTO = "package test;\n"
+      + "import com.google.gson.annotations.*;\n"
+      + "import java.util.*;\n"
+      + "@GenerateTypeAdapter\n"
+      + "public class Dto extends GenericBase<Map<String, Integer>> {\n"
+      + "  @SerializedName(value = \"renamed\", alternate = {\"other\", \"\\u00e9\"}) String someName;\n"
+      + "  @Expose int intValue;\n"
+      + "  @Expose(serialize = false) double doubleValue;\n"
+      + "  char charValue;\n"
+      + "  Integer boxed;\n"
+      + "  List<String> strings;\n"
+      + "  long[] longs;\n"
+      + "  Object object;\n"
+      + "  Dto child;\n"
+      + "  @Since(1.1) String since;\n"
+      + "  @Until(1.1) String until;\n"
+      + "  @JsonAdapter(UpperCaseAdapter.class) String upperCase;\n"
+      + "  Versioned versioned = new Versioned();\n"
+      + "  transient String transientValue;\n"
+      + "  static String staticValue;\n"
+      + "  @GenerateTypeAdapter\n"
+      + "  public static class Nested extends Base {\n"
+      + "    @SerializedName(\"nestedName\") volatile String name;\n"
+      + "  }\n"
+      + "}\n";
+
+  private static final String JSON = "{\"renamed\":\"a\",\"intValue\":1,\"doubleValue\":2.5,"
+      + "\"charValue\":\"c\",\"boxed\":null,\"strings\":[\"x\",null],\"longs\":[1,2],"
+      + "\"object\":{\"k\":[1.5]},\"child\":{\"other\":\"b\",\"intValue\":2},"
+      + "\"since\":\"s\",\"until\":\"u\",\"upperCase\":\"UP\",\"versioned\":null,\"generic\":{\"g\":3},"
+      + "\"transientValue\":\"t\",\"unknown\":[{}]}";
+
+  /** Compiles the sources with the processor and returns the diagnostics. */
+  private List<Diagnostic<? extends JavaFileObject>> compile(File output, String... sources) throws IOException {
+    File sourceDir = newFolder();
+    List<File> files = new ArrayList<>();
+    for (String source : sources) {
+      String className = source.substring(source.indexOf("public class ") + 13).split("[ <]")[0];
+      File file = new File(sourceDir, className + ".java");
+      Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+      files.add(file);
+    }
+
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8)) {
+      JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+          Arrays.asList("-classpath", System.getProperty("java.class.path") + File.pathSeparator + output.getPath(),
+              "-d", output.getPath(), "-encoding", "UTF-8"),
+          null, fileManager.getJavaFileObjectsFromFiles(files));
+      task.setProcessors(Collections.singletonList(new GenerateTypeAdapterProcessor()));
+      task.call();
+    }
+    return diagnostics.getDiagnostics();
+  }
+
+  /** Compiles the test classes and returns a class loader for them. */
+  private ClassLoader compileTestClasses() throws IOException {
+    File output = newFolder();
+    List<Diagnostic<? extends JavaFileObject>> diagnostics =
+        compile(output, BASE, GENERIC_BASE, UPPER_CASE_ADAPTER, VERSIONED, DTO);
+    for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+      if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+        fail(diagnostic.toString());
+      }
+    }
+    return new URLClassLoader(new URL[] {output.toURI().toURL()}, getClass().getClassLoader());
+  }
+
+  /**
+   * Creates Gson with {@code classLoader} as context class loader, so that
+   * {@link GsonBuilder#create()} finds the generated factories.
+   */
+  private static Gson create(GsonBuilder builder, ClassLoader classLoader) {
+    Thread thread = Thread.currentThread();
+    ClassLoader old = thread.getContextClassLoader();
+    thread.setContextClassLoader(classLoader);
+    try {
+      return builder.create();
+    } finally {
+      thread.setContextClassLoader(old);
+    }
+  }
+
+  private static boolean isGenerated(Gson gson, Class<?> type) {
+    TypeAdapter<?> adapter = gson.getAdapter(type);
+    return adapter.getClass().getName().endsWith(GenerateTypeAdapterProcessor.FACTORY_SUFFIX + "$Adapter");
+  }
+
+  /**
+   * Asserts that the generated and the reflective adapters of {@code type} produce the
+   * same results with the configuration of {@code builder}.
+   */
+  private static void assertSameAsReflection(ClassLoader classLoader, GsonBuilder builder, Class<?> type, String json) {
+    Gson generated = create(builder, classLoader);
+    // The context class loader of the test does not see the generated factories
+    Gson reflective = builder.create();
+    assertThat(isGenerated(generated, type)).isTrue();
+    assertThat(isGenerated(reflective, type)).isFalse();
+
+    Object fromGenerated = generated.fromJson(json, type);
+    Object fromReflective = reflective.fromJson(json, type);
+    assertThat(generated.toJson(fromGenerated)).isEqualTo(reflective.toJson(fromReflective));
+    assertThat(reflective.toJson(fromGenerated)).isEqualTo(reflective.toJson(fromReflective));
+    // Also compare the fields which are excluded by the configuration, and must not have been read
+    Gson unversioned = new GsonBuilder().serializeNulls().create();
+    assertThat(unversioned.toJson(fromGenerated)).isEqualTo(unversioned.toJson(fromReflective));
+  }
+
+  @Test
+  public void testSameAsReflection() throws Exception {
+    ClassLoader classLoader = compileTestClasses();
+    Class<?> dto = classLoader.loadClass("test.Dto");
+    assertSameAsReflection(classLoader, new GsonBuilder(), dto, JSON);
+    assertSameAsReflection(classLoader, new GsonBuilder().serializeNulls(), dto, JSON);
+    assertSameAsReflection(classLoader, new GsonBuilder().setVersion(1.0), dto, JSON);
+    assertSameAsReflection(classLoader, new GsonBuilder().setVersion(1.1), dto, JSON);
+    assertSameAsReflection(classLoader, new GsonBuilder().setVersion(1.1).serializeNulls(), dto, JSON);
+    assertSameAsReflection(classLoader, new GsonBuilder().setVersion(2.0), dto, JSON);
+    assertSameAsReflection(classLoader, new GsonBuilder().excludeFieldsWithoutExposeAnnotation(), dto, JSON);
+    for (FieldNamingPolicy policy : FieldNamingPolicy.values()) {
+      assertSameAsReflection(classLoader, new GsonBuilder().setFieldNamingPolicy(policy), dto,
+          "{\"SomeName\":1,\"int_value\":2,\"renamed\":\"a\"}");
+    }
+
+    Class<?> nested = classLoader.loadClass("test.Dto$Nested");
+    assertSameAsReflection(classLoader, new GsonBuilder(), nested, "{\"name\":\"n\",\"baseValue\":3}");
+  }
+
+  @Test
+  public void testReadWrite() throws Exception {
+    ClassLoader classLoader = compileTestClasses();
+    Class<?> dto = classLoader.loadClass("test.Dto");
+    Gson gson = create(new GsonBuilder(), classLoader);
+
+    Object value = gson.fromJson("{\"\u00e9\":\"a\",\"charValue\":null,\"upperCase\":\"UP\",\"child\":null}", dto);
+    assertThat(field(dto, "someName").get(value)).isEqualTo("a");
+    assertThat(field(dto, "charValue").get(value)).isEqualTo('\0');
+    assertThat(field(dto, "upperCase").get(value)).isEqualTo("up");
+    assertThat(gson.toJson(value)).isEqualTo("{\"renamed\":\"a\",\"intValue\":0,\"doubleValue\":0.0,"
+        + "\"charValue\":\"\\u0000\",\"upperCase\":\"UP\",\"versioned\":{}}");
+
+    // Avoids direct recursion like the reflective adapter
+    field(dto, "object").set(value, value);
+    assertThat(gson.toJson(value)).doesNotContain("object");
+
+    assertThat(gson.toJson(null, dto)).isEqualTo("null");
+    assertThat(gson.fromJson("null", dto)).isNull();
+  }
+
+  private static Field field(Class<?> type, String name) throws NoSuchFieldException {
+    Field field = type.getDeclaredField(name);
+    field.setAccessible(true);
+    return field;
+  }
+
+  @Test
+  public void testDefaultGson() throws Exception {
+    ClassLoader classLoader = compileTestClasses();
+    Class<?> dto = classLoader.loadClass("test.Dto");
+    Thread thread = Thread.currentThread();
+    ClassLoader old = thread.getContextClassLoader();
+    thread.setContextClassLoader(classLoader);
+    Gson gson;
+    try {
+      gson = new Gson();
+    } finally {
+      thread.setContextClassLoader(old);
+    }
+    assertThat(isGenerated(gson, dto)).isTrue();
+    assertThat(isGenerated(new Gson(), dto)).isFalse();
+  }
+
+  @Test
+  public void testUnsupportedConfigurationFallsBack() throws Exception {
+    ClassLoader classLoader = compileTestClasses();
+    Class<?> dto = classLoader.loadClass("test.Dto");
+    FieldNamingStrategy strategy = new FieldNamingStrategy() {
+      @Override public String translateName(Field f) {
+        return f.getName() + "_";
+      }
+    };
+    Gson gson = create(new GsonBuilder().setFieldNamingStrategy(strategy), classLoader);
+    assertThat(isGenerated(gson, dto)).isFalse();
+
+    gson = create(new GsonBuilder().excludeFieldsWithModifiers(), classLoader);
+    assertThat(isGenerated(gson, dto)).isFalse();
+  }
+
+  @Test
+  public void testErrors() throws IOException {
+    assertError("package test;\n"
+        + "@com.google.gson.annotations.GenerateTypeAdapter\n"
+        + "public class Generic<T> {}\n",
+        "@GenerateTypeAdapter is not supported for generic classes");
+    assertError("package test;\n"
+        + "@com.google.gson.annotations.GenerateTypeAdapter\n"
+        + "public class PrivateField {\n"
+        + "  private int a;\n"
+        + "}\n",
+        "Field a is not accessible from the generated type adapter of test.PrivateField;"
+            + " increase its visibility or make it transient");
+    assertError("package test;\n"
+        + "@com.google.gson.annotations.GenerateTypeAdapter\n"
+        + "public class FinalField {\n"
+        + "  final int a = 1;\n"
+        + "}\n",
+        "Final field a cannot be set by the generated type adapter of test.FinalField;"
+            + " remove the modifier or make it transient");
+    assertError("package test;\n"
+        + "@com.google.gson.annotations.GenerateTypeAdapter\n"
+        + "public class NoConstructor {\n"
+        + "  NoConstructor(int a) {}\n"
+        + "}\n",
+        "@GenerateTypeAdapter requires a non-private constructor without parameters");
+    assertError("package test;\n"
+        + "public class Outer {\n"
+        + "  @com.google.gson.annotations.GenerateTypeAdapter\n"
+        + "  class Inner {}\n"
+        + "}\n",
+        "@GenerateTypeAdapter is only supported for top-level and static nested classes");
+  }
+
+  private void assertError(String source, String message) throws IOException {
+    List<String> errors = new ArrayList<>();
+    for (Diagnostic<? extends JavaFileObject> diagnostic : compile(newFolder(), source)) {
+      if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+        errors.add(diagnostic.getMessage(Locale.ROOT));
+      }
+    }
+    assertThat(errors).containsExactly(message);
+  }
+
+  @Test
+  public void testDuplicateName() throws Exception {
+    File output = newFolder();
+    compile(output, "package test;\n"
+        + "@com.google.gson.annotations.GenerateTypeAdapter\n"
+        + "public class Duplicate {\n"
+        + "  int a;\n"
+        + "  @com.google.gson.annotations.SerializedName(\"A\") int b;\n"
+        + "}\n");
+    ClassLoader classLoader = new URLClassLoader(new URL[] {output.toURI().toURL()}, getClass().getClassLoader());
+    Class<?> type = classLoader.loadClass("test.Duplicate");
+    GsonBuilder builder = new GsonBuilder().setFieldNamingPolicy(FieldNamingPolicy.UPPER_CAMEL_CASE);
+    String reflectiveMessage = null;
+    try {
+      builder.create().getAdapter(type);
+      fail();
+    } catch (IllegalArgumentException expected) {
+      reflectiveMessage = expected.getMessage();
+    }
+    try {
+      create(builder, classLoader).getAdapter(type);
+      fail();
+    } catch (IllegalArgumentException expected) {
+      assertThat(expected).hasMessageThat().isEqualTo(reflectiveMessage);
+    }
+  }
+
+  /**
+   * Verifies that the service entry of a class which is no longer annotated is dropped when
+   * compiling into the same output again, and that stale entries do not break Gson.
+   */
+  @Test
+  public void testStaleServiceEntries() throws Exception {
+    File output = newFolder();
+    compile(output, "package test;\n"
+        + "@com.google.gson.annotations.GenerateTypeAdapter\n"
+        + "public class First { int a; }\n");
+    compile(output, "package test;\n"
+        + "public class First { int a; }\n", "package test;\n"
+        + "@com.google.gson.annotations.GenerateTypeAdapter\n"
+        + "public class Second { int b; }\n");
+    File serviceFile = new File(output, "META-INF/services/com.google.gson.GeneratedTypeAdapterFactory");
+    assertThat(Files.readAllLines(serviceFile.toPath(), StandardCharsets.UTF_8))
+        .containsExactly("test.Second_GsonTypeAdapterFactory");
+    // Entries of classes which are not recompiled but are still annotated are kept
+    compile(output, "package test;\n"
+        + "@com.google.gson.annotations.GenerateTypeAdapter\n"
+        + "public class Third { int c; }\n");
+    assertThat(Files.readAllLines(serviceFile.toPath(), StandardCharsets.UTF_8))
+        .containsExactly("test.Second_GsonTypeAdapterFactory", "test.Third_GsonTypeAdapterFactory");
+
+    // For example a deleted class whose entry was not removed by the build tool
+    Files.write(serviceFile.toPath(), "test.Missing_GsonTypeAdapterFactory\ntest.Second_GsonTypeAdapterFactory\n"
+        .getBytes(StandardCharsets.UTF_8));
+    ClassLoader classLoader = new URLClassLoader(new URL[] {output.toURI().toURL()}, getClass().getClassLoader());
+    Gson gson = create(new GsonBuilder(), classLoader);
+    assertThat(isGenerated(gson, classLoader.loadClass("test.Second"))).isTrue();
+    assertThat(isGenerated(gson, classLoader.loadClass("test.First"))).isFalse();
+  }
+}
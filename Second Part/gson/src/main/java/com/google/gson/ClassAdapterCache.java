@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Cache of the type adapters of one {@link Gson} instance for raw classes, backed by a
+ * {@link ClassValue} so that a lookup neither allocates a {@code TypeToken} nor hashes it.
+ *
+ * <p>This class must only be used if {@code ClassValue} is available, which is not the case
+ * on older Android versions.
+ */
+final class ClassAdapterCache {
+  /**
+   * The entry of one class. It only references the adapter weakly: a value of a
+   * {@code ClassValue} which strongly references the {@code ClassValue} itself, here through
+   * the adapter and its {@code Gson} instance, is never garbage collected as long as the class
+   * is loaded. The adapter is kept alive by the adapter cache of the {@code Gson} instance.
+   */
+  private static final class Entry {
+    volatile WeakReference<TypeAdapter<?>> adapter;
+  }
+
+  private final ClassValue<Entry> entries = new ClassValue<Entry>() {
+    @Override protected Entry computeValue(Class<?> type) {
+      return new Entry();
+    }
+  };
+
+  /** Returns the cached adapter for {@code type}, or null if there is none. */
+  TypeAdapter<?> get(Class<?> type) {
+    WeakReference<TypeAdapter<?>> adapter = entries.get(type).adapter;
+    return adapter == null ? null : adapter.get();
+  }
+
+  void put(Class<?> type, TypeAdapter<?> adapter) {
+    entries.get(type).adapter = new WeakReference<TypeAdapter<?>>(adapter);
+  }
+}
@@ -35,8 +35,8 @@ public enum FieldNamingPolicy implements FieldNamingStrategy {
    * unchanged.
    */
   IDENTITY() {
-    @Override public String translateName(Field f) {
-      return f.getName();
+    @Override String translateName(String name) {
+      return name;
     }
   },
 
@@ -51,8 +51,8 @@ public enum FieldNamingPolicy implements FieldNamingStrategy {
    * </ul>
    */
   UPPER_CAMEL_CASE() {
-    @Override public String translateName(Field f) {
-      return upperCaseFirstLetter(f.getName());
+    @Override String translateName(String name) {
+      return upperCaseFirstLetter(name);
     }
   },
 
@@ -70,8 +70,8 @@ public enum FieldNamingPolicy implements FieldNamingStrategy {
    * @since 1.4
    */
   UPPER_CAMEL_CASE_WITH_SPACES() {
-    @Override public String translateName(Field f) {
-      return upperCaseFirstLetter(separateCamelCase(f.getName(), ' '));
+    @Override String translateName(String name) {
+      return upperCaseFirstLetter(separateCamelCase(name, ' '));
     }
   },
 
@@ -90,8 +90,8 @@ public enum FieldNamingPolicy implements FieldNamingStrategy {
    * @since 2.9.0
    */
   UPPER_CASE_WITH_UNDERSCORES() {
-    @Override public String translateName(Field f) {
-      return separateCamelCase(f.getName(), '_').toUpperCase(Locale.ENGLISH);
+    @Override String translateName(String name) {
+      return separateCamelCase(name, '_').toUpperCase(Locale.ENGLISH);
     }
   },
 
@@ -108,8 +108,8 @@ public enum FieldNamingPolicy implements FieldNamingStrategy {
    * </ul>
    */
   LOWER_CASE_WITH_UNDERSCORES() {
-    @Override public String translateName(Field f) {
-      return separateCamelCase(f.getName(), '_').toLowerCase(Locale.ENGLISH);
+    @Override String translateName(String name) {
+      return separateCamelCase(name, '_').toLowerCase(Locale.ENGLISH);
     }
   },
 
@@ -132,8 +132,8 @@ public enum FieldNamingPolicy implements FieldNamingStrategy {
    * @since 1.4
    */
   LOWER_CASE_WITH_DASHES() {
-    @Override public String translateName(Field f) {
-      return separateCamelCase(f.getName(), '-').toLowerCase(Locale.ENGLISH);
+    @Override String translateName(String name) {
+      return separateCamelCase(name, '-').toLowerCase(Locale.ENGLISH);
     }
   },
 
@@ -156,11 +156,21 @@ public enum FieldNamingPolicy implements FieldNamingStrategy {
    * @since 2.8.4
    */
   LOWER_CASE_WITH_DOTS() {
-    @Override public String translateName(Field f) {
-      return separateCamelCase(f.getName(), '.').toLowerCase(Locale.ENGLISH);
+    @Override String translateName(String name) {
+      return separateCamelCase(name, '.').toLowerCase(Locale.ENGLISH);
     }
   };
 
+  @Override public String translateName(Field f) {
+    return translateName(f.getName());
+  }
+
+  /**
+   * Translates the Java field name {@code name}; also used by type adapters generated
+   * at compile time, which have no {@link Field}.
+   */
+  abstract String translateName(String name);
+
   /**
    * Converts the field name that uses camel-case define word separation into
    * separate words that are separated by the provided {@code separator}.
@@ -0,0 +1,320 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson;
+
+import com.google.gson.annotations.GenerateTypeAdapter;
+import com.google.gson.internal.Excluder;
+import com.google.gson.internal.bind.JsonAdapterAnnotationTypeAdapterFactory;
+import com.google.gson.internal.bind.TypeAdapterRuntimeTypeWrapper;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonNameOptions;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.PreparedName;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.WeakHashMap;
+
+/**
+ * Base class of the type adapter factories which the Gson annotation processor generates
+ * for classes annotated with {@link GenerateTypeAdapter}. A generated factory describes
+ * the fields of its class, from which this class determines the JSON names and the
+ * excluded fields for the configuration of each {@link Gson} instance, and creates a type
+ * adapter which accesses the fields directly, without reflection.
+ *
+ * <p>The processor registers the generated factories as services of this class, and
+ * {@link Gson} loads them with {@link ServiceLoader} from the context class loader. A generated factory
+ * only creates adapters for exactly its class, and only for configurations which it
+ * supports; otherwise it returns null so that Gson falls back to its reflection-based
+ * type adapter, see {@link GenerateTypeAdapter}.
+ *
+ * <p>This class is not intended to be subclassed other than by generated code.
+ *
+ * @since $next-version$
+ */
+public abstract class GeneratedTypeAdapterFactory implements TypeAdapterFactory {
+  /** Value of {@code since} for fields without {@link com.google.gson.annotations.Since} */
+  protected static final double NO_SINCE = Double.NEGATIVE_INFINITY;
+  /** Value of {@code until} for fields without {@link com.google.gson.annotations.Until} */
+  protected static final double NO_UNTIL = Double.POSITIVE_INFINITY;
+
+  private final Class<?> type;
+
+  /** Creates a factory for the class {@code type}. */
+  protected GeneratedTypeAdapterFactory(Class<?> type) {
+    this.type = Objects.requireNonNull(type);
+  }
+
+  /** Value of {@link #FACTORIES_BY_LOADER} for class loaders without generated factories */
+  private static final TypeAdapterFactory NO_FACTORIES = new TypeAdapterFactory() {
+    @Override public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+      return null;
+    }
+  };
+
+  /**
+   * The factory returned by {@link #loadFactories} for each context class loader. The values
+   * are weak references because the generated factories strongly reference their class loader;
+   * every {@code Gson} instance keeps its factory alive.
+   */
+  private static final Map<ClassLoader, WeakReference<TypeAdapterFactory>> FACTORIES_BY_LOADER = new WeakHashMap<>();
+
+  /**
+   * Returns a factory which delegates to the generated factories registered with the context
+   * class loader, or null if there are none. The service lookup is cached per class loader.
+   */
+  static TypeAdapterFactory getFactories() {
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    synchronized (FACTORIES_BY_LOADER) {
+      WeakReference<TypeAdapterFactory> cached = FACTORIES_BY_LOADER.get(classLoader);
+      TypeAdapterFactory factory = cached != null ? cached.get() : null;
+      if (factory == null) {
+        factory = loadFactories(classLoader);
+        FACTORIES_BY_LOADER.put(classLoader, new WeakReference<>(factory));
+      }
+      return factory != NO_FACTORIES ? factory : null;
+    }
+  }
+
+  private static TypeAdapterFactory loadFactories(ClassLoader classLoader) {
+    final Map<Class<?>, GeneratedTypeAdapterFactory> factories = new HashMap<>();
+    Iterator<GeneratedTypeAdapterFactory> iterator =
+        ServiceLoader.load(GeneratedTypeAdapterFactory.class, classLoader).iterator();
+    while (true) {
+      GeneratedTypeAdapterFactory factory;
+      try {
+        if (!iterator.hasNext()) {
+          break;
+        }
+        factory = iterator.next();
+      } catch (ServiceConfigurationError e) {
+        // Skip a stale entry, for example of a class which is no longer annotated, and
+        // continue with the next one; the lookup falls back to reflection for that class
+        continue;
+      }
+      factories.put(factory.type, factory);
+    }
+    if (factories.isEmpty()) {
+      return NO_FACTORIES;
+    }
+    return new TypeAdapterFactory() {
+      @Override public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        GeneratedTypeAdapterFactory factory = factories.get(type.getRawType());
+        return factory == null ? null : factory.create(gson, type);
+      }
+    };
+  }
+
+  @Override public final <T> TypeAdapter<T> create(Gson gson, TypeToken<T> typeToken) {
+    if (typeToken.getRawType() != type || !isSupported(gson)) {
+      return null;
+    }
+    Fields fields = new Fields(gson, type);
+    addFields(fields);
+    fields.bind();
+    @SuppressWarnings("unchecked")
+    TypeAdapter<T> adapter = (TypeAdapter<T>) createAdapter(fields);
+    return adapter;
+  }
+
+  private boolean isSupported(Gson gson) {
+    Excluder excluder = gson.excluder;
+    return gson.fieldNamingStrategy instanceof FieldNamingPolicy
+        && !excluder.hasExclusionStrategies()
+        && !gson.instanceCreators.containsKey(type)
+        // The generated code omits static and transient fields
+        && isExcluded(excluder, Modifier.STATIC)
+        && isExcluded(excluder, Modifier.TRANSIENT);
+  }
+
+  private static boolean isExcluded(Excluder excluder, int modifier) {
+    return excluder.excludeField(modifier, NO_SINCE, NO_UNTIL, true, true)
+        && excluder.excludeField(modifier, NO_SINCE, NO_UNTIL, true, false);
+  }
+
+  /**
+   * Describes the fields of the class by calling {@link Fields#add} for each of them, first
+   * for the fields of the class and then for those of its superclasses, in declaration order.
+   */
+  protected abstract void addFields(Fields fields);
+
+  /** Creates the type adapter for the fields, which have been described by {@link #addFields}. */
+  protected abstract TypeAdapter<?> createAdapter(Fields fields);
+
+  /**
+   * The fields of a class as bound for one {@link Gson} instance. Fields are identified by
+   * their index, the order in which they were added.
+   */
+  protected static final class Fields {
+    private final Gson gson;
+    private final Class<?> type;
+    private final FieldNamingPolicy fieldNamingPolicy;
+    private final Excluder excluder;
+    /** For each field its serialized name, or null if it is not serialized */
+    private final List<PreparedName> serializedNames = new ArrayList<>();
+    private final List<Boolean> deserialized = new ArrayList<>();
+    /** {@code declaringClass#name} of each field, for error messages */
+    private final List<String> fieldDescriptions = new ArrayList<>();
+    /** All JSON names of the included fields, and the index of their field */
+    private final Map<String, Integer> names = new LinkedHashMap<>();
+
+    private JsonNameOptions nameOptions;
+    /** For each index of {@link #nameOptions}, the index of the field if it is deserialized, or -1 */
+    private int[] fieldsByNameIndex;
+    /** For each field the index of its name in {@link #nameOptions}, or -1 if it is not included */
+    private int[] nameIndices;
+
+    Fields(Gson gson, Class<?> type) {
+      this.gson = gson;
+      this.type = type;
+      this.fieldNamingPolicy = (FieldNamingPolicy) gson.fieldNamingStrategy;
+      this.excluder = gson.excluder;
+    }
+
+    /**
+     * Adds a field.
+     *
+     * @param declaringClass the class which declares the field.
+     * @param name the name of the field.
+     * @param modifiers the {@link Modifier} flags of the field.
+     * @param serializedName the value of its {@link com.google.gson.annotations.SerializedName},
+     *     or null if it has none.
+     * @param alternates the alternate names of its {@code SerializedName}.
+     * @param since the value of its {@code Since} annotation, or {@link #NO_SINCE}.
+     * @param until the value of its {@code Until} annotation, or {@link #NO_UNTIL}.
+     * @param exposeSerialize whether it has an {@code Expose} annotation which exposes it for
+     *     serialization.
+     * @param exposeDeserialize whether it has an {@code Expose} annotation which exposes it for
+     *     deserialization.
+     * @param fieldType the raw type of the field; like for reflection, the field is excluded
+     *     if its type is excluded, for example because of a {@code Since} annotation on the type.
+     * @throws IllegalArgumentException if the class declares multiple JSON fields with the
+     *     same name.
+     */
+    public void add(Class<?> declaringClass, String name, int modifiers, String serializedName,
+        String[] alternates, double since, double until, boolean exposeSerialize,
+        boolean exposeDeserialize, Class<?> fieldType) {
+      int index = deserialized.size();
+      boolean serialize = !excluder.excludeClass(fieldType, true)
+          && !excluder.excludeField(modifiers, since, until, exposeSerialize, true);
+      boolean deserialize = !excluder.excludeClass(fieldType, false)
+          && !excluder.excludeField(modifiers, since, until, exposeDeserialize, false);
+      String jsonName = serializedName != null ? serializedName : fieldNamingPolicy.translateName(name);
+      serializedNames.add(serialize ? PreparedName.of(jsonName) : null);
+      deserialized.add(deserialize);
+      fieldDescriptions.add(declaringClass.getName() + "#" + name);
+      if (!serialize && !deserialize) {
+        return;
+      }
+
+      Integer previous = names.put(jsonName, index);
+      if (serializedName != null) {
+        for (String alternate : alternates) {
+          Integer replaced = names.put(alternate, index);
+          if (previous == null) {
+            previous = replaced;
+            if (replaced != null) {
+              jsonName = alternate;
+            }
+          }
+        }
+      }
+      if (previous != null) {
+        throw new IllegalArgumentException("Class " + type.getName()
+            + " declares multiple JSON fields named '" + jsonName + "'; conflict is caused"
+            + " by fields " + fieldDescriptions.get(previous) + " and " + fieldDescriptions.get(index));
+      }
+    }
+
+    void bind() {
+      nameOptions = JsonNameOptions.of(names.keySet().toArray(new String[0]));
+      fieldsByNameIndex = new int[names.size()];
+      nameIndices = new int[deserialized.size()];
+      Arrays.fill(nameIndices, -1);
+      int i = 0;
+      for (int field : names.values()) {
+        fieldsByNameIndex[i] = deserialized.get(field) ? field : -1;
+        if (nameIndices[field] == -1) {
+          nameIndices[field] = i;
+        }
+        i++;
+      }
+    }
+
+    /** Returns true if the field is serialized or deserialized. */
+    public boolean isIncluded(int field) {
+      return serializedNames.get(field) != null || deserialized.get(field);
+    }
+
+    /** Returns the JSON name of the field if it is serialized, otherwise null. */
+    public PreparedName getSerializedName(int field) {
+      return serializedNames.get(field);
+    }
+
+    /**
+     * Consumes the next property name and returns the index of its field, or -1 if there
+     * is no such field or the field is not deserialized.
+     *
+     * @param expected the index of the field whose name is checked first, see
+     *     {@link JsonReader#selectName(JsonNameOptions, int)}.
+     */
+    public int nextField(JsonReader in, int expected) throws IOException {
+      int expectedName = expected >= 0 && expected < nameIndices.length ? nameIndices[expected] : -1;
+      int nameIndex = in.selectName(nameOptions, expectedName);
+      if (nameIndex == -1) {
+        nameIndex = nameOptions.indexOf(in.nextName());
+        if (nameIndex == -1) {
+          return -1;
+        }
+      }
+      return fieldsByNameIndex[nameIndex];
+    }
+
+    /** Returns the type adapter of {@code type}. */
+    public <T> TypeAdapter<T> getAdapter(TypeToken<T> type) {
+      return gson.getAdapter(type);
+    }
+
+    /**
+     * Returns the adapter for writing a field value, which uses the type adapter of the
+     * runtime type of the value if that is more specific than {@code type}.
+     */
+    public <T> TypeAdapter<T> getWriteAdapter(TypeAdapter<T> adapter, TypeToken<T> type) {
+      return new TypeAdapterRuntimeTypeWrapper<>(gson, adapter, type.getType());
+    }
+
+    /**
+     * Returns the type adapter which {@code instance}, the value of a
+     * {@link com.google.gson.annotations.JsonAdapter} annotation, provides for {@code type},
+     * or null if it is a {@link TypeAdapterFactory} which returns null.
+     */
+    @SuppressWarnings("unchecked") // this is not safe; requires that user has specified correct adapter class for @JsonAdapter
+    public <T> TypeAdapter<T> getJsonAdapter(Object instance, TypeToken<T> type, boolean nullSafe) {
+      return (TypeAdapter<T>) JsonAdapterAnnotationTypeAdapterFactory.getTypeAdapter(instance, gson, type, nullSafe);
+    }
+  }
+}
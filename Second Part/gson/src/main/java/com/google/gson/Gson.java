@@ -22,6 +22,7 @@ import com.google.gson.internal.GsonBuildConfig;
 import com.google.gson.internal.LazilyParsedNumber;
 import com.google.gson.internal.Primitives;
 import com.google.gson.internal.Streams;
+import com.google.gson.internal.Utf8Writer;
 import com.google.gson.internal.bind.ArrayTypeAdapter;
 import com.google.gson.internal.bind.CollectionTypeAdapterFactory;
 import com.google.gson.internal.bind.DateTypeAdapter;
@@ -31,27 +32,31 @@ import com.google.gson.internal.bind.JsonTreeWriter;
 import com.google.gson.internal.bind.MapTypeAdapterFactory;
 import com.google.gson.internal.bind.NumberTypeAdapter;
 import com.google.gson.internal.bind.ObjectTypeAdapter;
+import com.google.gson.internal.bind.PrimitiveArrayTypeAdapter;
 import com.google.gson.internal.bind.ReflectiveTypeAdapterFactory;
 import com.google.gson.internal.bind.SerializationDelegatingTypeAdapter;
 import com.google.gson.internal.bind.TypeAdapters;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonNameTable;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 import com.google.gson.stream.MalformedJsonException;
 import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
-import java.io.StringReader;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.text.DateFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -172,6 +177,31 @@ public final class Gson {
 
   private final ConcurrentMap<TypeToken<?>, TypeAdapter<?>> typeTokenCache = new ConcurrentHashMap<>();
 
+  /** Whether {@code ClassValue} is available; it is missing on older Android versions */
+  private static final boolean CLASS_VALUE_SUPPORTED = isClassValueSupported();
+
+  /**
+   * The adapters of {@link #typeTokenCache} for raw classes, looked up without creating a
+   * {@code TypeToken}; null if {@code ClassValue} is not supported.
+   */
+  private final ClassAdapterCache classAdapterCache = CLASS_VALUE_SUPPORTED ? new ClassAdapterCache() : null;
+
+  /**
+   * The output reused by the {@code toJson} methods which return a {@code String}, or
+   * null if the current thread has none or it is in use by an ongoing call.
+   */
+  @SuppressWarnings("ThreadLocalUsage")
+  private final ThreadLocal<StringOutput> threadLocalStringOutput = new ThreadLocal<>();
+
+  /**
+   * Running average of the length of the JSON written by the {@code toJson} methods
+   * which return a {@code String}, per type; used as capacity for new builders.
+   */
+  private final ConcurrentMap<Type, Integer> averageJsonLengths = new ConcurrentHashMap<>();
+
+  /** Builders which grew larger than this are not kept for reuse. */
+  private static final int MAX_REUSED_BUILDER_CAPACITY = 64 * 1024;
+
   private final ConstructorConstructor constructorConstructor;
   private final JsonAdapterAnnotationTypeAdapterFactory jsonAdapterFactory;
 
@@ -199,6 +229,7 @@ public final class Gson {
 
   final ToNumberStrategy numberToNumberStrategy;
   final List<ReflectionAccessFilter> reflectionFilters;
+  final JsonNameTable nameTable;
 
   /**
    * Constructs a Gson object with default configuration. The default configuration has the
@@ -245,7 +276,7 @@ public final class Gson {
         LongSerializationPolicy.DEFAULT, DEFAULT_DATE_PATTERN, DateFormat.DEFAULT, DateFormat.DEFAULT,
         Collections.<TypeAdapterFactory>emptyList(), Collections.<TypeAdapterFactory>emptyList(),
         Collections.<TypeAdapterFactory>emptyList(), DEFAULT_OBJECT_TO_NUMBER_STRATEGY, DEFAULT_NUMBER_TO_NUMBER_STRATEGY,
-        Collections.<ReflectionAccessFilter>emptyList());
+        Collections.<ReflectionAccessFilter>emptyList(), null);
   }
 
   Gson(Excluder excluder, FieldNamingStrategy fieldNamingStrategy,
@@ -258,7 +289,7 @@ public final class Gson {
       List<TypeAdapterFactory> builderHierarchyFactories,
       List<TypeAdapterFactory> factoriesToBeAdded,
       ToNumberStrategy objectToNumberStrategy, ToNumberStrategy numberToNumberStrategy,
-      List<ReflectionAccessFilter> reflectionFilters) {
+      List<ReflectionAccessFilter> reflectionFilters, JsonNameTable nameTable) {
     this.excluder = excluder;
     this.fieldNamingStrategy = fieldNamingStrategy;
     this.instanceCreators = instanceCreators;
@@ -280,6 +311,7 @@ public final class Gson {
     this.objectToNumberStrategy = objectToNumberStrategy;
     this.numberToNumberStrategy = numberToNumberStrategy;
     this.reflectionFilters = reflectionFilters;
+    this.nameTable = nameTable;
 
     List<TypeAdapterFactory> factories = new ArrayList<>();
 
@@ -293,6 +325,12 @@ public final class Gson {
     // users' type adapters
     factories.addAll(factoriesToBeAdded);
 
+    // type adapters generated at compile time, see GenerateTypeAdapter
+    TypeAdapterFactory generatedFactories = GeneratedTypeAdapterFactory.getFactories();
+    if (generatedFactories != null) {
+      factories.add(generatedFactories);
+    }
+
     // type adapters for basic platform types
     factories.add(TypeAdapters.STRING_FACTORY);
     factories.add(TypeAdapters.INTEGER_FACTORY);
@@ -334,6 +372,7 @@ public final class Gson {
       factories.add(SqlTypesSupport.TIMESTAMP_FACTORY);
     }
 
+    factories.add(PrimitiveArrayTypeAdapter.FACTORY);
     factories.add(ArrayTypeAdapter.FACTORY);
     factories.add(TypeAdapters.CLASS_FACTORY);
 
@@ -399,62 +438,11 @@ public final class Gson {
   }
 
   private TypeAdapter<Number> doubleAdapter(boolean serializeSpecialFloatingPointValues) {
-    if (serializeSpecialFloatingPointValues) {
-      return TypeAdapters.DOUBLE;
-    }
-    return new TypeAdapter<Number>() {
-      @Override public Double read(JsonReader in) throws IOException {
-        if (in.peek() == JsonToken.NULL) {
-          in.nextNull();
-          return null;
-        }
-        return in.nextDouble();
-      }
-      @Override public void write(JsonWriter out, Number value) throws IOException {
-        if (value == null) {
-          out.nullValue();
-          return;
-        }
-        double doubleValue = value.doubleValue();
-        checkValidFloatingPoint(doubleValue);
-        out.value(doubleValue);
-      }
-    };
+    return serializeSpecialFloatingPointValues ? TypeAdapters.DOUBLE : TypeAdapters.STRICT_DOUBLE;
   }
 
   private TypeAdapter<Number> floatAdapter(boolean serializeSpecialFloatingPointValues) {
-    if (serializeSpecialFloatingPointValues) {
-      return TypeAdapters.FLOAT;
-    }
-    return new TypeAdapter<Number>() {
-      @Override public Float read(JsonReader in) throws IOException {
-        if (in.peek() == JsonToken.NULL) {
-          in.nextNull();
-          return null;
-        }
-        return (float) in.nextDouble();
-      }
-      @Override public void write(JsonWriter out, Number value) throws IOException {
-        if (value == null) {
-          out.nullValue();
-          return;
-        }
-        float floatValue = value.floatValue();
-        checkValidFloatingPoint(floatValue);
-        // For backward compatibility don't call `JsonWriter.value(float)` because that method has
-        // been newly added and not all custom JsonWriter implementations might override it yet
-        Number floatNumber = value instanceof Float ? value : floatValue;
-        out.value(floatNumber);
-      }
-    };
-  }
-
-  static void checkValidFloatingPoint(double value) {
-    if (Double.isNaN(value) || Double.isInfinite(value)) {
-      throw new IllegalArgumentException(value
-          + " is not a valid double value as per JSON specification. To override this"
-          + " behavior, use GsonBuilder.serializeSpecialFloatingPointValues() method.");
-    }
+    return serializeSpecialFloatingPointValues ? TypeAdapters.FLOAT : TypeAdapters.STRICT_FLOAT;
   }
 
   private static TypeAdapter<Number> longAdapter(LongSerializationPolicy longSerializationPolicy) {
@@ -670,7 +658,32 @@ public final class Gson {
    *     deserialize {@code type}.
    */
   public <T> TypeAdapter<T> getAdapter(Class<T> type) {
-    return getAdapter(TypeToken.get(type));
+    Objects.requireNonNull(type, "type must not be null");
+    if (classAdapterCache != null) {
+      @SuppressWarnings("unchecked")
+      TypeAdapter<T> cached = (TypeAdapter<T>) classAdapterCache.get(type);
+      if (cached != null) {
+        return cached;
+      }
+    }
+
+    TypeToken<T> typeToken = TypeToken.get(type);
+    TypeAdapter<T> adapter = getAdapter(typeToken);
+    // Only cache published adapters, not the ones of an ongoing getAdapter call which might still be
+    // discarded, for example a FutureTypeAdapter of a cyclic dependency
+    if (classAdapterCache != null && typeTokenCache.get(typeToken) == adapter) {
+      classAdapterCache.put(type, adapter);
+    }
+    return adapter;
+  }
+
+  private static boolean isClassValueSupported() {
+    try {
+      Class.forName("java.lang.ClassValue");
+      return true;
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
   }
 
   /**
@@ -761,9 +774,13 @@ public final class Gson {
    * @see #toJson(Object)
    */
   public String toJson(Object src, Type typeOfSrc) {
-    StringWriter writer = new StringWriter();
-    toJson(src, typeOfSrc, writer);
-    return writer.toString();
+    try {
+      StringOutput output = takeStringOutput(typeOfSrc);
+      toJson(src, typeOfSrc, output.jsonWriter);
+      return releaseStringOutput(output, typeOfSrc);
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
   }
 
   /**
@@ -821,6 +838,91 @@ public final class Gson {
     }
   }
 
+  /**
+   * This method serializes the specified object into its equivalent UTF-8 encoded JSON
+   * representation and writes it to the stream. The chars are encoded directly into bytes,
+   * without an intermediate {@link java.io.OutputStreamWriter}. Once the JSON has been written
+   * the stream is flushed, but it is not closed.
+   * This method should be used when the specified object is not a generic type. If the object is
+   * of generic type, use {@link #toJson(Object, Type, OutputStream)} instead.
+   *
+   * @param src the object for which JSON representation is to be created
+   * @param out stream to which the UTF-8 encoded JSON representation needs to be written
+   * @throws JsonIOException if there was a problem writing to the stream
+   * @since $next-version$
+   *
+   * @see #toJson(Object, Appendable)
+   * @see #toJsonBytes(Object)
+   */
+  public void toJson(Object src, OutputStream out) throws JsonIOException {
+    if (src != null) {
+      toJson(src, src.getClass(), out);
+    } else {
+      toJson(JsonNull.INSTANCE, JsonElement.class, out);
+    }
+  }
+
+  /**
+   * This method serializes the specified object, including those of generic types, into its
+   * equivalent UTF-8 encoded JSON representation and writes it to the stream. Once the JSON has
+   * been written the stream is flushed, but it is not closed.
+   *
+   * @param src the object for which JSON representation is to be created
+   * @param typeOfSrc The specific genericized type of src.
+   * @param out stream to which the UTF-8 encoded JSON representation needs to be written
+   * @throws JsonIOException if there was a problem writing to the stream
+   * @since $next-version$
+   *
+   * @see #toJson(Object, Type, Appendable)
+   */
+  public void toJson(Object src, Type typeOfSrc, OutputStream out) throws JsonIOException {
+    try {
+      JsonWriter jsonWriter = newJsonWriter(new Utf8Writer(out));
+      toJson(src, typeOfSrc, jsonWriter);
+      jsonWriter.flush();
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+  }
+
+  /**
+   * This method serializes the specified object into its equivalent UTF-8 encoded JSON
+   * representation. This is equivalent to {@code toJson(src).getBytes(UTF_8)}, but the chars
+   * are encoded directly into a growing byte array, without creating the intermediate
+   * {@code String}.
+   * This method should be used when the specified object is not a generic type. If the object is
+   * of generic type, use {@link #toJsonBytes(Object, Type)} instead.
+   *
+   * @param src the object for which JSON representation is to be created
+   * @return UTF-8 encoded JSON representation of {@code src}.
+   * @since $next-version$
+   *
+   * @see #toJson(Object)
+   */
+  public byte[] toJsonBytes(Object src) {
+    if (src == null) {
+      return toJsonBytes(JsonNull.INSTANCE, JsonElement.class);
+    }
+    return toJsonBytes(src, src.getClass());
+  }
+
+  /**
+   * This method serializes the specified object, including those of generic types, into its
+   * equivalent UTF-8 encoded JSON representation.
+   *
+   * @param src the object for which JSON representation is to be created
+   * @param typeOfSrc The specific genericized type of src.
+   * @return UTF-8 encoded JSON representation of {@code src}.
+   * @since $next-version$
+   *
+   * @see #toJson(Object, Type)
+   */
+  public byte[] toJsonBytes(Object src, Type typeOfSrc) {
+    Utf8Writer writer = new Utf8Writer(256);
+    toJson(src, typeOfSrc, writer);
+    return writer.toByteArray();
+  }
+
   /**
    * Writes the JSON representation of {@code src} of type {@code typeOfSrc} to
    * {@code writer}.
@@ -836,8 +938,11 @@ public final class Gson {
    * @throws JsonIOException if there was a problem writing to the writer
    */
   public void toJson(Object src, Type typeOfSrc, JsonWriter writer) throws JsonIOException {
+    // Look up the adapter of a class, such as the runtime class used by toJson(Object), without creating a TypeToken
     @SuppressWarnings("unchecked")
-    TypeAdapter<Object> adapter = (TypeAdapter<Object>) getAdapter(TypeToken.get(typeOfSrc));
+    TypeAdapter<Object> adapter = (TypeAdapter<Object>) (typeOfSrc instanceof Class
+        ? getAdapter((Class<?>) typeOfSrc)
+        : getAdapter(TypeToken.get(typeOfSrc)));
     boolean oldLenient = writer.isLenient();
     writer.setLenient(true);
     boolean oldHtmlSafe = writer.isHtmlSafe();
@@ -865,9 +970,76 @@ public final class Gson {
    * @since 1.4
    */
   public String toJson(JsonElement jsonElement) {
-    StringWriter writer = new StringWriter();
-    toJson(jsonElement, writer);
-    return writer.toString();
+    try {
+      StringOutput output = takeStringOutput(JsonElement.class);
+      toJson(jsonElement, output.jsonWriter);
+      return releaseStringOutput(output, JsonElement.class);
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+  }
+
+  /**
+   * An unsynchronized {@code StringBuilder} with a writer for it, which are
+   * reused by the {@code toJson} methods returning a {@code String}.
+   */
+  private static final class StringOutput {
+    final StringBuilder builder;
+    final Writer writer;
+    final JsonWriter jsonWriter;
+
+    StringOutput(StringBuilder builder, Writer writer, JsonWriter jsonWriter) {
+      this.builder = builder;
+      this.writer = writer;
+      this.jsonWriter = jsonWriter;
+    }
+  }
+
+  /**
+   * Returns the output of the current thread, or a new one if it has none or if
+   * it is in use by an enclosing call, sized for the JSON of {@code type}.
+   */
+  private StringOutput takeStringOutput(Type type) throws IOException {
+    Integer averageLength = averageJsonLengths.get(type);
+    int capacity = averageLength != null ? averageLength + (averageLength >> 3) : 16;
+    StringOutput output = threadLocalStringOutput.get();
+    if (output == null) {
+      StringBuilder builder = new StringBuilder(capacity);
+      Writer writer = Streams.writerForAppendable(builder);
+      return new StringOutput(builder, writer, newJsonWriter(writer));
+    }
+    threadLocalStringOutput.set(null);
+    output.builder.setLength(0);
+    output.builder.ensureCapacity(capacity);
+    if (generateNonExecutableJson) {
+      output.builder.append(JSON_NON_EXECUTABLE_PREFIX);
+    }
+    output.jsonWriter.reset(output.writer);
+    return output;
+  }
+
+  /**
+   * Returns the JSON written to {@code output}, updates the average length for
+   * {@code type}, and keeps the output for reuse by the current thread.
+   */
+  private String releaseStringOutput(StringOutput output, Type type) throws IOException {
+    output.jsonWriter.flush();
+    String json = output.builder.toString();
+    int length = json.length();
+    Integer averageLength = averageJsonLengths.get(type);
+    if (averageLength == null) {
+      averageJsonLengths.put(type, length);
+    } else {
+      // Only update for notable differences, to avoid writes to the shared map
+      int delta = (length - averageLength) / 8;
+      if (delta != 0) {
+        averageJsonLengths.put(type, averageLength + delta);
+      }
+    }
+    if (output.builder.capacity() <= MAX_REUSED_BUILDER_CAPACITY) {
+      threadLocalStringOutput.set(output);
+    }
+    return json;
   }
 
   /**
@@ -899,6 +1071,10 @@ public final class Gson {
    *   <li>{@link GsonBuilder#setPrettyPrinting()}</li>
    *   <li>{@link GsonBuilder#setPrettyPrinting(FormattingStyle)}</li>
    * </ul>
+   *
+   * <p>The writer can be reused for other output with {@link JsonWriter#reset(Writer)},
+   * which keeps these settings; the non-executable prefix however is only
+   * written to {@code writer}.
    */
   public JsonWriter newJsonWriter(Writer writer) throws IOException {
     if (generateNonExecutableJson) {
@@ -918,11 +1094,20 @@ public final class Gson {
    * <p>The following settings are considered:
    * <ul>
    *   <li>{@link GsonBuilder#setLenient()}</li>
+   *   <li>{@link GsonBuilder#setNameTable(JsonNameTable)}</li>
    * </ul>
+   *
+   * <p>The reader can be reused for other input with {@link JsonReader#reset(Reader)},
+   * which keeps these settings.
    */
   public JsonReader newJsonReader(Reader reader) {
-    JsonReader jsonReader = new JsonReader(reader);
+    return configure(new JsonReader(reader));
+  }
+
+  /** Applies the settings listed by {@link #newJsonReader(Reader)} to {@code jsonReader}. */
+  private JsonReader configure(JsonReader jsonReader) {
     jsonReader.setLenient(lenient);
+    jsonReader.setNameTable(nameTable);
     return jsonReader;
   }
 
@@ -984,7 +1169,7 @@ public final class Gson {
    * @see #fromJson(String, TypeToken)
    */
   public <T> T fromJson(String json, Class<T> classOfT) throws JsonSyntaxException {
-    T object = fromJson(json, TypeToken.get(classOfT));
+    T object = fromJson(json, classOfT, null);
     return Primitives.wrap(classOfT).cast(object);
   }
 
@@ -1045,11 +1230,18 @@ public final class Gson {
    * @since 2.10
    */
   public <T> T fromJson(String json, TypeToken<T> typeOfT) throws JsonSyntaxException {
+    return fromJson(json, null, typeOfT);
+  }
+
+  private <T> T fromJson(String json, Class<T> classOfT, TypeToken<T> typeOfT) throws JsonSyntaxException {
     if (json == null) {
       return null;
     }
-    StringReader reader = new StringReader(json);
-    return fromJson(reader, typeOfT);
+    // Copies small documents in one piece, and large ones chunk by chunk like a StringReader
+    JsonReader jsonReader = configure(JsonReader.fromChars(json));
+    T object = fromJson(jsonReader, classOfT, typeOfT);
+    assertFullConsumption(object, jsonReader);
+    return object;
   }
 
   /**
@@ -1077,7 +1269,7 @@ public final class Gson {
    * @see #fromJson(Reader, TypeToken)
    */
   public <T> T fromJson(Reader json, Class<T> classOfT) throws JsonSyntaxException, JsonIOException {
-    T object = fromJson(json, TypeToken.get(classOfT));
+    T object = fromJson(json, classOfT, null);
     return Primitives.wrap(classOfT).cast(object);
   }
 
@@ -1138,8 +1330,237 @@ public final class Gson {
    * @since 2.10
    */
   public <T> T fromJson(Reader json, TypeToken<T> typeOfT) throws JsonIOException, JsonSyntaxException {
+    return fromJson(json, null, typeOfT);
+  }
+
+  private <T> T fromJson(Reader json, Class<T> classOfT, TypeToken<T> typeOfT) throws JsonIOException, JsonSyntaxException {
     JsonReader jsonReader = newJsonReader(json);
-    T object = fromJson(jsonReader, typeOfT);
+    T object = fromJson(jsonReader, classOfT, typeOfT);
+    assertFullConsumption(object, jsonReader);
+    return object;
+  }
+
+  /**
+   * This method deserializes the UTF-8 encoded JSON read from the specified stream into an
+   * object of the specified class. The bytes are decoded directly by the {@link JsonReader},
+   * which is cheaper than wrapping the stream in an {@link java.io.InputStreamReader}; there
+   * is no need to buffer the stream. For generic types use
+   * {@link #fromJson(InputStream, TypeToken)} instead.
+   *
+   * <p>An exception is thrown if the JSON data has multiple top-level JSON elements, or if there
+   * is trailing data. Use {@link #fromJson(JsonReader, Type)} if this behavior is not desired.
+   *
+   * @param <T> the type of the desired object
+   * @param json the stream producing the UTF-8 encoded JSON from which the object is to be
+   * deserialized
+   * @param classOfT the class of T
+   * @return an object of type T from the stream. Returns {@code null} if {@code json} is at EOF.
+   * @throws JsonIOException if there was a problem reading from the stream
+   * @throws JsonSyntaxException if json is not valid UTF-8 or not a valid representation for an
+   * object of type classOfT
+   * @since $next-version$
+   *
+   * @see #fromJson(Reader, Class)
+   */
+  public <T> T fromJson(InputStream json, Class<T> classOfT) throws JsonSyntaxException, JsonIOException {
+    T object = fromJson(json, classOfT, null);
+    return Primitives.wrap(classOfT).cast(object);
+  }
+
+  /**
+   * This method deserializes the UTF-8 encoded JSON read from the specified stream into an
+   * object of the specified type. See {@link #fromJson(InputStream, Class)} for details.
+   *
+   * <p>Since {@code Type} is not parameterized by T, this method is not type-safe and
+   * should be used carefully. If you are creating the {@code Type} from a {@link TypeToken},
+   * prefer using {@link #fromJson(InputStream, TypeToken)} instead since its return type is based
+   * on the {@code TypeToken} and is therefore more type-safe.
+   *
+   * @param <T> the type of the desired object
+   * @param json the stream producing the UTF-8 encoded JSON from which the object is to be
+   * deserialized
+   * @param typeOfT The specific genericized type of src
+   * @return an object of type T from the stream. Returns {@code null} if {@code json} is at EOF.
+   * @throws JsonIOException if there was a problem reading from the stream
+   * @throws JsonSyntaxException if json is not valid UTF-8 or not a valid representation for an
+   * object of type typeOfT
+   * @since $next-version$
+   *
+   * @see #fromJson(Reader, Type)
+   */
+  @SuppressWarnings({"unchecked", "TypeParameterUnusedInFormals"})
+  public <T> T fromJson(InputStream json, Type typeOfT) throws JsonIOException, JsonSyntaxException {
+    return (T) fromJson(json, TypeToken.get(typeOfT));
+  }
+
+  /**
+   * This method deserializes the UTF-8 encoded JSON read from the specified stream into an
+   * object of the specified type. See {@link #fromJson(InputStream, Class)} for details.
+   *
+   * @param <T> the type of the desired object
+   * @param json the stream producing the UTF-8 encoded JSON from which the object is to be
+   * deserialized
+   * @param typeOfT The specific genericized type of src
+   * @return an object of type T from the stream. Returns {@code null} if {@code json} is at EOF.
+   * @throws JsonIOException if there was a problem reading from the stream
+   * @throws JsonSyntaxException if json is not valid UTF-8 or not a valid representation for an
+   * object of type typeOfT
+   * @since $next-version$
+   *
+   * @see #fromJson(Reader, TypeToken)
+   */
+  public <T> T fromJson(InputStream json, TypeToken<T> typeOfT) throws JsonIOException, JsonSyntaxException {
+    return fromJson(json, null, typeOfT);
+  }
+
+  private <T> T fromJson(InputStream json, Class<T> classOfT, TypeToken<T> typeOfT) throws JsonIOException, JsonSyntaxException {
+    JsonReader jsonReader = configure(JsonReader.fromUtf8(json));
+    T object = fromJson(jsonReader, classOfT, typeOfT);
+    assertFullConsumption(object, jsonReader);
+    return object;
+  }
+
+  /**
+   * This method deserializes the UTF-8 encoded JSON contained in the specified bytes into an
+   * object of the specified class. The bytes are decoded straight into the buffer of the
+   * reader, without an {@link java.io.InputStreamReader} in between and without converting them
+   * to a {@code String} first. For generic types use
+   * {@link #fromJson(byte[], TypeToken)} instead.
+   *
+   * @param <T> the type of the desired object
+   * @param json the UTF-8 encoded JSON from which the object is to be deserialized
+   * @param classOfT the class of T
+   * @return an object of type T from the bytes. Returns {@code null} if {@code json} is
+   * {@code null} or if {@code json} is empty.
+   * @throws JsonSyntaxException if json is not valid UTF-8 or not a valid representation for an
+   * object of type classOfT
+   * @since $next-version$
+   *
+   * @see #fromJson(String, Class)
+   */
+  public <T> T fromJson(byte[] json, Class<T> classOfT) throws JsonSyntaxException {
+    T object = fromJson(json, classOfT, null);
+    return Primitives.wrap(classOfT).cast(object);
+  }
+
+  /**
+   * This method deserializes the UTF-8 encoded JSON contained in the specified bytes into an
+   * object of the specified type. See {@link #fromJson(byte[], Class)} for details.
+   *
+   * @param <T> the type of the desired object
+   * @param json the UTF-8 encoded JSON from which the object is to be deserialized
+   * @param typeOfT The specific genericized type of src
+   * @return an object of type T from the bytes. Returns {@code null} if {@code json} is
+   * {@code null} or if {@code json} is empty.
+   * @throws JsonSyntaxException if json is not valid UTF-8 or not a valid representation for an
+   * object of type typeOfT
+   * @since $next-version$
+   *
+   * @see #fromJson(String, Type)
+   */
+  @SuppressWarnings({"unchecked", "TypeParameterUnusedInFormals"})
+  public <T> T fromJson(byte[] json, Type typeOfT) throws JsonSyntaxException {
+    return (T) fromJson(json, TypeToken.get(typeOfT));
+  }
+
+  /**
+   * This method deserializes the UTF-8 encoded JSON contained in the specified bytes into an
+   * object of the specified type. See {@link #fromJson(byte[], Class)} for details.
+   *
+   * @param <T> the type of the desired object
+   * @param json the UTF-8 encoded JSON from which the object is to be deserialized
+   * @param typeOfT The specific genericized type of src
+   * @return an object of type T from the bytes. Returns {@code null} if {@code json} is
+   * {@code null} or if {@code json} is empty.
+   * @throws JsonSyntaxException if json is not valid UTF-8 or not a valid representation for an
+   * object of type typeOfT
+   * @since $next-version$
+   *
+   * @see #fromJson(String, TypeToken)
+   */
+  public <T> T fromJson(byte[] json, TypeToken<T> typeOfT) throws JsonSyntaxException {
+    return fromJson(json, null, typeOfT);
+  }
+
+  private <T> T fromJson(byte[] json, Class<T> classOfT, TypeToken<T> typeOfT) throws JsonSyntaxException {
+    if (json == null) {
+      return null;
+    }
+    JsonReader jsonReader = configure(JsonReader.fromUtf8(json, 0, json.length));
+    T object = fromJson(jsonReader, classOfT, typeOfT);
+    assertFullConsumption(object, jsonReader);
+    return object;
+  }
+
+  /**
+   * This method deserializes the UTF-8 encoded JSON contained between the position and the
+   * limit of the specified buffer into an object of the specified class. Heap, direct and
+   * memory-mapped buffers are decoded straight into the buffer of the reader, without an
+   * {@link java.io.InputStreamReader} or an intermediate copy of the bytes in between; the
+   * position of the buffer is not modified. For generic types use {@link #fromJson(ByteBuffer, TypeToken)}
+   * instead.
+   *
+   * @param <T> the type of the desired object
+   * @param json the UTF-8 encoded JSON from which the object is to be deserialized
+   * @param classOfT the class of T
+   * @return an object of type T from the buffer. Returns {@code null} if {@code json} is
+   * {@code null} or if it has no remaining bytes.
+   * @throws JsonSyntaxException if json is not valid UTF-8 or not a valid representation for an
+   * object of type classOfT
+   * @since $next-version$
+   *
+   * @see #fromJson(String, Class)
+   */
+  public <T> T fromJson(ByteBuffer json, Class<T> classOfT) throws JsonSyntaxException {
+    T object = fromJson(json, classOfT, null);
+    return Primitives.wrap(classOfT).cast(object);
+  }
+
+  /**
+   * This method deserializes the UTF-8 encoded JSON contained in the specified buffer into an
+   * object of the specified type. See {@link #fromJson(ByteBuffer, Class)} for details.
+   *
+   * @param <T> the type of the desired object
+   * @param json the UTF-8 encoded JSON from which the object is to be deserialized
+   * @param typeOfT The specific genericized type of src
+   * @return an object of type T from the buffer. Returns {@code null} if {@code json} is
+   * {@code null} or if it has no remaining bytes.
+   * @throws JsonSyntaxException if json is not valid UTF-8 or not a valid representation for an
+   * object of type typeOfT
+   * @since $next-version$
+   *
+   * @see #fromJson(String, Type)
+   */
+  @SuppressWarnings({"unchecked", "TypeParameterUnusedInFormals"})
+  public <T> T fromJson(ByteBuffer json, Type typeOfT) throws JsonSyntaxException {
+    return (T) fromJson(json, TypeToken.get(typeOfT));
+  }
+
+  /**
+   * This method deserializes the UTF-8 encoded JSON contained in the specified buffer into an
+   * object of the specified type. See {@link #fromJson(ByteBuffer, Class)} for details.
+   *
+   * @param <T> the type of the desired object
+   * @param json the UTF-8 encoded JSON from which the object is to be deserialized
+   * @param typeOfT The specific genericized type of src
+   * @return an object of type T from the buffer. Returns {@code null} if {@code json} is
+   * {@code null} or if it has no remaining bytes.
+   * @throws JsonSyntaxException if json is not valid UTF-8 or not a valid representation for an
+   * object of type typeOfT
+   * @since $next-version$
+   *
+   * @see #fromJson(String, TypeToken)
+   */
+  public <T> T fromJson(ByteBuffer json, TypeToken<T> typeOfT) throws JsonSyntaxException {
+    return fromJson(json, null, typeOfT);
+  }
+
+  private <T> T fromJson(ByteBuffer json, Class<T> classOfT, TypeToken<T> typeOfT) throws JsonSyntaxException {
+    if (json == null) {
+      return null;
+    }
+    JsonReader jsonReader = configure(JsonReader.fromUtf8(json));
+    T object = fromJson(jsonReader, classOfT, typeOfT);
     assertFullConsumption(object, jsonReader);
     return object;
   }
@@ -1222,13 +1643,23 @@ public final class Gson {
    * @since 2.10
    */
   public <T> T fromJson(JsonReader reader, TypeToken<T> typeOfT) throws JsonIOException, JsonSyntaxException {
+    return fromJson(reader, null, typeOfT);
+  }
+
+  /**
+   * Like {@link #fromJson(JsonReader, TypeToken)}, but if {@code typeOfT} is null uses the
+   * adapter of {@code classOfT}, which is looked up without creating a {@code TypeToken}.
+   * Exactly one of them is non-null; the other {@code fromJson} overloads taking both
+   * delegate to this method.
+   */
+  private <T> T fromJson(JsonReader reader, Class<T> classOfT, TypeToken<T> typeOfT) throws JsonIOException, JsonSyntaxException {
     boolean isEmpty = true;
     boolean oldLenient = reader.isLenient();
     reader.setLenient(true);
     try {
       reader.peek();
       isEmpty = false;
-      TypeAdapter<T> typeAdapter = getAdapter(typeOfT);
+      TypeAdapter<T> typeAdapter = typeOfT != null ? getAdapter(typeOfT) : getAdapter(classOfT);
       return typeAdapter.read(reader);
     } catch (EOFException e) {
       /*
@@ -1251,6 +1682,100 @@ public final class Gson {
     }
   }
 
+  /**
+   * Returns an iterator over the elements of the JSON array read from {@code json}, converting
+   * each of them to an object of type {@code elementType} only when it is requested. Unlike
+   * {@code fromJson(json, new TypeToken<List<T>>(){})} this never holds the whole array in
+   * memory, so arrays which are much larger than the heap can be processed one element at a time.
+   * The type adapter for {@code elementType} is looked up once and used for all elements.
+   *
+   * <p>An empty document or a JSON {@code null} results in an iterator without elements. Once
+   * the end of the array has been read, an exception is thrown if there is trailing data.
+   * The reader is not closed.
+   *
+   * <p>The iterator is not thread-safe, and {@code json} must not be used while it is in use.
+   * On Java 8 and newer, a {@code Stream} can be created from it with
+   * {@code StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)}.
+   *
+   * @param <T> the type of the array elements
+   * @param json the reader producing the JSON array
+   * @param elementType the type of the array elements
+   * @return a lazily evaluated iterator over the array elements. Its methods throw
+   *     {@link JsonIOException} if there was a problem reading from the Reader, and
+   *     {@link JsonSyntaxException} if the JSON data is not an array of elements of type
+   *     {@code elementType}.
+   *
+   * @see #fromJsonStream(JsonReader, TypeToken)
+   * @see #fromJsonObjectStream(Reader, TypeToken)
+   * @since $next-version$
+   */
+  public <T> Iterator<T> fromJsonStream(Reader json, TypeToken<T> elementType) {
+    return StreamingIterator.elements(newJsonReader(json), getAdapter(elementType), true);
+  }
+
+  /**
+   * Returns an iterator over the elements of the next JSON value of {@code reader}, which
+   * must be an array, converting each of them to an object of type {@code elementType} only
+   * when it is requested. This never holds the whole array in memory.
+   *
+   * <p>Like {@link #fromJson(JsonReader, TypeToken)}, the iterator reads the JSON data in
+   * {@linkplain JsonReader#setLenient(boolean) lenient mode}, restoring the lenient mode setting
+   * of the reader whenever one of its methods returns, and does not require the document to end
+   * after the array. Once the iterator has no more elements, the reader is positioned after the
+   * array and can be used to read further values.
+   *
+   * @param <T> the type of the array elements
+   * @param reader the reader whose next JSON value is the array
+   * @param elementType the type of the array elements
+   * @return a lazily evaluated iterator over the array elements
+   *
+   * @see #fromJsonStream(Reader, TypeToken)
+   * @since $next-version$
+   */
+  public <T> Iterator<T> fromJsonStream(JsonReader reader, TypeToken<T> elementType) {
+    return StreamingIterator.elements(reader, getAdapter(elementType), false);
+  }
+
+  /**
+   * Returns an iterator over the entries of the JSON object read from {@code json}, as if it
+   * were a {@code Map<String, V>}, converting each value only when it is requested. This never
+   * holds the whole object in memory. Entries are returned in document order; since they are
+   * not collected, duplicate names are not detected.
+   *
+   * <p>An empty document or a JSON {@code null} results in an iterator without entries. Once
+   * the end of the object has been read, an exception is thrown if there is trailing data.
+   * The reader is not closed.
+   *
+   * @param <V> the type of the values
+   * @param json the reader producing the JSON object
+   * @param valueType the type of the values
+   * @return a lazily evaluated iterator over the object entries
+   *
+   * @see #fromJsonObjectStream(JsonReader, TypeToken)
+   * @see #fromJsonStream(Reader, TypeToken)
+   * @since $next-version$
+   */
+  public <V> Iterator<Map.Entry<String, V>> fromJsonObjectStream(Reader json, TypeToken<V> valueType) {
+    return StreamingIterator.entries(newJsonReader(json), getAdapter(valueType), true);
+  }
+
+  /**
+   * Returns an iterator over the entries of the next JSON value of {@code reader}, which must
+   * be an object, as if it were a {@code Map<String, V>}. This behaves like
+   * {@link #fromJsonStream(JsonReader, TypeToken)} does for arrays.
+   *
+   * @param <V> the type of the values
+   * @param reader the reader whose next JSON value is the object
+   * @param valueType the type of the values
+   * @return a lazily evaluated iterator over the object entries
+   *
+   * @see #fromJsonObjectStream(Reader, TypeToken)
+   * @since $next-version$
+   */
+  public <V> Iterator<Map.Entry<String, V>> fromJsonObjectStream(JsonReader reader, TypeToken<V> valueType) {
+    return StreamingIterator.entries(reader, getAdapter(valueType), false);
+  }
+
   /**
    * This method deserializes the JSON read from the specified parse tree into an object of the
    * specified type. It is not suitable to use if the specified class is a generic type since it
@@ -1273,7 +1798,7 @@ public final class Gson {
    * @see #fromJson(JsonElement, TypeToken)
    */
   public <T> T fromJson(JsonElement json, Class<T> classOfT) throws JsonSyntaxException {
-    T object = fromJson(json, TypeToken.get(classOfT));
+    T object = fromJson(json, classOfT, null);
     return Primitives.wrap(classOfT).cast(object);
   }
 
@@ -1328,10 +1853,14 @@ public final class Gson {
    * @since 2.10
    */
   public <T> T fromJson(JsonElement json, TypeToken<T> typeOfT) throws JsonSyntaxException {
+    return fromJson(json, null, typeOfT);
+  }
+
+  private <T> T fromJson(JsonElement json, Class<T> classOfT, TypeToken<T> typeOfT) throws JsonSyntaxException {
     if (json == null) {
       return null;
     }
-    return fromJson(new JsonTreeReader(json), typeOfT);
+    return fromJson(new JsonTreeReader(json), classOfT, typeOfT);
   }
 
   /**
@@ -36,6 +36,7 @@ import com.google.gson.internal.bind.DefaultDateTypeAdapter;
 import com.google.gson.internal.bind.TreeTypeAdapter;
 import com.google.gson.internal.bind.TypeAdapters;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonNameTable;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 import java.lang.reflect.Type;
@@ -104,6 +105,7 @@ public final class GsonBuilder {
   private ToNumberStrategy objectToNumberStrategy = DEFAULT_OBJECT_TO_NUMBER_STRATEGY;
   private ToNumberStrategy numberToNumberStrategy = DEFAULT_NUMBER_TO_NUMBER_STRATEGY;
   private final ArrayDeque<ReflectionAccessFilter> reflectionFilters = new ArrayDeque<>();
+  private JsonNameTable nameTable;
 
   /**
    * Creates a GsonBuilder instance that can be used to build Gson with various configuration
@@ -141,6 +143,7 @@ public final class GsonBuilder {
     this.objectToNumberStrategy = gson.objectToNumberStrategy;
     this.numberToNumberStrategy = gson.numberToNumberStrategy;
     this.reflectionFilters.addAll(gson.reflectionFilters);
+    this.nameTable = gson.nameTable;
   }
 
   /**
@@ -754,10 +757,32 @@ public final class GsonBuilder {
     return this;
   }
 
+  /**
+   * Configures Gson to reuse the property name strings of the JSON data it parses by looking
+   * them up in {@code nameTable}, see {@link JsonReader#setNameTable(JsonNameTable)}. This
+   * reduces allocations when the same names occur many times, for example for large arrays of
+   * objects. The table may be shared with other {@code Gson} instances and readers.
+   *
+   * <p>By default no name table is used. Setting {@code null} restores the default.
+   *
+   * @param nameTable the table for property names, or {@code null}
+   * @return a reference to this {@code GsonBuilder} object to fulfill the "Builder" pattern
+   * @since $next-version$
+   */
+  public GsonBuilder setNameTable(JsonNameTable nameTable) {
+    this.nameTable = nameTable;
+    return this;
+  }
+
   /**
    * Creates a {@link Gson} instance based on the current configuration. This method is free of
    * side-effects to this {@code GsonBuilder} instance and hence can be called multiple times.
    *
+   * <p>The type adapter factories which the Gson annotation processor generated for classes
+   * annotated with {@link com.google.gson.annotations.GenerateTypeAdapter} are loaded from the
+   * context class loader of the current thread, and are used for these classes instead of
+   * reflection, unless a type adapter has been registered for them.
+   *
    * @return an instance of Gson configured with the options currently set in this builder
    */
   public Gson create() {
@@ -777,7 +802,8 @@ public final class GsonBuilder {
         serializeSpecialFloatingPointValues, useJdkUnsafe, longSerializationPolicy,
         datePattern, dateStyle, timeStyle, new ArrayList<>(this.factories),
         new ArrayList<>(this.hierarchyFactories), factories,
-        objectToNumberStrategy, numberToNumberStrategy, new ArrayList<>(reflectionFilters));
+        objectToNumberStrategy, numberToNumberStrategy, new ArrayList<>(reflectionFilters),
+        nameTable);
   }
 
   private void addTypeAdaptersForDate(String datePattern, int dateStyle, int timeStyle,
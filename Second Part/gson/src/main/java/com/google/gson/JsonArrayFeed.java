@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson;
+
+import com.google.gson.internal.LazilyParsedNumber;
+import com.google.gson.internal.bind.JsonTreeWriter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import com.google.gson.stream.NonBlockingJsonReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.NoSuchElementException;
+
+/**
+ * Binds the elements of a JSON array which is pushed to it in chunks, as they
+ * arrive, for example by a non-blocking server. Each element is converted with
+ * the {@link TypeAdapter} of the element type as soon as all of its input has been
+ * {@linkplain #feed(ByteBuffer) fed}, so processing can start before the last byte
+ * arrives, and the memory used is bounded by the size of the largest element
+ * rather than of the whole array.
+ *
+ * <pre>
+ * JsonArrayFeed&lt;Event&gt; feed = new JsonArrayFeed&lt;&gt;(gson, TypeToken.get(Event.class));
+ *
+ * void onData(ByteBuffer bytes) {
+ *   feed.feed(bytes);
+ *   while (feed.hasNext()) {
+ *     process(feed.next());
+ *   }
+ * }
+ *
+ * void onComplete() {
+ *   feed.endOfInput();
+ *   while (feed.hasNext()) {
+ *     process(feed.next());
+ *   }
+ * }
+ * </pre>
+ *
+ * <p>The caller decides when to feed more input, which provides backpressure:
+ * input is only parsed when {@link #hasNext()} is called.
+ *
+ * <p>The JSON data must be strict, see {@link NonBlockingJsonReader}. A JSON
+ * {@code null} instead of the array is treated as an array without elements.
+ * Instances of this class are not thread-safe.
+ *
+ * @param <T> the type of the array elements
+ * @since $next-version$
+ */
+public final class JsonArrayFeed<T> {
+  private final NonBlockingJsonReader reader = new NonBlockingJsonReader();
+  private final TypeAdapter<T> adapter;
+  private boolean started;
+  private boolean finished;
+  /** Builds the element being read, or null between elements. */
+  private JsonTreeWriter element;
+  private boolean hasNext;
+  private T next;
+
+  /** Creates a feed which binds the array elements with the adapter {@code gson} uses for {@code elementType}. */
+  public JsonArrayFeed(Gson gson, TypeToken<T> elementType) {
+    this.adapter = gson.getAdapter(elementType);
+  }
+
+  /**
+   * Feeds the remaining UTF-8 encoded bytes of {@code utf8}, see
+   * {@link NonBlockingJsonReader#feed(ByteBuffer)}.
+   *
+   * @throws JsonSyntaxException if the bytes are not valid UTF-8.
+   */
+  public void feed(ByteBuffer utf8) {
+    try {
+      reader.feed(utf8);
+    } catch (IOException e) {
+      throw new JsonSyntaxException(e);
+    }
+  }
+
+  /** Feeds the chars of {@code chars}, see {@link NonBlockingJsonReader#feed(CharSequence)}. */
+  public void feed(CharSequence chars) {
+    reader.feed(chars);
+  }
+
+  /**
+   * Signals that all input has been fed.
+   *
+   * @throws JsonSyntaxException if the input ends with an incomplete UTF-8 sequence.
+   */
+  public void endOfInput() {
+    try {
+      reader.endOfInput();
+    } catch (IOException e) {
+      throw new JsonSyntaxException(e);
+    }
+  }
+
+  /**
+   * Returns true if the next element is available, parsing as much of the input
+   * fed so far as necessary. Returns false if more input is needed or the
+   * array is complete, which {@link #isFinished()} distinguishes.
+   *
+   * @throws JsonSyntaxException if the JSON data is malformed, is not an array, or
+   *     an element is not a valid representation of the element type.
+   */
+  public boolean hasNext() {
+    try {
+      while (!hasNext && !finished) {
+        JsonToken token = reader.nextToken();
+        if (token == null) {
+          return false;
+        }
+        if (token == JsonToken.END_DOCUMENT) {
+          finished = true;
+        } else if (!started) {
+          if (token != JsonToken.BEGIN_ARRAY && token != JsonToken.NULL) {
+            throw new IllegalStateException("Expected BEGIN_ARRAY but was " + token + " at path $");
+          }
+          started = true;
+        } else if (element != null || token != JsonToken.END_ARRAY) {
+          if (element == null) {
+            element = new JsonTreeWriter();
+          }
+          write(token);
+          if (reader.getDepth() == 1) {
+            next = adapter.fromJsonTree(element.get());
+            hasNext = true;
+            element = null;
+          }
+        }
+      }
+      return hasNext;
+    } catch (IllegalStateException e) {
+      throw new JsonSyntaxException(e);
+    } catch (EOFException e) {
+      throw new JsonSyntaxException(e);
+    } catch (MalformedJsonException e) {
+      throw new JsonSyntaxException(e);
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+  }
+
+  private void write(JsonToken token) throws IOException {
+    switch (token) {
+      case BEGIN_ARRAY:
+        element.beginArray();
+        break;
+      case END_ARRAY:
+        element.endArray();
+        break;
+      case BEGIN_OBJECT:
+        element.beginObject();
+        break;
+      case END_OBJECT:
+        element.endObject();
+        break;
+      case NAME:
+        element.name(reader.getString());
+        break;
+      case STRING:
+        element.value(reader.getString());
+        break;
+      case NUMBER:
+        element.value(new LazilyParsedNumber(reader.getString()));
+        break;
+      case BOOLEAN:
+        element.value(Boolean.parseBoolean(reader.getString()));
+        break;
+      case NULL:
+        element.nullValue();
+        break;
+      default:
+        throw new AssertionError(token);
+    }
+  }
+
+  /**
+   * Returns the next element.
+   *
+   * @throws NoSuchElementException if {@link #hasNext()} returns false.
+   */
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    hasNext = false;
+    T result = next;
+    next = null;
+    return result;
+  }
+
+  /**
+   * Returns true once the whole array has been read and {@link #endOfInput()} has
+   * been called, so no more elements will become available.
+   */
+  public boolean isFinished() {
+    return finished && !hasNext;
+  }
+}
@@ -0,0 +1,377 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson;
+
+import com.google.gson.internal.Streams;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Reads and writes <a href="https://jsonlines.org/">JSON Lines</a> (also known
+ * as newline-delimited JSON), binding or serializing the records in parallel on
+ * an {@link ExecutorService}, for example a {@link ForkJoinPool}.
+ *
+ * <p>The input is split into chunks of complete lines by the calling thread;
+ * since a JSON value cannot contain a raw line break (inside strings it must be
+ * escaped as {@code \n}), every {@code '\n'} ends a record. The chunks are then
+ * bound concurrently with the {@link TypeAdapter} of the record type. Blank lines
+ * are ignored. For writing, batches of records are serialized concurrently into
+ * separate buffers, which are written to the output in the original order.
+ *
+ * <p>The record type adapters must be thread-safe, which is the case for all
+ * adapters Gson creates itself. The formatting style of the {@code Gson}
+ * instance is not used for writing, since each record must be on a single line.
+ *
+ * <pre>
+ * JsonLines jsonLines = new JsonLines(gson, pool);
+ * Iterator&lt;Event&gt; events = jsonLines.read(reader, TypeToken.get(Event.class), true);
+ * while (events.hasNext()) {
+ *   process(events.next());
+ * }
+ * </pre>
+ *
+ * <p>Instances are thread-safe, but the iterators they return are not.
+ *
+ * @since $next-version$
+ */
+public final class JsonLines {
+  /** Minimum number of chars read from the input for one chunk of lines. */
+  private static final int CHUNK_SIZE = 64 * 1024;
+  /** Number of records serialized by one task. */
+  private static final int RECORDS_PER_TASK = 256;
+
+  private final Gson gson;
+  private final ExecutorService executor;
+  /** Maximum number of chunks being processed or waiting to be consumed, to bound memory usage. */
+  private final int maxInFlight;
+
+  /**
+   * Creates an instance which binds and serializes records with {@code gson},
+   * running the work on {@code executor}. The executor is not shut down by this
+   * class.
+   */
+  public JsonLines(Gson gson, ExecutorService executor) {
+    this.gson = Objects.requireNonNull(gson, "gson == null");
+    this.executor = Objects.requireNonNull(executor, "executor == null");
+    int parallelism = executor instanceof ForkJoinPool
+        ? ((ForkJoinPool) executor).getParallelism()
+        : Runtime.getRuntime().availableProcessors();
+    this.maxInFlight = Math.max(2, parallelism * 2);
+  }
+
+  /**
+   * Returns an iterator over the records of {@code in}, each converted to an
+   * object of type {@code type}. The input is read by the thread which calls
+   * {@link Iterator#hasNext()}, while the records are bound on the executor,
+   * ahead of the consumer by a bounded number of chunks. Each record is parsed
+   * like {@link Gson#fromJson(String, TypeToken)} parses a document.
+   *
+   * <p>If {@code ordered} is false, the records of chunks which are bound first
+   * are returned first, so the order of the records is not preserved; this can
+   * reduce latency when the records differ much in size.
+   *
+   * <p>The methods of the iterator throw {@link JsonIOException} if reading the
+   * input fails, and {@link JsonSyntaxException} if a record is malformed; the
+   * message includes the line number of the record. The reader is not closed.
+   */
+  public <T> Iterator<T> read(Reader in, TypeToken<T> type, boolean ordered) {
+    return new RecordIterator<>(in, gson.getAdapter(type), ordered);
+  }
+
+  /**
+   * Writes {@code records} to {@code out}, each converted to JSON like
+   * {@link Gson#toJson(Object, Type, JsonWriter)} does and
+   * followed by a line break. Batches of records are serialized concurrently,
+   * but written in the order of {@code records}, which is consumed by the
+   * calling thread. {@code out} is not flushed or closed.
+   *
+   * @throws JsonIOException if writing to {@code out} fails.
+   */
+  public <T> void write(Iterator<? extends T> records, TypeToken<T> type, Writer out) {
+    final Type recordType = type.getType();
+    Deque<Future<StringBuilder>> inFlight = new ArrayDeque<>();
+    try {
+      while (records.hasNext()) {
+        final List<T> batch = new ArrayList<>(RECORDS_PER_TASK);
+        while (batch.size() < RECORDS_PER_TASK && records.hasNext()) {
+          batch.add(records.next());
+        }
+        inFlight.add(submit(executor, new Callable<StringBuilder>() {
+          @Override public StringBuilder call() throws IOException {
+            StringBuilder lines = new StringBuilder();
+            JsonWriter writer = new JsonWriter(Streams.writerForAppendable(lines));
+            for (T record : batch) {
+              gson.toJson(record, recordType, writer);
+              writer.flush();
+              lines.append('\n');
+            }
+            return lines;
+          }
+        }, null));
+        if (inFlight.size() == maxInFlight) {
+          out.append(await(inFlight.remove()));
+        }
+      }
+      while (!inFlight.isEmpty()) {
+        out.append(await(inFlight.remove()));
+      }
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    } finally {
+      for (Future<StringBuilder> future : inFlight) {
+        future.cancel(true);
+      }
+    }
+  }
+
+  /**
+   * Runs {@code task} on {@code executor}, adding its future to {@code completed},
+   * if that is not null, once it is done. Unlike {@link ExecutorService#submit(Callable)}
+   * of a {@code ForkJoinPool}, whose futures rethrow a copy of the exception of a
+   * task, this preserves the original exception.
+   */
+  static <V> Future<V> submit(Executor executor, Callable<V> task, final BlockingQueue<Future<V>> completed) {
+    FutureTask<V> future = new FutureTask<V>(task) {
+      @Override protected void done() {
+        if (completed != null) {
+          completed.add(this);
+        }
+      }
+    };
+    executor.execute(future);
+    return future;
+  }
+
+  /** Waits for the result of a task, rethrowing its exception unchanged if possible. */
+  static <V> V await(Future<V> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new JsonIOException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new JsonIOException(cause);
+    }
+  }
+
+  private final class RecordIterator<T> implements Iterator<T> {
+    private final Reader in;
+    private final TypeAdapter<T> adapter;
+    /** Tasks in submission order, if the order is preserved. */
+    private final Deque<Future<List<T>>> ordered;
+    /** Completed tasks in completion order, if the order is not preserved. */
+    private final BlockingQueue<Future<List<T>>> unordered;
+    private int inFlight;
+
+    /** Chars read from {@code in} after the last complete line. */
+    private char[] rest = new char[0];
+    private int restLength;
+    /** Line number of the first line in {@link #rest}. */
+    private int restLine = 1;
+    private boolean endOfInput;
+
+    private List<T> current = Collections.emptyList();
+    private int index;
+
+    RecordIterator(Reader in, TypeAdapter<T> adapter, boolean ordered) {
+      this.in = Objects.requireNonNull(in, "in == null");
+      this.adapter = adapter;
+      this.ordered = ordered ? new ArrayDeque<Future<List<T>>>() : null;
+      this.unordered = ordered ? null : new LinkedBlockingQueue<Future<List<T>>>();
+    }
+
+    @Override public boolean hasNext() {
+      while (index == current.size()) {
+        while (inFlight < maxInFlight && !endOfInput) {
+          submitChunk();
+        }
+        if (inFlight == 0) {
+          return false;
+        }
+        Future<List<T>> next;
+        if (ordered != null) {
+          next = ordered.remove();
+        } else {
+          try {
+            next = unordered.take();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JsonIOException(e);
+          }
+        }
+        inFlight--;
+        try {
+          current = await(next);
+        } catch (RuntimeException | Error e) {
+          if (ordered != null) {
+            for (Future<List<T>> future : ordered) {
+              future.cancel(true);
+            }
+          }
+          throw e;
+        }
+        index = 0;
+      }
+      return true;
+    }
+
+    @Override public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return current.get(index++);
+    }
+
+    @Override public void remove() {
+      throw new UnsupportedOperationException();
+    }
+
+    /** Reads the next chunk of complete lines and submits a task binding them. */
+    private void submitChunk() {
+      char[] buffer = new char[Math.max(CHUNK_SIZE, restLength * 2)];
+      System.arraycopy(rest, 0, buffer, 0, restLength);
+      int length = restLength;
+      int end = -1;
+      try {
+        while (end == -1) {
+          int searchStart = length;
+          while (length < buffer.length) {
+            int read = in.read(buffer, length, buffer.length - length);
+            if (read == -1) {
+              endOfInput = true;
+              break;
+            }
+            length += read;
+          }
+          if (endOfInput) {
+            end = length;
+          } else {
+            for (int i = length - 1; i >= searchStart; i--) {
+              if (buffer[i] == '\n') {
+                end = i + 1;
+                break;
+              }
+            }
+            if (end == -1) {
+              // A single line is longer than the buffer
+              char[] larger = new char[buffer.length * 2];
+              System.arraycopy(buffer, 0, larger, 0, length);
+              buffer = larger;
+            }
+          }
+        }
+      } catch (IOException e) {
+        throw new JsonIOException(e);
+      }
+
+      restLength = length - end;
+      rest = new char[restLength];
+      System.arraycopy(buffer, end, rest, 0, restLength);
+      final char[] chunk = buffer;
+      final int chunkEnd = end;
+      final int firstLine = restLine;
+      for (int i = 0; i < end; i++) {
+        if (buffer[i] == '\n') {
+          restLine++;
+        }
+      }
+      if (chunkEnd == 0) {
+        return;
+      }
+
+      Callable<List<T>> task = new Callable<List<T>>() {
+        @Override public List<T> call() {
+          return bind(chunk, chunkEnd, firstLine);
+        }
+      };
+      if (ordered != null) {
+        ordered.add(submit(executor, task, null));
+      } else {
+        submit(executor, task, unordered);
+      }
+      inFlight++;
+    }
+
+    /** Binds the records on the lines in {@code chunk[0..end)}. */
+    private List<T> bind(char[] chunk, int end, int firstLine) {
+      List<T> records = new ArrayList<>();
+      JsonReader reader = null;
+      int line = firstLine;
+      int lineStart = 0;
+      while (lineStart < end) {
+        int lineEnd = lineStart;
+        boolean blank = true;
+        while (lineEnd < end && chunk[lineEnd] != '\n') {
+          char c = chunk[lineEnd++];
+          if (c != ' ' && c != '\t' && c != '\r') {
+            blank = false;
+          }
+        }
+        if (!blank) {
+          Reader lineReader = new CharArrayReader(chunk, lineStart, lineEnd - lineStart);
+          if (reader == null) {
+            reader = gson.newJsonReader(lineReader);
+          } else {
+            reader.reset(lineReader);
+          }
+          reader.setLenient(true);
+          try {
+            records.add(adapter.read(reader));
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+              throw new JsonSyntaxException("JSON document was not fully consumed.");
+            }
+          } catch (IllegalStateException | IOException | JsonParseException e) {
+            throw new JsonSyntaxException("Malformed record at line " + line + ": " + e.getMessage(), e);
+          }
+        }
+        lineStart = lineEnd + 1;
+        line++;
+      }
+      return records;
+    }
+  }
+}
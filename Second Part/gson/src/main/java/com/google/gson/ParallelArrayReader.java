@@ -0,0 +1,329 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson;
+
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+
+/**
+ * Reads a large JSON array, which is held in memory, by binding its elements
+ * in parallel on an {@link ExecutorService}, for example a {@link ForkJoinPool}.
+ *
+ * <p>A fast structural scan first finds the boundaries of the array elements;
+ * slices of elements are then bound concurrently by separate {@link JsonReader}s
+ * over ranges of the shared buffer, all using the same cached {@link TypeAdapter}
+ * of the element type. The result is the same as that of
+ * {@code gson.fromJson(json, new TypeToken<List<T>>() {})}; JSON which the scan
+ * does not handle, such as lenient syntax like comments, and malformed JSON are
+ * read sequentially instead, which also produces the usual exception messages.
+ *
+ * <p>The calling thread binds the first slice itself. On a {@code ForkJoinPool}
+ * the slices are {@link java.util.concurrent.ForkJoinTask}s, so this class may
+ * also be used from tasks running in the same pool, for example for nested
+ * parallel work.
+ *
+ * <p>The element type adapters must be thread-safe, which is the case for all
+ * adapters Gson creates itself. Instances of this class are thread-safe.
+ *
+ * @see JsonLines
+ * @since $next-version$
+ */
+public final class ParallelArrayReader {
+  /** Minimum number of chars bound by one task, so that the overhead of a task is small. */
+  private static final int MIN_TASK_SIZE = 16 * 1024;
+
+  private final Gson gson;
+  private final ExecutorService executor;
+  private final int parallelism;
+
+  /**
+   * Creates an instance which binds elements with {@code gson}, running the work
+   * on {@code executor}. The executor is not shut down by this class.
+   */
+  public ParallelArrayReader(Gson gson, ExecutorService executor) {
+    this.gson = Objects.requireNonNull(gson, "gson == null");
+    this.executor = Objects.requireNonNull(executor, "executor == null");
+    this.parallelism = executor instanceof ForkJoinPool
+        ? ((ForkJoinPool) executor).getParallelism()
+        : Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * Reads the JSON array {@code json}, converting its elements to objects of
+   * type {@code elementType}.
+   *
+   * @return the elements, or {@code null} if {@code json} is empty or the JSON {@code null}.
+   * @throws JsonSyntaxException if {@code json} is not a valid representation of an array
+   *     of {@code elementType}.
+   */
+  public <T> List<T> read(String json, TypeToken<T> elementType) {
+    char[] chars = json.toCharArray();
+    return read(chars, 0, chars.length, elementType);
+  }
+
+  /**
+   * Reads the JSON array consisting of {@code length} chars of {@code json},
+   * starting at {@code offset}, converting its elements to objects of type
+   * {@code elementType}. The chars must not be modified while this method runs.
+   *
+   * @return the elements, or {@code null} if the JSON is empty or the JSON {@code null}.
+   * @throws JsonSyntaxException if the JSON is not a valid representation of an array
+   *     of {@code elementType}.
+   */
+  public <T> List<T> read(char[] json, int offset, int length, TypeToken<T> elementType) {
+    if (offset < 0 || length < 0 || offset > json.length - length) {
+      throw new IndexOutOfBoundsException("offset=" + offset + ", length=" + length);
+    }
+    TypeAdapter<T> adapter = gson.getAdapter(elementType);
+    int[] separators = scan(json, offset, offset + length);
+    if (separators == null) {
+      return readSequentially(json, offset, length, elementType);
+    }
+    int elementCount = separators[0];
+    if (elementCount == 0) {
+      return new ArrayList<>();
+    }
+
+    Object[] elements = new Object[elementCount];
+    int taskSize = Math.max(MIN_TASK_SIZE, length / (parallelism * 4));
+    List<Future<Void>> tasks = new ArrayList<>();
+    try {
+      // The first slice is bound by the calling thread instead of waiting idly, the others by
+      // the executor; if there is only one slice the array is too small to be worth splitting
+      int firstSliceEnd = sliceEnd(separators, 0, elementCount, taskSize);
+      for (int first = firstSliceEnd; first < elementCount; ) {
+        int last = sliceEnd(separators, first, elementCount, taskSize);
+        tasks.add(submit(bindTask(json, separators, first, last, adapter, elements)));
+        first = last;
+      }
+      bind(json, separators, 0, firstSliceEnd, adapter, elements);
+      // Await in reverse order: forked tasks which have not been started are then run
+      // by this thread, from the top of its queue
+      for (int i = tasks.size() - 1; i >= 0; i--) {
+        await(tasks.get(i));
+      }
+    } catch (JsonParseException | IllegalStateException e) {
+      // Either the JSON is malformed, or the scan split it incorrectly because it uses lenient syntax
+      for (Future<Void> task : tasks) {
+        task.cancel(true);
+      }
+      return readSequentially(json, offset, length, elementType);
+    }
+
+    @SuppressWarnings("unchecked")
+    List<T> result = (List<T>) new ArrayList<>(Arrays.asList(elements));
+    return result;
+  }
+
+  /**
+   * Returns the end of the slice starting at element {@code first}, which spans
+   * roughly {@code taskSize} chars but at least one element.
+   */
+  private static int sliceEnd(int[] separators, int first, int elementCount, int taskSize) {
+    int last = first + 1;
+    int sliceStart = separators[first + 1];
+    while (last < elementCount && separators[last + 1] - sliceStart < taskSize) {
+      last++;
+    }
+    return last;
+  }
+
+  /**
+   * Runs {@code task} on the executor. On a {@code ForkJoinPool} it becomes a
+   * {@link ForkJoinTask}, which is forked if the calling thread is a worker of
+   * the pool: a worker which then waits for it with {@link #await} runs it
+   * itself or helps the pool instead of blocking, so calls from tasks of the
+   * same pool cannot starve it.
+   */
+  private Future<Void> submit(Callable<Void> task) {
+    if (executor instanceof ForkJoinPool) {
+      ForkJoinTask<Void> forkJoinTask = ForkJoinTask.adapt(task);
+      Thread thread = Thread.currentThread();
+      if (thread instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) thread).getPool() == executor) {
+        forkJoinTask.fork();
+      } else {
+        ((ForkJoinPool) executor).execute(forkJoinTask);
+      }
+      return forkJoinTask;
+    }
+    return JsonLines.submit(executor, task, null);
+  }
+
+  /** Waits for a task created by {@link #submit}, rethrowing its exception. */
+  private static void await(Future<Void> task) {
+    if (task instanceof ForkJoinTask) {
+      ((ForkJoinTask<Void>) task).join();
+    } else {
+      JsonLines.await(task);
+    }
+  }
+
+  private <T> Callable<Void> bindTask(final char[] json, final int[] separators, final int first,
+      final int last, final TypeAdapter<T> adapter, final Object[] elements) {
+    return new Callable<Void>() {
+      @Override public Void call() {
+        bind(json, separators, first, last, adapter, elements);
+        return null;
+      }
+    };
+  }
+
+  /**
+   * Binds the elements {@code first..last-1} into {@code elements}.
+   *
+   * @throws JsonSyntaxException if an element is malformed or there is more than
+   *     one value between two separators.
+   */
+  private <T> void bind(char[] json, int[] separators, int first, int last, TypeAdapter<T> adapter,
+      Object[] elements) {
+    JsonReader reader = null;
+    for (int i = first; i < last; i++) {
+      int start = separators[i + 1] + 1;
+      CharArrayReader in = new CharArrayReader(json, start, separators[i + 2] - start);
+      if (reader == null) {
+        reader = gson.newJsonReader(in);
+      } else {
+        reader.reset(in);
+      }
+      reader.setLenient(true);
+      try {
+        elements[i] = adapter.read(reader);
+        if (reader.peek() != JsonToken.END_DOCUMENT) {
+          throw new JsonSyntaxException("JSON document was not fully consumed.");
+        }
+      } catch (IOException e) {
+        throw new JsonSyntaxException(e);
+      }
+    }
+  }
+
+  private <T> List<T> readSequentially(char[] json, int offset, int length, TypeToken<T> elementType) {
+    @SuppressWarnings("unchecked")
+    TypeToken<List<T>> listType = (TypeToken<List<T>>) TypeToken.getParameterized(List.class, elementType.getType());
+    return gson.fromJson(new CharArrayReader(json, offset, length), listType);
+  }
+
+  /**
+   * Finds the positions of the opening bracket, the commas separating the elements
+   * and the closing bracket of the array {@code json[start..end)}. Returns an array
+   * whose first entry is the number of elements, followed by those positions, or
+   * null if the JSON is no array, is malformed or uses lenient syntax which the
+   * scan does not support.
+   */
+  static int[] scan(char[] json, int start, int end) {
+    int i = skipWhitespace(json, start, end);
+    if (i == end || json[i] != '[') {
+      return null;
+    }
+    int[] result = new int[16];
+    int size = 1;
+    result[size++] = i;
+    int depth = 0;
+    for (; i < end; i++) {
+      char c = json[i];
+      switch (c) {
+        case '"':
+        case '\'':
+          // Skip the string
+          for (i++; i < end && json[i] != c; i++) {
+            if (json[i] == '\\') {
+              i++;
+            }
+          }
+          if (i >= end) {
+            return null;
+          }
+          break;
+        case '[':
+        case '{':
+          depth++;
+          break;
+        case ']':
+        case '}':
+          depth--;
+          if (depth == 0) {
+            if (c != ']' || skipWhitespace(json, i + 1, end) != end) {
+              return null;
+            }
+            if (size == result.length) {
+              result = Arrays.copyOf(result, size * 2);
+            }
+            result[size++] = i;
+            return checkElements(json, result, size);
+          }
+          break;
+        case ',':
+          if (depth == 1) {
+            if (size == result.length) {
+              result = Arrays.copyOf(result, size * 2);
+            }
+            result[size++] = i;
+          }
+          break;
+        case '/':
+        case '#':
+        case ';':
+          // Comments and lenient separators
+          return null;
+        default:
+          break;
+      }
+    }
+    return null;
+  }
+
+  /** Completes the scan result, or returns null if an element is empty, as in the lenient {@code [1,,2]}. */
+  private static int[] checkElements(char[] json, int[] result, int size) {
+    int elementCount = size - 2;
+    for (int k = 1; k < size - 1; k++) {
+      if (skipWhitespace(json, result[k] + 1, result[k + 1]) == result[k + 1]) {
+        // Only "[]" may be empty
+        if (elementCount == 1) {
+          elementCount = 0;
+          break;
+        }
+        return null;
+      }
+    }
+    result[0] = elementCount;
+    return result;
+  }
+
+  private static int skipWhitespace(char[] json, int start, int end) {
+    while (start < end) {
+      char c = json[start];
+      if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+        break;
+      }
+      start++;
+    }
+    return start;
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson;
+
+import com.google.gson.internal.GsonBuildConfig;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator over the elements of a JSON array or the entries of a JSON object,
+ * which reads one element at a time so that the whole array or object is never
+ * held in memory. Used by {@link Gson#fromJsonStream(JsonReader, com.google.gson.reflect.TypeToken)}
+ * and {@link Gson#fromJsonObjectStream(JsonReader, com.google.gson.reflect.TypeToken)}.
+ */
+abstract class StreamingIterator<E> implements Iterator<E> {
+  private static final int NOT_STARTED = 0;
+  private static final int STARTED = 1;
+  private static final int FINISHED = 2;
+
+  private final JsonReader reader;
+  private final boolean object;
+  /** Whether the document must end after the array or object. */
+  private final boolean assertFullConsumption;
+  private int state = NOT_STARTED;
+  /** Whether {@link #hasNext()} has already found the next element. */
+  private boolean hasNext;
+
+  StreamingIterator(JsonReader reader, boolean object, boolean assertFullConsumption) {
+    this.reader = reader;
+    this.object = object;
+    this.assertFullConsumption = assertFullConsumption;
+  }
+
+  /** Reads the next element; for objects the reader is positioned at the name. */
+  abstract E read(JsonReader reader) throws IOException;
+
+  @Override public boolean hasNext() {
+    if (hasNext) {
+      return true;
+    }
+    if (state == FINISHED) {
+      return false;
+    }
+    boolean oldLenient = reader.isLenient();
+    reader.setLenient(true);
+    try {
+      if (state == NOT_STARTED) {
+        JsonToken token;
+        try {
+          token = reader.peek();
+        } catch (EOFException e) {
+          // Like fromJson, which returns null, treat an empty document as no elements
+          state = FINISHED;
+          return false;
+        }
+        if (token == JsonToken.NULL) {
+          reader.nextNull();
+          return finish();
+        }
+        if (object) {
+          reader.beginObject();
+        } else {
+          reader.beginArray();
+        }
+        state = STARTED;
+      }
+      if (reader.hasNext()) {
+        hasNext = true;
+        return true;
+      }
+      if (object) {
+        reader.endObject();
+      } else {
+        reader.endArray();
+      }
+      return finish();
+    } catch (IllegalStateException e) {
+      throw new JsonSyntaxException(e);
+    } catch (EOFException e) {
+      throw new JsonSyntaxException(e);
+    } catch (MalformedJsonException e) {
+      throw new JsonSyntaxException(e);
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    } finally {
+      reader.setLenient(oldLenient);
+    }
+  }
+
+  private boolean finish() throws IOException {
+    state = FINISHED;
+    if (assertFullConsumption && reader.peek() != JsonToken.END_DOCUMENT) {
+      throw new JsonSyntaxException("JSON document was not fully consumed.");
+    }
+    return false;
+  }
+
+  @Override public E next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    hasNext = false;
+    boolean oldLenient = reader.isLenient();
+    reader.setLenient(true);
+    try {
+      return read(reader);
+    } catch (IllegalStateException e) {
+      throw new JsonSyntaxException(e);
+    } catch (EOFException e) {
+      throw new JsonSyntaxException(e);
+    } catch (MalformedJsonException e) {
+      throw new JsonSyntaxException(e);
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    } catch (AssertionError e) {
+      throw new AssertionError("AssertionError (GSON " + GsonBuildConfig.VERSION + "): " + e.getMessage(), e);
+    } finally {
+      reader.setLenient(oldLenient);
+    }
+  }
+
+  @Override public void remove() {
+    throw new UnsupportedOperationException();
+  }
+
+  /** Returns an iterator which reads the elements of an array with {@code adapter}. */
+  static <T> Iterator<T> elements(JsonReader reader, final TypeAdapter<T> adapter,
+      boolean assertFullConsumption) {
+    return new StreamingIterator<T>(reader, false, assertFullConsumption) {
+      @Override T read(JsonReader reader) throws IOException {
+        return adapter.read(reader);
+      }
+    };
+  }
+
+  /** Returns an iterator which reads the entries of an object, with {@code adapter} for the values. */
+  static <V> Iterator<Map.Entry<String, V>> entries(JsonReader reader, final TypeAdapter<V> adapter,
+      boolean assertFullConsumption) {
+    return new StreamingIterator<Map.Entry<String, V>>(reader, true, assertFullConsumption) {
+      @Override Map.Entry<String, V> read(JsonReader reader) throws IOException {
+        String name = reader.nextName();
+        return new AbstractMap.SimpleImmutableEntry<>(name, adapter.read(reader));
+      }
+    };
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * An annotation that indicates that the type adapter of this class should be generated
+ * at compile time instead of using reflection at runtime.
+ *
+ * <p>This annotation has no effect unless the Gson annotation processor of the
+ * {@code gson-codegen} artifact is on the annotation processor path of the compiler.
+ * For each annotated class the processor then generates a
+ * {@link com.google.gson.GeneratedTypeAdapterFactory} which reads and writes the fields
+ * directly, honoring {@link SerializedName}, {@link Expose}, {@link Since}, {@link Until},
+ * {@link JsonAdapter} on fields and the {@link com.google.gson.FieldNamingPolicy}, and
+ * registers it so that {@link com.google.gson.Gson} instances discover it.
+ *
+ * <p>Here is an example of how this annotation is meant to be used:
+ * <pre>
+ * &#64;GenerateTypeAdapter
+ * public class User {
+ *   &#64;SerializedName("first_name") String firstName;
+ *   String lastName;
+ *   &#64;Since(1.1) String emailAddress;
+ * }
+ * </pre>
+ *
+ * <p>The annotated class must be a top-level or static nested class which is not private,
+ * not abstract and not generic, and which has a non-private constructor without parameters.
+ * Its fields and the fields of its superclasses must not be private, and must be public
+ * if they are declared in a different package; {@code static} and {@code transient} fields
+ * are ignored, and other fields must not be {@code final}.
+ *
+ * <p>For a Gson configuration which the generated code does not support, namely a custom
+ * {@link com.google.gson.FieldNamingStrategy}, exclusion strategies, an
+ * {@link com.google.gson.InstanceCreator} for the class, or the inclusion of
+ * {@code static} or {@code transient} fields, Gson falls back to its reflection-based
+ * type adapter.
+ *
+ * @since $next-version$
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface GenerateTypeAdapter {
+}
@@ -189,6 +189,31 @@ public final class Excluder implements TypeAdapterFactory, Cloneable {
     return false;
   }
 
+  /**
+   * Returns true if a field with the given properties is excluded; used by type adapters
+   * generated at compile time, which have no {@link Field}. {@code since} and {@code until}
+   * are the values of the {@link Since} and {@link Until} annotations of the field, or negative
+   * respectively positive infinity if it has none. {@code exposed} is whether the field has
+   * an {@link Expose} annotation which exposes it for {@code serialize}. Exclusion strategies
+   * are not considered, see {@link #hasExclusionStrategies()}, and neither is the type of the
+   * field, which has to be checked with {@link #excludeClass(Class, boolean)}.
+   */
+  public boolean excludeField(int modifiers, double since, double until, boolean exposed,
+      boolean serialize) {
+    if ((this.modifiers & modifiers) != 0) {
+      return true;
+    }
+    if (version != Excluder.IGNORE_VERSIONS && !(version >= since && version < until)) {
+      return true;
+    }
+    return requireExpose && !exposed;
+  }
+
+  /** Returns true if custom exclusion strategies have been added. */
+  public boolean hasExclusionStrategies() {
+    return !serializationStrategies.isEmpty() || !deserializationStrategies.isEmpty();
+  }
+
   private boolean excludeClassChecks(Class<?> clazz) {
       if (version != Excluder.IGNORE_VERSIONS && !isValidVersion(clazz.getAnnotation(Since.class), clazz.getAnnotation(Until.class))) {
           return true;
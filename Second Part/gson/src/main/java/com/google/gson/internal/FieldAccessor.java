@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import com.google.gson.JsonIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Reads and writes the value of a field, or reads a record component through
+ * its accessor method. The {@code int}, {@code long} and {@code double} methods
+ * access primitive fields without boxing their values.
+ */
+public abstract class FieldAccessor {
+  FieldAccessor() {}
+
+  /**
+   * Returns the value of the field or record component of {@code target}.
+   *
+   * @throws JsonIOException if a record accessor method throws an exception.
+   */
+  public abstract Object get(Object target) throws IllegalAccessException;
+
+  /**
+   * Sets the value of the field of {@code target}.
+   *
+   * @throws UnsupportedOperationException for record accessor methods.
+   */
+  public abstract void set(Object target, Object value) throws IllegalAccessException;
+
+  /** Returns the value of the {@code int} field of {@code target}, without boxing it. */
+  public int getInt(Object target) throws IllegalAccessException {
+    return (Integer) get(target);
+  }
+
+  /** Sets the value of the {@code int} field of {@code target}, without boxing it. */
+  public void setInt(Object target, int value) throws IllegalAccessException {
+    set(target, value);
+  }
+
+  /** Returns the value of the {@code long} field of {@code target}, without boxing it. */
+  public long getLong(Object target) throws IllegalAccessException {
+    return (Long) get(target);
+  }
+
+  /** Sets the value of the {@code long} field of {@code target}, without boxing it. */
+  public void setLong(Object target, long value) throws IllegalAccessException {
+    set(target, value);
+  }
+
+  /** Returns the value of the {@code double} field of {@code target}, without boxing it. */
+  public double getDouble(Object target) throws IllegalAccessException {
+    return (Double) get(target);
+  }
+
+  /** Sets the value of the {@code double} field of {@code target}, without boxing it. */
+  public void setDouble(Object target, double value) throws IllegalAccessException {
+    set(target, value);
+  }
+
+  /**
+   * Returns an accessor for {@code field}. The access checks of
+   * {@link Field#get(Object)} apply unless the field has been made accessible.
+   */
+  public static FieldAccessor forField(Field field) {
+    return new ReflectionFieldAccessor(field);
+  }
+
+  /**
+   * Returns an accessor which reads a record component through its {@code accessor}
+   * method.
+   */
+  public static FieldAccessor forAccessorMethod(Method accessor) {
+    return new ReflectionMethodAccessor(accessor);
+  }
+
+  private static JsonIOException accessorException(Method accessor, Throwable cause) {
+    String accessorDescription = ReflectionHelper.getAccessibleObjectDescription(accessor, false);
+    return new JsonIOException("Accessor " + accessorDescription + " threw exception", cause);
+  }
+
+  private static final class ReflectionFieldAccessor extends FieldAccessor {
+    private final Field field;
+
+    ReflectionFieldAccessor(Field field) {
+      this.field = field;
+    }
+
+    @Override public Object get(Object target) throws IllegalAccessException {
+      return field.get(target);
+    }
+
+    @Override public void set(Object target, Object value) throws IllegalAccessException {
+      field.set(target, value);
+    }
+
+    @Override public int getInt(Object target) throws IllegalAccessException {
+      return field.getInt(target);
+    }
+
+    @Override public void setInt(Object target, int value) throws IllegalAccessException {
+      field.setInt(target, value);
+    }
+
+    @Override public long getLong(Object target) throws IllegalAccessException {
+      return field.getLong(target);
+    }
+
+    @Override public void setLong(Object target, long value) throws IllegalAccessException {
+      field.setLong(target, value);
+    }
+
+    @Override public double getDouble(Object target) throws IllegalAccessException {
+      return field.getDouble(target);
+    }
+
+    @Override public void setDouble(Object target, double value) throws IllegalAccessException {
+      field.setDouble(target, value);
+    }
+  }
+
+  private static final class ReflectionMethodAccessor extends FieldAccessor {
+    private final Method accessor;
+
+    ReflectionMethodAccessor(Method accessor) {
+      this.accessor = accessor;
+    }
+
+    @Override public Object get(Object target) throws IllegalAccessException {
+      try {
+        return accessor.invoke(target);
+      } catch (InvocationTargetException e) {
+        throw accessorException(accessor, e.getCause());
+      }
+    }
+
+    @Override public void set(Object target, Object value) {
+      throw new UnsupportedOperationException("Cannot set record component through its accessor");
+    }
+  }
+}
@@ -90,6 +90,11 @@ public final class Streams {
     }
 
     @Override public void write(char[] chars, int offset, int length) throws IOException {
+      if (appendable instanceof StringBuilder) {
+        // Copies the chars at once instead of one CharSequence.charAt call per char
+        ((StringBuilder) appendable).append(chars, offset, length);
+        return;
+      }
       currentWrite.setChars(chars);
       appendable.append(currentWrite, offset, offset + length);
     }
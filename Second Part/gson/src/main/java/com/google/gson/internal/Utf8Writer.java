@@ -0,0 +1,261 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A {@link Writer} which encodes chars as UTF-8 straight into a byte array.
+ *
+ * <p>Unlike {@link java.io.OutputStreamWriter} this does not go through a
+ * {@code CharsetEncoder} with its intermediate buffers and does not
+ * synchronize on every write. Runs of ASCII chars are copied by a tight loop.
+ * Like {@code OutputStreamWriter}, unpaired surrogates are written as
+ * {@code '?'}.
+ *
+ * <p>The bytes are either drained to an {@link OutputStream} or a
+ * {@link WritableByteChannel} whenever the buffer is full, or, when there is
+ * no sink, the buffer grows and its content is obtained with
+ * {@link #toByteArray()}.
+ */
+public final class Utf8Writer extends Writer {
+  private static final int BUFFER_SIZE = 8192;
+
+  /** The stream the bytes are drained to, or null. */
+  private final OutputStream out;
+
+  /** The channel the bytes are drained to, or null. */
+  private final WritableByteChannel channel;
+
+  private byte[] buffer;
+
+  /** The number of bytes in {@link #buffer} which have not been drained yet. */
+  private int count;
+
+  /**
+   * The first half of a surrogate pair whose second half has not been written
+   * yet, or 0.
+   */
+  private char pendingHighSurrogate;
+
+  /** Creates a writer which drains the encoded bytes to {@code out}. */
+  public Utf8Writer(OutputStream out) {
+    this.out = Objects.requireNonNull(out, "out == null");
+    this.channel = null;
+    this.buffer = new byte[BUFFER_SIZE];
+  }
+
+  /** Creates a writer which drains the encoded bytes to {@code channel}. */
+  public Utf8Writer(WritableByteChannel channel) {
+    this.out = null;
+    this.channel = Objects.requireNonNull(channel, "channel == null");
+    this.buffer = new byte[BUFFER_SIZE];
+  }
+
+  /**
+   * Creates a writer which keeps all encoded bytes in memory, growing its
+   * buffer as necessary.
+   */
+  public Utf8Writer(int initialCapacity) {
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("Negative initial capacity: " + initialCapacity);
+    }
+    this.out = null;
+    this.channel = null;
+    this.buffer = new byte[Math.max(initialCapacity, 4)];
+  }
+
+  @Override public void write(int c) throws IOException {
+    if (c < 0x80 && pendingHighSurrogate == 0) {
+      if (count == buffer.length) {
+        makeRoom(1);
+      }
+      buffer[count++] = (byte) c;
+    } else {
+      writeSlow((char) c);
+    }
+  }
+
+  @Override public void write(char[] cbuf, int off, int len) throws IOException {
+    // Like JsonReader, this uses locals 'b' and 'c' to save inner-loop field access.
+    int end = off + len;
+    int i = off;
+    while (i < end) {
+      if (count == buffer.length) {
+        makeRoom(1);
+      }
+      if (pendingHighSurrogate != 0) {
+        writeSlow(cbuf[i++]);
+        continue;
+      }
+
+      // Copy a run of ASCII characters.
+      byte[] b = buffer;
+      int c = count;
+      int runEnd = i + Math.min(end - i, b.length - c);
+      char ch;
+      while (i < runEnd && (ch = cbuf[i]) < 0x80) {
+        b[c++] = (byte) ch;
+        i++;
+      }
+      count = c;
+      if (i < runEnd) {
+        writeSlow(cbuf[i++]);
+      }
+    }
+  }
+
+  @Override public void write(String str, int off, int len) throws IOException {
+    int end = off + len;
+    int i = off;
+    while (i < end) {
+      if (count == buffer.length) {
+        makeRoom(1);
+      }
+      if (pendingHighSurrogate != 0) {
+        writeSlow(str.charAt(i++));
+        continue;
+      }
+
+      byte[] b = buffer;
+      int c = count;
+      int runEnd = i + Math.min(end - i, b.length - c);
+      char ch;
+      while (i < runEnd && (ch = str.charAt(i)) < 0x80) {
+        b[c++] = (byte) ch;
+        i++;
+      }
+      count = c;
+      if (i < runEnd) {
+        writeSlow(str.charAt(i++));
+      }
+    }
+  }
+
+  @Override public Writer append(CharSequence csq) throws IOException {
+    if (csq instanceof String) {
+      String s = (String) csq;
+      write(s, 0, s.length());
+      return this;
+    }
+    return super.append(csq);
+  }
+
+  /** Encodes a char which is not ASCII or which follows a high surrogate. */
+  private void writeSlow(char c) throws IOException {
+    if (buffer.length - count < 4) {
+      makeRoom(4);
+    }
+    byte[] b = buffer;
+    if (pendingHighSurrogate != 0) {
+      char high = pendingHighSurrogate;
+      pendingHighSurrogate = 0;
+      if (Character.isLowSurrogate(c)) {
+        int codePoint = Character.toCodePoint(high, c);
+        b[count++] = (byte) (0xf0 | (codePoint >> 18));
+        b[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+        b[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+        b[count++] = (byte) (0x80 | (codePoint & 0x3f));
+        return;
+      }
+      b[count++] = '?';
+    }
+
+    if (c < 0x80) {
+      b[count++] = (byte) c;
+    } else if (c < 0x800) {
+      b[count++] = (byte) (0xc0 | (c >> 6));
+      b[count++] = (byte) (0x80 | (c & 0x3f));
+    } else if (Character.isHighSurrogate(c)) {
+      pendingHighSurrogate = c;
+    } else if (Character.isLowSurrogate(c)) {
+      b[count++] = '?';
+    } else {
+      b[count++] = (byte) (0xe0 | (c >> 12));
+      b[count++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+      b[count++] = (byte) (0x80 | (c & 0x3f));
+    }
+  }
+
+  /** Drains or grows the buffer so that at least {@code minimum} bytes are free. */
+  private void makeRoom(int minimum) throws IOException {
+    if (out != null || channel != null) {
+      drain();
+    } else {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + minimum));
+    }
+  }
+
+  private void drain() throws IOException {
+    if (count == 0) {
+      return;
+    }
+    if (out != null) {
+      out.write(buffer, 0, count);
+    } else {
+      ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, count);
+      while (bytes.hasRemaining()) {
+        channel.write(bytes);
+      }
+    }
+    count = 0;
+  }
+
+  /**
+   * Returns a copy of all bytes written so far. Only supported by writers
+   * without a sink.
+   */
+  public byte[] toByteArray() {
+    if (out != null || channel != null) {
+      throw new UnsupportedOperationException("Bytes are written to a sink");
+    }
+    return Arrays.copyOf(buffer, count);
+  }
+
+  /**
+   * Writes all complete chars to the sink and flushes it. A pending high
+   * surrogate is kept until the next write.
+   */
+  @Override public void flush() throws IOException {
+    if (out != null) {
+      drain();
+      out.flush();
+    } else if (channel != null) {
+      drain();
+    }
+  }
+
+  @Override public void close() throws IOException {
+    if (pendingHighSurrogate != 0) {
+      pendingHighSurrogate = 0;
+      write('?');
+    }
+    if (out != null) {
+      drain();
+      out.close();
+    } else if (channel != null) {
+      drain();
+      channel.close();
+    }
+  }
+}
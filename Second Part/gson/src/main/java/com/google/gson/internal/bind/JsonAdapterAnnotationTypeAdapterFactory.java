@@ -52,9 +52,17 @@ public final class JsonAdapterAnnotationTypeAdapterFactory implements TypeAdapte
   TypeAdapter<?> getTypeAdapter(ConstructorConstructor constructorConstructor, Gson gson,
       TypeToken<?> type, JsonAdapter annotation) {
     Object instance = constructorConstructor.get(TypeToken.get(annotation.value())).construct();
+    return getTypeAdapter(instance, gson, type, annotation.nullSafe());
+  }
 
+  /**
+   * Returns the type adapter for {@code type} which the {@code @JsonAdapter} value
+   * {@code instance} provides; also used by type adapters generated at compile time,
+   * which create the instance themselves.
+   */
+  public static TypeAdapter<?> getTypeAdapter(Object instance, Gson gson, TypeToken<?> type,
+      boolean nullSafe) {
     TypeAdapter<?> typeAdapter;
-    boolean nullSafe = annotation.nullSafe();
     if (instance instanceof TypeAdapter) {
       typeAdapter = (TypeAdapter<?>) instance;
     } else if (instance instanceof TypeAdapterFactory) {
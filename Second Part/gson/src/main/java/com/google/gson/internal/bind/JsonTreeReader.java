@@ -21,6 +21,7 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonNameOptions;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.MalformedJsonException;
@@ -29,6 +30,7 @@ import java.io.Reader;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * This reader walks the elements of a JsonElement as if it was coming from a
@@ -65,7 +67,8 @@ public final class JsonTreeReader extends JsonReader {
   private int[] pathIndices = new int[32];
 
   public JsonTreeReader(JsonElement element) {
-    super(UNREADABLE_READER);
+    // The buffer is never used, keep it as small as possible
+    super(UNREADABLE_READER, 16);
     push(element);
   }
 
@@ -180,6 +183,15 @@ public final class JsonTreeReader extends JsonReader {
     return nextName(false);
   }
 
+  /**
+   * Always returns -1 because the names of a JSON tree are already strings;
+   * callers read them with {@link #nextName()} instead.
+   */
+  @Override public int selectName(JsonNameOptions options, int expected) throws IOException {
+    expect(JsonToken.NAME);
+    return -1;
+  }
+
   @Override public String nextString() throws IOException {
     JsonToken token = peek();
     if (token != JsonToken.STRING && token != JsonToken.NUMBER) {
@@ -193,6 +205,15 @@ public final class JsonTreeReader extends JsonReader {
     return result;
   }
 
+  @Override public CharSequence nextStringView() throws IOException {
+    return nextString();
+  }
+
+  @Override public void nextString(Appendable target) throws IOException {
+    Objects.requireNonNull(target, "target == null");
+    target.append(nextString());
+  }
+
   @Override public boolean nextBoolean() throws IOException {
     expect(JsonToken.BOOLEAN);
     boolean result = ((JsonPrimitive) popStack()).getAsBoolean();
@@ -273,6 +294,10 @@ public final class JsonTreeReader extends JsonReader {
     stackSize = 1;
   }
 
+  @Override public void reset(Reader in) {
+    throw new UnsupportedOperationException();
+  }
+
   @Override public void skipValue() throws IOException {
     JsonToken peeked = peek();
     switch (peeked) {
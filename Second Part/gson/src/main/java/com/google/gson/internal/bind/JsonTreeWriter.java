@@ -22,6 +22,7 @@ import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.PreparedName;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.ArrayList;
@@ -143,6 +144,11 @@ public final class JsonTreeWriter extends JsonWriter {
     throw new IllegalStateException();
   }
 
+  @Override public JsonWriter preparedName(PreparedName name) throws IOException {
+    Objects.requireNonNull(name, "name == null");
+    return name(name.getName());
+  }
+
   @Override public JsonWriter value(String value) throws IOException {
     if (value == null) {
       return nullValue();
@@ -151,6 +157,10 @@ public final class JsonTreeWriter extends JsonWriter {
     return this;
   }
 
+  @Override public JsonWriter preparedValue(PreparedName value) throws IOException {
+    return value(value == null ? null : value.getName());
+  }
+
   @Override public JsonWriter jsonValue(String value) throws IOException {
     throw new UnsupportedOperationException();
   }
@@ -213,6 +223,10 @@ public final class JsonTreeWriter extends JsonWriter {
   @Override public void flush() throws IOException {
   }
 
+  @Override public void reset(Writer out) {
+    throw new UnsupportedOperationException();
+  }
+
   @Override public void close() throws IOException {
     if (!stack.isEmpty()) {
       throw new IOException("Incomplete document");
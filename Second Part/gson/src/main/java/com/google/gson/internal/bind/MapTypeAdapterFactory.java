@@ -31,6 +31,7 @@ import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.PreparedName;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -145,6 +146,10 @@ public final class MapTypeAdapterFactory implements TypeAdapterFactory {
     private final TypeAdapter<K> keyTypeAdapter;
     private final TypeAdapter<V> valueTypeAdapter;
     private final ObjectConstructor<? extends Map<K, V>> constructor;
+    /** The enum class of the keys, or null if the keys are not enums */
+    private final Class<?> enumKeyType;
+    /** The prepared {@code toString()} of each constant of {@link #enumKeyType}, indexed by ordinal */
+    private final PreparedName[] enumKeyNames;
 
     public Adapter(Gson context, Type keyType, TypeAdapter<K> keyTypeAdapter,
         Type valueType, TypeAdapter<V> valueTypeAdapter,
@@ -154,6 +159,19 @@ public final class MapTypeAdapterFactory implements TypeAdapterFactory {
       this.valueTypeAdapter =
         new TypeAdapterRuntimeTypeWrapper<>(context, valueTypeAdapter, valueType);
       this.constructor = constructor;
+
+      Class<?> rawKeyType = $Gson$Types.getRawType(keyType);
+      if (rawKeyType.isEnum()) {
+        Object[] constants = rawKeyType.getEnumConstants();
+        this.enumKeyType = rawKeyType;
+        this.enumKeyNames = new PreparedName[constants.length];
+        for (int i = 0; i < constants.length; i++) {
+          enumKeyNames[i] = PreparedName.of(String.valueOf(constants[i]));
+        }
+      } else {
+        this.enumKeyType = null;
+        this.enumKeyNames = null;
+      }
     }
 
     @Override public Map<K, V> read(JsonReader in) throws IOException {
@@ -203,7 +221,7 @@ public final class MapTypeAdapterFactory implements TypeAdapterFactory {
       if (!complexMapKeySerialization) {
         out.beginObject();
         for (Map.Entry<K, V> entry : map.entrySet()) {
-          out.name(String.valueOf(entry.getKey()));
+          writeName(out, entry.getKey());
           valueTypeAdapter.write(out, entry.getValue());
         }
         out.endObject();
@@ -241,6 +259,19 @@ public final class MapTypeAdapterFactory implements TypeAdapterFactory {
       }
     }
 
+    private void writeName(JsonWriter out, K key) throws IOException {
+      String name = String.valueOf(key);
+      if (enumKeyType != null && key instanceof Enum && ((Enum<?>) key).getDeclaringClass() == enumKeyType) {
+        PreparedName preparedName = enumKeyNames[((Enum<?>) key).ordinal()];
+        // toString() of a constant is not necessarily constant; only use the prepared name if it matches
+        if (preparedName.getName().equals(name)) {
+          out.preparedName(preparedName);
+          return;
+        }
+      }
+      out.name(name);
+    }
+
     private String keyToString(JsonElement keyElement) {
       if (keyElement.isJsonPrimitive()) {
         JsonPrimitive primitive = keyElement.getAsJsonPrimitive();
@@ -0,0 +1,332 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal.bind;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.internal.Primitives;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Adapt an array of {@code int}, {@code long}, {@code double}, {@code float}, {@code short} or
+ * {@code boolean} without boxing the elements. Elements are read into a growable primitive
+ * buffer and written directly from the array, with the same behavior as the built-in type
+ * adapter of the component type.
+ *
+ * <p>The factory only creates an adapter if the component type and its wrapper type both use
+ * the built-in adapter; otherwise {@link ArrayTypeAdapter} is used, which delegates to the
+ * element adapters.
+ */
+public abstract class PrimitiveArrayTypeAdapter<T> extends TypeAdapter<T> {
+  public static final TypeAdapterFactory FACTORY = new TypeAdapterFactory() {
+    @Override public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> typeToken) {
+      Class<? super T> raw = typeToken.getRawType();
+      if (!raw.isArray() || !raw.getComponentType().isPrimitive()) {
+        return null;
+      }
+
+      Class<?> componentType = raw.getComponentType();
+      TypeAdapter<?> componentTypeAdapter = gson.getAdapter(componentType);
+      // ArrayTypeAdapter writes the boxed elements with the adapter of their runtime type
+      if (gson.getAdapter(Primitives.wrap(componentType)) != componentTypeAdapter) {
+        return null;
+      }
+      PrimitiveArrayTypeAdapter<?> adapter = forComponentAdapter(componentTypeAdapter);
+      if (adapter == null || adapter.arrayType != raw) {
+        return null;
+      }
+      @SuppressWarnings("unchecked")
+      TypeAdapter<T> arrayAdapter = (TypeAdapter<T>) adapter;
+      return arrayAdapter;
+    }
+  };
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final Class<T> arrayType;
+
+  private PrimitiveArrayTypeAdapter(Class<T> arrayType) {
+    this.arrayType = arrayType;
+  }
+
+  private static PrimitiveArrayTypeAdapter<?> forComponentAdapter(TypeAdapter<?> componentTypeAdapter) {
+    if (componentTypeAdapter == TypeAdapters.INTEGER) {
+      return INT_ARRAY;
+    } else if (componentTypeAdapter == TypeAdapters.LONG) {
+      return LONG_ARRAY;
+    } else if (componentTypeAdapter == TypeAdapters.DOUBLE) {
+      return DOUBLE_ARRAY;
+    } else if (componentTypeAdapter == TypeAdapters.STRICT_DOUBLE) {
+      return STRICT_DOUBLE_ARRAY;
+    } else if (componentTypeAdapter == TypeAdapters.FLOAT) {
+      return FLOAT_ARRAY;
+    } else if (componentTypeAdapter == TypeAdapters.STRICT_FLOAT) {
+      return STRICT_FLOAT_ARRAY;
+    } else if (componentTypeAdapter == TypeAdapters.SHORT) {
+      return SHORT_ARRAY;
+    } else if (componentTypeAdapter == TypeAdapters.BOOLEAN) {
+      return BOOLEAN_ARRAY;
+    }
+    return null;
+  }
+
+  @Override public final T read(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+
+    in.beginArray();
+    T array = readElements(in);
+    in.endArray();
+    return array;
+  }
+
+  /** Reads the elements until the end of the array, but not the end of the array itself. */
+  abstract T readElements(JsonReader in) throws IOException;
+
+  @Override public final void write(JsonWriter out, T array) throws IOException {
+    if (array == null) {
+      out.nullValue();
+      return;
+    }
+
+    out.beginArray();
+    writeElements(out, array);
+    out.endArray();
+  }
+
+  abstract void writeElements(JsonWriter out, T array) throws IOException;
+
+  /**
+   * Fails if the next element is JSON null, which cannot be stored in a primitive array. The
+   * exception type is the one which {@link ArrayTypeAdapter} throws.
+   */
+  private static void checkNotNull(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      throw new IllegalArgumentException("null is not allowed as element of a primitive array; at path "
+          + in.getPath());
+    }
+  }
+
+  private static int newCapacity(int capacity) {
+    int newCapacity = capacity + (capacity >> 1) + 1;
+    if (newCapacity < 0) {
+      throw new OutOfMemoryError("Array is too large");
+    }
+    return newCapacity;
+  }
+
+  private static int nextInt(JsonReader in) throws IOException {
+    checkNotNull(in);
+    try {
+      return in.nextInt();
+    } catch (NumberFormatException e) {
+      throw new JsonSyntaxException(e);
+    }
+  }
+
+  private static final PrimitiveArrayTypeAdapter<int[]> INT_ARRAY =
+      new PrimitiveArrayTypeAdapter<int[]>(int[].class) {
+    @Override int[] readElements(JsonReader in) throws IOException {
+      int[] buffer = new int[INITIAL_CAPACITY];
+      int size = 0;
+      while (in.hasNext()) {
+        int value = nextInt(in);
+        if (size == buffer.length) {
+          buffer = Arrays.copyOf(buffer, newCapacity(size));
+        }
+        buffer[size++] = value;
+      }
+      return Arrays.copyOf(buffer, size);
+    }
+
+    @Override void writeElements(JsonWriter out, int[] array) throws IOException {
+      for (int value : array) {
+        out.value(value);
+      }
+    }
+  };
+
+  private static final PrimitiveArrayTypeAdapter<long[]> LONG_ARRAY =
+      new PrimitiveArrayTypeAdapter<long[]>(long[].class) {
+    @Override long[] readElements(JsonReader in) throws IOException {
+      long[] buffer = new long[INITIAL_CAPACITY];
+      int size = 0;
+      while (in.hasNext()) {
+        checkNotNull(in);
+        long value;
+        try {
+          value = in.nextLong();
+        } catch (NumberFormatException e) {
+          throw new JsonSyntaxException(e);
+        }
+        if (size == buffer.length) {
+          buffer = Arrays.copyOf(buffer, newCapacity(size));
+        }
+        buffer[size++] = value;
+      }
+      return Arrays.copyOf(buffer, size);
+    }
+
+    @Override void writeElements(JsonWriter out, long[] array) throws IOException {
+      for (long value : array) {
+        out.value(value);
+      }
+    }
+  };
+
+  private static final class DoubleArrayAdapter extends PrimitiveArrayTypeAdapter<double[]> {
+    private final boolean strict;
+
+    DoubleArrayAdapter(boolean strict) {
+      super(double[].class);
+      this.strict = strict;
+    }
+
+    @Override double[] readElements(JsonReader in) throws IOException {
+      double[] buffer = new double[INITIAL_CAPACITY];
+      int size = 0;
+      while (in.hasNext()) {
+        checkNotNull(in);
+        double value = in.nextDouble();
+        if (size == buffer.length) {
+          buffer = Arrays.copyOf(buffer, newCapacity(size));
+        }
+        buffer[size++] = value;
+      }
+      return Arrays.copyOf(buffer, size);
+    }
+
+    @Override void writeElements(JsonWriter out, double[] array) throws IOException {
+      for (double value : array) {
+        if (strict) {
+          TypeAdapters.checkValidFloatingPoint(value);
+        }
+        out.value(value);
+      }
+    }
+  }
+
+  private static final PrimitiveArrayTypeAdapter<double[]> DOUBLE_ARRAY = new DoubleArrayAdapter(false);
+  private static final PrimitiveArrayTypeAdapter<double[]> STRICT_DOUBLE_ARRAY = new DoubleArrayAdapter(true);
+
+  private static final class FloatArrayAdapter extends PrimitiveArrayTypeAdapter<float[]> {
+    private final boolean strict;
+
+    FloatArrayAdapter(boolean strict) {
+      super(float[].class);
+      this.strict = strict;
+    }
+
+    @Override float[] readElements(JsonReader in) throws IOException {
+      float[] buffer = new float[INITIAL_CAPACITY];
+      int size = 0;
+      while (in.hasNext()) {
+        checkNotNull(in);
+        float value = (float) in.nextDouble();
+        if (size == buffer.length) {
+          buffer = Arrays.copyOf(buffer, newCapacity(size));
+        }
+        buffer[size++] = value;
+      }
+      return Arrays.copyOf(buffer, size);
+    }
+
+    @Override void writeElements(JsonWriter out, float[] array) throws IOException {
+      // JsonWriter and JsonTreeWriter implement `JsonWriter.value(float)`; custom JsonWriter
+      // subclasses might not override it yet, so for them box the value like TypeAdapters.FLOAT
+      boolean writeFloat = out.getClass() == JsonWriter.class || out instanceof JsonTreeWriter;
+      for (float value : array) {
+        if (strict) {
+          TypeAdapters.checkValidFloatingPoint(value);
+        }
+        if (writeFloat) {
+          out.value(value);
+        } else {
+          out.value((Number) value);
+        }
+      }
+    }
+  }
+
+  private static final PrimitiveArrayTypeAdapter<float[]> FLOAT_ARRAY = new FloatArrayAdapter(false);
+  private static final PrimitiveArrayTypeAdapter<float[]> STRICT_FLOAT_ARRAY = new FloatArrayAdapter(true);
+
+  private static final PrimitiveArrayTypeAdapter<short[]> SHORT_ARRAY =
+      new PrimitiveArrayTypeAdapter<short[]>(short[].class) {
+    @Override short[] readElements(JsonReader in) throws IOException {
+      short[] buffer = new short[INITIAL_CAPACITY];
+      int size = 0;
+      while (in.hasNext()) {
+        int intValue = nextInt(in);
+        // Allow up to 65535 to support unsigned values
+        if (intValue > 65535 || intValue < Short.MIN_VALUE) {
+          throw new JsonSyntaxException("Lossy conversion from " + intValue + " to short; at path " + in.getPreviousPath());
+        }
+        if (size == buffer.length) {
+          buffer = Arrays.copyOf(buffer, newCapacity(size));
+        }
+        buffer[size++] = (short) intValue;
+      }
+      return Arrays.copyOf(buffer, size);
+    }
+
+    @Override void writeElements(JsonWriter out, short[] array) throws IOException {
+      for (short value : array) {
+        out.value(value);
+      }
+    }
+  };
+
+  private static final PrimitiveArrayTypeAdapter<boolean[]> BOOLEAN_ARRAY =
+      new PrimitiveArrayTypeAdapter<boolean[]>(boolean[].class) {
+    @Override boolean[] readElements(JsonReader in) throws IOException {
+      boolean[] buffer = new boolean[INITIAL_CAPACITY];
+      int size = 0;
+      while (in.hasNext()) {
+        JsonToken peek = in.peek();
+        boolean value;
+        if (peek == JsonToken.STRING) {
+          // support strings for compatibility with GSON 1.7
+          value = Boolean.parseBoolean(in.nextString());
+        } else {
+          checkNotNull(in);
+          value = in.nextBoolean();
+        }
+        if (size == buffer.length) {
+          buffer = Arrays.copyOf(buffer, newCapacity(size));
+        }
+        buffer[size++] = value;
+      }
+      return Arrays.copyOf(buffer, size);
+    }
+
+    @Override void writeElements(JsonWriter out, boolean[] array) throws IOException {
+      for (boolean value : array) {
+        out.value(value);
+      }
+    }
+  };
+}
@@ -30,13 +30,16 @@ import com.google.gson.annotations.SerializedName;
 import com.google.gson.internal.$Gson$Types;
 import com.google.gson.internal.ConstructorConstructor;
 import com.google.gson.internal.Excluder;
+import com.google.gson.internal.FieldAccessor;
 import com.google.gson.internal.ObjectConstructor;
 import com.google.gson.internal.Primitives;
 import com.google.gson.internal.ReflectionHelper;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonNameOptions;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.PreparedName;
 import java.io.IOException;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Constructor;
@@ -169,10 +172,19 @@ public final class ReflectiveTypeAdapterFactory implements TypeAdapterFactory {
       // Will never actually be used, but we set it to avoid confusing nullness-analysis tools
       writeTypeAdapter = typeAdapter;
     }
+    final FieldAccessor fieldAccessor = accessor != null
+        ? FieldAccessor.forAccessorMethod(accessor)
+        : FieldAccessor.forField(field);
+    if (!jsonAdapterPresent && accessor == null) {
+      BoundField primitiveField = createPrimitiveBoundField(context, field, name, typeAdapter,
+          fieldAccessor, serialize, deserialize, blockInaccessible, isStaticFinalField);
+      if (primitiveField != null) {
+        return primitiveField;
+      }
+    }
     return new BoundField(name, field, serialize, deserialize) {
       @Override void write(JsonWriter writer, Object source)
           throws IOException, IllegalAccessException {
-        if (!serialized) return;
         if (blockInaccessible) {
           if (accessor == null) {
             checkAccessible(source, field);
@@ -183,22 +195,12 @@ public final class ReflectiveTypeAdapterFactory implements TypeAdapterFactory {
           }
         }
 
-        Object fieldValue;
-        if (accessor != null) {
-          try {
-            fieldValue = accessor.invoke(source);
-          } catch (InvocationTargetException e) {
-            String accessorDescription = ReflectionHelper.getAccessibleObjectDescription(accessor, false);
-            throw new JsonIOException("Accessor " + accessorDescription + " threw exception", e.getCause());
-          }
-        } else {
-          fieldValue = field.get(source);
-        }
+        Object fieldValue = fieldAccessor.get(source);
         if (fieldValue == source) {
           // avoid direct recursion
           return;
         }
-        writer.name(name);
+        writer.preparedName(preparedName);
         writeTypeAdapter.write(writer, fieldValue);
       }
 
@@ -225,12 +227,105 @@ public final class ReflectiveTypeAdapterFactory implements TypeAdapterFactory {
             String fieldDescription = ReflectionHelper.getAccessibleObjectDescription(field, false);
             throw new JsonIOException("Cannot set value of 'static final' " + fieldDescription);
           }
-          field.set(target, fieldValue);
+          fieldAccessor.set(target, fieldValue);
         }
       }
     };
   }
 
+  /**
+   * Returns a bound field which reads and writes the {@code int}, {@code long} or {@code double}
+   * field without boxing, or null if the field has a different type or if its value is not
+   * handled by the built-in type adapter, in both its primitive and boxed form.
+   */
+  private static BoundField createPrimitiveBoundField(Gson context, Field field, String name,
+      TypeAdapter<?> typeAdapter, final FieldAccessor fieldAccessor, boolean serialize,
+      boolean deserialize, boolean blockInaccessible, boolean isStaticFinalField) {
+    Class<?> type = field.getType();
+    if (type == int.class) {
+      if (typeAdapter != TypeAdapters.INTEGER || (TypeAdapter<?>) context.getAdapter(Integer.class) != TypeAdapters.INTEGER) {
+        return null;
+      }
+      return new PrimitiveBoundField(name, field, serialize, deserialize, blockInaccessible, isStaticFinalField) {
+        @Override void writeValue(JsonWriter writer, Object source) throws IOException, IllegalAccessException {
+          writer.value(fieldAccessor.getInt(source));
+        }
+
+        @Override Object readValue(JsonReader reader) throws IOException {
+          try {
+            return reader.nextInt();
+          } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+          }
+        }
+
+        @Override void readValue(JsonReader reader, Object target) throws IOException, IllegalAccessException {
+          int value;
+          try {
+            value = reader.nextInt();
+          } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+          }
+          checkSettable(target);
+          fieldAccessor.setInt(target, value);
+        }
+      };
+    } else if (type == long.class) {
+      if (typeAdapter != TypeAdapters.LONG || (TypeAdapter<?>) context.getAdapter(Long.class) != TypeAdapters.LONG) {
+        return null;
+      }
+      return new PrimitiveBoundField(name, field, serialize, deserialize, blockInaccessible, isStaticFinalField) {
+        @Override void writeValue(JsonWriter writer, Object source) throws IOException, IllegalAccessException {
+          writer.value(fieldAccessor.getLong(source));
+        }
+
+        @Override Object readValue(JsonReader reader) throws IOException {
+          try {
+            return reader.nextLong();
+          } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+          }
+        }
+
+        @Override void readValue(JsonReader reader, Object target) throws IOException, IllegalAccessException {
+          long value;
+          try {
+            value = reader.nextLong();
+          } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+          }
+          checkSettable(target);
+          fieldAccessor.setLong(target, value);
+        }
+      };
+    } else if (type == double.class) {
+      final boolean strict = typeAdapter == TypeAdapters.STRICT_DOUBLE;
+      if ((!strict && typeAdapter != TypeAdapters.DOUBLE) || context.getAdapter(Double.class) != typeAdapter) {
+        return null;
+      }
+      return new PrimitiveBoundField(name, field, serialize, deserialize, blockInaccessible, isStaticFinalField) {
+        @Override void writeValue(JsonWriter writer, Object source) throws IOException, IllegalAccessException {
+          double value = fieldAccessor.getDouble(source);
+          if (strict) {
+            TypeAdapters.checkValidFloatingPoint(value);
+          }
+          writer.value(value);
+        }
+
+        @Override Object readValue(JsonReader reader) throws IOException {
+          return reader.nextDouble();
+        }
+
+        @Override void readValue(JsonReader reader, Object target) throws IOException, IllegalAccessException {
+          double value = reader.nextDouble();
+          checkSettable(target);
+          fieldAccessor.setDouble(target, value);
+        }
+      };
+    }
+    return null;
+  }
+
   private Map<String, BoundField> getBoundFields(Gson context, TypeToken<?> type, Class<?> raw,
                                                  boolean blockInaccessible, boolean isRecord) {
     Map<String, BoundField> result = new LinkedHashMap<>();
@@ -316,6 +411,8 @@ public final class ReflectiveTypeAdapterFactory implements TypeAdapterFactory {
 
   static abstract class BoundField {
     final String name;
+    /** {@link #name} escaped once for all writes */
+    final PreparedName preparedName;
     final Field field;
     /** Name of the underlying field */
     final String fieldName;
@@ -324,13 +421,17 @@ public final class ReflectiveTypeAdapterFactory implements TypeAdapterFactory {
 
     protected BoundField(String name, Field field, boolean serialized, boolean deserialized) {
       this.name = name;
+      this.preparedName = PreparedName.of(name);
       this.field = field;
       this.fieldName = field.getName();
       this.serialized = serialized;
       this.deserialized = deserialized;
     }
 
-    /** Read this field value from the source, and append its JSON value to the writer */
+    /**
+     * Read this field value from the source, and append its JSON value to the writer; only
+     * called if {@link #serialized}
+     */
     abstract void write(JsonWriter writer, Object source) throws IOException, IllegalAccessException;
 
     /** Read the value into the target array, used to provide constructor arguments for records */
@@ -340,6 +441,66 @@ public final class ReflectiveTypeAdapterFactory implements TypeAdapterFactory {
     abstract void readIntoField(JsonReader reader, Object target) throws IOException, IllegalAccessException;
   }
 
+  /**
+   * Bound field of a primitive type which is read and written without boxing, with the same
+   * behavior as the built-in type adapter of the type: JSON null leaves the field unchanged.
+   */
+  private static abstract class PrimitiveBoundField extends BoundField {
+    private final boolean blockInaccessible;
+    private final boolean isStaticFinalField;
+
+    PrimitiveBoundField(String name, Field field, boolean serialized, boolean deserialized,
+        boolean blockInaccessible, boolean isStaticFinalField) {
+      super(name, field, serialized, deserialized);
+      this.blockInaccessible = blockInaccessible;
+      this.isStaticFinalField = isStaticFinalField;
+    }
+
+    /** Writes the value of the field; its name has already been written */
+    abstract void writeValue(JsonWriter writer, Object source) throws IOException, IllegalAccessException;
+
+    /** Reads a non-null value and returns it boxed */
+    abstract Object readValue(JsonReader reader) throws IOException;
+
+    /** Reads a non-null value and sets it on the field, after calling {@link #checkSettable} */
+    abstract void readValue(JsonReader reader, Object target) throws IOException, IllegalAccessException;
+
+    void checkSettable(Object target) {
+      if (blockInaccessible) {
+        checkAccessible(target, field);
+      } else if (isStaticFinalField) {
+        // Reflection does not permit setting value of `static final` field, even after calling `setAccessible`
+        String fieldDescription = ReflectionHelper.getAccessibleObjectDescription(field, false);
+        throw new JsonIOException("Cannot set value of 'static final' " + fieldDescription);
+      }
+    }
+
+    @Override void write(JsonWriter writer, Object source) throws IOException, IllegalAccessException {
+      if (blockInaccessible) {
+        checkAccessible(source, field);
+      }
+      writer.preparedName(preparedName);
+      writeValue(writer, source);
+    }
+
+    @Override
+    void readIntoArray(JsonReader reader, int index, Object[] target) throws IOException, JsonParseException {
+      if (reader.peek() == JsonToken.NULL) {
+        throw new JsonParseException("null is not allowed as value for record component '" + fieldName + "'"
+            + " of primitive type; at path " + reader.getPath());
+      }
+      target[index] = readValue(reader);
+    }
+
+    @Override void readIntoField(JsonReader reader, Object target) throws IOException, IllegalAccessException {
+      if (reader.peek() == JsonToken.NULL) {
+        reader.nextNull();
+        return;
+      }
+      readValue(reader, target);
+    }
+  }
+
   /**
    * Base class for Adapters produced by this factory.
    *
@@ -356,9 +517,49 @@ public final class ReflectiveTypeAdapterFactory implements TypeAdapterFactory {
   // This class is public because external projects check for this class with `instanceof` (even though it is internal)
   public static abstract class Adapter<T, A> extends TypeAdapter<T> {
     final Map<String, BoundField> boundFields;
+    /** The fields which are serialized, in order; iterated by {@link #write} */
+    private final BoundField[] serializedFields;
+    /** The keys of {@link #boundFields}, matched by {@link JsonReader#selectName} */
+    private final JsonNameOptions fieldNames;
+    /** The bound field for each index of {@link #fieldNames} */
+    private final BoundField[] fieldsByIndex;
+    /**
+     * For each index of {@link #fieldNames}, the index of the name of the next field in
+     * declaration order, which is the most likely next property; JSON written by Gson has
+     * exactly this order
+     */
+    private final int[] expectedNextIndices;
 
     Adapter(Map<String, BoundField> boundFields) {
       this.boundFields = boundFields;
+      int size = boundFields.size();
+      String[] names = new String[size];
+      fieldsByIndex = new BoundField[size];
+      int i = 0;
+      for (Map.Entry<String, BoundField> entry : boundFields.entrySet()) {
+        names[i] = entry.getKey();
+        fieldsByIndex[i] = entry.getValue();
+        i++;
+      }
+      fieldNames = JsonNameOptions.of(names);
+
+      List<BoundField> serialized = new ArrayList<>(size);
+      for (BoundField field : fieldsByIndex) {
+        if (field.serialized) {
+          serialized.add(field);
+        }
+      }
+      serializedFields = serialized.toArray(new BoundField[0]);
+
+      // Skip the alternate names of a field; they directly follow its serialized name
+      expectedNextIndices = new int[size];
+      for (i = 0; i < size; i++) {
+        int next = i + 1;
+        while (next < size && fieldsByIndex[next].field == fieldsByIndex[i].field) {
+          next++;
+        }
+        expectedNextIndices[i] = next;
+      }
     }
 
     @Override
@@ -370,7 +571,7 @@ public final class ReflectiveTypeAdapterFactory implements TypeAdapterFactory {
 
       out.beginObject();
       try {
-        for (BoundField boundField : boundFields.values()) {
+        for (BoundField boundField : serializedFields) {
           boundField.write(out, value);
         }
       } catch (IllegalAccessException e) {
@@ -390,9 +591,17 @@ public final class ReflectiveTypeAdapterFactory implements TypeAdapterFactory {
 
       try {
         in.beginObject();
+        int expected = 0;
         while (in.hasNext()) {
-          String name = in.nextName();
-          BoundField field = boundFields.get(name);
+          // Match the name without creating a String for it if possible
+          BoundField field;
+          int index = in.selectName(fieldNames, expected);
+          if (index != -1) {
+            field = fieldsByIndex[index];
+            expected = expectedNextIndices[index];
+          } else {
+            field = boundFields.get(in.nextName());
+          }
           if (field == null || !field.deserialized) {
             in.skipValue();
           } else {
@@ -17,19 +17,19 @@ package com.google.gson.internal.bind;
 
 import com.google.gson.Gson;
 import com.google.gson.TypeAdapter;
-import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 
-final class TypeAdapterRuntimeTypeWrapper<T> extends TypeAdapter<T> {
+// This class is public because the type adapters generated at compile time use it through GeneratedTypeAdapterFactory
+public final class TypeAdapterRuntimeTypeWrapper<T> extends TypeAdapter<T> {
   private final Gson context;
   private final TypeAdapter<T> delegate;
   private final Type type;
 
-  TypeAdapterRuntimeTypeWrapper(Gson context, TypeAdapter<T> delegate, Type type) {
+  public TypeAdapterRuntimeTypeWrapper(Gson context, TypeAdapter<T> delegate, Type type) {
     this.context = context;
     this.delegate = delegate;
     this.type = type;
@@ -51,8 +51,9 @@ final class TypeAdapterRuntimeTypeWrapper<T> extends TypeAdapter<T> {
     TypeAdapter<T> chosen = delegate;
     Type runtimeType = getRuntimeTypeIfMoreSpecific(type, value);
     if (runtimeType != type) {
+      // The runtime type is always the class of the value; look it up without creating a TypeToken
       @SuppressWarnings("unchecked")
-      TypeAdapter<T> runtimeTypeAdapter = (TypeAdapter<T>) context.getAdapter(TypeToken.get(runtimeType));
+      TypeAdapter<T> runtimeTypeAdapter = (TypeAdapter<T>) context.getAdapter((Class<?>) runtimeType);
       // For backward compatibility only check ReflectiveTypeAdapterFactory.Adapter here but not any other
       // wrapping adapters, see https://github.com/google/gson/pull/1787#issuecomment-1222175189
       if (!(runtimeTypeAdapter instanceof ReflectiveTypeAdapterFactory.Adapter)) {
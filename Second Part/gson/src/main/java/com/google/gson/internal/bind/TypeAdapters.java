@@ -29,11 +29,14 @@ import com.google.gson.TypeAdapterFactory;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.internal.LazilyParsedNumber;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonNameOptions;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.PreparedName;
 import java.io.IOException;
 import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -47,10 +50,12 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Currency;
 import java.util.Deque;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -362,6 +367,31 @@ public final class TypeAdapters {
     }
   };
 
+  /**
+   * Like {@link #FLOAT}, but rejects NaN and infinity when writing; used unless
+   * {@link com.google.gson.GsonBuilder#serializeSpecialFloatingPointValues()} is set.
+   */
+  public static final TypeAdapter<Number> STRICT_FLOAT = new ReadTypeAdaptersNumber() {
+    @Override
+    protected Number readNumber(JsonReader in) throws IOException {
+      return (float) in.nextDouble();
+    }
+
+    @Override
+    public void write(JsonWriter out, Number value) throws IOException {
+      if (value == null) {
+        out.nullValue();
+        return;
+      }
+      float floatValue = value.floatValue();
+      checkValidFloatingPoint(floatValue);
+      // For backward compatibility don't call `JsonWriter.value(float)` because that method has
+      // been newly added and not all custom JsonWriter implementations might override it yet
+      Number floatNumber = value instanceof Float ? value : floatValue;
+      out.value(floatNumber);
+    }
+  };
+
   public static final TypeAdapter<Number> DOUBLE = new ReadTypeAdaptersNumber() {
     @Override
     protected Number readNumber(JsonReader in) throws IOException {
@@ -378,6 +408,36 @@ public final class TypeAdapters {
     }
   };
 
+  /**
+   * Like {@link #DOUBLE}, but rejects NaN and infinity when writing; used unless
+   * {@link com.google.gson.GsonBuilder#serializeSpecialFloatingPointValues()} is set.
+   */
+  public static final TypeAdapter<Number> STRICT_DOUBLE = new ReadTypeAdaptersNumber() {
+    @Override
+    protected Number readNumber(JsonReader in) throws IOException {
+      return in.nextDouble();
+    }
+
+    @Override
+    public void write(JsonWriter out, Number value) throws IOException {
+      if (value == null) {
+        out.nullValue();
+        return;
+      }
+      double doubleValue = value.doubleValue();
+      checkValidFloatingPoint(doubleValue);
+      out.value(doubleValue);
+    }
+  };
+
+  public static void checkValidFloatingPoint(double value) {
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      throw new IllegalArgumentException(value
+          + " is not a valid double value as per JSON specification. To override this"
+          + " behavior, use GsonBuilder.serializeSpecialFloatingPointValues() method.");
+    }
+  }
+
 
 
   public static final TypeAdapter<Character> CHARACTER = new TypeAdapter<Character>() {
@@ -581,7 +641,12 @@ public final class TypeAdapters {
         in.nextNull();
         return null;
       }
-      String s = in.nextString();
+      CharSequence value = in.nextStringView();
+      UUID uuid = parseCanonicalUuid(value);
+      if (uuid != null) {
+        return uuid;
+      }
+      String s = value.toString();
       try {
         return java.util.UUID.fromString(s);
       } catch (IllegalArgumentException e) {
@@ -596,12 +661,71 @@ public final class TypeAdapters {
 
   public static final TypeAdapterFactory UUID_FACTORY = newFactory(UUID.class, UUID);
 
+  /**
+   * Parses the canonical form of a UUID, such as {@code 123e4567-e89b-12d3-a456-426614174000},
+   * without creating a string. Returns null for all other forms, which are left to
+   * {@link java.util.UUID#fromString(String)}.
+   */
+  private static UUID parseCanonicalUuid(CharSequence value) {
+    if (value.length() != 36 || value.charAt(8) != '-' || value.charAt(13) != '-'
+        || value.charAt(18) != '-' || value.charAt(23) != '-') {
+      return null;
+    }
+    long mostSigBits = 0;
+    long leastSigBits = 0;
+    for (int i = 0; i < 36; i++) {
+      if (i == 8 || i == 13 || i == 18 || i == 23) {
+        continue;
+      }
+      int digit = hexDigit(value.charAt(i));
+      if (digit == -1) {
+        return null;
+      }
+      if (i < 19) {
+        mostSigBits = (mostSigBits << 4) | digit;
+      } else {
+        leastSigBits = (leastSigBits << 4) | digit;
+      }
+    }
+    return new UUID(mostSigBits, leastSigBits);
+  }
+
+  private static int hexDigit(char c) {
+    if (c >= '0' && c <= '9') {
+      return c - '0';
+    } else if (c >= 'a' && c <= 'f') {
+      return c - 'a' + 10;
+    } else if (c >= 'A' && c <= 'F') {
+      return c - 'A' + 10;
+    }
+    return -1;
+  }
+
   public static final TypeAdapter<Currency> CURRENCY = new TypeAdapter<Currency>() {
+    /**
+     * Recently read currencies, indexed by the hash of their code. Races are
+     * harmless because Currency is immutable.
+     */
+    private final Currency[] cache = new Currency[64];
+
     @Override
     public Currency read(JsonReader in) throws IOException {
-      String s = in.nextString();
+      CharSequence code = in.nextStringView();
+      int slot = 0;
+      if (code.length() == 3) {
+        slot = (code.charAt(0) * 31 * 31 + code.charAt(1) * 31 + code.charAt(2)) & (cache.length - 1);
+        Currency cached = cache[slot];
+        if (cached != null && cached.getCurrencyCode().contentEquals(code)) {
+          return cached;
+        }
+      }
+      String s = code.toString();
       try {
-        return Currency.getInstance(s);
+        Currency currency = Currency.getInstance(s);
+        if (s.length() == 3) {
+          cache[slot] = currency;
+        }
+        return currency;
       } catch (IllegalArgumentException e) {
         throw new JsonSyntaxException("Failed parsing '" + s + "' as Currency; at path " + in.getPreviousPath(), e);
       }
@@ -853,11 +977,18 @@ public final class TypeAdapters {
       = newTypeHierarchyFactory(JsonElement.class, JSON_ELEMENT);
 
   private static final class EnumTypeAdapter<T extends Enum<T>> extends TypeAdapter<T> {
-    private final Map<String, T> nameToConstant = new HashMap<>();
-    private final Map<String, T> stringToConstant = new HashMap<>();
-    private final Map<T, String> constantToName = new HashMap<>();
+    /** Serialized names and alternate names, looked up without creating strings when reading. */
+    private final JsonNameOptions names;
+    private final T[] nameConstants;
+    /** {@code toString()} values, which are accepted if no name matches. */
+    private final JsonNameOptions strings;
+    private final T[] stringConstants;
+    private final Map<T, PreparedName> constantToName = new HashMap<>();
 
     public EnumTypeAdapter(final Class<T> classOfT) {
+      // Maps first, so that later duplicates replace earlier ones
+      Map<String, T> nameToConstant = new LinkedHashMap<>();
+      Map<String, T> stringToConstant = new LinkedHashMap<>();
       try {
         // Uses reflection to find enum constants to work around name mismatches for obfuscated classes
         // Reflection access might throw SecurityException, therefore run this in privileged context;
@@ -892,24 +1023,38 @@ public final class TypeAdapters {
           }
           nameToConstant.put(name, constant);
           stringToConstant.put(toStringVal, constant);
-          constantToName.put(constant, name);
+          constantToName.put(constant, PreparedName.of(name));
         }
       } catch (IllegalAccessException e) {
         throw new AssertionError(e);
       }
+      names = JsonNameOptions.of(nameToConstant.keySet().toArray(new String[0]));
+      nameConstants = toArray(classOfT, nameToConstant.values());
+      strings = JsonNameOptions.of(stringToConstant.keySet().toArray(new String[0]));
+      stringConstants = toArray(classOfT, stringToConstant.values());
     }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T[] toArray(Class<T> classOfT, Collection<T> constants) {
+      return constants.toArray((T[]) Array.newInstance(classOfT, constants.size()));
+    }
+
     @Override public T read(JsonReader in) throws IOException {
       if (in.peek() == JsonToken.NULL) {
         in.nextNull();
         return null;
       }
-      String key = in.nextString();
-      T constant = nameToConstant.get(key);
-      return (constant == null) ? stringToConstant.get(key) : constant;
+      CharSequence key = in.nextStringView();
+      int index = names.indexOf(key);
+      if (index != -1) {
+        return nameConstants[index];
+      }
+      index = strings.indexOf(key);
+      return index == -1 ? null : stringConstants[index];
     }
 
     @Override public void write(JsonWriter out, T value) throws IOException {
-      out.value(value == null ? null : constantToName.get(value));
+      out.preparedValue(value == null ? null : constantToName.get(value));
     }
   }
 
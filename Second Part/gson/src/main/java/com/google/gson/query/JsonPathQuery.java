@@ -0,0 +1,379 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.query;
+
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.internal.Streams;
+import com.google.gson.internal.bind.JsonTreeReader;
+import com.google.gson.stream.JsonNameOptions;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A set of <a href="https://goessner.net/articles/JsonPath/">JSONPath</a>
+ * expressions which are evaluated together, in a single pass over a
+ * {@link JsonReader}.
+ *
+ * <p>The supported expressions start with {@code $}, the evaluated value, and
+ * consist of these steps:
+ * <ul>
+ *   <li>{@code .name} or {@code ['name']}: the property {@code name} of an object
+ *   <li>{@code [index]}: the element at {@code index} of an array
+ *   <li>{@code .*} or {@code [*]}: all properties of an object or elements of an array
+ *   <li>{@code ..name}, {@code ..['name']}, {@code ..[index]}, {@code ..*}: recursive
+ *       descent, which matches at any depth below the preceding step
+ * </ul>
+ * For example: <pre>   {@code
+ *   JsonPathQuery query = JsonPathQuery.compile("$.id", "$.user.name", "$.tags[*]", "$..url");
+ * }</pre>
+ *
+ * <p>The expressions are compiled into a deterministic automaton over the
+ * property names and array indices they mention. Reading a document therefore
+ * costs the same regardless of the number of expressions, and objects and
+ * arrays which no expression can match are skipped with
+ * {@link JsonReader#skipValue()} without looking at their content. Note that
+ * recursive descent matches at any depth, so it prevents skipping.
+ *
+ * <p>A value matched by a single expression, within which no further match is
+ * possible, is streamed to the {@link MatchHandler}, and as long as all
+ * matches are like that the memory used while reading only depends on the
+ * nesting depth of the document. However, a value matched by several
+ * expressions, or within which further matches are possible, is read into a
+ * {@link JsonElement} first, so its whole subtree is held in memory. With
+ * recursive descent this applies to every match in its scope, for example to
+ * every match of {@code $..a}, since another property {@code a} could be
+ * nested within it.
+ *
+ * <p>Instances are immutable and thread-safe.
+ *
+ * @since $next-version$
+ */
+public final class JsonPathQuery {
+  /** Limit for the number of automaton states, to fail fast for pathological expressions. */
+  private static final int MAX_STATES = 10_000;
+
+  /**
+   * Receives the values matched by a {@link JsonPathQuery}.
+   *
+   * @since $next-version$
+   */
+  public interface MatchHandler {
+    /**
+     * Called for a value matched by the expression at index {@code expression}.
+     * The reader is positioned right before the value, and this method must
+     * consume exactly that value, for example with {@link TypeAdapter#read(JsonReader)}
+     * or {@link JsonReader#skipValue()}.
+     *
+     * <p>If a value is matched by several expressions, or if an expression
+     * matches values within it, the value is first read into a
+     * {@link JsonElement}. This method is then called once per expression,
+     * each time with a new reader for that element.
+     */
+    void onMatch(int expression, JsonReader in) throws IOException;
+  }
+
+  private final String[] expressions;
+  /** All property names in name steps; the transitions of states are indexed like them. */
+  private final JsonNameOptions names;
+  /** All indices in index steps, sorted; the transitions of states are indexed like them. */
+  private final int[] indices;
+  private final State initial;
+
+  private JsonPathQuery(String[] expressions) {
+    this.expressions = expressions;
+    List<List<JsonPathStep>> paths = new ArrayList<>();
+    Set<String> nameSet = new LinkedHashSet<>();
+    Set<Integer> indexSet = new TreeSet<>();
+    for (String expression : expressions) {
+      List<JsonPathStep> steps = JsonPathStep.parse(Objects.requireNonNull(expression, "expression == null"));
+      for (JsonPathStep step : steps) {
+        if (step.name != null) {
+          nameSet.add(step.name);
+        } else if (step.index >= 0) {
+          indexSet.add(step.index);
+        }
+      }
+      paths.add(steps);
+    }
+    this.names = JsonNameOptions.of(nameSet.toArray(new String[0]));
+    this.indices = new int[indexSet.size()];
+    int i = 0;
+    for (int index : indexSet) {
+      indices[i++] = index;
+    }
+    this.initial = new Compiler(paths).compile();
+  }
+
+  /**
+   * Compiles the given expressions. The index of an expression is what is
+   * passed to {@link MatchHandler#onMatch(int, JsonReader)} for its matches.
+   *
+   * @throws IllegalArgumentException if an expression is malformed.
+   */
+  public static JsonPathQuery compile(String... expressions) {
+    return new JsonPathQuery(expressions.clone());
+  }
+
+  /** Returns the number of expressions. */
+  public int size() {
+    return expressions.length;
+  }
+
+  /** Returns the expression at {@code index}. */
+  public String get(int index) {
+    return expressions[index];
+  }
+
+  /**
+   * Reads the next value of {@code in} and passes all values within it which
+   * are matched by an expression to {@code handler}, in document order. The
+   * leniency of {@code in} is not changed.
+   *
+   * @throws IllegalStateException if the next token of {@code in} is not a value.
+   */
+  public void evaluate(JsonReader in, MatchHandler handler) throws IOException {
+    Objects.requireNonNull(handler, "handler == null");
+    JsonToken token = in.peek();
+    if (token == JsonToken.NAME || token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY
+        || token == JsonToken.END_DOCUMENT) {
+      throw new IllegalStateException("Expected a value but was " + token + " at path " + in.getPath());
+    }
+    visit(in, initial, handler, false);
+  }
+
+  /**
+   * Reads the next value of {@code in} and returns, for each expression, the
+   * first value matched by it, read with the adapter at the same index; or
+   * {@code null} if the expression matches no value.
+   *
+   * @throws IllegalArgumentException if the number of adapters differs from
+   *     the number of expressions.
+   */
+  public Object[] readFirst(JsonReader in, TypeAdapter<?>... adapters) throws IOException {
+    if (adapters.length != expressions.length) {
+      throw new IllegalArgumentException("Expected " + expressions.length + " adapters but got " + adapters.length);
+    }
+    final TypeAdapter<?>[] adaptersCopy = adapters.clone();
+    final Object[] results = new Object[adapters.length];
+    final boolean[] found = new boolean[adapters.length];
+    evaluate(in, new MatchHandler() {
+      @Override public void onMatch(int expression, JsonReader reader) throws IOException {
+        if (found[expression]) {
+          reader.skipValue();
+        } else {
+          found[expression] = true;
+          results[expression] = adaptersCopy[expression].read(reader);
+        }
+      }
+    });
+    return results;
+  }
+
+  private void visit(JsonReader in, State state, MatchHandler handler, boolean matched) throws IOException {
+    int[] matches = matched ? NO_MATCHES : state.matches;
+    if (matches.length == 1 && !state.live) {
+      handler.onMatch(matches[0], in);
+      return;
+    } else if (matches.length > 0) {
+      // The value is needed more than once; read it into a tree
+      JsonElement element = Streams.parse(in);
+      for (int expression : matches) {
+        handler.onMatch(expression, new JsonTreeReader(element));
+      }
+      if (state.live) {
+        visit(new JsonTreeReader(element), state, handler, true);
+      }
+      return;
+    }
+
+    if (!state.live) {
+      in.skipValue();
+      return;
+    }
+    JsonToken token = in.peek();
+    if (token == JsonToken.BEGIN_OBJECT) {
+      in.beginObject();
+      while (in.hasNext()) {
+        State child;
+        if (!state.nameDependent) {
+          in.skipValue(); // the name
+          child = state.otherName;
+        } else {
+          int name = in.selectName(names, -1);
+          if (name < 0) {
+            // Does not match, unless the name is escaped or not buffered
+            name = names.indexOf(in.nextName());
+          }
+          child = name < 0 ? state.otherName : state.byName[name];
+        }
+        visit(in, child, handler, false);
+      }
+      in.endObject();
+    } else if (token == JsonToken.BEGIN_ARRAY) {
+      in.beginArray();
+      for (int index = 0; in.hasNext(); index++) {
+        int slot = Arrays.binarySearch(indices, index);
+        visit(in, slot < 0 ? state.otherIndex : state.byIndex[slot], handler, false);
+      }
+      in.endArray();
+    } else {
+      in.skipValue();
+    }
+  }
+
+  @Override public String toString() {
+    return Arrays.toString(expressions);
+  }
+
+  private static final int[] NO_MATCHES = {};
+
+  /**
+   * A state of the automaton; stands for the set of positions in the
+   * expressions which a value has reached.
+   */
+  private static final class State {
+    /** Indices of the expressions which match a value in this state. */
+    int[] matches;
+    /** Whether values within a value in this state can still match. */
+    boolean live;
+    /** Whether the state of a property depends on its name. */
+    boolean nameDependent;
+    State[] byName;
+    State otherName;
+    State[] byIndex;
+    State otherIndex;
+  }
+
+  /** Builds all states of the automaton, by subset construction. */
+  private final class Compiler {
+    private final List<List<JsonPathStep>> paths;
+    /** Position {@code offsets[p] + k}: expression {@code p} after its first {@code k} steps. */
+    private final int[] offsets;
+    private final int[] positionPath;
+    private final Map<BitSet, State> states = new HashMap<>();
+    private final Deque<BitSet> pending = new ArrayDeque<>();
+
+    Compiler(List<List<JsonPathStep>> paths) {
+      this.paths = paths;
+      this.offsets = new int[paths.size()];
+      int count = 0;
+      for (int p = 0; p < paths.size(); p++) {
+        offsets[p] = count;
+        count += paths.get(p).size() + 1;
+      }
+      this.positionPath = new int[count];
+      for (int p = 0; p < paths.size(); p++) {
+        for (int k = 0; k <= paths.get(p).size(); k++) {
+          positionPath[offsets[p] + k] = p;
+        }
+      }
+    }
+
+    State compile() {
+      BitSet start = new BitSet();
+      for (int offset : offsets) {
+        start.set(offset);
+      }
+      State initial = state(start);
+      while (!pending.isEmpty()) {
+        BitSet positions = pending.removeFirst();
+        State state = states.get(positions);
+        state.byName = new State[names.size()];
+        for (int i = 0; i < names.size(); i++) {
+          state.byName[i] = state(next(positions, true, names.get(i), -1));
+        }
+        state.otherName = state(next(positions, true, null, -1));
+        for (State child : state.byName) {
+          state.nameDependent |= child != state.otherName;
+        }
+        state.byIndex = new State[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+          state.byIndex[i] = state(next(positions, false, null, indices[i]));
+        }
+        state.otherIndex = state(next(positions, false, null, -1));
+      }
+      return initial;
+    }
+
+    /** Returns the state for {@code positions}, creating it if necessary. */
+    private State state(BitSet positions) {
+      State state = states.get(positions);
+      if (state == null) {
+        if (states.size() == MAX_STATES) {
+          throw new IllegalArgumentException("Expressions are too complex: " + Arrays.toString(expressions));
+        }
+        state = new State();
+        List<Integer> matches = new ArrayList<>();
+        for (int position = positions.nextSetBit(0); position >= 0; position = positions.nextSetBit(position + 1)) {
+          int p = positionPath[position];
+          if (position - offsets[p] == paths.get(p).size()) {
+            matches.add(p);
+          } else {
+            state.live = true;
+          }
+        }
+        state.matches = new int[matches.size()];
+        for (int i = 0; i < state.matches.length; i++) {
+          state.matches[i] = matches.get(i);
+        }
+        states.put(positions, state);
+        pending.addLast(positions);
+      }
+      return state;
+    }
+
+    /**
+     * Returns the positions for a property with the given name, or an array
+     * element with the given index. A name of null and an index of -1 stand
+     * for all names and indices which are not mentioned by the expressions.
+     */
+    private BitSet next(BitSet positions, boolean isName, String name, int index) {
+      BitSet next = new BitSet();
+      for (int position = positions.nextSetBit(0); position >= 0; position = positions.nextSetBit(position + 1)) {
+        int p = positionPath[position];
+        List<JsonPathStep> steps = paths.get(p);
+        int k = position - offsets[p];
+        if (k == steps.size()) {
+          continue;
+        }
+        JsonPathStep step = steps.get(k);
+        boolean matches = isName ? step.matchesName(name) : step.matchesIndex(index);
+        if (matches) {
+          next.set(position + 1);
+        }
+        if (step.descendant) {
+          next.set(position);
+        }
+      }
+      return next;
+    }
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One step of a parsed JSONPath: a property name, an array index or a
+ * wildcard, which applies to the children of a value or, for recursive
+ * descent, to all of its descendants.
+ */
+final class JsonPathStep {
+  /** The property name, or null if this is no name step. */
+  final String name;
+  /** The array index, or -1 if this is no index step. */
+  final int index;
+  /** Whether this step matches all descendants instead of only the children. */
+  final boolean descendant;
+
+  private JsonPathStep(String name, int index, boolean descendant) {
+    this.name = name;
+    this.index = index;
+    this.descendant = descendant;
+  }
+
+  /** Returns whether this step matches a property; a null name matches only wildcards. */
+  boolean matchesName(String name) {
+    return this.name == null ? index < 0 : this.name.equals(name);
+  }
+
+  /** Returns whether this step matches an array element; an index of -1 matches only wildcards. */
+  boolean matchesIndex(int index) {
+    return name == null && (this.index < 0 || this.index == index);
+  }
+
+  /**
+   * Parses a path such as {@code $.store..book[0]['title']}.
+   *
+   * @throws IllegalArgumentException if the path is malformed.
+   */
+  static List<JsonPathStep> parse(String path) {
+    if (!path.startsWith("$")) {
+      throw invalid(path, 0, "expected '$'");
+    }
+    List<JsonPathStep> steps = new ArrayList<>();
+    int i = 1;
+    int length = path.length();
+    while (i < length) {
+      boolean descendant = false;
+      char c = path.charAt(i);
+      if (c == '.') {
+        i++;
+        if (i < length && path.charAt(i) == '.') {
+          descendant = true;
+          i++;
+        }
+        if (i == length) {
+          throw invalid(path, i, "expected name");
+        }
+        c = path.charAt(i);
+        if (c != '[') {
+          int end = i;
+          while (end < length && path.charAt(end) != '.' && path.charAt(end) != '[') {
+            end++;
+          }
+          String name = path.substring(i, end);
+          if (name.isEmpty()) {
+            throw invalid(path, i, "expected name");
+          }
+          steps.add(name.equals("*") ? new JsonPathStep(null, -1, descendant)
+              : new JsonPathStep(name, -1, descendant));
+          i = end;
+          continue;
+        } else if (!descendant) {
+          throw invalid(path, i, "expected name");
+        }
+      } else if (c != '[') {
+        throw invalid(path, i, "expected '.' or '['");
+      }
+
+      // Bracket notation
+      i++;
+      if (i == length) {
+        throw invalid(path, i, "expected index, name or '*'");
+      }
+      c = path.charAt(i);
+      if (c == '\'' || c == '"') {
+        StringBuilder name = new StringBuilder();
+        char quote = c;
+        i++;
+        while (true) {
+          if (i == length) {
+            throw invalid(path, i, "unterminated name");
+          }
+          c = path.charAt(i++);
+          if (c == quote) {
+            break;
+          } else if (c == '\\' && i < length) {
+            c = path.charAt(i++);
+          }
+          name.append(c);
+        }
+        steps.add(new JsonPathStep(name.toString(), -1, descendant));
+      } else if (c == '*') {
+        i++;
+        steps.add(new JsonPathStep(null, -1, descendant));
+      } else {
+        int start = i;
+        long index = 0;
+        while (i < length && path.charAt(i) >= '0' && path.charAt(i) <= '9') {
+          index = index * 10 + (path.charAt(i) - '0');
+          if (index > Integer.MAX_VALUE) {
+            throw invalid(path, start, "index too large");
+          }
+          i++;
+        }
+        if (i == start) {
+          throw invalid(path, i, "expected index, name or '*'");
+        }
+        steps.add(new JsonPathStep(null, (int) index, descendant));
+      }
+      if (i == length || path.charAt(i) != ']') {
+        throw invalid(path, i, "expected ']'");
+      }
+      i++;
+    }
+    return steps;
+  }
+
+  private static IllegalArgumentException invalid(String path, int index, String message) {
+    return new IllegalArgumentException("Invalid path '" + path + "' at index " + index + ": " + message);
+  }
+
+  @Override public String toString() {
+    String prefix = descendant ? ".." : "";
+    if (name != null) {
+      return prefix + "['" + name + "']";
+    }
+    return prefix + (index < 0 ? "[*]" : "[" + index + "]");
+  }
+}
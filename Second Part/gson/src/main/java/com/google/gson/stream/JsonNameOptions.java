@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.stream;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A fixed set of property names which {@link JsonReader#selectName(JsonNameOptions, int)}
+ * matches the next name against, without creating a {@code String} for it.
+ *
+ * <p>Instances are immutable and thread-safe; create them once, for example
+ * per type adapter, and reuse them for every object that is read.
+ *
+ * @since $next-version$
+ */
+public final class JsonNameOptions {
+  final String[] names;
+
+  /**
+   * Open addressing hash table with the indices of {@link #names} plus one,
+   * 0 marks an empty slot.
+   */
+  private final int[] table;
+
+  private JsonNameOptions(String[] names) {
+    this.names = names;
+    int size = Integer.highestOneBit(Math.max(names.length, 1)) * 4;
+    this.table = new int[size];
+    for (int i = 0; i < names.length; i++) {
+      String name = Objects.requireNonNull(names[i], "name == null");
+      int slot = name.hashCode() & (size - 1);
+      while (table[slot] != 0) {
+        if (names[table[slot] - 1].equals(name)) {
+          throw new IllegalArgumentException("Duplicate name: " + name);
+        }
+        slot = (slot + 1) & (size - 1);
+      }
+      table[slot] = i + 1;
+    }
+  }
+
+  /**
+   * Returns options for the given names. The index of a name in {@code names}
+   * is what {@link JsonReader#selectName(JsonNameOptions, int)} returns when
+   * it matches.
+   *
+   * @throws IllegalArgumentException if a name occurs more than once.
+   */
+  public static JsonNameOptions of(String... names) {
+    return new JsonNameOptions(names.clone());
+  }
+
+  /** Returns the number of names. */
+  public int size() {
+    return names.length;
+  }
+
+  /** Returns the name at {@code index}. */
+  public String get(int index) {
+    return names[index];
+  }
+
+  /**
+   * Returns the index of {@code name}, or -1 if it is none of the names. Unlike
+   * a {@code Map} lookup, this does not require a {@code String}, so it can be
+   * used with {@link JsonReader#nextStringView()}.
+   */
+  public int indexOf(CharSequence name) {
+    int length = name.length();
+    int hash = 0;
+    for (int i = 0; i < length; i++) {
+      hash = 31 * hash + name.charAt(i);
+    }
+    int[] table = this.table;
+    int mask = table.length - 1;
+    for (int slot = hash & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+      int index = table[slot] - 1;
+      String candidate = names[index];
+      if (candidate.hashCode() == hash && candidate.contentEquals(name)) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the index of the name consisting of {@code length} chars of
+   * {@code buffer} starting at {@code start}, whose {@link String#hashCode()}
+   * is {@code hash}, or -1 if it is none of the names.
+   */
+  int indexOf(char[] buffer, int start, int length, int hash) {
+    int[] table = this.table;
+    int mask = table.length - 1;
+    for (int slot = hash & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+      int index = table[slot] - 1;
+      String name = names[index];
+      if (name.hashCode() == hash && matches(name, buffer, start, length)) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns true if {@code index} is a valid index and the name at that index
+   * consists of the given chars.
+   */
+  boolean matches(int index, char[] buffer, int start, int length, int hash) {
+    return index >= 0 && index < names.length && names[index].hashCode() == hash
+        && matches(names[index], buffer, start, length);
+  }
+
+  private static boolean matches(String name, char[] buffer, int start, int length) {
+    if (name.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (name.charAt(i) != buffer[start + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override public String toString() {
+    return Arrays.toString(names);
+  }
+}
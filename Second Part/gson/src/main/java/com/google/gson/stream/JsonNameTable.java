@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.stream;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded cache of property names, used by {@link JsonReader#nextName()} to
+ * return the same {@code String} instance for names which occur repeatedly.
+ *
+ * <p>A name is looked up by hashing it directly from the reader's buffer, so a
+ * hit does not allocate at all. This pays off for documents which repeat a
+ * limited set of names many times, for example arrays of objects of the same
+ * type; the returned strings are then also cheaper to use as map keys because
+ * their hash code is already computed. Names containing escape sequences are
+ * not cached.
+ *
+ * <p>The table has a fixed number of slots. When two names map to the same
+ * slot, the more recent one replaces the older one. Use {@link #getHitCount()}
+ * and {@link #getMissCount()} to choose a suitable capacity. Each reader counts
+ * its own lookups and adds them to these counts when it reaches the end of the
+ * document, or when it is closed or {@linkplain JsonReader#reset reset}, so
+ * that readers sharing a table don't contend on its counters for every name.
+ *
+ * <p>Instances of this class are thread-safe and can be shared by any number
+ * of readers, also concurrently.
+ *
+ * @see JsonReader#setNameTable(JsonNameTable)
+ * @since $next-version$
+ */
+public final class JsonNameTable {
+  private static final int DEFAULT_CAPACITY = 1024;
+  private static final int MAXIMUM_CAPACITY = 1 << 20;
+
+  /** The longest name which is cached; longer names are unlikely to repeat. */
+  private static final int MAXIMUM_NAME_LENGTH = 64;
+
+  /**
+   * Cached names indexed by their hash code. Publishing instances through
+   * a data race is safe because {@code String} is immutable.
+   */
+  private final String[] names;
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+
+  /** Creates a table with a default capacity of 1024 names. */
+  public JsonNameTable() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates a table with room for {@code capacity} names, rounded up to the
+   * next power of two.
+   *
+   * @throws IllegalArgumentException if {@code capacity} is not positive
+   *     or larger than 2<sup>20</sup>.
+   */
+  public JsonNameTable(int capacity) {
+    if (capacity <= 0 || capacity > MAXIMUM_CAPACITY) {
+      throw new IllegalArgumentException("Invalid capacity: " + capacity);
+    }
+    int size = Integer.highestOneBit(capacity);
+    if (size < capacity) {
+      size <<= 1;
+    }
+    this.names = new String[size];
+  }
+
+  /** Returns the number of slots of this table. */
+  public int getCapacity() {
+    return names.length;
+  }
+
+  /**
+   * Returns the number of lookups which returned a cached name, by readers
+   * which reached the end of their document or were closed or reset.
+   */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * Returns the number of lookups which had to create a new name, by readers
+   * which reached the end of their document or were closed or reset.
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * Returns the name consisting of {@code length} chars of {@code buffer}
+   * starting at {@code start}, reusing a cached instance if possible. The
+   * lookup is counted by {@code reader}.
+   */
+  String lookup(char[] buffer, int start, int length, JsonReader reader) {
+    if (length > MAXIMUM_NAME_LENGTH) {
+      return new String(buffer, start, length);
+    }
+
+    // Same hash function as String.hashCode(), so a cached name's hash can be
+    // compared before its chars
+    int hash = 0;
+    for (int i = start, end = start + length; i < end; i++) {
+      hash = 31 * hash + buffer[i];
+    }
+    String[] names = this.names;
+    int index = (hash ^ (hash >>> 16)) & (names.length - 1);
+    String cached = names[index];
+    if (cached != null && cached.hashCode() == hash && matches(cached, buffer, start, length)) {
+      reader.nameTableHits++;
+      return cached;
+    }
+    String name = new String(buffer, start, length);
+    names[index] = name;
+    reader.nameTableMisses++;
+    return name;
+  }
+
+  void addCounts(long hits, long misses) {
+    hitCount.addAndGet(hits);
+    missCount.addAndGet(misses);
+  }
+
+  private static boolean matches(String name, char[] buffer, int start, int length) {
+    if (name.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (name.charAt(i) != buffer[start + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override public String toString() {
+    return "JsonNameTable[capacity=" + names.length + ", hits=" + getHitCount()
+        + ", misses=" + getMissCount() + "]";
+  }
+}
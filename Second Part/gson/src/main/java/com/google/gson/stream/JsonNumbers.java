@@ -0,0 +1,264 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.stream;
+
+/**
+ * Allocation-free conversions between numbers and chars for {@link JsonReader}
+ * and {@link JsonWriter}.
+ *
+ * <p>The conversions of floating point numbers only handle the common case of
+ * numbers with few significant digits, where they can rely on a single
+ * correctly rounded division (Clinger's fast path). They give up in all other
+ * cases, and the caller falls back to {@link Double#toString(double)} or
+ * {@link Double#parseDouble(String)}; this guarantees the same results as
+ * those methods.
+ */
+final class JsonNumbers {
+  private JsonNumbers() {
+  }
+
+  /** The longest output of the format methods: "-9223372036854775808". */
+  static final int MAX_LENGTH = 20;
+
+  /** Powers of ten which are exactly representable as double. */
+  private static final double[] DOUBLE_POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+    1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  /** Powers of ten which are exactly representable as float. */
+  private static final float[] FLOAT_POWERS_OF_TEN = {
+    1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+  };
+
+  private static final long[] LONG_POWERS_OF_TEN = {
+    1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L,
+    1000000000L, 10000000000L, 100000000000L, 1000000000000L, 10000000000000L,
+    100000000000000L, 1000000000000000L
+  };
+
+  /** Largest significand for which all smaller integers are exact doubles. */
+  private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+  /**
+   * Largest significand which is formatted: decimals with more than 15 digits
+   * are not necessarily unique, and are left to {@link Double#toString(double)}.
+   */
+  private static final long MAX_DOUBLE_DIGITS = 1000000000000000L;
+
+  /** Largest significand which is formatted: 7 digits, less than 2<sup>24</sup>. */
+  private static final long MAX_FLOAT_DIGITS = 10000000L;
+
+  /**
+   * Writes the chars of {@link Long#toString(long)} to {@code chars} and
+   * returns their number.
+   */
+  static int formatLong(long value, char[] chars) {
+    if (value == Long.MIN_VALUE) {
+      "-9223372036854775808".getChars(0, 20, chars, 0);
+      return 20;
+    }
+    int length = 0;
+    if (value < 0) {
+      chars[length++] = '-';
+      value = -value;
+    }
+    return writeDigits(value, chars, length);
+  }
+
+  /**
+   * Writes the chars of {@link Double#toString(double)} to {@code chars} and
+   * returns their number, or returns -1 if {@code value} is not a number
+   * with at most 15 significant digits between 10<sup>-3</sup> and
+   * 10<sup>7</sup>, which {@code Double.toString} writes without exponent.
+   */
+  static int formatDouble(double value, char[] chars) {
+    double abs = Math.abs(value);
+    if (abs == 0) {
+      return writeDecimal(Double.doubleToRawLongBits(value) < 0, 0, 0, chars);
+    }
+    if (!(abs >= 1e-3 && abs < 1e7)) {
+      return -1;
+    }
+    // Find the fewest fraction digits which identify the value
+    for (int scale = 0; scale < LONG_POWERS_OF_TEN.length; scale++) {
+      double power = DOUBLE_POWERS_OF_TEN[scale];
+      double scaled = abs * power;
+      if (scaled >= MAX_DOUBLE_DIGITS) {
+        return -1;
+      }
+      // The product is rounded, so the closest decimal might also be a neighbor
+      long candidate = Math.round(scaled);
+      boolean matches = candidate / power == abs;
+      boolean lowerMatches = candidate > 0 && (candidate - 1) / power == abs;
+      boolean upperMatches = (candidate + 1) / power == abs;
+      if (matches || lowerMatches || upperMatches) {
+        if ((matches ? 1 : 0) + (lowerMatches ? 1 : 0) + (upperMatches ? 1 : 0) > 1) {
+          // Several decimals with this many digits identify the value; let Double.toString choose
+          return -1;
+        }
+        long significand = matches ? candidate : lowerMatches ? candidate - 1 : candidate + 1;
+        if (scale > 0 && significand % 10 == 0) {
+          return -1; // A shorter decimal was missed, should not happen
+        }
+        return writeDecimal(value < 0, significand, scale, chars);
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Writes the chars of {@link Float#toString(float)} to {@code chars} and
+   * returns their number, or returns -1 if {@code value} is not a number
+   * with at most 7 significant digits between 10<sup>-3</sup> and
+   * 10<sup>7</sup>.
+   */
+  static int formatFloat(float value, char[] chars) {
+    float abs = Math.abs(value);
+    if (abs == 0) {
+      return writeDecimal(Float.floatToRawIntBits(value) < 0, 0, 0, chars);
+    }
+    if (!(abs >= 1e-3f && abs < 1e7f)) {
+      return -1;
+    }
+    for (int scale = 0; scale < FLOAT_POWERS_OF_TEN.length; scale++) {
+      float power = FLOAT_POWERS_OF_TEN[scale];
+      // Scale in double precision, which is exact enough to find the closest decimal
+      double scaled = (double) abs * DOUBLE_POWERS_OF_TEN[scale];
+      if (scaled >= MAX_FLOAT_DIGITS) {
+        return -1;
+      }
+      long candidate = Math.round(scaled);
+      boolean matches = (float) candidate / power == abs;
+      boolean lowerMatches = candidate > 0 && (float) (candidate - 1) / power == abs;
+      boolean upperMatches = (float) (candidate + 1) / power == abs;
+      if (matches || lowerMatches || upperMatches) {
+        if ((matches ? 1 : 0) + (lowerMatches ? 1 : 0) + (upperMatches ? 1 : 0) > 1) {
+          return -1;
+        }
+        long significand = matches ? candidate : lowerMatches ? candidate - 1 : candidate + 1;
+        if (scale > 0 && significand % 10 == 0) {
+          return -1;
+        }
+        return writeDecimal(value < 0, significand, scale, chars);
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Writes {@code significand * 10^-scale} in the format of
+   * {@link Double#toString(double)}, with at least one fraction digit.
+   */
+  private static int writeDecimal(boolean negative, long significand, int scale, char[] chars) {
+    int length = 0;
+    if (negative) {
+      chars[length++] = '-';
+    }
+    long power = LONG_POWERS_OF_TEN[scale];
+    length = writeDigits(significand / power, chars, length);
+    chars[length++] = '.';
+    if (scale == 0) {
+      chars[length++] = '0';
+      return length;
+    }
+    // Fraction digits including leading zeros
+    long fraction = significand % power;
+    for (int i = length + scale - 1; i >= length; i--) {
+      chars[i] = (char) ('0' + fraction % 10);
+      fraction /= 10;
+    }
+    return length + scale;
+  }
+
+  /** Writes the digits of the non-negative {@code value} at {@code offset}. */
+  private static int writeDigits(long value, char[] chars, int offset) {
+    int digits = 1;
+    for (long v = value; v >= 10; v /= 10) {
+      digits++;
+    }
+    int end = offset + digits;
+    for (int i = end - 1; i >= offset; i--) {
+      chars[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+    return end;
+  }
+
+  /**
+   * Returns the value of the JSON number consisting of {@code length} chars of
+   * {@code chars} starting at {@code start}, or {@link Double#NaN} if it has
+   * too many digits or too large an exponent to be converted exactly by a
+   * single multiplication or division. The number must be well-formed.
+   */
+  static double parseDouble(char[] chars, int start, int length) {
+    int i = start;
+    int end = start + length;
+    boolean negative = chars[i] == '-';
+    if (negative) {
+      i++;
+    }
+
+    long significand = 0;
+    int exponent = 0;
+    boolean fraction = false;
+    for (; i < end; i++) {
+      char c = chars[i];
+      if (c == '.') {
+        fraction = true;
+        continue;
+      } else if (c == 'e' || c == 'E') {
+        break;
+      }
+      significand = significand * 10 + (c - '0');
+      if (significand >= MAX_EXACT_DOUBLE) {
+        return Double.NaN;
+      }
+      if (fraction) {
+        exponent--;
+      }
+    }
+
+    if (i < end) {
+      i++; // 'e' or 'E'
+      boolean negativeExponent = chars[i] == '-';
+      if (negativeExponent || chars[i] == '+') {
+        i++;
+      }
+      int explicitExponent = 0;
+      for (; i < end; i++) {
+        explicitExponent = explicitExponent * 10 + (chars[i] - '0');
+        if (explicitExponent > 1000) {
+          return Double.NaN;
+        }
+      }
+      exponent += negativeExponent ? -explicitExponent : explicitExponent;
+    }
+
+    double value = significand;
+    if (significand == 0 || exponent == 0) {
+      // value is exact
+    } else if (exponent > 0 && exponent < DOUBLE_POWERS_OF_TEN.length) {
+      value *= DOUBLE_POWERS_OF_TEN[exponent];
+    } else if (exponent < 0 && -exponent < DOUBLE_POWERS_OF_TEN.length) {
+      value /= DOUBLE_POWERS_OF_TEN[-exponent];
+    } else {
+      return Double.NaN;
+    }
+    return negative ? -value : value;
+  }
+}
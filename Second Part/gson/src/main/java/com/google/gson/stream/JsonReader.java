@@ -21,8 +21,18 @@ import com.google.gson.internal.bind.JsonTreeReader;
 import java.io.Closeable;
 import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -223,20 +233,73 @@ public class JsonReader implements Closeable {
   private static final int NUMBER_CHAR_EXP_SIGN = 6;
   private static final int NUMBER_CHAR_EXP_DIGIT = 7;
 
+  /**
+   * The ASCII chars which end or interrupt a quoted string: the quotes, the
+   * backslash and newline, which is counted. The quote which does not end the
+   * string is handled like a regular char once it is found.
+   */
+  private static final boolean[] QUOTED_SPECIAL = new boolean[128];
+
+  /** The ASCII chars which end an unquoted literal, see {@link #isLiteral(char)}. */
+  private static final boolean[] LITERAL_END = new boolean[128];
+
+  static {
+    QUOTED_SPECIAL['"'] = true;
+    QUOTED_SPECIAL['\''] = true;
+    QUOTED_SPECIAL['\\'] = true;
+    QUOTED_SPECIAL['\n'] = true;
+    for (char c : "/\\;#={}[]:, \t\f\r\n".toCharArray()) {
+      LITERAL_END[c] = true;
+    }
+  }
+
   /** The input JSON. */
-  private final Reader in;
+  private Reader in;
 
   /** True to accept non-spec compliant JSON */
   private boolean lenient = false;
 
+  /** Cache for the names returned by {@link #nextName()}, or null. */
+  private JsonNameTable nameTable;
+
+  /**
+   * Lookups in {@link #nameTable} which are not yet added to its counts; they
+   * are added once per document so that readers sharing the table don't
+   * contend on its counters for every name.
+   */
+  long nameTableHits;
+  long nameTableMisses;
+
   static final int BUFFER_SIZE = 1024;
+  private static final int MIN_BUFFER_SIZE = 16;
+
+  /** The longest token that can be reported as a number. */
+  private static final int MAX_NUMBER_LENGTH = BUFFER_SIZE;
+
   /**
    * Use a manual buffer to easily read and unread upcoming characters, and
    * also so we can create strings without an intermediate StringBuilder.
-   * We decode literals directly out of this buffer, so it must be at least as
-   * long as the longest token that can be reported as a number.
+   * We decode literals directly out of this buffer; it grows when a token
+   * does not fit, and shrinks back to {@link #initialBufferSize} on
+   * {@link #reset(Reader)}.
    */
-  private final char[] buffer = new char[BUFFER_SIZE];
+  private char[] buffer;
+  private final int initialBufferSize;
+
+  /**
+   * True if the buffer holds the complete input, so that it must never be
+   * refilled. This is the case for readers created by {@link #fromChars}.
+   */
+  private boolean inMemory;
+
+  /**
+   * True if the buffer belongs to the caller and must not be modified. Only
+   * in-memory buffers are shared.
+   */
+  private boolean bufferShared;
+
+  /** The view returned by {@link #nextStringView()}, or null if none was created yet. */
+  private BufferView bufferView;
   private int pos = 0;
   private int limit = 0;
 
@@ -288,7 +351,225 @@ public class JsonReader implements Closeable {
    * Creates a new instance that reads a JSON-encoded stream from {@code in}.
    */
   public JsonReader(Reader in) {
+    this(in, BUFFER_SIZE);
+  }
+
+  /**
+   * Creates a new instance that reads a JSON-encoded stream from {@code in},
+   * using a buffer of initially {@code bufferSize} chars. A small buffer saves
+   * memory when reading many short documents; a large one saves calls to
+   * {@link Reader#read(char[], int, int)} for large documents. The buffer
+   * grows temporarily when it cannot hold a string. The default size is
+   * 1024 chars.
+   *
+   * @throws IllegalArgumentException if {@code bufferSize} is less than 16.
+   * @since $next-version$
+   */
+  public JsonReader(Reader in, int bufferSize) {
     this.in = Objects.requireNonNull(in, "in == null");
+    if (bufferSize < MIN_BUFFER_SIZE) {
+      throw new IllegalArgumentException("Invalid buffer size: " + bufferSize);
+    }
+    this.buffer = new char[bufferSize];
+    this.initialBufferSize = bufferSize;
+  }
+
+  /** Creates an instance which reads the complete input from {@code chars}. */
+  private JsonReader(char[] chars, int offset, int length, boolean shared) {
+    this.in = NO_INPUT;
+    this.buffer = chars;
+    this.initialBufferSize = BUFFER_SIZE;
+    this.inMemory = true;
+    this.bufferShared = shared;
+    this.pos = offset;
+    this.limit = offset + length;
+    this.lineStart = offset;
+    // consume an optional byte order mark (BOM) like fillBuffer() does
+    if (length > 0 && chars[offset] == '\ufeff') {
+      pos++;
+      lineStart++;
+    }
+  }
+
+  /** Stands in for the input of in-memory readers, which is already in the buffer. */
+  private static final Reader NO_INPUT = new Reader() {
+    @Override public int read(char[] buffer, int offset, int count) {
+      return -1;
+    }
+    @Override public void close() {
+    }
+  };
+
+  /**
+   * Maximum length of a document which {@link #fromChars(CharSequence)} copies
+   * in one piece; larger ones are read chunk by chunk.
+   */
+  static final int MAX_COPY_LENGTH = 64 * BUFFER_SIZE;
+
+  /** Reads a {@link CharSequence} which is not a {@code String}. */
+  private static final class CharSequenceReader extends Reader {
+    private final CharSequence chars;
+    private int pos;
+
+    CharSequenceReader(CharSequence chars) {
+      this.chars = chars;
+    }
+
+    @Override public int read(char[] buffer, int offset, int length) {
+      int count = Math.min(length, chars.length() - pos);
+      if (count <= 0) {
+        return length == 0 ? 0 : -1;
+      }
+      if (chars instanceof StringBuilder) {
+        ((StringBuilder) chars).getChars(pos, pos + count, buffer, offset);
+      } else {
+        for (int i = 0; i < count; i++) {
+          buffer[offset + i] = chars.charAt(pos + i);
+        }
+      }
+      pos += count;
+      return count;
+    }
+
+    @Override public void close() {
+    }
+  }
+
+  /**
+   * Returns a new instance that reads the JSON document contained in
+   * {@code length} chars of {@code chars} starting at {@code offset}. The
+   * document is tokenized directly in the array, which saves copying it into
+   * the buffer of the reader chunk by chunk like a {@link java.io.CharArrayReader}
+   * would. The array is not modified, and must not be modified while it is
+   * being read.
+   *
+   * @since $next-version$
+   */
+  public static JsonReader fromChars(char[] chars, int offset, int length) {
+    Objects.requireNonNull(chars, "chars == null");
+    if (offset < 0 || length < 0 || length > chars.length - offset) {
+      throw new IndexOutOfBoundsException(
+          "offset " + offset + ", length " + length + ", array length " + chars.length);
+    }
+    return new JsonReader(chars, offset, length, true);
+  }
+
+  /**
+   * Returns a new instance that reads the JSON document {@code chars}. A
+   * {@link java.nio.CharBuffer} backed by an accessible array is not copied at
+   * all but tokenized in place; its position is not modified, and its content
+   * must not be modified while it is being read. Other documents of up to
+   * {@value #MAX_COPY_LENGTH} chars are copied once, in one piece, which is
+   * cheaper than wrapping them in a {@link java.io.StringReader}. Larger
+   * documents are copied into the buffer of the reader chunk by chunk, so that
+   * reading them does not double the memory they occupy.
+   *
+   * @since $next-version$
+   */
+  public static JsonReader fromChars(CharSequence chars) {
+    Objects.requireNonNull(chars, "chars == null");
+    if (chars instanceof CharBuffer && ((CharBuffer) chars).hasArray()) {
+      CharBuffer buffer = (CharBuffer) chars;
+      return new JsonReader(buffer.array(), buffer.arrayOffset() + buffer.position(),
+          buffer.remaining(), true);
+    }
+    int length = chars.length();
+    if (length > MAX_COPY_LENGTH) {
+      return new JsonReader(chars instanceof String
+          ? new StringReader((String) chars)
+          : new CharSequenceReader(chars));
+    }
+    if (chars instanceof String) {
+      return new JsonReader(((String) chars).toCharArray(), 0, length, false);
+    }
+    char[] array = new char[length];
+    if (chars instanceof StringBuilder) {
+      ((StringBuilder) chars).getChars(0, length, array, 0);
+    } else {
+      for (int i = 0; i < length; i++) {
+        array[i] = chars.charAt(i);
+      }
+    }
+    return new JsonReader(array, 0, length, false);
+  }
+
+  /**
+   * Returns a new instance that reads a UTF-8 encoded JSON stream from {@code in}.
+   *
+   * <p>The bytes are decoded directly into the buffer of the reader, which is
+   * cheaper than wrapping {@code in} in an {@link java.io.InputStreamReader}.
+   * Malformed UTF-8 causes a {@link MalformedJsonException} instead of being
+   * replaced with U+FFFD. For best performance there is no need to buffer
+   * {@code in}; it is always read in large blocks.
+   *
+   * @since $next-version$
+   */
+  public static JsonReader fromUtf8(InputStream in) {
+    return new JsonReader(new Utf8Reader(in));
+  }
+
+  /**
+   * Returns a new instance that reads the UTF-8 encoded JSON document
+   * contained in {@code length} bytes of {@code bytes} starting at
+   * {@code offset}. The array is not copied and must not be modified while
+   * it is being read.
+   *
+   * <p>Malformed UTF-8 causes a {@link MalformedJsonException}.
+   *
+   * @since $next-version$
+   */
+  public static JsonReader fromUtf8(byte[] bytes, int offset, int length) {
+    return new JsonReader(new Utf8Reader(bytes, offset, length));
+  }
+
+  /**
+   * Returns a new instance that reads the UTF-8 encoded JSON document
+   * contained in the bytes between the position and the limit of
+   * {@code bytes}. Heap, direct and memory-mapped buffers are all decoded
+   * straight into the buffer of the reader, without an
+   * {@link java.io.InputStreamReader} or an intermediate copy of the bytes in
+   * between. The position of {@code bytes} is not modified, and its content
+   * must not be modified while it is being read.
+   *
+   * <p>Malformed UTF-8 causes a {@link MalformedJsonException}.
+   *
+   * @since $next-version$
+   */
+  public static JsonReader fromUtf8(ByteBuffer bytes) {
+    return new JsonReader(new Utf8Reader(bytes));
+  }
+
+  /**
+   * Returns a new instance that reads the UTF-8 encoded JSON document
+   * contained in {@code file}. The file is memory-mapped and decoded straight
+   * into the buffer of the reader, without copying the bytes through
+   * intermediate buffers; files larger than 2 GB
+   * are mapped one window at a time. Strings are only created for the names
+   * and values which are actually requested, so skipped values cost no
+   * allocations.
+   *
+   * <p>The file must not be modified while it is being read. {@link #close()}
+   * closes the file, but the mapped memory is only released once it has been
+   * garbage collected.
+   *
+   * <p>Malformed UTF-8 causes a {@link MalformedJsonException}.
+   *
+   * @throws IOException if the file cannot be opened
+   * @since $next-version$
+   */
+  public static JsonReader fromUtf8File(Path file) throws IOException {
+    return fromUtf8File(file, Utf8Reader.MAP_WINDOW_SIZE);
+  }
+
+  // Visible for testing
+  static JsonReader fromUtf8File(Path file, int windowSize) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      return new JsonReader(new Utf8Reader(channel, windowSize));
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
   }
 
   /**
@@ -341,6 +622,38 @@ public class JsonReader implements Closeable {
     return lenient;
   }
 
+  /**
+   * Sets the table used to reuse the {@code String} instances returned by
+   * {@link #nextName()}, or null to create a new instance for every name, which
+   * is the default. The same table may be shared by multiple readers.
+   *
+   * @since $next-version$
+   */
+  public final void setNameTable(JsonNameTable nameTable) {
+    flushNameTableCounts();
+    this.nameTable = nameTable;
+  }
+
+  /** Adds the pending lookup counts to the {@link #nameTable}. */
+  private void flushNameTableCounts() {
+    if (nameTableHits != 0 || nameTableMisses != 0) {
+      nameTable.addCounts(nameTableHits, nameTableMisses);
+      nameTableHits = 0;
+      nameTableMisses = 0;
+    }
+  }
+
+  /**
+   * Returns the table used to reuse the names returned by {@link #nextName()},
+   * or null if there is none.
+   *
+   * @see #setNameTable(JsonNameTable)
+   * @since $next-version$
+   */
+  public final JsonNameTable getNameTable() {
+    return nameTable;
+  }
+
   /**
    * Consumes the next token from the JSON stream and asserts that it is the
    * beginning of a new array.
@@ -546,6 +859,7 @@ public class JsonReader implements Closeable {
     } else if (peekStack == JsonScope.NONEMPTY_DOCUMENT) {
       int c = nextNonWhitespace(false);
       if (c == -1) {
+        flushNameTableCounts();
         return peeked = PEEKED_EOF;
       } else {
         checkLenient();
@@ -663,7 +977,7 @@ public class JsonReader implements Closeable {
     charactersOfNumber:
     for (; true; i++) {
       if (p + i == l) {
-        if (i == buffer.length) {
+        if (i == MAX_NUMBER_LENGTH) {
           // Though this looks like a well-formed number, it's too long to continue reading. Give up
           // and let the application handle this as an unquoted literal.
           return PEEKED_NONE;
@@ -671,6 +985,7 @@ public class JsonReader implements Closeable {
         if (!fillBuffer(i + 1)) {
           break;
         }
+        buffer = this.buffer;
         p = pos;
         l = limit;
       }
@@ -793,9 +1108,9 @@ public class JsonReader implements Closeable {
     if (p == PEEKED_UNQUOTED_NAME) {
       result = nextUnquotedValue();
     } else if (p == PEEKED_SINGLE_QUOTED_NAME) {
-      result = nextQuotedValue('\'');
+      result = nameTable != null ? nextQuotedName('\'') : nextQuotedValue('\'');
     } else if (p == PEEKED_DOUBLE_QUOTED_NAME) {
-      result = nextQuotedValue('"');
+      result = nameTable != null ? nextQuotedName('"') : nextQuotedValue('"');
     } else {
       throw new IllegalStateException("Expected a name but was " + peek() + locationString());
     }
@@ -804,6 +1119,79 @@ public class JsonReader implements Closeable {
     return result;
   }
 
+  /**
+   * Consumes the next token, a {@link JsonToken#NAME property name}, if it is
+   * one of {@code options} and returns its index. Otherwise, this returns -1
+   * and does not consume anything; the name can then be read with
+   * {@link #nextName()} or skipped together with its value.
+   *
+   * <p>A match does not create a {@code String}; the name is compared directly
+   * with the buffered JSON data. Names containing escape sequences, names which
+   * are not double-quoted, and names of readers whose data is not buffered
+   * character data, such as the reader of a {@link com.google.gson.JsonElement},
+   * are never matched; for them this method returns -1.
+   *
+   * @param expected index of the name which is checked first, because it is the
+   *     most likely next name, for example the next property in declaration
+   *     order; or -1 if there is no such name.
+   * @throws IllegalStateException if the next token is not a property name.
+   * @since $next-version$
+   */
+  public int selectName(JsonNameOptions options, int expected) throws IOException {
+    int p = peeked;
+    if (p == PEEKED_NONE) {
+      p = doPeek();
+    }
+    if (p != PEEKED_DOUBLE_QUOTED_NAME) {
+      if (p == PEEKED_SINGLE_QUOTED_NAME || p == PEEKED_UNQUOTED_NAME) {
+        return -1;
+      }
+      throw new IllegalStateException("Expected a name but was " + peek() + locationString());
+    }
+    // Subclasses might not read from the buffer, let them use nextName()
+    if (getClass() != JsonReader.class) {
+      return -1;
+    }
+
+    // Find the closing quote, hashing the name like String.hashCode()
+    int hash = 0;
+    int i = pos;
+    while (true) {
+      if (i == limit) {
+        // Load the rest of the name into the buffer, unless the name fills it
+        int length = i - pos;
+        if (length == buffer.length || !fillBuffer(length + 1)) {
+          return -1;
+        }
+        i = pos + length;
+      }
+      char c = buffer[i];
+      if (c == '"') {
+        break;
+      } else if (c == '\\' || c == '\n') {
+        return -1;
+      }
+      hash = 31 * hash + c;
+      i++;
+    }
+
+    int start = pos;
+    int length = i - start;
+    int index;
+    if (options.matches(expected, buffer, start, length, hash)) {
+      index = expected;
+    } else {
+      index = options.indexOf(buffer, start, length, hash);
+      if (index == -1) {
+        return -1;
+      }
+    }
+    pos = i + 1;
+    peeked = PEEKED_NONE;
+    pathNames[stackSize - 1] = options.names[index];
+    return index;
+  }
+
   /**
    * Returns the {@link JsonToken#STRING string} value of the next token,
    * consuming it. If the next token is a number, this method will return its
@@ -840,6 +1228,120 @@ public class JsonReader implements Closeable {
     return result;
   }
 
+  /**
+   * Returns the {@link JsonToken#STRING string} value of the next token like
+   * {@link #nextString()}, but without creating a {@code String} if possible.
+   * The returned sequence is a view of the internal buffer of this reader and
+   * is only valid until the next call to any other method of this reader;
+   * after that its content is undefined. Call {@code toString()} on it to keep
+   * the value.
+   *
+   * <p>This is useful for values which are only compared, hashed, parsed or
+   * copied, for example enum constants or codes. Like {@code String}, the
+   * returned sequence does not override {@code equals}; use
+   * {@link String#contentEquals(CharSequence)} to compare it.
+   *
+   * @throws IllegalStateException if the next token is not a string or if
+   *     this reader is closed.
+   * @since $next-version$
+   */
+  public CharSequence nextStringView() throws IOException {
+    // Subclasses might override nextString(), let them provide the value
+    if (getClass() != JsonReader.class) {
+      return nextString();
+    }
+    int p = peeked;
+    if (p == PEEKED_NONE) {
+      p = doPeek();
+    }
+    CharSequence result;
+    if (p == PEEKED_DOUBLE_QUOTED || p == PEEKED_SINGLE_QUOTED) {
+      result = readQuotedValue(p == PEEKED_SINGLE_QUOTED ? '\'' : '"');
+    } else if (p == PEEKED_NUMBER) {
+      result = bufferView(pos, peekedNumberLength);
+      pos += peekedNumberLength;
+    } else {
+      return nextString();
+    }
+    peeked = PEEKED_NONE;
+    pathIndices[stackSize - 1]++;
+    return result;
+  }
+
+  /**
+   * Appends the {@link JsonToken#STRING string} value of the next token to
+   * {@code target}, consuming it. This is like
+   * {@code target.append(nextString())}, but copies the chars directly from
+   * the internal buffer of this reader if possible.
+   *
+   * @throws IllegalStateException if the next token is not a string or if
+   *     this reader is closed.
+   * @throws java.nio.BufferOverflowException if {@code target} is a
+   *     {@link CharBuffer} without enough space remaining for the value.
+   * @since $next-version$
+   */
+  public void nextString(Appendable target) throws IOException {
+    Objects.requireNonNull(target, "target == null");
+    CharSequence value = nextStringView();
+    if (value instanceof BufferView) {
+      ((BufferView) value).appendTo(target);
+    } else {
+      target.append(value);
+    }
+  }
+
+  private CharSequence bufferView(int start, int length) {
+    BufferView view = bufferView;
+    if (view == null) {
+      view = bufferView = new BufferView();
+    }
+    view.chars = buffer;
+    view.offset = start;
+    view.length = length;
+    return view;
+  }
+
+  /** A reusable view of a range of the buffer, returned by {@link #nextStringView()}. */
+  private static final class BufferView implements CharSequence {
+    char[] chars;
+    int offset;
+    int length;
+
+    @Override public int length() {
+      return length;
+    }
+
+    @Override public char charAt(int index) {
+      if (index < 0 || index >= length) {
+        throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+      }
+      return chars[offset + index];
+    }
+
+    @Override public CharSequence subSequence(int start, int end) {
+      if (start < 0 || end > length || start > end) {
+        throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length);
+      }
+      return new String(chars, offset + start, end - start);
+    }
+
+    void appendTo(Appendable target) throws IOException {
+      if (target instanceof StringBuilder) {
+        ((StringBuilder) target).append(chars, offset, length);
+      } else if (target instanceof CharBuffer) {
+        ((CharBuffer) target).put(chars, offset, length);
+      } else if (target instanceof Writer) {
+        ((Writer) target).write(chars, offset, length);
+      } else {
+        target.append(this);
+      }
+    }
+
+    @Override public String toString() {
+      return new String(chars, offset, length);
+    }
+  }
+
   /**
    * Returns the {@link JsonToken#BOOLEAN boolean} value of the next token,
    * consuming it.
@@ -908,6 +1410,14 @@ public class JsonReader implements Closeable {
     }
 
     if (p == PEEKED_NUMBER) {
+      // Convert short numbers directly from the buffer, without creating a string
+      double result = JsonNumbers.parseDouble(buffer, pos, peekedNumberLength);
+      if (!Double.isNaN(result)) {
+        pos += peekedNumberLength;
+        peeked = PEEKED_NONE;
+        pathIndices[stackSize - 1]++;
+        return result;
+      }
       peekedString = new String(buffer, pos, peekedNumberLength);
       pos += peekedNumberLength;
     } else if (p == PEEKED_SINGLE_QUOTED || p == PEEKED_DOUBLE_QUOTED) {
@@ -996,56 +1506,136 @@ public class JsonReader implements Closeable {
    *     malformed.
    */
   private String nextQuotedValue(char quote) throws IOException {
+    return readQuotedValue(quote).toString();
+  }
+
+  /**
+   * Like {@link #nextQuotedValue}, but returns the string as a view, which
+   * is only valid until the buffer is modified.
+   */
+  private CharSequence readQuotedValue(char quote) throws IOException {
     // Like nextNonWhitespace, this uses locals 'p' and 'l' to save inner-loop field access.
     char[] buffer = this.buffer;
-    StringBuilder builder = null;
+    /* the index of the first character of the value. */
+    int start = pos;
+    /* the end of the decoded value; escape sequences are decoded in place, behind 'p'. */
+    int end = start;
+    int p = start;
+    int l = limit;
     while (true) {
-      int p = pos;
-      int l = limit;
-      /* the index of the first character not yet appended to the builder. */
-      int start = p;
       while (p < l) {
-        int c = buffer[p++];
+        int special = scan(buffer, p, l, QUOTED_SPECIAL);
+        if (end != p) {
+          // Move the chars behind the escape sequences decoded so far
+          System.arraycopy(buffer, p, buffer, end, special - p);
+        }
+        end += special - p;
+        p = special;
+        if (p == l) {
+          break;
+        }
+        char c = buffer[p++];
 
         if (c == quote) {
           pos = p;
-          int len = p - start - 1;
-          if (builder == null) {
-            return new String(buffer, start, len);
-          } else {
-            builder.append(buffer, start, len);
-            return builder.toString();
-          }
+          return bufferView(start, end - start);
         } else if (c == '\\') {
           pos = p;
-          int len = p - start - 1;
-          if (builder == null) {
-            int estimatedLength = (len + 1) * 2;
-            builder = new StringBuilder(Math.max(estimatedLength, 16));
+          if (bufferShared) {
+            return nextQuotedValueCopy(quote, start);
           }
-          builder.append(buffer, start, len);
-          builder.append(readEscapeCharacter());
+          if (l - p < 5) {
+            // Load the longest escape sequence now; readEscapeCharacter() would drop the value
+            fillBuffer(start, 5);
+            buffer = this.buffer;
+            int shift = p - pos;
+            end -= shift;
+            start -= shift;
+          }
+          c = readEscapeCharacter();
           p = pos;
           l = limit;
-          start = p;
         } else if (c == '\n') {
           lineNumber++;
           lineStart = p;
         }
+        buffer[end++] = c;
       }
 
-      if (builder == null) {
-        int estimatedLength = (p - start) * 2;
-        builder = new StringBuilder(Math.max(estimatedLength, 16));
-      }
-      builder.append(buffer, start, p - start);
+      // Keep the value in the buffer, growing it if the value fills it
       pos = p;
-      if (!fillBuffer(1)) {
+      if (!fillBuffer(start, 1)) {
         throw syntaxError("Unterminated string");
       }
+      buffer = this.buffer;
+      int shift = p - pos;
+      end -= shift;
+      start -= shift;
+      p = pos;
+      l = limit;
     }
   }
 
+  /**
+   * Continues {@link #nextQuotedValue} at an escape sequence in a buffer which
+   * must not be modified, by copying the value to a {@code StringBuilder}.
+   * {@link #pos} points behind the backslash.
+   */
+  private StringBuilder nextQuotedValueCopy(char quote, int start) throws IOException {
+    char[] buffer = this.buffer;
+    int length = pos - 1 - start;
+    StringBuilder builder = new StringBuilder(Math.max(length * 2, 16));
+    builder.append(buffer, start, length);
+    builder.append(readEscapeCharacter());
+    int p = pos;
+    int l = limit;
+    start = p;
+    while (p < l) {
+      p = scan(buffer, p, l, QUOTED_SPECIAL);
+      if (p == l) {
+        break;
+      }
+      char c = buffer[p++];
+      if (c == quote) {
+        pos = p;
+        return builder.append(buffer, start, p - start - 1);
+      } else if (c == '\\') {
+        builder.append(buffer, start, p - start - 1);
+        pos = p;
+        builder.append(readEscapeCharacter());
+        p = pos;
+        start = p;
+      } else if (c == '\n') {
+        lineNumber++;
+        lineStart = p;
+      }
+    }
+    // The buffer holds the complete input
+    pos = p;
+    throw syntaxError("Unterminated string");
+  }
+
+  /**
+   * Returns the string up to but not including {@code quote}, using the
+   * {@link #nameTable}. Names which contain escape sequences or newlines or
+   * which are not completely in the buffer are read by {@link #nextQuotedValue}
+   * instead.
+   */
+  private String nextQuotedName(char quote) throws IOException {
+    char[] buffer = this.buffer;
+    int start = pos;
+    for (int p = start, l = limit; p < l; p++) {
+      char c = buffer[p];
+      if (c == quote) {
+        pos = p + 1;
+        return nameTable.lookup(buffer, start, p - start, this);
+      } else if (c == '\\' || c == '\n') {
+        break;
+      }
+    }
+    return nextQuotedValue(quote);
+  }
+
   /**
    * Returns an unquoted value as a string.
    */
@@ -1054,29 +1644,11 @@ public class JsonReader implements Closeable {
     StringBuilder builder = null;
     int i = 0;
 
-    findNonLiteralCharacter:
     while (true) {
-      for (; pos + i < limit; i++) {
-        switch (buffer[pos + i]) {
-        case '/':
-        case '\\':
-        case ';':
-        case '#':
-        case '=':
-          checkLenient(); // fall-through
-        case '{':
-        case '}':
-        case '[':
-        case ']':
-        case ':':
-        case ',':
-        case ' ':
-        case '\t':
-        case '\f':
-        case '\r':
-        case '\n':
-          break findNonLiteralCharacter;
-        }
+      i = scan(buffer, pos + i, limit, LITERAL_END) - pos;
+      if (pos + i < limit) {
+        isLiteral(buffer[pos + i]); // checks leniency for some of the chars
+        break;
       }
 
       // Attempt to load the entire literal into the buffer at once.
@@ -1111,8 +1683,11 @@ public class JsonReader implements Closeable {
     do {
       int p = pos;
       int l = limit;
-      /* the index of the first character not yet appended to the builder. */
       while (p < l) {
+        p = scan(buffer, p, l, QUOTED_SPECIAL);
+        if (p == l) {
+          break;
+        }
         int c = buffer[p++];
         if (c == quote) {
           pos = p;
@@ -1132,37 +1707,51 @@ public class JsonReader implements Closeable {
     throw syntaxError("Unterminated string");
   }
 
-  @SuppressWarnings("fallthrough")
   private void skipUnquotedValue() throws IOException {
     do {
-      int i = 0;
-      for (; pos + i < limit; i++) {
-        switch (buffer[pos + i]) {
-        case '/':
-        case '\\':
-        case ';':
-        case '#':
-        case '=':
-          checkLenient(); // fall-through
-        case '{':
-        case '}':
-        case '[':
-        case ']':
-        case ':':
-        case ',':
-        case ' ':
-        case '\t':
-        case '\f':
-        case '\r':
-        case '\n':
-          pos += i;
-          return;
-        }
+      pos = scan(buffer, pos, limit, LITERAL_END);
+      if (pos < limit) {
+        isLiteral(buffer[pos]); // checks leniency for some of the chars
+        return;
       }
-      pos += i;
     } while (fillBuffer(1));
   }
 
+  /**
+   * Returns the index of the first char from {@code p} up to {@code l} which
+   * is marked in {@code special}, or {@code l} if there is none. Chars outside
+   * of ASCII are never special.
+   *
+   * <p>This tests four chars per iteration: one comparison of their bitwise OR
+   * rules out non-ASCII chars, and the table lookups are combined without
+   * branches. That is notably faster than a loop over single chars for long
+   * ASCII strings such as URLs or Base64 data; a loop over packed words is not,
+   * because the chars would have to be packed one by one.
+   */
+  private static int scan(char[] buffer, int p, int l, boolean[] special) {
+    while (true) {
+      for (int last = l - 4; p <= last; p += 4) {
+        char c0 = buffer[p];
+        char c1 = buffer[p + 1];
+        char c2 = buffer[p + 2];
+        char c3 = buffer[p + 3];
+        if ((c0 | c1 | c2 | c3) >= 128 || (special[c0] | special[c1] | special[c2] | special[c3])) {
+          break;
+        }
+      }
+      // Check the block which contains a special or non-ASCII char, or the remaining chars
+      for (int blockEnd = Math.min(p + 4, l); p < blockEnd; p++) {
+        char c = buffer[p];
+        if (c < 128 && special[c]) {
+          return p;
+        }
+      }
+      if (p == l) {
+        return l;
+      }
+    }
+  }
+
   /**
    * Returns the {@link JsonToken#NUMBER int} value of the next token,
    * consuming it. If the next token is a string, this method will attempt to
@@ -1223,10 +1812,44 @@ public class JsonReader implements Closeable {
     return result;
   }
 
+  /**
+   * Resets this reader to read a new JSON-encoded stream from {@code in}, as
+   * if it was newly created. This allows reusing a reader, for example from a
+   * per-thread pool, without allocating its buffer and stacks again. Settings
+   * such as {@linkplain #setLenient(boolean) leniency} and the
+   * {@linkplain #setNameTable(JsonNameTable) name table} are kept.
+   *
+   * <p>The previous input is neither read to its end nor closed.
+   *
+   * @since $next-version$
+   */
+  public void reset(Reader in) {
+    this.in = Objects.requireNonNull(in, "in == null");
+    flushNameTableCounts();
+    if (inMemory || buffer.length > initialBufferSize) {
+      // Release the memory of a buffer which grew for a long string, or
+      // which held a complete in-memory document
+      buffer = new char[initialBufferSize];
+      inMemory = false;
+      bufferShared = false;
+    }
+    pos = 0;
+    limit = 0;
+    lineNumber = 0;
+    lineStart = 0;
+    peeked = PEEKED_NONE;
+    peekedString = null;
+    stack[0] = JsonScope.EMPTY_DOCUMENT;
+    stackSize = 1;
+    Arrays.fill(pathNames, null);
+    Arrays.fill(pathIndices, 0);
+  }
+
   /**
    * Closes this JSON reader and the underlying {@link Reader}.
    */
   @Override public void close() throws IOException {
+    flushNameTableCounts();
     peeked = PEEKED_NONE;
     stack[0] = JsonScope.CLOSED;
     stackSize = 1;
@@ -1249,76 +1872,337 @@ public class JsonReader implements Closeable {
    * </ul>
    */
   public void skipValue() throws IOException {
-    int count = 0;
-    do {
-      int p = peeked;
-      if (p == PEEKED_NONE) {
-        p = doPeek();
+    int p = peeked;
+    if (p == PEEKED_NONE) {
+      p = doPeek();
+    }
+
+    switch (p) {
+      case PEEKED_BEGIN_ARRAY:
+        skipStructure(JsonScope.EMPTY_ARRAY);
+        break;
+      case PEEKED_BEGIN_OBJECT:
+        skipStructure(JsonScope.EMPTY_OBJECT);
+        break;
+      case PEEKED_END_ARRAY:
+        stackSize--;
+        break;
+      case PEEKED_END_OBJECT:
+        pathNames[stackSize - 1] = null; // Free the last path name so that it can be garbage collected
+        stackSize--;
+        break;
+      case PEEKED_UNQUOTED:
+        skipUnquotedValue();
+        break;
+      case PEEKED_SINGLE_QUOTED:
+        skipQuotedValue('\'');
+        break;
+      case PEEKED_DOUBLE_QUOTED:
+        skipQuotedValue('"');
+        break;
+      case PEEKED_UNQUOTED_NAME:
+        skipUnquotedValue();
+        pathNames[stackSize - 1] = "<skipped>";
+        break;
+      case PEEKED_SINGLE_QUOTED_NAME:
+        skipQuotedValue('\'');
+        pathNames[stackSize - 1] = "<skipped>";
+        break;
+      case PEEKED_DOUBLE_QUOTED_NAME:
+        skipQuotedValue('"');
+        pathNames[stackSize - 1] = "<skipped>";
+        break;
+      case PEEKED_NUMBER:
+        pos += peekedNumberLength;
+        break;
+      case PEEKED_EOF:
+        // Do nothing
+        return;
+      // For all other tokens there is nothing to do; token has already been consumed from underlying reader
+    }
+    peeked = PEEKED_NONE;
+    pathIndices[stackSize - 1]++;
+  }
+
+  /**
+   * Skips ahead to the value at {@code path} within the next value, and
+   * returns whether it exists. The path uses the notation of {@link #getPath()},
+   * relative to the next value: {@code $} is the next value itself,
+   * {@code .name} selects a property of an object and {@code [index]} an
+   * element of an array. For example {@code reader.skipTo("$.data.items")}
+   * at the start of the document moves to the array {@code items} in the
+   * object {@code data} of the top-level object:
+   * <pre>   {@code
+   *   if (reader.skipTo("$.data.items")) {
+   *     List<Item> items = itemsAdapter.read(reader);
+   *   }
+   * }</pre>
+   *
+   * <p>All values which are not on the path are skipped with {@link #skipValue()}.
+   * If the value exists, the reader is positioned right before it, so that it
+   * can be read with any method, for example by a {@link com.google.gson.TypeAdapter};
+   * the objects and arrays containing it are still open. Otherwise the reader
+   * is positioned after the next value, as if it had been skipped.
+   *
+   * @param path the path; property names must not contain {@code '.'} or
+   *     {@code '['}.
+   * @throws IllegalArgumentException if the path is malformed.
+   * @throws IllegalStateException if the next token is not a value.
+   * @since $next-version$
+   */
+  public boolean skipTo(String path) throws IOException {
+    List<Object> segments = parsePath(path);
+    JsonToken token = peek();
+    if (token == JsonToken.NAME || token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY
+        || token == JsonToken.END_DOCUMENT) {
+      throw new IllegalStateException("Expected a value but was " + token + locationString());
+    }
+    for (int i = 0; i < segments.size(); i++) {
+      Object segment = segments.get(i);
+      boolean found = false;
+      if (segment instanceof String) {
+        if (peek() == JsonToken.BEGIN_OBJECT) {
+          beginObject();
+          while (hasNext()) {
+            if (nextName().equals(segment)) {
+              found = true;
+              break;
+            }
+            skipValue();
+          }
+        } else {
+          skipValue();
+          segments.set(i, null); // nothing was opened
+        }
+      } else {
+        if (peek() == JsonToken.BEGIN_ARRAY) {
+          beginArray();
+          int index = (Integer) segment;
+          for (int j = 0; j < index && hasNext(); j++) {
+            skipValue();
+          }
+          found = hasNext();
+        } else {
+          skipValue();
+          segments.set(i, null);
+        }
       }
 
-      switch (p) {
-        case PEEKED_BEGIN_ARRAY:
-          push(JsonScope.EMPTY_ARRAY);
-          count++;
-          break;
-        case PEEKED_BEGIN_OBJECT:
-          push(JsonScope.EMPTY_OBJECT);
-          count++;
-          break;
-        case PEEKED_END_ARRAY:
-          stackSize--;
-          count--;
-          break;
-        case PEEKED_END_OBJECT:
-          // Only update when object end is explicitly skipped, otherwise stack is not updated anyways
-          if (count == 0) {
-            pathNames[stackSize - 1] = null; // Free the last path name so that it can be garbage collected
+      if (!found) {
+        // Close what was opened for this segment and the previous ones
+        for (int j = i; j >= 0; j--) {
+          Object opened = segments.get(j);
+          if (opened != null) {
+            while (hasNext()) {
+              skipValue();
+            }
+            if (opened instanceof String) {
+              endObject();
+            } else {
+              endArray();
+            }
           }
+        }
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the segments of a path for {@link #skipTo(String)}: names as
+   * {@code String} and indices as {@code Integer}.
+   */
+  private static List<Object> parsePath(String path) {
+    if (!path.startsWith("$")) {
+      throw new IllegalArgumentException("Path must start with '$': " + path);
+    }
+    List<Object> segments = new ArrayList<>();
+    int i = 1;
+    while (i < path.length()) {
+      char c = path.charAt(i);
+      if (c == '.') {
+        int end = i + 1;
+        while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+          end++;
+        }
+        if (end == i + 1) {
+          throw new IllegalArgumentException("Empty name at index " + i + ": " + path);
+        }
+        segments.add(path.substring(i + 1, end));
+        i = end;
+      } else if (c == '[') {
+        int end = path.indexOf(']', i);
+        int index = -1;
+        if (end > i + 1 && end - i <= 10) {
+          index = 0;
+          for (int j = i + 1; j < end; j++) {
+            char digit = path.charAt(j);
+            if (digit < '0' || digit > '9') {
+              index = -1;
+              break;
+            }
+            index = index * 10 + (digit - '0');
+          }
+        }
+        if (index < 0) {
+          throw new IllegalArgumentException("Invalid index at index " + i + ": " + path);
+        }
+        segments.add(index);
+        i = end + 1;
+      } else {
+        throw new IllegalArgumentException("Expected '.' or '[' at index " + i + ": " + path);
+      }
+    }
+    return segments;
+  }
+
+  /**
+   * Skips the rest of an array or object whose opening bracket was consumed.
+   * This accepts and rejects exactly the same input as reading its tokens with
+   * {@link #doPeek()}, including the checks of strict mode, but it neither
+   * tracks the path nor the peeked token for each of them.
+   */
+  @SuppressWarnings("fallthrough")
+  private void skipStructure(int scope) throws IOException {
+    int base = stackSize;
+    push(scope);
+    while (stackSize > base) {
+      int peekStack = stack[stackSize - 1];
+      int c;
+      if (peekStack == JsonScope.EMPTY_ARRAY) {
+        stack[stackSize - 1] = JsonScope.NONEMPTY_ARRAY;
+        c = nextNonWhitespace(true);
+        if (c == ']') {
           stackSize--;
-          count--;
+          continue;
+        }
+      } else if (peekStack == JsonScope.NONEMPTY_ARRAY) {
+        switch (nextNonWhitespace(true)) {
+        case ']':
+          stackSize--;
+          continue;
+        case ';':
+          checkLenient(); // fall-through
+        case ',':
           break;
-        case PEEKED_UNQUOTED:
-          skipUnquotedValue();
+        default:
+          throw syntaxError("Unterminated array");
+        }
+        c = nextNonWhitespace(true);
+      } else {
+        // An object
+        if (peekStack == JsonScope.NONEMPTY_OBJECT) {
+          switch (nextNonWhitespace(true)) {
+          case '}':
+            stackSize--;
+            continue;
+          case ';':
+            checkLenient(); // fall-through
+          case ',':
+            break;
+          default:
+            throw syntaxError("Unterminated object");
+          }
+        }
+        c = nextNonWhitespace(true);
+        switch (c) {
+        case '"':
+          skipQuotedValue('"');
           break;
-        case PEEKED_SINGLE_QUOTED:
+        case '\'':
+          checkLenient();
           skipQuotedValue('\'');
           break;
-        case PEEKED_DOUBLE_QUOTED:
-          skipQuotedValue('"');
-          break;
-        case PEEKED_UNQUOTED_NAME:
-          skipUnquotedValue();
-          // Only update when name is explicitly skipped, otherwise stack is not updated anyways
-          if (count == 0) {
-            pathNames[stackSize - 1] = "<skipped>";
+        case '}':
+          if (peekStack != JsonScope.NONEMPTY_OBJECT) {
+            stackSize--;
+            continue;
           }
-          break;
-        case PEEKED_SINGLE_QUOTED_NAME:
-          skipQuotedValue('\'');
-          // Only update when name is explicitly skipped, otherwise stack is not updated anyways
-          if (count == 0) {
-            pathNames[stackSize - 1] = "<skipped>";
+          throw syntaxError("Expected name");
+        default:
+          checkLenient();
+          pos--;
+          if (!isLiteral((char) c)) {
+            throw syntaxError("Expected name");
           }
+          skipUnquotedValue();
+        }
+        stack[stackSize - 1] = JsonScope.NONEMPTY_OBJECT;
+        switch (nextNonWhitespace(true)) {
+        case ':':
           break;
-        case PEEKED_DOUBLE_QUOTED_NAME:
-          skipQuotedValue('"');
-          // Only update when name is explicitly skipped, otherwise stack is not updated anyways
-          if (count == 0) {
-            pathNames[stackSize - 1] = "<skipped>";
+        case '=':
+          checkLenient();
+          if ((pos < limit || fillBuffer(1)) && buffer[pos] == '>') {
+            pos++;
           }
           break;
-        case PEEKED_NUMBER:
-          pos += peekedNumberLength;
-          break;
-        case PEEKED_EOF:
-          // Do nothing
-          return;
-        // For all other tokens there is nothing to do; token has already been consumed from underlying reader
+        default:
+          throw syntaxError("Expected ':'");
+        }
+        c = nextNonWhitespace(true);
       }
-      peeked = PEEKED_NONE;
-    } while (count > 0);
 
-    pathIndices[stackSize - 1]++;
+      // A value, like at the end of doPeek
+      switch (c) {
+      case ']':
+      case ';':
+      case ',':
+        // In lenient mode, a 0-length literal in an array means 'null'.
+        if (stack[stackSize - 1] == JsonScope.NONEMPTY_ARRAY) {
+          checkLenient();
+          pos--;
+        } else {
+          throw syntaxError("Unexpected value");
+        }
+        break;
+      case '\'':
+        checkLenient();
+        skipQuotedValue('\'');
+        break;
+      case '"':
+        skipQuotedValue('"');
+        break;
+      case '[':
+        push(JsonScope.EMPTY_ARRAY);
+        break;
+      case '{':
+        push(JsonScope.EMPTY_OBJECT);
+        break;
+      default:
+        pos--;
+        skipLiteral();
+      }
+    }
+  }
+
+  /**
+   * Skips the keyword, number or unquoted string at {@code pos}, which must be
+   * in the buffer, like {@link #doPeek()} and {@link #skipValue()} do.
+   */
+  private void skipLiteral() throws IOException {
+    if (!lenient) {
+      // Only keywords and numbers are allowed
+      if (peekKeyword() != PEEKED_NONE) {
+        peeked = PEEKED_NONE;
+        return;
+      }
+      int result = peekNumber();
+      if (result != PEEKED_NONE) {
+        if (result == PEEKED_NUMBER) {
+          pos += peekedNumberLength;
+        }
+        peeked = PEEKED_NONE;
+        return;
+      }
+    }
+    // In lenient mode keywords and numbers end where unquoted strings end, so all are skipped alike
+    if (!isLiteral(buffer[pos])) {
+      throw syntaxError("Expected value");
+    }
+    checkLenient();
+    skipUnquotedValue();
   }
 
   private void push(int newTop) {
@@ -1337,16 +2221,34 @@ public class JsonReader implements Closeable {
    * false.
    */
   private boolean fillBuffer(int minimum) throws IOException {
+    return fillBuffer(pos, minimum);
+  }
+
+  /**
+   * Like {@link #fillBuffer(int)}, but also keeps the characters from
+   * {@code keepFrom} up to {@code pos} in the buffer, which moves them to its
+   * start. The buffer grows if it cannot hold them plus {@code minimum} more
+   * characters.
+   */
+  private boolean fillBuffer(int keepFrom, int minimum) throws IOException {
+    if (inMemory) {
+      // There is no more input; don't move the chars, the buffer might be shared
+      return limit - pos >= minimum;
+    }
     char[] buffer = this.buffer;
-    lineStart -= pos;
-    if (limit != pos) {
-      limit -= pos;
-      System.arraycopy(buffer, pos, buffer, 0, limit);
-    } else {
-      limit = 0;
+    int kept = limit - keepFrom;
+    int required = pos - keepFrom + minimum;
+    if (required > buffer.length) {
+      char[] grown = new char[Math.max(buffer.length * 2, required)];
+      System.arraycopy(buffer, keepFrom, grown, 0, kept);
+      this.buffer = buffer = grown;
+    } else if (kept != 0 && keepFrom != 0) {
+      System.arraycopy(buffer, keepFrom, buffer, 0, kept);
     }
+    lineStart -= keepFrom;
+    pos -= keepFrom;
+    limit = kept;
 
-    pos = 0;
     int total;
     while ((total = in.read(buffer, limit, buffer.length - limit)) != -1) {
       limit += total;
@@ -1355,10 +2257,9 @@ public class JsonReader implements Closeable {
       if (lineNumber == 0 && lineStart == 0 && limit > 0 && buffer[0] == '\ufeff') {
         pos++;
         lineStart++;
-        minimum++;
       }
 
-      if (limit >= minimum) {
+      if (limit - pos >= minimum) {
         return true;
       }
     }
@@ -1419,7 +2320,7 @@ public class JsonReader implements Closeable {
         case '*':
           // skip a /* c-style comment */
           pos++;
-          if (!skipTo("*/")) {
+          if (!skipUntil("*/")) {
             throw syntaxError("Unterminated comment");
           }
           p = pos + 2;
@@ -1487,7 +2388,7 @@ public class JsonReader implements Closeable {
   /**
    * @param toFind a string to search for. Must not contain a newline.
    */
-  private boolean skipTo(String toFind) throws IOException {
+  private boolean skipUntil(String toFind) throws IOException {
     int length = toFind.length();
     outer:
     for (; pos + length <= limit || fillBuffer(length); pos++) {
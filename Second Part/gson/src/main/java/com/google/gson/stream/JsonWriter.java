@@ -27,9 +27,12 @@ import static com.google.gson.stream.JsonScope.NONEMPTY_OBJECT;
 import java.io.Closeable;
 import java.io.Flushable;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.channels.WritableByteChannel;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -37,6 +40,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 
 import com.google.gson.FormattingStyle;
+import com.google.gson.internal.Utf8Writer;
 
 /**
  * Writes a JSON (<a href="http://www.ietf.org/rfc/rfc7159.txt">RFC 7159</a>)
@@ -150,30 +154,44 @@ public class JsonWriter implements Closeable, Flushable {
    * newline characters. This prevents eval() from failing with a syntax
    * error. http://code.google.com/p/google-gson/issues/detail?id=341
    */
-  private static final String[] REPLACEMENT_CHARS;
-  private static final String[] HTML_SAFE_REPLACEMENT_CHARS;
+  private static final char[][] REPLACEMENT_CHARS;
+  private static final char[][] HTML_SAFE_REPLACEMENT_CHARS;
+  private static final char[] LINE_SEPARATOR_REPLACEMENT = "\\u2028".toCharArray();
+  private static final char[] PARAGRAPH_SEPARATOR_REPLACEMENT = "\\u2029".toCharArray();
   static {
-    REPLACEMENT_CHARS = new String[128];
+    REPLACEMENT_CHARS = new char[128][];
     for (int i = 0; i <= 0x1f; i++) {
-      REPLACEMENT_CHARS[i] = String.format("\\u%04x", i);
-    }
-    REPLACEMENT_CHARS['"'] = "\\\"";
-    REPLACEMENT_CHARS['\\'] = "\\\\";
-    REPLACEMENT_CHARS['\t'] = "\\t";
-    REPLACEMENT_CHARS['\b'] = "\\b";
-    REPLACEMENT_CHARS['\n'] = "\\n";
-    REPLACEMENT_CHARS['\r'] = "\\r";
-    REPLACEMENT_CHARS['\f'] = "\\f";
+      REPLACEMENT_CHARS[i] = String.format("\\u%04x", i).toCharArray();
+    }
+    REPLACEMENT_CHARS['"'] = "\\\"".toCharArray();
+    REPLACEMENT_CHARS['\\'] = "\\\\".toCharArray();
+    REPLACEMENT_CHARS['\t'] = "\\t".toCharArray();
+    REPLACEMENT_CHARS['\b'] = "\\b".toCharArray();
+    REPLACEMENT_CHARS['\n'] = "\\n".toCharArray();
+    REPLACEMENT_CHARS['\r'] = "\\r".toCharArray();
+    REPLACEMENT_CHARS['\f'] = "\\f".toCharArray();
     HTML_SAFE_REPLACEMENT_CHARS = REPLACEMENT_CHARS.clone();
-    HTML_SAFE_REPLACEMENT_CHARS['<'] = "\\u003c";
-    HTML_SAFE_REPLACEMENT_CHARS['>'] = "\\u003e";
-    HTML_SAFE_REPLACEMENT_CHARS['&'] = "\\u0026";
-    HTML_SAFE_REPLACEMENT_CHARS['='] = "\\u003d";
-    HTML_SAFE_REPLACEMENT_CHARS['\''] = "\\u0027";
+    HTML_SAFE_REPLACEMENT_CHARS['<'] = "\\u003c".toCharArray();
+    HTML_SAFE_REPLACEMENT_CHARS['>'] = "\\u003e".toCharArray();
+    HTML_SAFE_REPLACEMENT_CHARS['&'] = "\\u0026".toCharArray();
+    HTML_SAFE_REPLACEMENT_CHARS['='] = "\\u003d".toCharArray();
+    HTML_SAFE_REPLACEMENT_CHARS['\''] = "\\u0027".toCharArray();
   }
 
+  /** Size of the output buffer. */
+  static final int BUFFER_SIZE = 1024;
+
+  private static final char[] EMPTY_BUFFER = new char[0];
+
   /** The JSON output destination */
-  private final Writer out;
+  private Writer out;
+
+  /**
+   * Output which was not written to {@link #out} yet is in {@code buffer[0..size)}.
+   * The buffer is allocated when it is first needed, by {@link #flushBuffer()}.
+   */
+  private char[] buffer = EMPTY_BUFFER;
+  private int size = 0;
 
   private int[] stack = new int[32];
   private int stackSize = 0;
@@ -197,17 +215,53 @@ public class JsonWriter implements Closeable, Flushable {
 
   private String deferredName;
 
+  /** The prepared form of {@link #deferredName}, or null if it was not prepared. */
+  private PreparedName deferredPreparedName;
+
   private boolean serializeNulls = true;
 
+  /** Buffer for formatting numbers, or null if none was written yet. */
+  private char[] numberChars;
+
   /**
    * Creates a new instance that writes a JSON-encoded stream to {@code out}.
-   * For best performance, ensure {@link Writer} is buffered; wrapping in
-   * {@link java.io.BufferedWriter BufferedWriter} if necessary.
+   *
+   * <p>Output is collected in an internal buffer and written to {@code out}
+   * in large blocks: when the buffer is full, when a top-level value is
+   * complete, and on {@link #flush()} and {@link #close()}. There is no need
+   * to wrap {@code out} in a {@link java.io.BufferedWriter BufferedWriter}.
    */
   public JsonWriter(Writer out) {
     this.out = Objects.requireNonNull(out, "out == null");
   }
 
+  /**
+   * Returns a new instance that writes a UTF-8 encoded JSON stream to {@code out}.
+   *
+   * <p>Chars are encoded directly into an internal byte buffer, which is
+   * cheaper than wrapping {@code out} in an {@link java.io.OutputStreamWriter}.
+   * There is no need to buffer {@code out}; it is always written in large
+   * blocks. Call {@link #flush()} or {@link #close()} once done, otherwise
+   * buffered bytes are not written.
+   *
+   * @since $next-version$
+   */
+  public static JsonWriter toUtf8(OutputStream out) {
+    return new JsonWriter(new Utf8Writer(out));
+  }
+
+  /**
+   * Returns a new instance that writes a UTF-8 encoded JSON stream to {@code channel}.
+   * Call {@link #flush()} or {@link #close()} once done, otherwise buffered
+   * bytes are not written.
+   *
+   * @see #toUtf8(OutputStream)
+   * @since $next-version$
+   */
+  public static JsonWriter toUtf8(WritableByteChannel channel) {
+    return new JsonWriter(new Utf8Writer(channel));
+  }
+
   /**
    * Sets the indentation string to be repeated for each level of indentation
    * in the encoded document. If {@code indent.isEmpty()} the encoded document
@@ -359,7 +413,7 @@ public class JsonWriter implements Closeable, Flushable {
   private JsonWriter open(int empty, char openBracket) throws IOException {
     beforeValue();
     push(empty);
-    out.write(openBracket);
+    write(openBracket);
     return this;
   }
 
@@ -381,8 +435,8 @@ public class JsonWriter implements Closeable, Flushable {
     if (context == nonempty) {
       newline();
     }
-    out.write(closeBracket);
-    return this;
+    write(closeBracket);
+    return endValue();
   }
 
   private void push(int newTop) {
@@ -427,10 +481,35 @@ public class JsonWriter implements Closeable, Flushable {
     return this;
   }
 
+  /**
+   * Encodes the property name, which was quoted and escaped in advance. This
+   * is faster than {@link #name(String)} when the same name is written many
+   * times.
+   *
+   * @param name the name of the forthcoming value. May not be null.
+   * @return this writer.
+   * @since $next-version$
+   */
+  public JsonWriter preparedName(PreparedName name) throws IOException {
+    Objects.requireNonNull(name, "name == null");
+    // Subclasses might override name(String), let them handle the name
+    if (getClass() != JsonWriter.class) {
+      return name(name.getName());
+    }
+    name(name.getName());
+    deferredPreparedName = name;
+    return this;
+  }
+
   private void writeDeferredName() throws IOException {
     if (deferredName != null) {
       beforeName();
-      string(deferredName);
+      if (deferredPreparedName != null) {
+        write(htmlSafe ? deferredPreparedName.htmlSafeJson : deferredPreparedName.json);
+        deferredPreparedName = null;
+      } else {
+        string(deferredName);
+      }
       deferredName = null;
     }
   }
@@ -448,7 +527,30 @@ public class JsonWriter implements Closeable, Flushable {
     writeDeferredName();
     beforeValue();
     string(value);
-    return this;
+    return endValue();
+  }
+
+  /**
+   * Encodes {@code value}, which was quoted and escaped in advance. This is
+   * faster than {@link #value(String)} when the same string is written many
+   * times.
+   *
+   * @param value the prepared string, or null to encode a null literal.
+   * @return this writer.
+   * @since $next-version$
+   */
+  public JsonWriter preparedValue(PreparedName value) throws IOException {
+    if (value == null) {
+      return nullValue();
+    }
+    // Subclasses might override value(String), let them handle the value
+    if (getClass() != JsonWriter.class) {
+      return value(value.getName());
+    }
+    writeDeferredName();
+    beforeValue();
+    write(htmlSafe ? value.htmlSafeJson : value.json);
+    return endValue();
   }
 
   /**
@@ -468,8 +570,8 @@ public class JsonWriter implements Closeable, Flushable {
     }
     writeDeferredName();
     beforeValue();
-    out.append(value);
-    return this;
+    write(value);
+    return endValue();
   }
 
   /**
@@ -483,12 +585,13 @@ public class JsonWriter implements Closeable, Flushable {
         writeDeferredName();
       } else {
         deferredName = null;
+        deferredPreparedName = null;
         return this; // skip the name and the value
       }
     }
     beforeValue();
-    out.write("null");
-    return this;
+    write("null");
+    return endValue();
   }
 
   /**
@@ -499,8 +602,8 @@ public class JsonWriter implements Closeable, Flushable {
   public JsonWriter value(boolean value) throws IOException {
     writeDeferredName();
     beforeValue();
-    out.write(value ? "true" : "false");
-    return this;
+    write(value ? "true" : "false");
+    return endValue();
   }
 
   /**
@@ -515,8 +618,8 @@ public class JsonWriter implements Closeable, Flushable {
     }
     writeDeferredName();
     beforeValue();
-    out.write(value ? "true" : "false");
-    return this;
+    write(value ? "true" : "false");
+    return endValue();
   }
 
   /**
@@ -536,8 +639,8 @@ public class JsonWriter implements Closeable, Flushable {
       throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
     }
     beforeValue();
-    out.append(Float.toString(value));
-    return this;
+    writeFloat(value);
+    return endValue();
   }
 
   /**
@@ -555,8 +658,8 @@ public class JsonWriter implements Closeable, Flushable {
       throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
     }
     beforeValue();
-    out.append(Double.toString(value));
-    return this;
+    writeDouble(value);
+    return endValue();
   }
 
   /**
@@ -567,8 +670,36 @@ public class JsonWriter implements Closeable, Flushable {
   public JsonWriter value(long value) throws IOException {
     writeDeferredName();
     beforeValue();
-    out.write(Long.toString(value));
-    return this;
+    int length = JsonNumbers.formatLong(value, numberChars());
+    write(numberChars, 0, length);
+    return endValue();
+  }
+
+  /** Returns the buffer for formatting numbers without creating strings. */
+  private char[] numberChars() {
+    char[] chars = numberChars;
+    if (chars == null) {
+      chars = numberChars = new char[JsonNumbers.MAX_LENGTH];
+    }
+    return chars;
+  }
+
+  private void writeDouble(double value) throws IOException {
+    int length = JsonNumbers.formatDouble(value, numberChars());
+    if (length < 0) {
+      write(Double.toString(value));
+    } else {
+      write(numberChars, 0, length);
+    }
+  }
+
+  private void writeFloat(float value) throws IOException {
+    int length = JsonNumbers.formatFloat(value, numberChars());
+    if (length < 0) {
+      write(Float.toString(value));
+    } else {
+      write(numberChars, 0, length);
+    }
   }
 
   /**
@@ -599,13 +730,35 @@ public class JsonWriter implements Closeable, Flushable {
     }
 
     writeDeferredName();
+    Class<? extends Number> numberClass = value.getClass();
+    // Write the common types without creating a string; their toString() is trusted
+    if (numberClass == Double.class) {
+      double doubleValue = value.doubleValue();
+      if (!Double.isNaN(doubleValue) && !Double.isInfinite(doubleValue)) {
+        beforeValue();
+        writeDouble(doubleValue);
+        return endValue();
+      }
+    } else if (numberClass == Float.class) {
+      float floatValue = value.floatValue();
+      if (!Float.isNaN(floatValue) && !Float.isInfinite(floatValue)) {
+        beforeValue();
+        writeFloat(floatValue);
+        return endValue();
+      }
+    } else if (numberClass == Integer.class || numberClass == Long.class) {
+      beforeValue();
+      int length = JsonNumbers.formatLong(value.longValue(), numberChars());
+      write(numberChars, 0, length);
+      return endValue();
+    }
+
     String string = value.toString();
     if (string.equals("-Infinity") || string.equals("Infinity") || string.equals("NaN")) {
       if (!lenient) {
         throw new IllegalArgumentException("Numeric values must be finite, but was " + string);
       }
     } else {
-      Class<? extends Number> numberClass = value.getClass();
       // Validate that string is valid before writing it directly to JSON output
       if (!isTrustedNumberType(numberClass) && !VALID_JSON_NUMBER_PATTERN.matcher(string).matches()) {
         throw new IllegalArgumentException("String created by " + numberClass + " is not a valid JSON number: " + string);
@@ -613,8 +766,8 @@ public class JsonWriter implements Closeable, Flushable {
     }
 
     beforeValue();
-    out.append(string);
-    return this;
+    write(string);
+    return endValue();
   }
 
   /**
@@ -625,15 +778,41 @@ public class JsonWriter implements Closeable, Flushable {
     if (stackSize == 0) {
       throw new IllegalStateException("JsonWriter is closed.");
     }
+    flushBuffer();
     out.flush();
   }
 
+  /**
+   * Resets this writer to write a new JSON-encoded stream to {@code out}, as
+   * if it was newly created. This allows reusing a writer, for example from a
+   * per-thread pool, without allocating it again. Settings such as the
+   * {@linkplain #setFormattingStyle(FormattingStyle) formatting style},
+   * {@linkplain #setLenient(boolean) leniency} and
+   * {@linkplain #setSerializeNulls(boolean) null serialization} are kept.
+   *
+   * <p>The previous output is neither flushed nor closed. Buffered output of
+   * an incomplete top-level value which was not flushed is discarded.
+   *
+   * @since $next-version$
+   */
+  public void reset(Writer out) {
+    this.out = Objects.requireNonNull(out, "out == null");
+    size = 0;
+    stackSize = 0;
+    push(EMPTY_DOCUMENT);
+    deferredName = null;
+    deferredPreparedName = null;
+  }
+
   /**
    * Flushes and closes this writer and the underlying {@link Writer}.
    *
    * @throws IOException if the JSON document is incomplete.
    */
   @Override public void close() throws IOException {
+    if (size > 0) {
+      flushBuffer();
+    }
     out.close();
 
     int size = stackSize;
@@ -643,51 +822,154 @@ public class JsonWriter implements Closeable, Flushable {
     stackSize = 0;
   }
 
+  /**
+   * Writes {@code value} quoted and escaped. Runs of chars which need no
+   * escaping are found by {@link #nextEscaped} and copied to the buffer in one
+   * operation, and escape sequences are copied from the replacement tables.
+   */
   private void string(String value) throws IOException {
-    String[] replacements = htmlSafe ? HTML_SAFE_REPLACEMENT_CHARS : REPLACEMENT_CHARS;
-    out.write('\"');
-    int last = 0;
+    char[][] replacements = htmlSafe ? HTML_SAFE_REPLACEMENT_CHARS : REPLACEMENT_CHARS;
+    write('\"');
     int length = value.length();
-    for (int i = 0; i < length; i++) {
+    int last = 0; // the index of the first char not yet copied to the buffer
+    while (true) {
+      int i = nextEscaped(value, last, length, replacements);
+      int run = i - last;
+      if (run > buffer.length - size) {
+        flushBuffer();
+        if (run > buffer.length) {
+          out.write(value, last, run);
+          run = 0;
+        }
+      }
+      value.getChars(last, last + run, buffer, size);
+      size += run;
+      if (i == length) {
+        break;
+      }
+
       char c = value.charAt(i);
-      String replacement = getReplacement(c, replacements);
-      if (replacement != null) {
-        writeSubString(value, last, i);
-        out.write(replacement);
-        last = i + 1;
+      char[] replacement = c < 128 ? replacements[c]
+          : c == '\u2028' ? LINE_SEPARATOR_REPLACEMENT : PARAGRAPH_SEPARATOR_REPLACEMENT;
+      if (replacement.length > buffer.length - size) {
+        flushBuffer();
       }
+      System.arraycopy(replacement, 0, buffer, size, replacement.length);
+      size += replacement.length;
+      last = i + 1;
     }
-    writeSubString(value, last, length);
-    out.write('\"');
+    write('\"');
   }
 
-  private String getReplacement(char c, String[] replacements) {
-    if (c < 128) {
-      return replacements[c];
-    } else if (c == '\u2028') {
-      return "\\u2028";
-    } else if (c == '\u2029') {
-      return "\\u2029";
-    } else {
-      return null;
+  /**
+   * Returns the index of the first char of {@code value} from {@code i} on
+   * which must be escaped, or {@code length} if there is none. This tests four
+   * chars per iteration; one comparison of their bitwise OR rules out the
+   * non-ASCII chars, of which only U+2028 and U+2029 are escaped.
+   */
+  private static int nextEscaped(String value, int i, int length, char[][] replacements) {
+    while (true) {
+      for (int last = length - 4; i <= last; i += 4) {
+        char c0 = value.charAt(i);
+        char c1 = value.charAt(i + 1);
+        char c2 = value.charAt(i + 2);
+        char c3 = value.charAt(i + 3);
+        if ((c0 | c1 | c2 | c3) >= 128
+            || (replacements[c0] != null | replacements[c1] != null
+                | replacements[c2] != null | replacements[c3] != null)) {
+          break;
+        }
+      }
+      for (int blockEnd = Math.min(i + 4, length); i < blockEnd; i++) {
+        char c = value.charAt(i);
+        if (c < 128 ? replacements[c] != null : c == '\u2028' || c == '\u2029') {
+          return i;
+        }
+      }
+      if (i == length) {
+        return length;
+      }
     }
   }
 
-  private void writeSubString(String value, int startIndex, int endIndex) throws IOException {
-    if (endIndex > startIndex) {
-      out.write(value, startIndex, endIndex - startIndex);
+  /** Returns {@code value} quoted and escaped like {@link #value(String)} does. */
+  static String quote(String value, boolean htmlSafe) {
+    StringWriter stringWriter = new StringWriter(value.length() + 2);
+    JsonWriter writer = new JsonWriter(stringWriter);
+    writer.htmlSafe = htmlSafe;
+    try {
+      writer.string(value);
+      writer.flushBuffer();
+    } catch (IOException e) {
+      throw new AssertionError(e); // StringWriter does not throw
+    }
+    return stringWriter.toString();
+  }
+
+  private void write(char c) throws IOException {
+    if (size == buffer.length) {
+      flushBuffer();
+    }
+    buffer[size++] = c;
+  }
+
+  private void write(String s) throws IOException {
+    int length = s.length();
+    if (length > buffer.length - size) {
+      flushBuffer();
+      if (length > buffer.length) {
+        out.write(s);
+        return;
+      }
     }
+    s.getChars(0, length, buffer, size);
+    size += length;
   }
 
+  private void write(char[] chars, int offset, int length) throws IOException {
+    if (length > buffer.length - size) {
+      flushBuffer();
+      if (length > buffer.length) {
+        out.write(chars, offset, length);
+        return;
+      }
+    }
+    System.arraycopy(chars, offset, buffer, size, length);
+    size += length;
+  }
+
+  /**
+   * Writes the buffered output to {@link #out}. Afterwards the buffer is
+   * empty and has its full size.
+   */
+  private void flushBuffer() throws IOException {
+    if (size > 0) {
+      out.write(buffer, 0, size);
+      size = 0;
+    } else if (buffer.length == 0) {
+      buffer = new char[BUFFER_SIZE];
+    }
+  }
+
+  /**
+   * Writes the buffered output to {@link #out} once a top-level value is
+   * complete, so that a complete document is visible without {@link #flush()}.
+   */
+  private JsonWriter endValue() throws IOException {
+    if (stackSize == 1) {
+      flushBuffer();
+    }
+    return this;
+  }
 
   private void newline() throws IOException {
     if (formattingStyle == null) {
       return;
     }
 
-    out.write(formattingStyle.getNewline());
+    write(formattingStyle.getNewline());
     for (int i = 1, size = stackSize; i < size; i++) {
-      out.write(formattingStyle.getIndent());
+      write(formattingStyle.getIndent());
     }
   }
 
@@ -698,7 +980,7 @@ public class JsonWriter implements Closeable, Flushable {
   private void beforeName() throws IOException {
     int context = peek();
     if (context == NONEMPTY_OBJECT) { // first in object
-      out.write(',');
+      write(',');
     } else if (context != EMPTY_OBJECT) { // not in an object!
       throw new IllegalStateException("Nesting problem.");
     }
@@ -730,12 +1012,12 @@ public class JsonWriter implements Closeable, Flushable {
       break;
 
     case NONEMPTY_ARRAY: // another in array
-      out.append(',');
+      write(',');
       newline();
       break;
 
     case DANGLING_NAME: // value for name
-      out.append(separator);
+      write(separator);
       replaceTop(NONEMPTY_OBJECT);
       break;
 
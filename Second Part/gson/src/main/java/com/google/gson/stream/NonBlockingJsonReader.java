@@ -0,0 +1,633 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.stream;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads a JSON document which is pushed to it in chunks, as they arrive, rather
+ * than pulled from a blocking {@code Reader}. This makes it possible to parse a
+ * request body in a non-blocking server without buffering all of it first.
+ *
+ * <p>Input is {@linkplain #feed(ByteBuffer) fed} to the reader, and
+ * {@link #nextToken()} then returns the tokens of the document one at a time.
+ * When the input fed so far does not contain a complete token, {@code nextToken()}
+ * returns {@code null} instead of blocking; more input must then be fed, or
+ * {@link #endOfInput()} called once all input has been fed:
+ *
+ * <pre>
+ * void onData(ByteBuffer bytes) throws IOException {
+ *   reader.feed(bytes);
+ *   JsonToken token;
+ *   while ((token = reader.nextToken()) != null) {
+ *     handle(token);
+ *   }
+ * }
+ * </pre>
+ *
+ * <p>Only the chars of an incomplete token are retained between calls, so the
+ * memory used is bounded by the size of the chunks and of the longest token. The
+ * document must be <a href="https://www.ietf.org/rfc/rfc7159.txt">RFC 7159</a>
+ * JSON; unlike {@link JsonReader}, this class has no lenient mode.
+ * {@code com.google.gson.JsonArrayFeed} builds on this class to bind the
+ * elements of an array with type adapters as they arrive.
+ *
+ * <p>Instances of this class are not thread-safe.
+ *
+ * @since $next-version$
+ */
+public final class NonBlockingJsonReader {
+  private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+      .onMalformedInput(CodingErrorAction.REPORT)
+      .onUnmappableCharacter(CodingErrorAction.REPORT);
+  /** Bytes of an incomplete UTF-8 sequence at the end of the last chunk. */
+  private final ByteBuffer pendingBytes = ByteBuffer.allocate(8);
+
+  private char[] buffer = new char[1024];
+  private int pos;
+  private int limit;
+  private boolean endOfInput;
+  private boolean fedAny;
+
+  /** The number of chars which were removed from the start of the buffer. */
+  private long discarded;
+  private int lineNumber;
+  /** The absolute position of the start of the current line. */
+  private long lineStart;
+
+  /** The token of the string being read, or null if no string is being read. */
+  private JsonToken partialString;
+  private final StringBuilder stringValue = new StringBuilder();
+  private String value;
+
+  private int[] stack = new int[32];
+  private int stackSize;
+  private String[] pathNames = new String[32];
+  private int[] pathIndices = new int[32];
+
+  public NonBlockingJsonReader() {
+    stack[stackSize++] = JsonScope.EMPTY_DOCUMENT;
+  }
+
+  /**
+   * Feeds the remaining UTF-8 encoded bytes of {@code utf8}, advancing its
+   * position to its limit. The bytes are decoded and copied, so the buffer may be
+   * reused once this method returns. A multi-byte sequence may be split between
+   * chunks.
+   *
+   * @throws MalformedJsonException if the bytes are not valid UTF-8.
+   * @throws IllegalStateException if {@link #endOfInput()} has been called.
+   */
+  public void feed(ByteBuffer utf8) throws IOException {
+    checkNotEnded();
+    if (pendingBytes.position() > 0) {
+      // Complete the pending sequence first, one byte at a time
+      while (pendingBytes.position() > 0 && utf8.hasRemaining() && pendingBytes.hasRemaining()) {
+        pendingBytes.put(utf8.get());
+        pendingBytes.flip();
+        decode(pendingBytes, false);
+        pendingBytes.compact();
+      }
+    }
+    decode(utf8, false);
+    if (utf8.hasRemaining()) {
+      pendingBytes.put(utf8);
+    }
+  }
+
+  private void decode(ByteBuffer bytes, boolean endOfInput) throws IOException {
+    ensureCapacity((int) (bytes.remaining() * (double) decoder.maxCharsPerByte()) + 1);
+    CharBuffer out = CharBuffer.wrap(buffer, limit, buffer.length - limit);
+    CoderResult result = decoder.decode(bytes, out, endOfInput);
+    if (result.isError()) {
+      try {
+        result.throwException();
+      } catch (CharacterCodingException e) {
+        throw new MalformedJsonException("Invalid UTF-8 input" + locationString(), e);
+      }
+    }
+    int oldLimit = limit;
+    limit = out.position();
+    skipByteOrderMark(oldLimit);
+  }
+
+  /**
+   * Feeds the chars of {@code chars}, which were already decoded.
+   *
+   * @throws IllegalStateException if {@link #endOfInput()} has been called or an
+   *     incomplete UTF-8 sequence was fed before.
+   */
+  public void feed(CharSequence chars) {
+    checkNotEnded();
+    if (pendingBytes.position() > 0) {
+      throw new IllegalStateException("Incomplete UTF-8 sequence was fed before");
+    }
+    int length = chars.length();
+    ensureCapacity(length);
+    for (int i = 0; i < length; i++) {
+      buffer[limit + i] = chars.charAt(i);
+    }
+    int oldLimit = limit;
+    limit += length;
+    skipByteOrderMark(oldLimit);
+  }
+
+  private void skipByteOrderMark(int oldLimit) {
+    if (!fedAny && limit > oldLimit) {
+      fedAny = true;
+      if (buffer[pos] == '\ufeff') {
+        pos++;
+        lineStart++;
+      }
+    }
+  }
+
+  /**
+   * Signals that all input has been fed. Afterwards {@link #nextToken()} never
+   * returns {@code null}.
+   *
+   * @throws MalformedJsonException if the input ends with an incomplete UTF-8 sequence.
+   */
+  public void endOfInput() throws IOException {
+    if (endOfInput) {
+      return;
+    }
+    if (pendingBytes.position() > 0) {
+      throw new MalformedJsonException("Incomplete UTF-8 sequence at end of input" + locationString());
+    }
+    endOfInput = true;
+  }
+
+  private void checkNotEnded() {
+    if (endOfInput) {
+      throw new IllegalStateException("endOfInput() was called");
+    }
+  }
+
+  /** Makes room for {@code count} more chars after {@link #limit}, discarding consumed chars. */
+  private void ensureCapacity(int count) {
+    if (pos > 0) {
+      System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+      discarded += pos;
+      limit -= pos;
+      pos = 0;
+    }
+    if (buffer.length - limit < count) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, limit + count));
+    }
+  }
+
+  /**
+   * Returns the next token, or {@code null} if the input fed so far does not
+   * contain a complete token and {@link #endOfInput()} has not been called yet.
+   * Returns {@link JsonToken#END_DOCUMENT} once the document is complete and
+   * all input has been fed.
+   *
+   * <p>For {@link JsonToken#NAME}, {@link JsonToken#STRING}, {@link JsonToken#NUMBER}
+   * and {@link JsonToken#BOOLEAN} tokens, {@link #getString()} returns their value.
+   *
+   * @throws MalformedJsonException if the document is malformed.
+   * @throws EOFException if the input ends before the document is complete.
+   */
+  public JsonToken nextToken() throws IOException {
+    value = null;
+    if (partialString != null) {
+      return readString();
+    }
+    int startPos = pos;
+    int startScope = stack[stackSize - 1];
+    int startLineNumber = lineNumber;
+    long startLineStart = lineStart;
+    JsonToken token = tryNextToken();
+    if (token == null && partialString == null) {
+      // Incomplete token; read it again once more input has been fed
+      pos = startPos;
+      stack[stackSize - 1] = startScope;
+      lineNumber = startLineNumber;
+      lineStart = startLineStart;
+    }
+    return token;
+  }
+
+  /**
+   * Returns the value of the last {@link JsonToken#NAME}, {@link JsonToken#STRING}
+   * or {@link JsonToken#NUMBER} token, or {@code "true"} or {@code "false"} for a
+   * {@link JsonToken#BOOLEAN} token.
+   *
+   * @throws IllegalStateException if the last token has no such value.
+   */
+  public String getString() {
+    if (value == null) {
+      throw new IllegalStateException("The last token has no value" + locationString());
+    }
+    return value;
+  }
+
+  /**
+   * Returns the nesting depth of the current location: 0 at the top level, 1
+   * within the top-level array or object, and so on.
+   */
+  public int getDepth() {
+    return stackSize - 1;
+  }
+
+  /**
+   * Returns a <a href="https://goessner.net/articles/JsonPath/">JSONPath</a> to the
+   * current location in the JSON document, like {@link JsonReader#getPath()}.
+   */
+  public String getPath() {
+    StringBuilder result = new StringBuilder().append('$');
+    for (int i = 1; i < stackSize; i++) {
+      switch (stack[i]) {
+        case JsonScope.EMPTY_ARRAY:
+        case JsonScope.NONEMPTY_ARRAY:
+          result.append('[').append(pathIndices[i]).append(']');
+          break;
+        default:
+          result.append('.');
+          if (pathNames[i] != null) {
+            result.append(pathNames[i]);
+          }
+          break;
+      }
+    }
+    return result.toString();
+  }
+
+  private JsonToken tryNextToken() throws IOException {
+    int peekStack = stack[stackSize - 1];
+    int c;
+    if (peekStack == JsonScope.EMPTY_ARRAY) {
+      stack[stackSize - 1] = JsonScope.NONEMPTY_ARRAY;
+    } else if (peekStack == JsonScope.NONEMPTY_ARRAY) {
+      c = nextNonWhitespace();
+      if (c == ']') {
+        return endScope(JsonToken.END_ARRAY);
+      } else if (c == -1) {
+        return null;
+      } else if (c != ',') {
+        throw syntaxError("Unterminated array");
+      }
+    } else if (peekStack == JsonScope.EMPTY_OBJECT || peekStack == JsonScope.NONEMPTY_OBJECT) {
+      stack[stackSize - 1] = JsonScope.DANGLING_NAME;
+      if (peekStack == JsonScope.NONEMPTY_OBJECT) {
+        c = nextNonWhitespace();
+        if (c == '}') {
+          return endScope(JsonToken.END_OBJECT);
+        } else if (c == -1) {
+          return null;
+        } else if (c != ',') {
+          throw syntaxError("Unterminated object");
+        }
+      }
+      c = nextNonWhitespace();
+      if (c == '"') {
+        return startString(JsonToken.NAME);
+      } else if (c == '}' && peekStack == JsonScope.EMPTY_OBJECT) {
+        return endScope(JsonToken.END_OBJECT);
+      } else if (c == -1) {
+        return null;
+      }
+      throw syntaxError("Expected name");
+    } else if (peekStack == JsonScope.DANGLING_NAME) {
+      stack[stackSize - 1] = JsonScope.NONEMPTY_OBJECT;
+      c = nextNonWhitespace();
+      if (c == -1) {
+        return null;
+      } else if (c != ':') {
+        throw syntaxError("Expected ':'");
+      }
+    } else if (peekStack == JsonScope.EMPTY_DOCUMENT) {
+      stack[stackSize - 1] = JsonScope.NONEMPTY_DOCUMENT;
+    } else if (peekStack == JsonScope.NONEMPTY_DOCUMENT) {
+      c = nextNonWhitespace();
+      if (c == -1) {
+        return endOfInput ? JsonToken.END_DOCUMENT : null;
+      }
+      throw syntaxError("Expected end of document");
+    }
+
+    c = nextNonWhitespace();
+    switch (c) {
+      case -1:
+        if (endOfInput) {
+          throw new EOFException("End of input" + locationString());
+        }
+        return null;
+      case ']':
+        if (peekStack == JsonScope.EMPTY_ARRAY) {
+          return endScope(JsonToken.END_ARRAY);
+        }
+        throw syntaxError("Expected value");
+      case '"':
+        return startString(JsonToken.STRING);
+      case '[':
+        push(JsonScope.EMPTY_ARRAY);
+        return JsonToken.BEGIN_ARRAY;
+      case '{':
+        push(JsonScope.EMPTY_OBJECT);
+        return JsonToken.BEGIN_OBJECT;
+      case 't':
+        return readLiteral("true", JsonToken.BOOLEAN);
+      case 'f':
+        return readLiteral("false", JsonToken.BOOLEAN);
+      case 'n':
+        return readLiteral("null", JsonToken.NULL);
+      default:
+        if (c == '-' || (c >= '0' && c <= '9')) {
+          return readNumber();
+        }
+        throw syntaxError("Unexpected character");
+    }
+  }
+
+  /**
+   * Returns the next char which is not whitespace, consuming it, or -1 if the
+   * input fed so far has no such char.
+   *
+   * @throws EOFException if the input has ended and the document is incomplete.
+   */
+  private int nextNonWhitespace() throws IOException {
+    char[] buffer = this.buffer;
+    while (pos < limit) {
+      char c = buffer[pos++];
+      if (c == '\n') {
+        lineNumber++;
+        lineStart = discarded + pos;
+      } else if (c != ' ' && c != '\r' && c != '\t') {
+        return c;
+      }
+    }
+    if (endOfInput && stack[stackSize - 1] != JsonScope.NONEMPTY_DOCUMENT) {
+      throw new EOFException("End of input" + locationString());
+    }
+    return -1;
+  }
+
+  private JsonToken readLiteral(String literal, JsonToken token) throws IOException {
+    int start = pos - 1;
+    int length = literal.length();
+    if (limit - start < length + 1 && !endOfInput) {
+      // The char after the literal is needed to check that it ends there
+      return null;
+    }
+    if (limit - start < length || !literal.contentEquals(CharBuffer.wrap(buffer, start, length))) {
+      throw syntaxError("Unexpected value");
+    }
+    pos = start + length;
+    checkValueEnd();
+    value = token == JsonToken.BOOLEAN ? literal : null;
+    endValue();
+    return token;
+  }
+
+  private JsonToken readNumber() throws IOException {
+    int start = pos - 1;
+    int end = pos;
+    while (end < limit && isNumberChar(buffer[end])) {
+      end++;
+    }
+    if (end == limit && !endOfInput) {
+      return null;
+    }
+    pos = end;
+    if (!isValidNumber(buffer, start, end)) {
+      pos = start;
+      throw syntaxError("Malformed number");
+    }
+    checkValueEnd();
+    value = new String(buffer, start, end - start);
+    endValue();
+    return JsonToken.NUMBER;
+  }
+
+  private static boolean isNumberChar(char c) {
+    return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E';
+  }
+
+  /** Returns whether {@code chars[start..end)} matches the JSON number grammar. */
+  static boolean isValidNumber(char[] chars, int start, int end) {
+    int i = start;
+    if (i < end && chars[i] == '-') {
+      i++;
+    }
+    if (i < end && chars[i] == '0') {
+      i++;
+    } else {
+      int digitsStart = i;
+      while (i < end && chars[i] >= '0' && chars[i] <= '9') {
+        i++;
+      }
+      if (i == digitsStart) {
+        return false;
+      }
+    }
+    if (i < end && chars[i] == '.') {
+      i++;
+      int digitsStart = i;
+      while (i < end && chars[i] >= '0' && chars[i] <= '9') {
+        i++;
+      }
+      if (i == digitsStart) {
+        return false;
+      }
+    }
+    if (i < end && (chars[i] == 'e' || chars[i] == 'E')) {
+      i++;
+      if (i < end && (chars[i] == '+' || chars[i] == '-')) {
+        i++;
+      }
+      int digitsStart = i;
+      while (i < end && chars[i] >= '0' && chars[i] <= '9') {
+        i++;
+      }
+      if (i == digitsStart) {
+        return false;
+      }
+    }
+    return i == end;
+  }
+
+  /** Checks that a literal or number is followed by a delimiter. */
+  private void checkValueEnd() throws IOException {
+    if (pos < limit) {
+      char c = buffer[pos];
+      if (c != ' ' && c != '\n' && c != '\r' && c != '\t' && c != ',' && c != ']' && c != '}') {
+        throw syntaxError("Unexpected character");
+      }
+    }
+  }
+
+  private JsonToken startString(JsonToken token) throws IOException {
+    partialString = token;
+    stringValue.setLength(0);
+    return readString();
+  }
+
+  /** Continues reading the string whose opening quote has been consumed. */
+  private JsonToken readString() throws IOException {
+    char[] buffer = this.buffer;
+    int start = pos;
+    while (pos < limit) {
+      char c = buffer[pos];
+      if (c == '"') {
+        stringValue.append(buffer, start, pos - start);
+        pos++;
+        JsonToken token = partialString;
+        partialString = null;
+        value = stringValue.toString();
+        if (token == JsonToken.NAME) {
+          pathNames[stackSize - 1] = value;
+        } else {
+          endValue();
+        }
+        return token;
+      } else if (c == '\\') {
+        stringValue.append(buffer, start, pos - start);
+        if (!readEscape()) {
+          // Incomplete escape sequence; keep it in the buffer
+          return null;
+        }
+        start = pos;
+      } else {
+        if (c == '\n') {
+          lineNumber++;
+          lineStart = discarded + pos + 1;
+        }
+        pos++;
+      }
+    }
+    stringValue.append(buffer, start, pos - start);
+    if (endOfInput) {
+      throw syntaxError("Unterminated string");
+    }
+    return null;
+  }
+
+  /**
+   * Reads the escape sequence at {@link #pos} into {@link #stringValue}, returning
+   * false if it is incomplete.
+   */
+  private boolean readEscape() throws IOException {
+    if (pos + 1 >= limit) {
+      if (endOfInput) {
+        throw syntaxError("Unterminated escape sequence");
+      }
+      return false;
+    }
+    char escaped = buffer[pos + 1];
+    switch (escaped) {
+      case 'u':
+        if (pos + 6 > limit) {
+          if (endOfInput) {
+            throw syntaxError("Unterminated escape sequence");
+          }
+          return false;
+        }
+        char result = 0;
+        for (int i = pos + 2; i < pos + 6; i++) {
+          char c = buffer[i];
+          result <<= 4;
+          if (c >= '0' && c <= '9') {
+            result += (char) (c - '0');
+          } else if (c >= 'a' && c <= 'f') {
+            result += (char) (c - 'a' + 10);
+          } else if (c >= 'A' && c <= 'F') {
+            result += (char) (c - 'A' + 10);
+          } else {
+            throw syntaxError("Malformed Unicode escape \\u" + new String(buffer, pos + 2, 4));
+          }
+        }
+        stringValue.append(result);
+        pos += 6;
+        return true;
+      case 't':
+        stringValue.append('\t');
+        break;
+      case 'b':
+        stringValue.append('\b');
+        break;
+      case 'n':
+        stringValue.append('\n');
+        break;
+      case 'r':
+        stringValue.append('\r');
+        break;
+      case 'f':
+        stringValue.append('\f');
+        break;
+      case '"':
+      case '\\':
+      case '/':
+        stringValue.append(escaped);
+        break;
+      default:
+        throw syntaxError("Invalid escape sequence");
+    }
+    pos += 2;
+    return true;
+  }
+
+  private void push(int newTop) {
+    if (stackSize == stack.length) {
+      int newLength = stackSize * 2;
+      stack = Arrays.copyOf(stack, newLength);
+      pathIndices = Arrays.copyOf(pathIndices, newLength);
+      pathNames = Arrays.copyOf(pathNames, newLength);
+    }
+    pathIndices[stackSize] = 0;
+    pathNames[stackSize] = null;
+    stack[stackSize++] = newTop;
+  }
+
+  private JsonToken endScope(JsonToken token) {
+    stackSize--;
+    endValue();
+    return token;
+  }
+
+  /** Advances the path after a value was read. */
+  private void endValue() {
+    int top = stack[stackSize - 1];
+    if (top == JsonScope.EMPTY_ARRAY || top == JsonScope.NONEMPTY_ARRAY) {
+      pathIndices[stackSize - 1]++;
+    }
+  }
+
+  private String locationString() {
+    int line = lineNumber + 1;
+    long column = discarded + pos - lineStart + 1;
+    return " at line " + line + " column " + column + " path " + getPath();
+  }
+
+  private MalformedJsonException syntaxError(String message) {
+    return new MalformedJsonException(message + locationString());
+  }
+
+  @Override public String toString() {
+    return getClass().getSimpleName() + locationString();
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.stream;
+
+import java.util.Objects;
+
+/**
+ * A string whose quoted and escaped JSON form is computed once, so that it can
+ * be written repeatedly by {@link JsonWriter#preparedName(PreparedName)} and
+ * {@link JsonWriter#preparedValue(PreparedName)} without escaping it again. This is
+ * useful for property names and constants which are written for every object
+ * of a type, for example the field names of a class or the names of enum
+ * constants.
+ *
+ * <p>Instances are immutable and thread-safe.
+ *
+ * @since $next-version$
+ */
+public final class PreparedName {
+  private final String name;
+  /** The quoted and escaped name */
+  final String json;
+  /** The quoted and escaped name for {@linkplain JsonWriter#setHtmlSafe(boolean) HTML-safe} writers */
+  final String htmlSafeJson;
+
+  private PreparedName(String name) {
+    this.name = name;
+    this.json = JsonWriter.quote(name, false);
+    String htmlSafeJson = JsonWriter.quote(name, true);
+    // Share the instance if no HTML characters were escaped
+    this.htmlSafeJson = htmlSafeJson.equals(json) ? json : htmlSafeJson;
+  }
+
+  /** Returns a prepared form of {@code name}. */
+  public static PreparedName of(String name) {
+    return new PreparedName(Objects.requireNonNull(name, "name == null"));
+  }
+
+  /** Returns the unescaped name. */
+  public String getName() {
+    return name;
+  }
+
+  @Override public String toString() {
+    return json;
+  }
+}
@@ -0,0 +1,400 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+
+/**
+ * Decodes UTF-8 bytes straight into the char buffer of a {@link JsonReader}.
+ *
+ * <p>Unlike {@link java.io.InputStreamReader} this does not go through a
+ * {@code CharsetDecoder} with its intermediate byte and char buffers and does
+ * not synchronize on every read. Runs of ASCII, which make up almost all of the
+ * structural characters and most names of typical JSON documents, are copied
+ * by a tight loop. Malformed input (invalid lead or continuation bytes,
+ * overlong encodings, encoded surrogates and truncated sequences) is rejected
+ * with a {@link MalformedJsonException} rather than silently replaced by
+ * U+FFFD.
+ *
+ * <p>The bytes are either fully in memory (a {@code byte[]} or a
+ * {@link ByteBuffer}, which are never copied), are pulled from an
+ * {@link InputStream} in blocks, or are read from a file which is memory-mapped
+ * one window at a time.
+ */
+final class Utf8Reader extends Reader {
+  private static final int STREAM_BUFFER_SIZE = 8192;
+
+  /**
+   * The largest region of a file which is mapped at once. A single mapping
+   * cannot exceed 2 GB; larger files are read through consecutive windows.
+   */
+  static final int MAP_WINDOW_SIZE = Integer.MAX_VALUE;
+
+  /** The stream the bytes are pulled from, or null. */
+  private final InputStream in;
+
+  /** The file the bytes are mapped from, or null. */
+  private final FileChannel channel;
+
+  /** The size of {@link #channel}. */
+  private final long channelSize;
+
+  /** The maximum number of bytes of {@link #channel} mapped at once. */
+  private final int windowSize;
+
+  /**
+   * The bytes being decoded if they are backed by an array, otherwise null.
+   * Exactly one of {@code bytes} and {@code byteBuffer} is non-null.
+   */
+  private byte[] bytes;
+
+  /** The bytes being decoded if they are not backed by an array, otherwise null. */
+  private ByteBuffer byteBuffer;
+
+  /** Index of the next byte to decode. */
+  private int pos;
+
+  /** Index after the last byte which may be decoded. */
+  private int limit;
+
+  /** The number of input bytes discarded before index 0; used for error messages. */
+  private long discarded;
+
+  /**
+   * The second half of a surrogate pair which did not fit into the char array
+   * of the previous read, or 0.
+   */
+  private char pendingLowSurrogate;
+
+  Utf8Reader(InputStream in) {
+    this.in = Objects.requireNonNull(in, "in == null");
+    this.channel = null;
+    this.channelSize = 0;
+    this.windowSize = 0;
+    this.bytes = new byte[STREAM_BUFFER_SIZE];
+  }
+
+  /**
+   * Decodes the content of {@code channel}, which is mapped into memory in
+   * windows of at most {@code windowSize} bytes.
+   */
+  Utf8Reader(FileChannel channel, int windowSize) throws IOException {
+    if (windowSize < 4) {
+      // Must be able to hold the longest UTF-8 sequence
+      throw new IllegalArgumentException("Window size must be at least 4: " + windowSize);
+    }
+    this.in = null;
+    this.channel = Objects.requireNonNull(channel, "channel == null");
+    this.channelSize = channel.size();
+    this.windowSize = windowSize;
+  }
+
+  Utf8Reader(byte[] bytes, int offset, int length) {
+    Objects.requireNonNull(bytes, "bytes == null");
+    if (offset < 0 || length < 0 || length > bytes.length - offset) {
+      throw new IndexOutOfBoundsException(
+          "offset " + offset + ", length " + length + ", array length " + bytes.length);
+    }
+    this.in = null;
+    this.channel = null;
+    this.channelSize = 0;
+    this.windowSize = 0;
+    this.bytes = bytes;
+    this.pos = offset;
+    this.limit = offset + length;
+    this.discarded = -offset;
+  }
+
+  /**
+   * Decodes the bytes between the position and the limit of {@code buffer}.
+   * The position of {@code buffer} is not modified.
+   */
+  Utf8Reader(ByteBuffer buffer) {
+    Objects.requireNonNull(buffer, "buffer == null");
+    this.in = null;
+    this.channel = null;
+    this.channelSize = 0;
+    this.windowSize = 0;
+    if (buffer.hasArray()) {
+      this.bytes = buffer.array();
+      this.pos = buffer.arrayOffset() + buffer.position();
+      this.limit = buffer.arrayOffset() + buffer.limit();
+    } else {
+      this.byteBuffer = buffer;
+      this.pos = buffer.position();
+      this.limit = buffer.limit();
+    }
+    this.discarded = -pos;
+  }
+
+  @Override public int read(char[] cbuf, int off, int len) throws IOException {
+    if (len <= 0) {
+      return 0;
+    }
+    int count = 0;
+    if (pendingLowSurrogate != 0) {
+      cbuf[off] = pendingLowSurrogate;
+      pendingLowSurrogate = 0;
+      count = 1;
+    }
+    if (pos == limit && !fill(1)) {
+      return count == 0 ? -1 : count;
+    }
+    if (bytes != null) {
+      count += decodeArray(cbuf, off + count, len - count);
+    } else {
+      count += decodeBuffer(cbuf, off + count, len - count);
+    }
+    return count;
+  }
+
+  /** Decodes from {@link #bytes} into {@code cbuf} and returns the number of chars written. */
+  private int decodeArray(char[] cbuf, int off, int len) throws IOException {
+    // Like JsonReader, this uses locals 'p' and 'l' to save inner-loop field access.
+    byte[] bytes = this.bytes;
+    int p = pos;
+    int l = limit;
+    int o = off;
+    int end = off + len;
+    while (o < end) {
+      if (p == l) {
+        pos = p;
+        if (!fill(1)) {
+          return o - off;
+        }
+        bytes = this.bytes;
+        p = pos;
+        l = limit;
+      }
+
+      // Copy a run of ASCII characters.
+      int asciiEnd = p + Math.min(l - p, end - o);
+      while (p < asciiEnd && bytes[p] >= 0) {
+        cbuf[o++] = (char) bytes[p++];
+      }
+      if (p == asciiEnd) {
+        continue;
+      }
+
+      int lead = bytes[p] & 0xff;
+      int length = sequenceLength(lead, p);
+      if (l - p < length) {
+        pos = p;
+        if (!fill(length)) {
+          throw malformed("Truncated UTF-8 sequence", p);
+        }
+        bytes = this.bytes;
+        p = pos;
+        l = limit;
+      }
+      int codePoint = decodeSequence(lead, length,
+          bytes[p + 1], length > 2 ? bytes[p + 2] : 0, length > 3 ? bytes[p + 3] : 0, p);
+      p += length;
+      o = writeCodePoint(codePoint, cbuf, o, end);
+    }
+    pos = p;
+    return o - off;
+  }
+
+  /**
+   * Decodes from {@link #byteBuffer} into {@code cbuf} and returns the number
+   * of chars written. Same as {@link #decodeArray} but with absolute buffer
+   * access, so that direct and memory-mapped buffers are read in place.
+   */
+  private int decodeBuffer(char[] cbuf, int off, int len) throws IOException {
+    ByteBuffer buffer = this.byteBuffer;
+    int p = pos;
+    int l = limit;
+    int o = off;
+    int end = off + len;
+    while (o < end) {
+      if (p == l) {
+        pos = p;
+        if (!fill(1)) {
+          return o - off;
+        }
+        buffer = this.byteBuffer;
+        p = pos;
+        l = limit;
+      }
+
+      int asciiEnd = p + Math.min(l - p, end - o);
+      byte b;
+      while (p < asciiEnd && (b = buffer.get(p)) >= 0) {
+        cbuf[o++] = (char) b;
+        p++;
+      }
+      if (p == asciiEnd) {
+        continue;
+      }
+
+      int lead = buffer.get(p) & 0xff;
+      int length = sequenceLength(lead, p);
+      if (l - p < length) {
+        pos = p;
+        if (!fill(length)) {
+          throw malformed("Truncated UTF-8 sequence", p);
+        }
+        buffer = this.byteBuffer;
+        p = pos;
+        l = limit;
+      }
+      int codePoint = decodeSequence(lead, length, buffer.get(p + 1),
+          length > 2 ? buffer.get(p + 2) : 0, length > 3 ? buffer.get(p + 3) : 0, p);
+      p += length;
+      o = writeCodePoint(codePoint, cbuf, o, end);
+    }
+    pos = p;
+    return o - off;
+  }
+
+  /** Returns the length of the sequence starting with the non-ASCII byte {@code lead}. */
+  private int sequenceLength(int lead, int index) throws MalformedJsonException {
+    if (lead >= 0xc2 && lead <= 0xdf) {
+      return 2;
+    } else if (lead >= 0xe0 && lead <= 0xef) {
+      return 3;
+    } else if (lead >= 0xf0 && lead <= 0xf4) {
+      return 4;
+    }
+    throw malformed("Invalid UTF-8 start byte 0x" + Integer.toHexString(lead), index);
+  }
+
+  /**
+   * Decodes a multi-byte sequence, rejecting overlong forms, surrogates and
+   * code points beyond U+10FFFF.
+   */
+  private int decodeSequence(int lead, int length, byte b1, byte b2, byte b3, int index)
+      throws MalformedJsonException {
+    if ((b1 & 0xc0) != 0x80) {
+      throw malformed("Invalid UTF-8 continuation byte", index + 1);
+    }
+    if (length == 2) {
+      return ((lead & 0x1f) << 6) | (b1 & 0x3f);
+    }
+    if ((b2 & 0xc0) != 0x80) {
+      throw malformed("Invalid UTF-8 continuation byte", index + 2);
+    }
+    if (length == 3) {
+      int codePoint = ((lead & 0x0f) << 12) | ((b1 & 0x3f) << 6) | (b2 & 0x3f);
+      if (codePoint < 0x800 || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+        throw malformed("Invalid UTF-8 sequence", index);
+      }
+      return codePoint;
+    }
+    if ((b3 & 0xc0) != 0x80) {
+      throw malformed("Invalid UTF-8 continuation byte", index + 3);
+    }
+    int codePoint = ((lead & 0x07) << 18) | ((b1 & 0x3f) << 12) | ((b2 & 0x3f) << 6) | (b3 & 0x3f);
+    if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT || codePoint > Character.MAX_CODE_POINT) {
+      throw malformed("Invalid UTF-8 sequence", index);
+    }
+    return codePoint;
+  }
+
+  /**
+   * Writes {@code codePoint} at {@code cbuf[o]} and returns the index after it.
+   * If only the high surrogate of a supplementary code point fits, the low
+   * surrogate is kept for the next read.
+   */
+  private int writeCodePoint(int codePoint, char[] cbuf, int o, int end) {
+    if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+      cbuf[o++] = (char) codePoint;
+      return o;
+    }
+    cbuf[o++] = Character.highSurrogate(codePoint);
+    char low = Character.lowSurrogate(codePoint);
+    if (o < end) {
+      cbuf[o++] = low;
+    } else {
+      pendingLowSurrogate = low;
+    }
+    return o;
+  }
+
+  /**
+   * Returns true once {@code limit - pos >= minimum}. If the input is exhausted
+   * before that many bytes are available, this returns false.
+   */
+  private boolean fill(int minimum) throws IOException {
+    if (limit - pos >= minimum) {
+      return true;
+    }
+    if (in != null) {
+      return fillFromStream(minimum);
+    } else if (channel != null) {
+      return mapNextWindow(minimum);
+    }
+    return false;
+  }
+
+  private boolean fillFromStream(int minimum) throws IOException {
+    byte[] bytes = this.bytes;
+    int remaining = limit - pos;
+    System.arraycopy(bytes, pos, bytes, 0, remaining);
+    discarded += pos;
+    pos = 0;
+    limit = remaining;
+    int count;
+    while ((count = in.read(bytes, limit, bytes.length - limit)) != -1) {
+      limit += count;
+      if (limit >= minimum) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Maps the window of the file which starts at the current position. Bytes
+   * of an incomplete sequence at the end of the previous window are mapped
+   * again as part of the new one.
+   */
+  private boolean mapNextWindow(int minimum) throws IOException {
+    long start = discarded + pos;
+    if (start + (limit - pos) == channelSize) {
+      return false;
+    }
+    int size = (int) Math.min(windowSize, channelSize - start);
+    byteBuffer = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+    discarded = start;
+    pos = 0;
+    limit = size;
+    return limit >= minimum;
+  }
+
+  private MalformedJsonException malformed(String message, int index) {
+    return new MalformedJsonException(message + " at byte offset " + (discarded + index));
+  }
+
+  @Override public void close() throws IOException {
+    pos = limit;
+    pendingLowSurrogate = 0;
+    if (in != null) {
+      in.close();
+    } else if (channel != null) {
+      // The mapped buffers are released once they are garbage collected
+      byteBuffer = null;
+      channel.close();
+    }
+  }
+}
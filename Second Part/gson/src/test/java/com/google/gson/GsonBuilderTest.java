@@ -19,6 +19,7 @@ package com.google.gson;
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.fail;
 
+import com.google.gson.stream.JsonNameTable;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
@@ -207,6 +208,23 @@ public class GsonBuilderTest {
     }
   }
 
+  @Test
+  public void testSetNameTable() {
+    JsonNameTable nameTable = new JsonNameTable();
+    Gson gson = new GsonBuilder()
+        .setNameTable(nameTable)
+        .create();
+    JsonArray array = gson.fromJson("[{\"id\":1},{\"id\":2}]", JsonArray.class);
+    String first = array.get(0).getAsJsonObject().keySet().iterator().next();
+    String second = array.get(1).getAsJsonObject().keySet().iterator().next();
+    assertThat(second).isSameInstanceAs(first);
+    assertThat(nameTable.getMissCount()).isEqualTo(1);
+    assertThat(nameTable.getHitCount()).isEqualTo(1);
+
+    gson.newBuilder().create().fromJson("{\"id\":3}", Object.class);
+    assertThat(nameTable.getHitCount()).isEqualTo(2);
+  }
+
   @Test
   public void testSetVersionInvalid() {
     GsonBuilder builder = new GsonBuilder();
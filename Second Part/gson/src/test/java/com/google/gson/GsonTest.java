@@ -105,7 +105,7 @@ public final class GsonTest {
         DateFormat.DEFAULT, new ArrayList<TypeAdapterFactory>(),
         new ArrayList<TypeAdapterFactory>(), new ArrayList<TypeAdapterFactory>(),
         CUSTOM_OBJECT_TO_NUMBER_STRATEGY, CUSTOM_NUMBER_TO_NUMBER_STRATEGY,
-        Collections.<ReflectionAccessFilter>emptyList());
+        Collections.<ReflectionAccessFilter>emptyList(), null);
 
     assertThat(gson.excluder).isEqualTo(CUSTOM_EXCLUDER);
     assertThat(gson.fieldNamingStrategy()).isEqualTo(CUSTOM_FIELD_NAMING_STRATEGY);
@@ -122,7 +122,7 @@ public final class GsonTest {
         DateFormat.DEFAULT, new ArrayList<TypeAdapterFactory>(),
         new ArrayList<TypeAdapterFactory>(), new ArrayList<TypeAdapterFactory>(),
         CUSTOM_OBJECT_TO_NUMBER_STRATEGY, CUSTOM_NUMBER_TO_NUMBER_STRATEGY,
-        Collections.<ReflectionAccessFilter>emptyList());
+        Collections.<ReflectionAccessFilter>emptyList(), null);
 
     Gson clone = original.newBuilder()
         .registerTypeAdapter(Object.class, new TestTypeAdapter())
@@ -149,6 +149,53 @@ public final class GsonTest {
     }
   }
 
+  @Test
+  public void testGetAdapter_NullClass() {
+    Gson gson = new Gson();
+    try {
+      gson.getAdapter((Class<?>) null);
+      fail();
+    } catch (NullPointerException e) {
+      assertThat(e).hasMessageThat().isEqualTo("type must not be null");
+    }
+  }
+
+  @Test
+  public void testGetAdapter_ClassCached() {
+    Gson gson = new Gson();
+    TypeAdapter<CustomClass1> adapter = gson.getAdapter(CustomClass1.class);
+    assertThat(gson.getAdapter(CustomClass1.class)).isSameInstanceAs(adapter);
+    assertThat(gson.getAdapter(TypeToken.get(CustomClass1.class))).isSameInstanceAs(adapter);
+    // The cache is per Gson instance
+    assertThat(new Gson().getAdapter(CustomClass1.class)).isNotSameInstanceAs(adapter);
+  }
+
+  /**
+   * Verifies that the {@link FutureTypeAdapter} which {@link Gson#getAdapter(Class)} returns
+   * for a cyclic dependency is not cached for later calls.
+   */
+  @Test
+  public void testGetAdapter_ClassCyclicDependency() {
+    final AtomicReference<TypeAdapter<?>> nestedAdapter = new AtomicReference<>();
+    Gson gson = new GsonBuilder()
+        .registerTypeAdapterFactory(new TypeAdapterFactory() {
+          @Override public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (type.getRawType() == CustomClass2.class) {
+              nestedAdapter.set(gson.getAdapter(CustomClass1.class));
+            } else if (type.getRawType() == CustomClass1.class) {
+              gson.getAdapter(CustomClass2.class);
+            }
+            return null;
+          }
+        })
+        .create();
+
+    TypeAdapter<CustomClass1> adapter = gson.getAdapter(CustomClass1.class);
+    assertThat(nestedAdapter.get()).isInstanceOf(FutureTypeAdapter.class);
+    assertThat(adapter).isNotInstanceOf(FutureTypeAdapter.class);
+    assertThat(gson.getAdapter(CustomClass1.class)).isSameInstanceAs(adapter);
+  }
+
   @Test
   public void testGetAdapter_Concurrency() {
     class DummyAdapter<T> extends TypeAdapter<T> {
@@ -308,6 +355,38 @@ public final class GsonTest {
     assertThat(otherThreadAdapter.get().toJson(null)).isEqualTo("[[\"wrapped-nested\"]]");
   }
 
+  @Test
+  public void testToJsonStringReentrant() {
+    final Gson[] gsonHolder = new Gson[1];
+    // Adapter which serializes its value with a nested toJson call
+    TypeAdapter<CustomClass1> nested = new TypeAdapter<CustomClass1>() {
+      @Override public void write(JsonWriter out, CustomClass1 value) throws IOException {
+        out.value(gsonHolder[0].toJson(Collections.singletonList("nested")));
+      }
+      @Override public CustomClass1 read(JsonReader in) {
+        throw new AssertionError("not needed by this test");
+      }
+    };
+    Gson gson = new GsonBuilder()
+        .registerTypeAdapter(CustomClass1.class, nested)
+        .generateNonExecutableJson()
+        .create();
+    gsonHolder[0] = gson;
+
+    String expected = ")]}'\n[\")]}\\u0027\\n[\\\"nested\\\"]\"]";
+    for (int i = 0; i < 3; i++) {
+      assertThat(gson.toJson(Collections.singletonList(new CustomClass1()))).isEqualTo(expected);
+      assertThat(gson.toJson(new JsonPrimitive(i))).isEqualTo(")]}'\n" + i);
+    }
+
+    StringBuilder longString = new StringBuilder();
+    for (int i = 0; i < 100000; i++) {
+      longString.append('a');
+    }
+    assertThat(gson.toJson(longString.toString())).isEqualTo(")]}'\n\"" + longString + "\"");
+    assertThat(gson.toJson("short")).isEqualTo(")]}'\n\"short\"");
+  }
+
   @Test
   public void testNewJsonWriter_Default() throws IOException {
     StringWriter writer = new StringWriter();
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+import com.google.gson.reflect.TypeToken;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import org.junit.Test;
+
+public class JsonArrayFeedTest {
+  private final Gson gson = new Gson();
+
+  private static class Point {
+    int x;
+    int y;
+  }
+
+  @Test
+  public void testElementsAvailableBeforeEnd() {
+    JsonArrayFeed<Point> feed = new JsonArrayFeed<>(gson, TypeToken.get(Point.class));
+    feed.feed("[{\"x\": 1, \"y\": 2}, {\"x\"");
+    assertThat(feed.hasNext()).isTrue();
+    Point point = feed.next();
+    assertThat(point.x).isEqualTo(1);
+    assertThat(point.y).isEqualTo(2);
+    assertThat(feed.hasNext()).isFalse();
+    assertThat(feed.isFinished()).isFalse();
+
+    feed.feed(": 3}, null]");
+    assertThat(feed.next().x).isEqualTo(3);
+    assertThat(feed.next()).isNull();
+    assertThat(feed.hasNext()).isFalse();
+    assertThat(feed.isFinished()).isFalse();
+    feed.endOfInput();
+    assertThat(feed.hasNext()).isFalse();
+    assertThat(feed.isFinished()).isTrue();
+    try {
+      feed.next();
+      fail();
+    } catch (NoSuchElementException expected) {
+    }
+  }
+
+  @Test
+  public void testByteByByte() {
+    String json = "[{\"a\": [1, 2.5]}, {\"\u00e9\": {\"b\": null}}, {}]";
+    JsonArrayFeed<Map<String, Object>> feed = new JsonArrayFeed<>(gson, new TypeToken<Map<String, Object>>() {});
+    List<Map<String, Object>> elements = new ArrayList<>();
+    for (byte b : json.getBytes(StandardCharsets.UTF_8)) {
+      feed.feed(ByteBuffer.wrap(new byte[] {b}));
+      while (feed.hasNext()) {
+        elements.add(feed.next());
+      }
+    }
+    feed.endOfInput();
+    assertThat(feed.hasNext()).isFalse();
+    assertThat(elements).isEqualTo(gson.fromJson(json, new TypeToken<List<Map<String, Object>>>() {}));
+  }
+
+  @Test
+  public void testNull() {
+    JsonArrayFeed<Integer> feed = new JsonArrayFeed<>(gson, TypeToken.get(Integer.class));
+    feed.feed("null");
+    feed.endOfInput();
+    assertThat(feed.hasNext()).isFalse();
+    assertThat(feed.isFinished()).isTrue();
+  }
+
+  @Test
+  public void testErrors() {
+    JsonArrayFeed<Integer> feed = new JsonArrayFeed<>(gson, TypeToken.get(Integer.class));
+    feed.feed("{}");
+    try {
+      feed.hasNext();
+      fail();
+    } catch (JsonSyntaxException expected) {
+      assertThat(expected).hasMessageThat().isEqualTo(
+          "java.lang.IllegalStateException: Expected BEGIN_ARRAY but was BEGIN_OBJECT at path $");
+    }
+
+    feed = new JsonArrayFeed<>(gson, TypeToken.get(Integer.class));
+    feed.feed("[1, \"a\"]");
+    assertThat(feed.next()).isEqualTo(1);
+    try {
+      feed.hasNext();
+      fail();
+    } catch (JsonSyntaxException expected) {
+    }
+
+    feed = new JsonArrayFeed<>(gson, TypeToken.get(Integer.class));
+    feed.feed("[1] 2");
+    feed.endOfInput();
+    assertThat(feed.next()).isEqualTo(1);
+    try {
+      feed.hasNext();
+      fail();
+    } catch (JsonSyntaxException expected) {
+      assertThat(expected).hasMessageThat().isEqualTo("com.google.gson.stream.MalformedJsonException: "
+          + "Expected end of document at line 1 column 6 path $");
+    }
+  }
+}
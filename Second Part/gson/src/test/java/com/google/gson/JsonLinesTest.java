@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+import com.google.gson.reflect.TypeToken;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JsonLinesTest {
+  private ForkJoinPool pool;
+  private JsonLines jsonLines;
+
+  private static class Record {
+    int id;
+    String name;
+
+    Record(int id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+  }
+
+  @Before
+  public void setUp() {
+    pool = new ForkJoinPool(4);
+    jsonLines = new JsonLines(new GsonBuilder().setPrettyPrinting().create(), pool);
+  }
+
+  @After
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  private static <T> List<T> toList(Iterator<T> iterator) {
+    List<T> list = new ArrayList<>();
+    while (iterator.hasNext()) {
+      list.add(iterator.next());
+    }
+    return list;
+  }
+
+  @Test
+  public void testRoundTrip() {
+    List<Record> records = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      records.add(new Record(i, "name\n" + i));
+    }
+    StringWriter out = new StringWriter();
+    jsonLines.write(records.iterator(), TypeToken.get(Record.class), out);
+    String json = out.toString();
+    assertThat(json).startsWith("{\"id\":0,\"name\":\"name\\n0\"}\n{\"id\":1,");
+    assertThat(json).endsWith("{\"id\":9999,\"name\":\"name\\n9999\"}\n");
+
+    List<Record> read = toList(jsonLines.read(new StringReader(json), TypeToken.get(Record.class), true));
+    assertThat(read).hasSize(records.size());
+    for (int i = 0; i < read.size(); i++) {
+      assertThat(read.get(i).id).isEqualTo(i);
+      assertThat(read.get(i).name).isEqualTo("name\n" + i);
+    }
+
+    List<Integer> ids = new ArrayList<>();
+    for (Record record : toList(jsonLines.read(new StringReader(json), TypeToken.get(Record.class), false))) {
+      ids.add(record.id);
+    }
+    assertThat(ids).hasSize(records.size());
+    assertThat(new HashSet<>(ids)).hasSize(records.size());
+  }
+
+  @Test
+  public void testLinesLongerThanChunk() {
+    char[] chars = new char[200_000];
+    Arrays.fill(chars, 'a');
+    String longString = new String(chars);
+    String json = "\"a\"\n\"" + longString + "\"\n\"b\"";
+    assertThat(toList(jsonLines.read(new StringReader(json), TypeToken.get(String.class), true)))
+        .containsExactly("a", longString, "b").inOrder();
+  }
+
+  @Test
+  public void testBlankLines() {
+    String json = "\n1\r\n  \n\t2 \n\n";
+    assertThat(toList(jsonLines.read(new StringReader(json), TypeToken.get(Integer.class), true)))
+        .containsExactly(1, 2).inOrder();
+    Iterator<Integer> iterator = jsonLines.read(new StringReader(""), TypeToken.get(Integer.class), true);
+    assertThat(iterator.hasNext()).isFalse();
+    try {
+      iterator.next();
+      fail();
+    } catch (NoSuchElementException expected) {
+    }
+  }
+
+  @Test
+  public void testMalformedRecord() {
+    // The records are bound in chunks, so the error is reported before the preceding record is returned
+    Iterator<Integer> iterator = jsonLines.read(new StringReader("1\n\n2 3\n4"), TypeToken.get(Integer.class), true);
+    try {
+      iterator.next();
+      fail();
+    } catch (JsonSyntaxException expected) {
+      assertThat(expected).hasMessageThat().isEqualTo(
+          "Malformed record at line 3: JSON document was not fully consumed.");
+    }
+
+    iterator = jsonLines.read(new StringReader("[1,\n2]"), TypeToken.get(Integer.class), false);
+    try {
+      iterator.hasNext();
+      fail();
+    } catch (JsonSyntaxException expected) {
+      assertThat(expected).hasMessageThat().startsWith("Malformed record at line 1: ");
+    }
+  }
+}
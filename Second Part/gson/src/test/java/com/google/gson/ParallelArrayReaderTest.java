@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+import com.google.gson.reflect.TypeToken;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelArrayReaderTest {
+  private final Gson gson = new Gson();
+  private ForkJoinPool pool;
+  private ParallelArrayReader reader;
+
+  @Before
+  public void setUp() {
+    pool = new ForkJoinPool(4);
+    reader = new ParallelArrayReader(gson, pool);
+  }
+
+  @After
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Test
+  public void testLargeArray() {
+    StringBuilder json = new StringBuilder("[\n");
+    for (int i = 0; i < 20_000; i++) {
+      json.append(i == 0 ? "" : ",\n")
+          .append("{\"id\": ").append(i)
+          .append(", \"text\": \"a,b]}\\\"[{'").append(i)
+          .append("\", \"list\": [").append(i).append(", ").append(i + 1).append("]}");
+    }
+    json.append("\n]");
+    TypeToken<Map<String, Object>> elementType = new TypeToken<Map<String, Object>>() {};
+    List<Map<String, Object>> elements = reader.read(json.toString(), elementType);
+    List<Map<String, Object>> expected = gson.fromJson(json.toString(), new TypeToken<List<Map<String, Object>>>() {});
+    assertThat(elements).isEqualTo(expected);
+    assertThat(elements.get(19_999).get("text")).isEqualTo("a,b]}\"[{'19999");
+  }
+
+  /** Workers of the pool which call the reader must not wait for slices which never run. */
+  @Test
+  public void testFromTasksOfSamePool() throws Exception {
+    StringBuilder json = new StringBuilder("[");
+    for (int i = 0; i < 50_000; i++) {
+      json.append(i == 0 ? "" : ",").append(i);
+    }
+    final String array = json.append(']').toString();
+    for (int parallelism : new int[] {1, 4}) {
+      final ForkJoinPool pool = new ForkJoinPool(parallelism);
+      try {
+        final ParallelArrayReader reader = new ParallelArrayReader(gson, pool);
+        List<Future<List<Integer>>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+          results.add(pool.submit(new Callable<List<Integer>>() {
+            @Override public List<Integer> call() {
+              return reader.read(array, TypeToken.get(Integer.class));
+            }
+          }));
+        }
+        for (Future<List<Integer>> result : results) {
+          List<Integer> elements = result.get(30, TimeUnit.SECONDS);
+          assertThat(elements).hasSize(50_000);
+          assertThat(elements.get(49_999)).isEqualTo(49_999);
+        }
+      } finally {
+        pool.shutdown();
+      }
+    }
+  }
+
+  @Test
+  public void testSmallArrays() {
+    assertThat(reader.read("[]", TypeToken.get(Integer.class))).isEmpty();
+    assertThat(reader.read(" [ ] ", TypeToken.get(Integer.class))).isEmpty();
+    assertThat(reader.read("[1, 2]", TypeToken.get(Integer.class))).containsExactly(1, 2).inOrder();
+    assertThat(reader.read("null", TypeToken.get(Integer.class))).isNull();
+    assertThat(reader.read("", TypeToken.get(Integer.class))).isNull();
+
+    char[] chars = "xx[1]yy".toCharArray();
+    assertThat(reader.read(chars, 2, 3, TypeToken.get(Integer.class))).containsExactly(1);
+  }
+
+  @Test
+  public void testLenient() {
+    // Syntax which the scan does not handle is read sequentially
+    assertThat(reader.read("[1, /* , */ 2; 3]", TypeToken.get(Integer.class))).containsExactly(1, 2, 3).inOrder();
+    assertThat(reader.read("[1,,2]", TypeToken.get(Integer.class))).containsExactly(1, null, 2).inOrder();
+    assertThat(reader.read("[it's, b's]", TypeToken.get(String.class))).containsExactly("it's", "b's").inOrder();
+  }
+
+  @Test
+  public void testMalformed() {
+    StringBuilder json = new StringBuilder("[");
+    for (int i = 0; i < 10_000; i++) {
+      json.append(i).append(',');
+    }
+    json.append("true]");
+    try {
+      reader.read(json.toString(), TypeToken.get(Integer.class));
+      fail();
+    } catch (JsonSyntaxException expected) {
+      assertThat(expected).hasMessageThat().isEqualTo(
+          "java.lang.IllegalStateException: Expected an int but was BOOLEAN at line 1 column 48896 path $[10000]");
+    }
+
+    try {
+      reader.read("[1] 2", TypeToken.get(Integer.class));
+      fail();
+    } catch (JsonSyntaxException expected) {
+      assertThat(expected).hasMessageThat().isEqualTo("com.google.gson.stream.MalformedJsonException: "
+          + "Use JsonReader.setLenient(true) to accept malformed JSON at line 1 column 6 path $");
+    }
+  }
+
+  @Test
+  public void testScan() {
+    // Element count, followed by the positions of the brackets and commas
+    int[] separators = ParallelArrayReader.scan("[1, \"a,\\\"\", [2, 3]]".toCharArray(), 0, 19);
+    assertThat(Arrays.copyOf(separators, 5)).asList().containsExactly(3, 0, 2, 10, 18).inOrder();
+    assertThat(ParallelArrayReader.scan("{}".toCharArray(), 0, 2)).isNull();
+    assertThat(ParallelArrayReader.scan("[1".toCharArray(), 0, 2)).isNull();
+    assertThat(ParallelArrayReader.scan("[1}".toCharArray(), 0, 3)).isNull();
+    assertThat(ParallelArrayReader.scan("[1, ]".toCharArray(), 0, 5)).isNull();
+  }
+}
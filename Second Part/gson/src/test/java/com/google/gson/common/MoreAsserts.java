@@ -81,8 +81,8 @@ public class MoreAsserts {
     Set<String> requiredOverriddenMethods = new LinkedHashSet<>();
     for (Method method : baseClass.getDeclaredMethods()) {
       // Note: Do not filter out `final` methods; maybe they should not be `final` and subclass needs
-      // to override them
-      if (isProtectedOrPublic(method)) {
+      // to override them; static factory methods cannot be overridden
+      if (isProtectedOrPublic(method) && !Modifier.isStatic(method.getModifiers())) {
         requiredOverriddenMethods.add(getMethodSignature(method));
       }
     }
@@ -22,14 +22,22 @@ import static org.junit.Assert.fail;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonParseException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.LongSerializationPolicy;
+import com.google.gson.TypeAdapter;
 import com.google.gson.common.TestTypes.BagOfPrimitives;
 import com.google.gson.common.TestTypes.ClassWithObjects;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 /**
@@ -300,4 +308,125 @@ public class ArrayTest {
     };
     assertThat(new Gson().toJson(stringArrays)).isEqualTo("[[\"test1\",\"test2\"],[\"test3\",\"test4\"]]");
   }
+
+  @Test
+  public void testPrimitiveArrays() {
+    int[] ints = new int[100];
+    for (int i = 0; i < ints.length; i++) {
+      ints[i] = i * 31 - 1000;
+    }
+    String json = gson.toJson(ints);
+    assertThat(gson.fromJson(json, int[].class)).isEqualTo(ints);
+
+    long[] longs = {Long.MIN_VALUE, 0, Long.MAX_VALUE};
+    json = gson.toJson(longs);
+    assertThat(json).isEqualTo("[-9223372036854775808,0,9223372036854775807]");
+    assertThat(gson.fromJson(json, long[].class)).isEqualTo(longs);
+
+    double[] doubles = {1.5, -0.0, 1e300};
+    json = gson.toJson(doubles);
+    assertThat(json).isEqualTo("[1.5,-0.0,1.0E300]");
+    assertThat(gson.fromJson(json, double[].class)).isEqualTo(doubles);
+
+    float[] floats = {1.1f, -2.5f};
+    json = gson.toJson(floats);
+    assertThat(json).isEqualTo("[1.1,-2.5]");
+    assertThat(gson.fromJson(json, float[].class)).isEqualTo(floats);
+
+    short[] shorts = {Short.MIN_VALUE, 1, Short.MAX_VALUE};
+    json = gson.toJson(shorts);
+    assertThat(json).isEqualTo("[-32768,1,32767]");
+    assertThat(gson.fromJson(json, short[].class)).isEqualTo(shorts);
+
+    boolean[] booleans = {true, false};
+    json = gson.toJson(booleans);
+    assertThat(json).isEqualTo("[true,false]");
+    assertThat(gson.fromJson(json, boolean[].class)).isEqualTo(booleans);
+    // Strings are supported for compatibility with Gson 1.7
+    assertThat(gson.fromJson("[\"true\",\"yes\"]", boolean[].class)).isEqualTo(new boolean[] {true, false});
+  }
+
+  @Test
+  public void testPrimitiveArrayNullElement() {
+    try {
+      gson.fromJson("[1,null]", int[].class);
+      fail();
+    } catch (IllegalArgumentException expected) {
+      assertThat(expected).hasMessageThat().isEqualTo("null is not allowed as element of a primitive array; at path $[1]");
+    }
+  }
+
+  @Test
+  public void testPrimitiveArrayInvalidElement() {
+    try {
+      gson.fromJson("[1,2147483648]", int[].class);
+      fail();
+    } catch (JsonSyntaxException expected) {
+    }
+    try {
+      gson.fromJson("[1,65536]", short[].class);
+      fail();
+    } catch (JsonSyntaxException expected) {
+      assertThat(expected).hasMessageThat().isEqualTo("Lossy conversion from 65536 to short; at path $[1]");
+    }
+  }
+
+  @Test
+  public void testPrimitiveArraySpecialFloatingPointValues() {
+    try {
+      gson.toJson(new double[] {1, Double.NaN});
+      fail();
+    } catch (IllegalArgumentException expected) {
+      assertThat(expected).hasMessageThat().startsWith("NaN is not a valid double value as per JSON specification.");
+    }
+    try {
+      gson.toJson(new float[] {Float.POSITIVE_INFINITY});
+      fail();
+    } catch (IllegalArgumentException expected) {
+      assertThat(expected).hasMessageThat().startsWith("Infinity is not a valid double value as per JSON specification.");
+    }
+
+    Gson lenientGson = new GsonBuilder().serializeSpecialFloatingPointValues().create();
+    assertThat(lenientGson.toJson(new double[] {Double.NaN, 1})).isEqualTo("[NaN,1.0]");
+    assertThat(lenientGson.toJson(new float[] {Float.NEGATIVE_INFINITY})).isEqualTo("[-Infinity]");
+  }
+
+  @Test
+  public void testPrimitiveFloatArrayWriters() throws IOException {
+    float[] floats = {1.1f, -2.5f};
+    assertThat(gson.toJsonTree(floats).toString()).isEqualTo("[1.1,-2.5]");
+
+    // Subclasses might not implement JsonWriter.value(float) yet, so they get a Number
+    final List<Number> numbers = new ArrayList<>();
+    JsonWriter writer = new JsonWriter(new StringWriter()) {
+      @Override public JsonWriter value(float value) {
+        throw new AssertionError("not overridden by this subclass");
+      }
+      @Override public JsonWriter value(Number value) throws IOException {
+        numbers.add(value);
+        return super.value(value);
+      }
+    };
+    gson.toJson(floats, float[].class, writer);
+    assertThat(numbers).containsExactly(1.1f, -2.5f).inOrder();
+  }
+
+  @Test
+  public void testPrimitiveArrayCustomElementAdapter() {
+    Gson gson = new GsonBuilder().setLongSerializationPolicy(LongSerializationPolicy.STRING).create();
+    assertThat(gson.toJson(new long[] {1, 2})).isEqualTo("[\"1\",\"2\"]");
+    assertThat(gson.fromJson("[\"1\",2]", long[].class)).isEqualTo(new long[] {1, 2});
+
+    gson = new GsonBuilder().registerTypeAdapter(Integer.class, new TypeAdapter<Integer>() {
+      @Override public void write(JsonWriter out, Integer value) throws IOException {
+        out.value("int " + value);
+      }
+      @Override public Integer read(JsonReader in) throws IOException {
+        throw new AssertionError("not needed by this test");
+      }
+    }).create();
+    // Like other boxed values, elements are written with the adapter of their runtime type
+    assertThat(gson.toJson(new int[] {1})).isEqualTo("[\"int 1\"]");
+    assertThat(gson.fromJson("[1]", int[].class)).isEqualTo(new int[] {1});
+  }
 }
@@ -219,6 +219,19 @@ public class DefaultTypeAdaptersTest {
     assertThat(target.toString()).isEqualTo(uuidValue);
   }
 
+  @Test
+  public void testUuidDeserializationNonCanonical() {
+    UUID uuid = UUID.fromString("C237BEC1-19EF-4858-A98E-521CF0AAD4C0");
+    assertThat(gson.fromJson("'C237BEC1-19EF-4858-A98E-521CF0AAD4C0'", UUID.class)).isEqualTo(uuid);
+    assertThat(gson.fromJson("'1-2-3-4-5'", UUID.class)).isEqualTo(UUID.fromString("1-2-3-4-5"));
+    try {
+      gson.fromJson("'c237bec1-19ef-4858-a98e-521cf0aad4cx'", UUID.class);
+      fail();
+    } catch (JsonSyntaxException expected) {
+      assertThat(expected).hasMessageThat().startsWith("Failed parsing 'c237bec1-19ef-4858-a98e-521cf0aad4cx' as UUID");
+    }
+  }
+
   @Test
   public void testLocaleSerializationWithLanguage() {
     Locale target = new Locale("en");
@@ -192,6 +192,19 @@ public class EnumTest {
     assertThat(actualMap).isEqualTo(expectedMap);
   }
 
+  @Test
+  public void testEnumMapKeysUseToString() {
+    Map<CustomToString, Integer> map = Collections.singletonMap(CustomToString.A, 1);
+    Type type = new TypeToken<Map<CustomToString, Integer>>() {}.getType();
+    assertThat(gson.toJson(map, type)).isEqualTo("{\"test\":1}");
+
+    Map<Roshambo, Integer> subclassMap = new EnumMap<>(Roshambo.class);
+    subclassMap.put(Roshambo.ROCK, 1);
+    subclassMap.put(Roshambo.PAPER, 2);
+    assertThat(gson.toJson(subclassMap, new TypeToken<Map<Roshambo, Integer>>() {}.getType()))
+        .isEqualTo("{\"ROCK\":1,\"PAPER\":2}");
+  }
+
   private enum Roshambo {
     ROCK {
       @Override Roshambo defeats() {
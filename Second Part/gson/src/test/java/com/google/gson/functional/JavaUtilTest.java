@@ -17,8 +17,10 @@
 package com.google.gson.functional;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
 import java.util.Currency;
 import java.util.Properties;
 import org.junit.Before;
@@ -48,6 +50,19 @@ public class JavaUtilTest {
     assertThat(gson.toJson(target)).isEqualTo("{}");
   }
 
+  @Test
+  public void testCurrencyRepeated() {
+    Currency[] currencies = gson.fromJson("['EUR','USD','EUR','JPY','USD']", Currency[].class);
+    assertThat(currencies).asList().containsExactly(Currency.getInstance("EUR"), Currency.getInstance("USD"),
+        Currency.getInstance("EUR"), Currency.getInstance("JPY"), Currency.getInstance("USD")).inOrder();
+    try {
+      gson.fromJson("['usd']", Currency[].class);
+      fail();
+    } catch (JsonSyntaxException expected) {
+      assertThat(expected).hasMessageThat().startsWith("Failed parsing 'usd' as Currency");
+    }
+  }
+
   private static class CurrencyHolder {
     Currency value;
   }
@@ -28,6 +28,7 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
+import com.google.gson.JsonSyntaxException;
 import com.google.gson.common.TestTypes.ArrayOfObjects;
 import com.google.gson.common.TestTypes.BagOfPrimitiveWrappers;
 import com.google.gson.common.TestTypes.BagOfPrimitives;
@@ -145,6 +146,22 @@ public class ObjectTest {
     assertThat(target.transientLongValue != 1).isFalse();
   }
 
+  @Test
+  public void testUnknownFieldsMalformedContent() {
+    String json = "{\"unknown\":{\"a\":[1,{\"b\":2}]},\"longValue\":[1]}";
+    assertThat(gson.fromJson(json, ClassWithTransientFields.class).getExpectedJson())
+        .isEqualTo("{\"longValue\":[1]}");
+
+    // Skipped content must be well-formed as well; `fromJson` reads leniently
+    for (String unknown : new String[] {"[1 2]", "{\"a\" 1}", "{\"a\":}", "[1,{\"b\":2]"}) {
+      try {
+        gson.fromJson("{\"unknown\":" + unknown + ",\"longValue\":[1]}", ClassWithTransientFields.class);
+        fail(unknown);
+      } catch (JsonSyntaxException expected) {
+      }
+    }
+  }
+
   @Test
   public void testClassWithNoFieldsSerialization() {
     assertThat(gson.toJson(new ClassWithNoFields())).isEqualTo("{}");
@@ -24,8 +24,12 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.LongSerializationPolicy;
+import com.google.gson.TypeAdapter;
 import com.google.gson.internal.LazilyParsedNumber;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import java.io.Serializable;
 import java.io.StringReader;
 import java.math.BigDecimal;
@@ -1066,4 +1070,88 @@ public class PrimitiveTest {
     String json = "['true', 'false', 'TRUE', 'yes', '1']";
     assertThat(        gson.<List<Boolean>>fromJson(json, new TypeToken<List<Boolean>>() {}.getType())).isEqualTo(Arrays.asList(true, false, true, false, false));
   }
+
+  private static class PrimitiveFields {
+    int i = 1;
+    long l = 2;
+    double d = 3.5;
+  }
+
+  @Test
+  public void testPrimitiveFields() {
+    PrimitiveFields fields = new PrimitiveFields();
+    fields.i = Integer.MIN_VALUE;
+    fields.l = Long.MAX_VALUE;
+    fields.d = -0.25;
+    String json = gson.toJson(fields);
+    assertThat(json).isEqualTo("{\"i\":-2147483648,\"l\":9223372036854775807,\"d\":-0.25}");
+
+    PrimitiveFields actual = gson.fromJson(json, PrimitiveFields.class);
+    assertThat(actual.i).isEqualTo(Integer.MIN_VALUE);
+    assertThat(actual.l).isEqualTo(Long.MAX_VALUE);
+    assertThat(actual.d).isEqualTo(-0.25);
+  }
+
+  @Test
+  public void testPrimitiveFieldsNullKeepsDefault() {
+    PrimitiveFields actual = gson.fromJson("{\"i\":null,\"l\":null,\"d\":null}", PrimitiveFields.class);
+    assertThat(actual.i).isEqualTo(1);
+    assertThat(actual.l).isEqualTo(2);
+    assertThat(actual.d).isEqualTo(3.5);
+  }
+
+  @Test
+  public void testPrimitiveFieldsInvalidValue() {
+    try {
+      gson.fromJson("{\"i\":2147483648}", PrimitiveFields.class);
+      fail();
+    } catch (JsonSyntaxException expected) {
+    }
+    try {
+      gson.fromJson("{\"l\":1.5}", PrimitiveFields.class);
+      fail();
+    } catch (JsonSyntaxException expected) {
+    }
+  }
+
+  @Test
+  public void testPrimitiveFieldsSpecialFloatingPointValues() {
+    PrimitiveFields fields = new PrimitiveFields();
+    fields.d = Double.NaN;
+    try {
+      gson.toJson(fields);
+      fail();
+    } catch (IllegalArgumentException expected) {
+      assertThat(expected).hasMessageThat().startsWith("NaN is not a valid double value as per JSON specification.");
+    }
+
+    Gson lenientGson = new GsonBuilder().serializeSpecialFloatingPointValues().create();
+    assertThat(lenientGson.toJson(fields)).isEqualTo("{\"i\":1,\"l\":2,\"d\":NaN}");
+  }
+
+  @Test
+  public void testPrimitiveFieldsLongSerializationPolicy() {
+    Gson gson = new GsonBuilder().setLongSerializationPolicy(LongSerializationPolicy.STRING).create();
+    assertThat(gson.toJson(new PrimitiveFields())).isEqualTo("{\"i\":1,\"l\":\"2\",\"d\":3.5}");
+  }
+
+  @Test
+  public void testPrimitiveFieldsCustomAdapter() {
+    TypeAdapter<Integer> adapter = new TypeAdapter<Integer>() {
+      @Override public void write(JsonWriter out, Integer value) throws IOException {
+        out.value("int " + value);
+      }
+      @Override public Integer read(JsonReader in) throws IOException {
+        return Integer.parseInt(in.nextString().substring("int ".length()));
+      }
+    };
+    Gson gson = new GsonBuilder().registerTypeAdapter(int.class, adapter).create();
+    assertThat(gson.toJson(new PrimitiveFields())).isEqualTo("{\"i\":1,\"l\":2,\"d\":3.5}");
+    assertThat(gson.fromJson("{\"i\":\"int 5\"}", PrimitiveFields.class).i).isEqualTo(5);
+
+    // The runtime type of the written value is the boxed type
+    gson = new GsonBuilder().registerTypeAdapter(Integer.class, adapter).create();
+    assertThat(gson.toJson(new PrimitiveFields())).isEqualTo("{\"i\":\"int 1\",\"l\":2,\"d\":3.5}");
+    assertThat(gson.fromJson("{\"i\":5}", PrimitiveFields.class).i).isEqualTo(5);
+  }
 }
@@ -24,15 +24,27 @@ import com.google.gson.JsonStreamParser;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.common.TestTypes.BagOfPrimitives;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.MalformedJsonException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.CharArrayReader;
 import java.io.CharArrayWriter;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -58,6 +70,25 @@ public class ReadersWritersTest {
     assertThat(writer.toString()).isEqualTo(src.getExpectedJson());
   }
 
+  @Test
+  public void testOutputStreamForSerialization() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BagOfPrimitives src = new BagOfPrimitives(3, 4, true, "f\u00fcr \u20ac \ud83d\ude00");
+    gson.toJson(src, out);
+    assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(src.getExpectedJson());
+  }
+
+  @Test
+  public void testToJsonBytes() {
+    BagOfPrimitives src = new BagOfPrimitives(3, 4, true, "f\u00fcr \u20ac \ud83d\ude00");
+    assertThat(gson.toJsonBytes(src)).isEqualTo(src.getExpectedJson().getBytes(StandardCharsets.UTF_8));
+    assertThat(gson.toJsonBytes(null)).isEqualTo("null".getBytes(StandardCharsets.UTF_8));
+    List<String> list = Arrays.asList("a", null);
+    byte[] json = new GsonBuilder().serializeNulls().create()
+        .toJsonBytes(list, new TypeToken<List<String>>() {}.getType());
+    assertThat(new String(json, StandardCharsets.UTF_8)).isEqualTo("[\"a\",null]");
+  }
+
   @Test
   public void testReaderForDeserialization() {
     BagOfPrimitives expected = new BagOfPrimitives();
@@ -66,6 +97,53 @@ public class ReadersWritersTest {
     assertThat(actual).isEqualTo(expected);
   }
 
+  @Test
+  public void testInputStreamForDeserialization() {
+    BagOfPrimitives expected = new BagOfPrimitives(3, 4, true, "f\u00fcr \u20ac");
+    InputStream json = new ByteArrayInputStream(expected.getExpectedJson().getBytes(StandardCharsets.UTF_8));
+    BagOfPrimitives actual = gson.fromJson(json, BagOfPrimitives.class);
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  @Test
+  public void testBytesForDeserialization() {
+    byte[] json = "{\"a\":[1,2],\"\u00e4\":[3]}".getBytes(StandardCharsets.UTF_8);
+    Map<String, List<Integer>> actual = gson.fromJson(json, new TypeToken<Map<String, List<Integer>>>() {});
+    assertThat(actual).containsEntry("a", Arrays.asList(1, 2));
+    assertThat(actual).containsEntry("\u00e4", Arrays.asList(3));
+    assertThat(gson.fromJson((byte[]) null, String.class)).isNull();
+    assertThat(gson.fromJson(new byte[0], String.class)).isNull();
+  }
+
+  @Test
+  public void testByteBufferForDeserialization() {
+    ByteBuffer json = ByteBuffer.allocateDirect(16);
+    json.put("[\"\u00df\"]".getBytes(StandardCharsets.UTF_8));
+    json.flip();
+    String[] actual = gson.fromJson(json, String[].class);
+    assertThat(actual).isEqualTo(new String[] {"\u00df"});
+    assertThat(json.position()).isEqualTo(0);
+  }
+
+  @Test
+  public void testBytesWithTrailingDataThrowsJsonSyntaxException() {
+    try {
+      gson.fromJson("1 2".getBytes(StandardCharsets.UTF_8), Integer.class);
+      fail();
+    } catch (JsonSyntaxException expected) {
+    }
+  }
+
+  @Test
+  public void testMalformedUtf8ThrowsJsonSyntaxException() {
+    try {
+      gson.fromJson(new byte[] {'"', (byte) 0xc3, '"'}, String.class);
+      fail();
+    } catch (JsonSyntaxException expected) {
+      assertThat(expected.getMessage()).contains("Invalid UTF-8 continuation byte at byte offset 2");
+    }
+  }
+
   @Test
   public void testTopLevelNullObjectSerializationWithWriter() {
     StringWriter writer = new StringWriter();
@@ -184,11 +262,115 @@ public class ReadersWritersTest {
       }
     }
 
+    // Write more than the JsonWriter buffer holds, so that its chars are written in several blocks
+    List<Integer> numbers = new ArrayList<>();
+    StringBuilder expectedNumbers = new StringBuilder("[");
+    for (int i = 0; i < 500; i++) {
+      numbers.add(i);
+      expectedNumbers.append(i == 0 ? "" : ",").append(i);
+    }
+    expectedNumbers.append(']');
     CustomAppendable appendable = new CustomAppendable();
-    gson.toJson(Arrays.asList("test", 123, true), appendable);
+    gson.toJson(Arrays.asList("test", 123, true, numbers), appendable);
     // Make sure CharSequence.toString() was called at least two times to verify that
     // CurrentWrite.cachedString is properly overwritten when char array changes
     assertThat(appendable.toStringCallCount >= 2).isTrue();
-    assertThat(appendable.stringBuilder.toString()).isEqualTo("[\"test\",123,true]");
+    assertThat(appendable.stringBuilder.toString()).isEqualTo("[\"test\",123,true," + expectedNumbers + "]");
+  }
+
+  @Test
+  public void testFromJsonStream() {
+    Iterator<BagOfPrimitives> iterator = gson.fromJsonStream(new StringReader(
+        "[{\"longValue\":1}, {\"intValue\":2}]"), TypeToken.get(BagOfPrimitives.class));
+    assertThat(iterator.hasNext()).isTrue();
+    assertThat(iterator.next()).isEqualTo(new BagOfPrimitives(1, 0, false, ""));
+    assertThat(iterator.next()).isEqualTo(new BagOfPrimitives(0, 2, false, ""));
+    assertThat(iterator.hasNext()).isFalse();
+    try {
+      iterator.next();
+      fail();
+    } catch (NoSuchElementException expected) {
+    }
+
+    assertThat(gson.fromJsonStream(new StringReader(""), TypeToken.get(String.class)).hasNext()).isFalse();
+    assertThat(gson.fromJsonStream(new StringReader("null"), TypeToken.get(String.class)).hasNext()).isFalse();
+    assertThat(gson.fromJsonStream(new StringReader("[]"), TypeToken.get(String.class)).hasNext()).isFalse();
+  }
+
+  @Test
+  public void testFromJsonStreamIsLazy() {
+    // The elements before the malformed end are read successfully
+    Iterator<Integer> iterator = gson.fromJsonStream(new StringReader("[1, 2,"), TypeToken.get(Integer.class));
+    assertThat(iterator.next()).isEqualTo(1);
+    assertThat(iterator.next()).isEqualTo(2);
+    try {
+      iterator.hasNext();
+      fail();
+    } catch (JsonSyntaxException expected) {
+    }
+  }
+
+  @Test
+  public void testFromJsonStreamErrors() {
+    Iterator<Integer> iterator = gson.fromJsonStream(new StringReader("{}"), TypeToken.get(Integer.class));
+    try {
+      iterator.hasNext();
+      fail();
+    } catch (JsonSyntaxException expected) {
+      assertThat(expected).hasMessageThat().isEqualTo(
+          "java.lang.IllegalStateException: Expected BEGIN_ARRAY but was BEGIN_OBJECT at line 1 column 2 path $");
+    }
+
+    iterator = gson.fromJsonStream(new StringReader("[1] 2"), TypeToken.get(Integer.class));
+    assertThat(iterator.next()).isEqualTo(1);
+    try {
+      iterator.hasNext();
+      fail();
+    } catch (JsonSyntaxException expected) {
+      assertThat(expected).hasMessageThat().isEqualTo("JSON document was not fully consumed.");
+    }
+
+    iterator = gson.fromJsonStream(new StringReader("[\"a\"]"), TypeToken.get(Integer.class));
+    try {
+      iterator.next();
+      fail();
+    } catch (JsonSyntaxException expected) {
+    }
+  }
+
+  @Test
+  public void testFromJsonStreamJsonReader() throws IOException {
+    JsonReader reader = new JsonReader(new StringReader("[[1, 2], 'x']"));
+    reader.beginArray();
+    Iterator<Integer> iterator = gson.fromJsonStream(reader, TypeToken.get(Integer.class));
+    assertThat(iterator.next()).isEqualTo(1);
+    assertThat(iterator.next()).isEqualTo(2);
+    assertThat(iterator.hasNext()).isFalse();
+    // The reader is positioned after the nested array, and still strict
+    assertThat(reader.isLenient()).isFalse();
+    try {
+      reader.nextString();
+      fail();
+    } catch (MalformedJsonException expected) {
+    }
+  }
+
+  @Test
+  public void testFromJsonObjectStream() throws IOException {
+    Iterator<Map.Entry<String, List<Integer>>> iterator = gson.fromJsonObjectStream(
+        new StringReader("{\"a\": [1], \"b\": null, \"a\": []}"), new TypeToken<List<Integer>>() {});
+    List<String> entries = new ArrayList<>();
+    while (iterator.hasNext()) {
+      Map.Entry<String, List<Integer>> entry = iterator.next();
+      entries.add(entry.getKey() + "=" + entry.getValue());
+    }
+    assertThat(entries).containsExactly("a=[1]", "b=null", "a=[]").inOrder();
+
+    JsonReader reader = new JsonReader(new StringReader("[{\"x\": true}, 1]"));
+    reader.beginArray();
+    Iterator<Map.Entry<String, Boolean>> entryIterator = gson.fromJsonObjectStream(reader, TypeToken.get(Boolean.class));
+    assertThat(entryIterator.next()).isEqualTo(new AbstractMap.SimpleEntry<>("x", true));
+    assertThat(entryIterator.hasNext()).isFalse();
+    assertThat(reader.nextInt()).isEqualTo(1);
   }
 }
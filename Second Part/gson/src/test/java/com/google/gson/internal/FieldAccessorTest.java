@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Field;
+import org.junit.Test;
+
+public class FieldAccessorTest {
+  @SuppressWarnings("unused")
+  private static class Fields {
+    private static String staticField = "static";
+    private int primitive = 1;
+    private long longField = 2;
+    private double doubleField = 3.5;
+    private final String finalField = "final";
+    private Object object;
+  }
+
+  private static FieldAccessor accessor(String name, boolean accessible) throws NoSuchFieldException {
+    Field field = Fields.class.getDeclaredField(name);
+    if (accessible) {
+      field.setAccessible(true);
+    }
+    return FieldAccessor.forField(field);
+  }
+
+  @Test
+  public void testGetAndSet() throws Exception {
+    Fields fields = new Fields();
+    FieldAccessor primitive = accessor("primitive", true);
+    assertThat(primitive.get(fields)).isEqualTo(1);
+    primitive.set(fields, 2);
+    assertThat(fields.primitive).isEqualTo(2);
+
+    FieldAccessor object = accessor("object", true);
+    object.set(fields, "a");
+    assertThat(object.get(fields)).isEqualTo("a");
+    object.set(fields, null);
+    assertThat(object.get(fields)).isNull();
+  }
+
+  @Test
+  public void testPrimitiveGetAndSet() throws Exception {
+    Fields fields = new Fields();
+    FieldAccessor intAccessor = accessor("primitive", true);
+    assertThat(intAccessor.getInt(fields)).isEqualTo(1);
+    intAccessor.setInt(fields, Integer.MIN_VALUE);
+    assertThat(fields.primitive).isEqualTo(Integer.MIN_VALUE);
+
+    FieldAccessor longAccessor = accessor("longField", true);
+    assertThat(longAccessor.getLong(fields)).isEqualTo(2);
+    longAccessor.setLong(fields, Long.MAX_VALUE);
+    assertThat(fields.longField).isEqualTo(Long.MAX_VALUE);
+
+    FieldAccessor doubleAccessor = accessor("doubleField", true);
+    assertThat(doubleAccessor.getDouble(fields)).isEqualTo(3.5);
+    doubleAccessor.setDouble(fields, -0.25);
+    assertThat(fields.doubleField).isEqualTo(-0.25);
+  }
+
+  @Test
+  public void testFinalField() throws Exception {
+    Fields fields = new Fields();
+    FieldAccessor accessor = accessor("finalField", true);
+    assertThat(accessor.get(fields)).isEqualTo("final");
+    accessor.set(fields, "changed");
+    assertThat(accessor.get(fields)).isEqualTo("changed");
+  }
+
+  @Test
+  public void testStaticField() throws Exception {
+    FieldAccessor accessor = accessor("staticField", true);
+    assertThat(accessor.get(new Fields())).isEqualTo("static");
+    assertThat(accessor.get(null)).isEqualTo("static");
+  }
+
+  @Test
+  public void testWrongType() throws Exception {
+    FieldAccessor accessor = accessor("primitive", true);
+    try {
+      accessor.set(new Fields(), "a");
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  @Test
+  public void testNotAccessible() throws Exception {
+    FieldAccessor accessor = accessor("primitive", false);
+    try {
+      accessor.get(new Fields());
+      fail();
+    } catch (IllegalAccessException expected) {
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.gson.stream.JsonWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+public class Utf8WriterTest {
+  private static final String MIXED = "a\u00e9\u20ac\ud83d\ude00z";
+
+  @Test
+  public void testEncodeString() throws IOException {
+    Utf8Writer writer = new Utf8Writer(0);
+    writer.write(MIXED);
+    assertThat(writer.toByteArray()).isEqualTo(MIXED.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testEncodeChars() throws IOException {
+    Utf8Writer writer = new Utf8Writer(0);
+    char[] chars = ("x" + MIXED + "y").toCharArray();
+    writer.write(chars, 1, chars.length - 2);
+    writer.write('!');
+    writer.write('\u00e9');
+    assertThat(writer.toByteArray()).isEqualTo((MIXED + "!\u00e9").getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testSurrogatePairSplitAcrossWrites() throws IOException {
+    Utf8Writer writer = new Utf8Writer(0);
+    for (int i = 0; i < MIXED.length(); i++) {
+      writer.append(MIXED.charAt(i));
+    }
+    assertThat(writer.toByteArray()).isEqualTo(MIXED.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testUnpairedSurrogates() throws IOException {
+    Utf8Writer writer = new Utf8Writer(0);
+    writer.write("a\ud83db\ude00c\ud83d");
+    writer.close();
+    assertThat(new String(writer.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("a?b?c?");
+  }
+
+  @Test
+  public void testOutputStream() throws IOException {
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 5000; i++) {
+      expected.append(MIXED);
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Utf8Writer writer = new Utf8Writer(out);
+    writer.write(expected.toString());
+    assertThat(out.size()).isGreaterThan(0);
+    writer.flush();
+    assertThat(out.toByteArray()).isEqualTo(expected.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testJsonWriterToChannel() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    JsonWriter writer = JsonWriter.toUtf8(Channels.newChannel(out));
+    writer.beginObject();
+    writer.name("\u00e9").value(MIXED);
+    writer.endObject();
+    assertThat(out.size()).isEqualTo(0);
+    writer.close();
+    String expected = "{\"\u00e9\":\"" + MIXED + "\"}";
+    assertThat(out.toByteArray()).isEqualTo(expected.getBytes(StandardCharsets.UTF_8));
+  }
+}
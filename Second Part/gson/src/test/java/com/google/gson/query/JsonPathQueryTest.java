@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.query;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.internal.bind.JsonTreeReader;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class JsonPathQueryTest {
+  private static final String JSON = "{\"store\": {"
+      + "\"book\": ["
+      + "{\"title\": \"Sayings\", \"price\": 8.95, \"tags\": [\"a\", \"b\"]},"
+      + "{\"title\": \"Sword\", \"price\": 12.99, \"isbn\": \"0-553\"}],"
+      + "\"bicycle\": {\"color\": \"red\", \"price\": 19.95}},"
+      + "\"ignored\": [{\"price\": [1, 2, {\"deep\": true}]}],"
+      + "\"a.b\": 1}";
+
+  /** Returns the matches as "index=json" strings, in document order. */
+  private static List<String> evaluate(JsonReader reader, String... expressions) throws IOException {
+    final List<String> matches = new ArrayList<>();
+    JsonPathQuery.compile(expressions).evaluate(reader, new JsonPathQuery.MatchHandler() {
+      @Override public void onMatch(int expression, JsonReader in) throws IOException {
+        matches.add(expression + "=" + JsonParser.parseReader(in));
+      }
+    });
+    return matches;
+  }
+
+  private static List<String> evaluate(String json, String... expressions) throws IOException {
+    JsonReader reader = new JsonReader(new StringReader(json));
+    List<String> matches = evaluate(reader, expressions);
+    assertThat(reader.peek()).isEqualTo(JsonToken.END_DOCUMENT);
+
+    // The tree reader gives the same result
+    JsonElement tree = JsonParser.parseString(json);
+    assertThat(evaluate(new JsonTreeReader(tree), expressions)).isEqualTo(matches);
+    return matches;
+  }
+
+  @Test
+  public void testNamesAndIndices() throws IOException {
+    assertThat(evaluate(JSON, "$.store.bicycle.color", "$.store.book[1].title", "$['a.b']", "$.missing"))
+        .containsExactly("1=\"Sword\"", "0=\"red\"", "2=1").inOrder();
+  }
+
+  @Test
+  public void testRoot() throws IOException {
+    assertThat(evaluate("[1]", "$")).containsExactly("0=[1]");
+  }
+
+  @Test
+  public void testWildcards() throws IOException {
+    assertThat(evaluate(JSON, "$.store.book[*].title", "$.store.*.price"))
+        .containsExactly("0=\"Sayings\"", "0=\"Sword\"", "1=19.95").inOrder();
+  }
+
+  @Test
+  public void testRecursiveDescent() throws IOException {
+    assertThat(evaluate(JSON, "$..price")).containsExactly("0=8.95", "0=12.99", "0=19.95",
+        "0=[1,2,{\"deep\":true}]").inOrder();
+    assertThat(evaluate(JSON, "$.ignored..[2].deep", "$..tags[1]")).containsExactly("1=\"b\"", "0=true").inOrder();
+    assertThat(evaluate("{\"a\": {\"a\": {\"a\": 1}}}", "$..a.a"))
+        .containsExactly("0={\"a\":1}", "0=1").inOrder();
+  }
+
+  @Test
+  public void testOverlappingMatches() throws IOException {
+    assertThat(evaluate(JSON, "$.store.bicycle", "$.store.bicycle.color", "$.store.*"))
+        .containsExactly("2=" + JsonParser.parseString(JSON).getAsJsonObject().getAsJsonObject("store").get("book"),
+            "0={\"color\":\"red\",\"price\":19.95}", "2={\"color\":\"red\",\"price\":19.95}", "1=\"red\"")
+        .inOrder();
+  }
+
+  @Test
+  public void testReadFirst() throws IOException {
+    Gson gson = new Gson();
+    JsonPathQuery query = JsonPathQuery.compile("$..title", "$.store.bicycle.price", "$.store.book[0].tags", "$.none");
+    JsonReader reader = new JsonReader(new StringReader(JSON));
+    Object[] results = query.readFirst(reader, gson.getAdapter(String.class), gson.getAdapter(double.class),
+        gson.getAdapter(String[].class), gson.getAdapter(Object.class));
+    assertThat(results[0]).isEqualTo("Sayings");
+    assertThat(results[1]).isEqualTo(19.95);
+    assertThat((String[]) results[2]).asList().containsExactly("a", "b").inOrder();
+    assertThat(results[3]).isNull();
+
+    try {
+      query.readFirst(reader, new TypeAdapter<?>[0]);
+      fail();
+    } catch (IllegalArgumentException expected) {
+      assertThat(expected).hasMessageThat().isEqualTo("Expected 4 adapters but got 0");
+    }
+  }
+
+  @Test
+  public void testEvaluateNoValue() throws IOException {
+    JsonReader reader = new JsonReader(new StringReader("[]"));
+    reader.beginArray();
+    try {
+      evaluate(reader, "$");
+      fail();
+    } catch (IllegalStateException expected) {
+      assertThat(expected).hasMessageThat().isEqualTo("Expected a value but was END_ARRAY at path $[0]");
+    }
+  }
+
+  @Test
+  public void testInvalidExpressions() {
+    String[] invalid = {"", "a", "$a", "$.", "$..", "$.a.", "$[", "$[]", "$[a]", "$[-1]", "$[1", "$['a", "$['a'",
+        "$.[0]", "$[99999999999]"};
+    for (String expression : invalid) {
+      try {
+        JsonPathQuery.compile(expression);
+        fail(expression);
+      } catch (IllegalArgumentException expected) {
+        assertThat(expected).hasMessageThat().startsWith("Invalid path '" + expression + "'");
+      }
+    }
+  }
+
+  @Test
+  public void testToString() {
+    JsonPathQuery query = JsonPathQuery.compile("$.a", "$..b[0]");
+    assertThat(query.toString()).isEqualTo("[$.a, $..b[0]]");
+    assertThat(query.size()).isEqualTo(2);
+    assertThat(query.get(1)).isEqualTo("$..b[0]");
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.stream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import org.junit.Test;
+
+public final class JsonNameOptionsTest {
+  private static final JsonNameOptions OPTIONS = JsonNameOptions.of("id", "name", "\u00e9t\u00e9");
+
+  @Test
+  public void testOf() {
+    assertThat(OPTIONS.size()).isEqualTo(3);
+    assertThat(OPTIONS.get(1)).isEqualTo("name");
+    try {
+      JsonNameOptions.of("a", "b", "a");
+      fail();
+    } catch (IllegalArgumentException expected) {
+      assertThat(expected).hasMessageThat().isEqualTo("Duplicate name: a");
+    }
+  }
+
+  @Test
+  public void testIndexOf() {
+    assertThat(OPTIONS.indexOf("id")).isEqualTo(0);
+    assertThat(OPTIONS.indexOf(new StringBuilder("\u00e9t\u00e9"))).isEqualTo(2);
+    assertThat(OPTIONS.indexOf("ids")).isEqualTo(-1);
+    assertThat(OPTIONS.indexOf("")).isEqualTo(-1);
+  }
+
+  @Test
+  public void testSelectName() throws IOException {
+    JsonReader reader = new JsonReader(new StringReader(
+        "{\"name\":1,\"id\":2,\"\u00e9t\u00e9\":3,\"other\":4}"));
+    reader.beginObject();
+    assertThat(reader.selectName(OPTIONS, -1)).isEqualTo(1);
+    assertThat(reader.getPath()).isEqualTo("$.name");
+    assertThat(reader.nextInt()).isEqualTo(1);
+    // Wrong expectation falls back to the lookup
+    assertThat(reader.selectName(OPTIONS, 1)).isEqualTo(0);
+    assertThat(reader.nextInt()).isEqualTo(2);
+    assertThat(reader.selectName(OPTIONS, 2)).isEqualTo(2);
+    assertThat(reader.nextInt()).isEqualTo(3);
+    // Unknown names are not consumed
+    assertThat(reader.selectName(OPTIONS, 3)).isEqualTo(-1);
+    assertThat(reader.nextName()).isEqualTo("other");
+    assertThat(reader.nextInt()).isEqualTo(4);
+    reader.endObject();
+  }
+
+  @Test
+  public void testSelectNameNotMatched() throws IOException {
+    JsonReader reader = new JsonReader(new StringReader("{\"i\\u0064\":1,'id':2,id:3}"));
+    reader.setLenient(true);
+    reader.beginObject();
+    for (int i = 1; i <= 3; i++) {
+      assertThat(reader.selectName(OPTIONS, 0)).isEqualTo(-1);
+      assertThat(reader.nextName()).isEqualTo("id");
+      assertThat(reader.nextInt()).isEqualTo(i);
+    }
+    reader.endObject();
+  }
+
+  @Test
+  public void testSelectNameWrongToken() throws IOException {
+    JsonReader reader = new JsonReader(new StringReader("[1]"));
+    reader.beginArray();
+    try {
+      reader.selectName(OPTIONS, 0);
+      fail();
+    } catch (IllegalStateException expected) {
+      assertThat(expected).hasMessageThat().isEqualTo("Expected a name but was NUMBER at line 1 column 3 path $[0]");
+    }
+  }
+
+  /** Names which are split by the buffer boundary are loaded completely before matching. */
+  @Test
+  public void testSelectNameAcrossBufferBoundary() throws IOException {
+    char[] padding = new char[JsonReader.BUFFER_SIZE - 5];
+    Arrays.fill(padding, ' ');
+    JsonReader reader = new JsonReader(new StringReader("{" + new String(padding) + "\"name\":true}"));
+    reader.beginObject();
+    assertThat(reader.selectName(OPTIONS, -1)).isEqualTo(1);
+    assertThat(reader.nextBoolean()).isTrue();
+    reader.endObject();
+  }
+}
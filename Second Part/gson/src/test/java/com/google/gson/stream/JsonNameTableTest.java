@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.stream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.Test;
+
+public final class JsonNameTableTest {
+  @Test
+  public void testCapacity() {
+    assertThat(new JsonNameTable().getCapacity()).isEqualTo(1024);
+    assertThat(new JsonNameTable(1).getCapacity()).isEqualTo(1);
+    assertThat(new JsonNameTable(100).getCapacity()).isEqualTo(128);
+    assertThat(new JsonNameTable(128).getCapacity()).isEqualTo(128);
+    try {
+      new JsonNameTable(0);
+      fail();
+    } catch (IllegalArgumentException expected) {
+      assertThat(expected).hasMessageThat().isEqualTo("Invalid capacity: 0");
+    }
+  }
+
+  @Test
+  public void testRepeatedNamesAreSameInstance() throws IOException {
+    JsonNameTable nameTable = new JsonNameTable();
+    JsonReader reader = new JsonReader(new StringReader("[{\"a\":1,\"bc\":2},{\"a\":3,\"bc\":4}]"));
+    reader.setNameTable(nameTable);
+    reader.beginArray();
+    reader.beginObject();
+    String a = reader.nextName();
+    reader.skipValue();
+    String bc = reader.nextName();
+    reader.skipValue();
+    reader.endObject();
+    reader.beginObject();
+    assertThat(reader.nextName()).isSameInstanceAs(a);
+    reader.skipValue();
+    assertThat(reader.nextName()).isSameInstanceAs(bc);
+    assertThat(reader.getPath()).isEqualTo("$[1].bc");
+    reader.skipValue();
+    reader.endObject();
+    reader.endArray();
+    // The lookups are only counted by the table at the end of the document
+    assertThat(nameTable.getMissCount()).isEqualTo(0);
+    assertThat(reader.peek()).isEqualTo(JsonToken.END_DOCUMENT);
+
+    assertThat(a).isEqualTo("a");
+    assertThat(bc).isEqualTo("bc");
+    assertThat(nameTable.getMissCount()).isEqualTo(2);
+    assertThat(nameTable.getHitCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testSharedBetweenReaders() throws IOException {
+    JsonNameTable nameTable = new JsonNameTable();
+    String[] names = new String[2];
+    for (int i = 0; i < names.length; i++) {
+      JsonReader reader = new JsonReader(new StringReader("{'name':true}"));
+      reader.setLenient(true);
+      reader.setNameTable(nameTable);
+      reader.beginObject();
+      names[i] = reader.nextName();
+      reader.reset(new StringReader("{}"));
+    }
+    assertThat(names[1]).isSameInstanceAs(names[0]);
+    assertThat(nameTable.getMissCount()).isEqualTo(1);
+    assertThat(nameTable.getHitCount()).isEqualTo(1);
+  }
+
+  /** Names with escape sequences are not cached but must still be read correctly. */
+  @Test
+  public void testEscapedName() throws IOException {
+    JsonNameTable nameTable = new JsonNameTable();
+    JsonReader reader = new JsonReader(new StringReader("{\"a\\u0062\":1,\"ab\":2}"));
+    reader.setNameTable(nameTable);
+    reader.beginObject();
+    assertThat(reader.nextName()).isEqualTo("ab");
+    reader.skipValue();
+    assertThat(reader.nextName()).isEqualTo("ab");
+    reader.close();
+    assertThat(nameTable.getHitCount()).isEqualTo(0);
+    assertThat(nameTable.getMissCount()).isEqualTo(1);
+  }
+
+  /** Colliding names replace each other. */
+  @Test
+  public void testCollision() throws IOException {
+    JsonNameTable nameTable = new JsonNameTable(1);
+    JsonReader reader = new JsonReader(new StringReader("{\"a\":1,\"b\":2,\"b\":3}"));
+    reader.setNameTable(nameTable);
+    reader.beginObject();
+    assertThat(reader.nextName()).isEqualTo("a");
+    reader.skipValue();
+    assertThat(reader.nextName()).isEqualTo("b");
+    reader.skipValue();
+    assertThat(reader.nextName()).isEqualTo("b");
+    reader.close();
+    assertThat(nameTable.getMissCount()).isEqualTo(2);
+    assertThat(nameTable.getHitCount()).isEqualTo(1);
+  }
+
+  /** Names which are longer than the buffer are read without the table. */
+  @Test
+  public void testLongName() throws IOException {
+    StringBuilder name = new StringBuilder();
+    for (int i = 0; i < 3000; i++) {
+      name.append((char) ('a' + i % 26));
+    }
+    JsonNameTable nameTable = new JsonNameTable();
+    JsonReader reader = new JsonReader(new StringReader("{\"" + name + "\":1}"));
+    reader.setNameTable(nameTable);
+    reader.beginObject();
+    assertThat(reader.nextName()).isEqualTo(name.toString());
+    assertThat(reader.nextInt()).isEqualTo(1);
+    reader.endObject();
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.stream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import java.util.Random;
+import org.junit.Test;
+
+public class JsonNumbersTest {
+  private final char[] chars = new char[JsonNumbers.MAX_LENGTH];
+
+  @Test
+  public void testFormatLong() {
+    for (long value : new long[] {0, 7, -7, 10, 1234567890, Long.MAX_VALUE, Long.MIN_VALUE}) {
+      int length = JsonNumbers.formatLong(value, chars);
+      assertThat(new String(chars, 0, length)).isEqualTo(Long.toString(value));
+    }
+  }
+
+  @Test
+  public void testFormatDouble() {
+    assertFormatDouble(0.0, "0.0");
+    assertFormatDouble(-0.0, "-0.0");
+    assertFormatDouble(1.0, "1.0");
+    assertFormatDouble(-12.5, "-12.5");
+    assertFormatDouble(0.1, "0.1");
+    assertFormatDouble(0.001, "0.001");
+    assertFormatDouble(123.456, "123.456");
+    assertFormatDouble(9999999.0, "9999999.0");
+    assertFormatDouble(0.1 + 0.2, "0.30000000000000004");
+    assertFormatDouble(1e7, "1.0E7");
+    assertFormatDouble(9.99e-4, "9.99E-4");
+    assertFormatDouble(Math.PI, "3.141592653589793");
+  }
+
+  private void assertFormatDouble(double value, String expected) {
+    int length = JsonNumbers.formatDouble(value, chars);
+    String actual = length < 0 ? Double.toString(value) : new String(chars, 0, length);
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  @Test
+  public void testFormatDoubleMatchesToString() {
+    Random random = new Random(0);
+    for (int i = 0; i < 100000; i++) {
+      double value = i % 2 == 0
+          ? (random.nextInt(2000000) - 1000000) / Math.pow(10, random.nextInt(8))
+          : random.nextDouble() * Math.pow(10, random.nextInt(12) - 4);
+      int length = JsonNumbers.formatDouble(value, chars);
+      if (length >= 0) {
+        assertWithMessage("%s", value).that(new String(chars, 0, length))
+            .isEqualTo(Double.toString(value));
+      }
+    }
+  }
+
+  @Test
+  public void testFormatFloatMatchesToString() {
+    Random random = new Random(0);
+    for (int i = 0; i < 100000; i++) {
+      float value = i % 2 == 0
+          ? (float) ((random.nextInt(2000000) - 1000000) / Math.pow(10, random.nextInt(8)))
+          : Float.intBitsToFloat(random.nextInt());
+      int length = JsonNumbers.formatFloat(value, chars);
+      if (length >= 0) {
+        assertWithMessage("%s", value).that(new String(chars, 0, length))
+            .isEqualTo(Float.toString(value));
+      }
+    }
+    assertThat(JsonNumbers.formatFloat(-0.0f, chars)).isEqualTo(4);
+    assertThat(new String(chars, 0, 4)).isEqualTo("-0.0");
+  }
+
+  @Test
+  public void testParseDouble() {
+    assertParseDouble("0", 0.0);
+    assertParseDouble("-0", -0.0);
+    assertParseDouble("-0.0", -0.0);
+    assertParseDouble("1.5", 1.5);
+    assertParseDouble("0.1", 0.1);
+    assertParseDouble("-123.456e2", -12345.6);
+    assertParseDouble("1E22", 1e22);
+    assertParseDouble("1e-22", 1e-22);
+    assertParseDouble("1.7976931348623157E308", Double.NaN);
+    assertParseDouble("1e23", Double.NaN);
+    assertParseDouble("12345678901234567890", Double.NaN);
+    assertParseDouble("1e99999999999", Double.NaN);
+  }
+
+  private static void assertParseDouble(String number, double expected) {
+    double actual = JsonNumbers.parseDouble(("[" + number + "]").toCharArray(), 1, number.length());
+    assertThat(Double.doubleToRawLongBits(actual)).isEqualTo(Double.doubleToRawLongBits(expected));
+  }
+
+  @Test
+  public void testParseDoubleMatchesParseDouble() {
+    Random random = new Random(0);
+    for (int i = 0; i < 100000; i++) {
+      String number = random.nextInt(1000000) + "." + random.nextInt(100000)
+          + (i % 2 == 0 ? "" : "e" + (random.nextInt(40) - 20));
+      double value = JsonNumbers.parseDouble(number.toCharArray(), 0, number.length());
+      if (!Double.isNaN(value)) {
+        assertWithMessage(number).that(value).isEqualTo(Double.parseDouble(number));
+      }
+    }
+  }
+}
@@ -24,6 +24,7 @@ import com.google.gson.internal.Streams;
 import com.google.gson.internal.bind.JsonTreeReader;
 import java.io.IOException;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import org.junit.Test;
@@ -37,7 +38,9 @@ public class JsonReaderPathTest {
   public static List<Object[]> parameters() {
     return Arrays.asList(
         new Object[] { Factory.STRING_READER },
-        new Object[] { Factory.OBJECT_READER }
+        new Object[] { Factory.OBJECT_READER },
+        new Object[] { Factory.UTF8_BYTES },
+        new Object[] { Factory.CHAR_ARRAY }
     );
   }
 
@@ -198,7 +201,7 @@ public class JsonReaderPathTest {
   }
 
   @Test public void multipleTopLevelValuesInOneDocument() throws IOException {
-    assumeTrue(factory == Factory.STRING_READER);
+    assumeTrue(factory != Factory.OBJECT_READER);
 
     JsonReader reader = factory.create("[][]");
     reader.setLenient(true);
@@ -394,6 +397,43 @@ public class JsonReaderPathTest {
     assertThat(reader.getPath()).isEqualTo("$");
   }
 
+  @Test public void skipTo() throws IOException {
+    String json = "{\"meta\":{\"items\":[0]},\"data\":{\"count\":2,\"items\":[{\"a\":1},{\"a\":[5,6]}]},\"z\":1}";
+    JsonReader reader = factory.create(json);
+    assertThat(reader.skipTo("$.data.items[1].a")).isTrue();
+    assertThat(reader.getPath()).isEqualTo("$.data.items[1].a");
+    reader.beginArray();
+    assertThat(reader.nextInt()).isEqualTo(5);
+    assertThat(reader.nextInt()).isEqualTo(6);
+    reader.endArray();
+    reader.endObject();
+    reader.endArray();
+    reader.endObject();
+    assertThat(reader.nextName()).isEqualTo("z");
+
+    reader = factory.create(json);
+    assertThat(reader.skipTo("$")).isTrue();
+    assertThat(reader.peek()).isEqualTo(JsonToken.BEGIN_OBJECT);
+  }
+
+  @Test public void skipToMissing() throws IOException {
+    String json = "[{\"a\":[1,2]},3]";
+    for (String path : new String[] {"$[2]", "$[0].b", "$[0].a[2]", "$[1].a", "$.a", "$[0].a[0][0]"}) {
+      JsonReader reader = factory.create(json);
+      assertThat(reader.skipTo(path)).isFalse();
+      assertThat(reader.peek()).isEqualTo(JsonToken.END_DOCUMENT);
+      assertThat(reader.getPath()).isEqualTo("$");
+    }
+
+    // Relative to the next value
+    JsonReader reader = factory.create(json);
+    reader.beginArray();
+    assertThat(reader.skipTo("$.a[3]")).isFalse();
+    assertThat(reader.getPath()).isEqualTo("$[1]");
+    assertThat(reader.skipTo("$")).isTrue();
+    assertThat(reader.nextInt()).isEqualTo(3);
+  }
+
   public enum Factory {
     STRING_READER {
       @Override public JsonReader create(String data) {
@@ -405,6 +445,18 @@ public class JsonReaderPathTest {
         JsonElement element = Streams.parse(new JsonReader(new StringReader(data)));
         return new JsonTreeReader(element);
       }
+    },
+    UTF8_BYTES {
+      @Override public JsonReader create(String data) {
+        byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+        return JsonReader.fromUtf8(bytes, 0, bytes.length);
+      }
+    },
+    CHAR_ARRAY {
+      @Override public JsonReader create(String data) {
+        char[] chars = ("  " + data + "]").toCharArray();
+        return JsonReader.fromChars(chars, 2, data.length());
+      }
     };
 
     abstract JsonReader create(String data);
@@ -26,12 +26,15 @@ import static com.google.gson.stream.JsonToken.NULL;
 import static com.google.gson.stream.JsonToken.NUMBER;
 import static com.google.gson.stream.JsonToken.STRING;
 import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
 import static org.junit.Assert.fail;
 
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
 import java.util.Arrays;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -242,6 +245,193 @@ public final class JsonReaderTest {
     assertThat(reader.getPath()).isEqualTo("$");
   }
 
+  @Test
+  public void testSkipStructureLenient() throws IOException {
+    String skipped = "{\"a\": [1, \"]}\\\"[\", 'x}', {\"b\": null}],\n"
+        + " // comment ]\n"
+        + " /* comment } */ # comment ]\n"
+        + " c: a\"b, d: a'b, e: [[], {}], f: \"\u00e9\"}";
+    for (int bufferSize : new int[] {16, 1024}) {
+      JsonReader reader = new JsonReader(reader("[" + skipped + ", true]"), bufferSize);
+      reader.setLenient(true);
+      reader.beginArray();
+      reader.skipValue();
+      assertThat(reader.getPath()).isEqualTo("$[1]");
+      assertThat(reader.nextBoolean()).isTrue();
+      assertThat(reader.toString()).isEqualTo("JsonReader at line 4 column 44 path $[2]");
+      reader.endArray();
+    }
+  }
+
+  @Test
+  public void testSkipStructureLenientMalformed() throws IOException {
+    JsonReader reader = new JsonReader(reader("[{\"a\": [1}]"));
+    reader.setLenient(true);
+    reader.beginArray();
+    try {
+      reader.skipValue();
+      fail();
+    } catch (MalformedJsonException expected) {
+      assertThat(expected).hasMessageThat().startsWith("Unterminated array at line 1 column 11");
+    }
+
+    reader = new JsonReader(reader("[{\"a\": [\"]}]"));
+    reader.setLenient(true);
+    reader.beginArray();
+    try {
+      reader.skipValue();
+      fail();
+    } catch (MalformedJsonException expected) {
+      assertThat(expected).hasMessageThat().startsWith("Unterminated string");
+    }
+
+    reader = new JsonReader(reader("[{\"a\": [1]"));
+    reader.setLenient(true);
+    reader.beginArray();
+    try {
+      reader.skipValue();
+      fail();
+    } catch (EOFException expected) {
+      assertThat(expected).hasMessageThat().startsWith("End of input");
+    }
+  }
+
+  @Test
+  public void testSkipValueLenientDetectsMalformed() throws IOException {
+    JsonReader reader = new JsonReader(reader("[{\"a\": [1 2]}]"));
+    reader.setLenient(true);
+    reader.beginArray();
+    try {
+      reader.skipValue();
+      fail();
+    } catch (MalformedJsonException expected) {
+      assertThat(expected).hasMessageThat().startsWith("Unterminated array");
+    }
+  }
+
+  /**
+   * Skipping an array or object must accept and reject the same input as reading
+   * all of its tokens.
+   */
+  @Test
+  public void testSkipValueMatchesReadingTokens() throws IOException {
+    String[] values = {
+        "[]", "{}", "[1, -2.5e3, true, FALSE, null, \"a\\\"b\", {\"c\": [{}]}]",
+        "[1 2]", "[1,]", "[,1]", "[1;2]", "[1,,2]", "{\"a\" 1}", "{\"a\": 1 \"b\": 2}",
+        "{\"a\": 1,}", "{\"a\"=1}", "{\"a\"=>1}", "{\"a\": 1; \"b\": 2}", "{a: 1}", "{'a': 'b'}",
+        "{1: 2}", "{\"a\": }", "{\"a\": ]}", "{\"a\": ,}", "{,}", "[}", "{]", "[01]", "[1.]", "[-]",
+        "[1e]", "[.5]", "[+1]", "[tru]", "[truex]", "[true;]", "[nul]", "[abc]", "[a\"b]", "[a/b]",
+        "[1 /* comment */]", "[1 // comment\n]", "[1 # comment\n]", "[1 /* unterminated]", "[/]",
+        "[#]", "[=]", "[\\]", "[1] ", "[\"a]", "['a]", "[[[1]]", "{\"a\": {\"b\": [}}",
+    };
+    for (String value : values) {
+      for (boolean lenient : new boolean[] {false, true}) {
+        for (int bufferSize : new int[] {16, 1024}) {
+          // Followed by another element to detect where skipping stopped
+          String json = "[" + value + ", 1]";
+          String tokens = readTokensOutcome(json, lenient, bufferSize);
+          JsonReader reader = new JsonReader(reader(json), bufferSize);
+          reader.setLenient(lenient);
+          String skipped;
+          try {
+            reader.beginArray();
+            reader.skipValue();
+            skipped = reader.peek() + " " + reader;
+          } catch (IOException e) {
+            skipped = describe(e);
+          }
+          assertWithMessage(value + " lenient=" + lenient).that(skipped).isEqualTo(tokens);
+        }
+      }
+    }
+  }
+
+  /**
+   * Reads the first element of the array {@code json} token by token, and describes
+   * where the reader is afterwards, or the exception which was thrown.
+   */
+  private String readTokensOutcome(String json, boolean lenient, int bufferSize) {
+    JsonReader reader = new JsonReader(reader(json), bufferSize);
+    reader.setLenient(lenient);
+    try {
+      reader.beginArray();
+      int depth = 0;
+      do {
+        switch (reader.peek()) {
+          case BEGIN_ARRAY:
+            reader.beginArray();
+            depth++;
+            break;
+          case END_ARRAY:
+            reader.endArray();
+            depth--;
+            break;
+          case BEGIN_OBJECT:
+            reader.beginObject();
+            depth++;
+            break;
+          case END_OBJECT:
+            reader.endObject();
+            depth--;
+            break;
+          case NAME:
+            reader.nextName();
+            break;
+          case NULL:
+            reader.nextNull();
+            break;
+          case BOOLEAN:
+            reader.nextBoolean();
+            break;
+          default:
+            reader.nextString();
+            break;
+        }
+      } while (depth > 0);
+      return reader.peek() + " " + reader;
+    } catch (IOException e) {
+      return describe(e);
+    }
+  }
+
+  /** Describes {@code e} without the path, which skipValue() does not track within the value. */
+  private static String describe(IOException e) {
+    return e.getClass().getSimpleName() + ": " + e.getMessage().replaceAll(" path [^\n]*", "");
+  }
+
+  @Test
+  public void testSkipValueStrictDetectsMalformed() throws IOException {
+    JsonReader reader = new JsonReader(reader("[{\"a\": [1 2]}]"));
+    reader.beginArray();
+    try {
+      reader.skipValue();
+      fail();
+    } catch (MalformedJsonException expected) {
+      assertThat(expected).hasMessageThat().startsWith("Unterminated array");
+    }
+  }
+
+  @Test
+  public void testSkipToInvalid() throws IOException {
+    JsonReader reader = new JsonReader(reader("{\"a\": 1}"));
+    for (String path : new String[] {"", "a", "$a", "$.", "$..a", "$[", "$[]", "$[a]", "$[-1]", "$[12345678901]"}) {
+      try {
+        reader.skipTo(path);
+        fail(path);
+      } catch (IllegalArgumentException expected) {
+      }
+    }
+    // Nothing was consumed
+    assertThat(reader.skipTo("$.a")).isTrue();
+    assertThat(reader.nextInt()).isEqualTo(1);
+    try {
+      reader.skipTo("$");
+      fail();
+    } catch (IllegalStateException expected) {
+      assertThat(expected).hasMessageThat().isEqualTo("Expected a value but was END_OBJECT at line 1 column 9 path $.a");
+    }
+  }
+
   @Test
   public void testHelloWorld() throws IOException {
     String json = "{\n" +
@@ -1771,6 +1961,253 @@ public final class JsonReaderTest {
     reader.endArray();
   }
 
+  @Test
+  public void testLongStringsWithSmallBuffer() throws IOException {
+    StringBuilder expected = new StringBuilder();
+    StringBuilder json = new StringBuilder("[\"");
+    for (int i = 0; i < 100; i++) {
+      expected.append("ab\"\u00e9\n");
+      json.append("ab\\\"\\u00e9\\n");
+    }
+    json.append("\",\"\n\",12345678901234567890.5]");
+    // Read one char at a time, so that escape sequences are split across reads
+    JsonReader reader = new JsonReader(new Reader() {
+      private final StringReader delegate = new StringReader(json.toString());
+      @Override public int read(char[] buffer, int offset, int count) throws IOException {
+        return delegate.read(buffer, offset, Math.min(count, 1));
+      }
+      @Override public void close() {
+      }
+    }, 16);
+    reader.beginArray();
+    assertThat(reader.nextString()).isEqualTo(expected.toString());
+    assertThat(reader.nextString()).isEqualTo("\n");
+    assertThat(reader.nextString()).isEqualTo("12345678901234567890.5");
+    reader.endArray();
+    assertThat(reader.peek()).isEqualTo(JsonToken.END_DOCUMENT);
+  }
+
+  @Test
+  public void testSpecialCharsAtEveryOffset() throws IOException {
+    for (int i = 0; i < 40; i++) {
+      StringBuilder prefix = new StringBuilder();
+      for (int j = 0; j < i; j++) {
+        prefix.append((char) ('a' + j % 26));
+      }
+      for (String special : new String[] {"'", "\u00e9", "\\\"", "\\n", "\n"}) {
+        String value = prefix + special + prefix;
+        String expected = value.replace("\\\"", "\"").replace("\\n", "\n");
+        String json = "[\"" + value + "\",'" + value.replace("'", "\\'") + "',\"" + value + "\"," + prefix + "x]";
+        for (JsonReader reader : new JsonReader[] {
+            new JsonReader(reader(json), 16), JsonReader.fromChars(json)}) {
+          reader.setLenient(true);
+          reader.beginArray();
+          assertThat(reader.nextString()).isEqualTo(expected);
+          assertThat(reader.nextString()).isEqualTo(expected);
+          reader.skipValue();
+          assertThat(reader.nextString()).isEqualTo(prefix + "x");
+          reader.endArray();
+          assertThat(reader.peek()).isEqualTo(JsonToken.END_DOCUMENT);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testUnterminatedStringWithSmallBuffer() throws IOException {
+    JsonReader reader = new JsonReader(reader("[\"abcdefghijklmnopqrstuvwxyz\\"), 16);
+    reader.beginArray();
+    try {
+      reader.nextString();
+      fail();
+    } catch (MalformedJsonException expected) {
+      assertThat(expected).hasMessageThat().startsWith("Unterminated escape sequence");
+    }
+  }
+
+  @Test
+  public void testInvalidBufferSize() {
+    try {
+      new JsonReader(reader("[]"), 15);
+      fail();
+    } catch (IllegalArgumentException expected) {
+      assertThat(expected).hasMessageThat().isEqualTo("Invalid buffer size: 15");
+    }
+  }
+
+  @Test
+  public void testReset() throws IOException {
+    char[] stringChars = new char[1024 * 4];
+    Arrays.fill(stringChars, 'x');
+    String string = new String(stringChars);
+    JsonReader reader = new JsonReader(reader("{\"a\": [\"" + string + "\""), 16);
+    reader.setLenient(true);
+    reader.beginObject();
+    assertThat(reader.nextName()).isEqualTo("a");
+    reader.beginArray();
+    assertThat(reader.nextString()).isEqualTo(string);
+
+    reader.reset(reader("\n[true, 'b']"));
+    assertThat(reader.getPath()).isEqualTo("$");
+    reader.beginArray();
+    assertThat(reader.nextBoolean()).isTrue();
+    // Leniency is kept
+    assertThat(reader.nextString()).isEqualTo("b");
+    assertThat(reader.getPath()).isEqualTo("$[2]");
+    assertThat(reader.toString()).isEqualTo("JsonReader at line 2 column 11 path $[2]");
+    reader.endArray();
+    assertThat(reader.peek()).isEqualTo(JsonToken.END_DOCUMENT);
+
+    reader.close();
+    reader.reset(reader("1"));
+    assertThat(reader.nextInt()).isEqualTo(1);
+  }
+
+  @Test
+  public void testFromChars() throws IOException {
+    String json = "x{\"a\\u00e9\": [\"b\\\"c\", 1.5, true]}y";
+    char[] chars = json.toCharArray();
+    JsonReader reader = JsonReader.fromChars(chars, 1, json.length() - 2);
+    reader.beginObject();
+    assertThat(reader.nextName()).isEqualTo("a\u00e9");
+    reader.beginArray();
+    assertThat(reader.nextString()).isEqualTo("b\"c");
+    assertThat(reader.nextDouble()).isEqualTo(1.5);
+    assertThat(reader.nextBoolean()).isTrue();
+    reader.endArray();
+    reader.endObject();
+    assertThat(reader.peek()).isEqualTo(JsonToken.END_DOCUMENT);
+    // Escape sequences must not be decoded in place
+    assertThat(new String(chars)).isEqualTo(json);
+  }
+
+  @Test
+  public void testFromCharsInvalidRange() {
+    try {
+      JsonReader.fromChars(new char[4], 2, 3);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+      assertThat(expected).hasMessageThat().isEqualTo("offset 2, length 3, array length 4");
+    }
+  }
+
+  @Test
+  public void testFromCharSequence() throws IOException {
+    String json = "\ufeff[\"a\\nb\", \"c\"]";
+    CharBuffer buffer = CharBuffer.wrap(("x" + json).toCharArray());
+    buffer.position(1);
+    for (CharSequence chars : Arrays.<CharSequence>asList(json, new StringBuilder(json), buffer,
+        CharBuffer.wrap(json).asReadOnlyBuffer())) {
+      JsonReader reader = JsonReader.fromChars(chars);
+      reader.beginArray();
+      assertThat(reader.nextString()).isEqualTo("a\nb");
+      assertThat(reader.nextString()).isEqualTo("c");
+      reader.endArray();
+      assertThat(reader.toString()).isEqualTo("JsonReader at line 1 column 14 path $");
+    }
+    assertThat(buffer.position()).isEqualTo(1);
+    assertThat(buffer.toString()).isEqualTo(json);
+  }
+
+  @Test
+  public void testFromLargeCharSequence() throws IOException {
+    String value = new String(new char[JsonReader.MAX_COPY_LENGTH]).replace('\0', 'x');
+    String json = "[\"" + value + "\", 1]";
+    for (CharSequence chars : Arrays.<CharSequence>asList(json, new StringBuilder(json),
+        CharBuffer.wrap(json).asReadOnlyBuffer())) {
+      JsonReader reader = JsonReader.fromChars(chars);
+      reader.beginArray();
+      assertThat(reader.nextString()).isEqualTo(value);
+      assertThat(reader.nextInt()).isEqualTo(1);
+      reader.endArray();
+      assertThat(reader.peek()).isEqualTo(JsonToken.END_DOCUMENT);
+    }
+  }
+
+  @Test
+  public void testFromCharsUnterminated() throws IOException {
+    for (String json : Arrays.asList("[\"abc", "[\"a\\\"bc", "[\"a\\u00")) {
+      JsonReader reader = JsonReader.fromChars(json.toCharArray(), 0, json.length());
+      reader.beginArray();
+      try {
+        reader.nextString();
+        fail();
+      } catch (MalformedJsonException expected) {
+      }
+    }
+  }
+
+  @Test
+  public void testFromCharsReset() throws IOException {
+    char[] chars = "[1]".toCharArray();
+    JsonReader reader = JsonReader.fromChars(chars, 0, chars.length);
+    reader.beginArray();
+    reader.reset(reader("[\"" + new String(new char[2048]).replace('\0', 'x') + "\"]"));
+    reader.beginArray();
+    assertThat(reader.nextString()).hasLength(2048);
+    reader.endArray();
+    assertThat(new String(chars)).isEqualTo("[1]");
+  }
+
+  @Test
+  public void testNextStringView() throws IOException {
+    JsonReader reader = new JsonReader(reader("[\"a\\\"b\", 'c', 1.5e3, 12, d, \"\"]"));
+    reader.setLenient(true);
+    reader.beginArray();
+    assertThat(reader.nextStringView().toString()).isEqualTo("a\"b");
+    CharSequence view = reader.nextStringView();
+    assertThat(view.length()).isEqualTo(1);
+    assertThat(view.charAt(0)).isEqualTo('c');
+    assertThat("c".contentEquals(view)).isTrue();
+    try {
+      view.charAt(1);
+      fail();
+    } catch (IndexOutOfBoundsException expected) {
+    }
+    view = reader.nextStringView();
+    assertThat(view.subSequence(1, 3).toString()).isEqualTo(".5");
+    assertThat(view.toString()).isEqualTo("1.5e3");
+    assertThat(reader.nextStringView().toString()).isEqualTo("12");
+    assertThat(reader.nextStringView().toString()).isEqualTo("d");
+    assertThat(reader.getPath()).isEqualTo("$[5]");
+    assertThat(reader.nextStringView().length()).isEqualTo(0);
+    reader.endArray();
+  }
+
+  @Test
+  public void testNextStringViewFromChars() throws IOException {
+    char[] chars = "[\"a\\nb\",\"cd\"]".toCharArray();
+    JsonReader reader = JsonReader.fromChars(chars, 0, chars.length);
+    reader.beginArray();
+    assertThat(reader.nextStringView().toString()).isEqualTo("a\nb");
+    assertThat(reader.nextStringView().toString()).isEqualTo("cd");
+    reader.endArray();
+    assertThat(new String(chars)).isEqualTo("[\"a\\nb\",\"cd\"]");
+  }
+
+  @Test
+  public void testNextStringAppendable() throws IOException {
+    JsonReader reader = new JsonReader(reader("[\"a\\u00e9\", \"bc\", 3, \"d\", true]"));
+    reader.beginArray();
+    StringBuilder builder = new StringBuilder(">");
+    reader.nextString(builder);
+    assertThat(builder.toString()).isEqualTo(">a\u00e9");
+    CharBuffer buffer = CharBuffer.allocate(4);
+    reader.nextString(buffer);
+    reader.nextString(buffer);
+    buffer.flip();
+    assertThat(buffer.toString()).isEqualTo("bc3");
+    StringWriter writer = new StringWriter();
+    reader.nextString(writer);
+    assertThat(writer.toString()).isEqualTo("d");
+    try {
+      reader.nextString(builder);
+      fail();
+    } catch (IllegalStateException expected) {
+      assertThat(expected).hasMessageThat().startsWith("Expected a string but was BOOLEAN");
+    }
+  }
+
   @Test
   public void testVeryLongUnquotedString() throws IOException {
     char[] stringChars = new char[1024 * 16];
@@ -25,6 +25,8 @@ import java.io.IOException;
 import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
 import org.junit.Test;
 
 @SuppressWarnings("resource")
@@ -564,6 +566,73 @@ public final class JsonWriterTest {
     assertThat(stringWriter.toString()).isEqualTo("[\"\\u2028 \\u2029\"]");
   }
 
+  @Test
+  public void testLongStringsEscaped() throws IOException {
+    String[] pieces = {"abc", "\"", "\\", "\n", "\u0001", "<", "'", "\u00e9", "\u2028", "\u2029",
+        "\ud83d\ude00"};
+    Random random = new Random(0);
+    for (boolean htmlSafe : new boolean[] {false, true}) {
+      for (int length : new int[] {0, 1, 3, 4, 5, 1023, 1024, 1025, 5000}) {
+        StringBuilder value = new StringBuilder();
+        StringBuilder expected = new StringBuilder("\"");
+        for (int i = 0; value.length() < length; i++) {
+          String piece = i % 2 == 0 ? "a" : pieces[random.nextInt(pieces.length)];
+          value.append(piece);
+          expected.append(expectedEscape(piece, htmlSafe));
+        }
+        expected.append('"');
+        StringWriter stringWriter = new StringWriter();
+        JsonWriter jsonWriter = new JsonWriter(stringWriter);
+        jsonWriter.setHtmlSafe(htmlSafe);
+        jsonWriter.value(value.toString());
+        assertThat(stringWriter.toString()).isEqualTo(expected.toString());
+      }
+    }
+
+    char[] clean = new char[5000];
+    Arrays.fill(clean, 'x');
+    StringWriter stringWriter = new StringWriter();
+    JsonWriter jsonWriter = new JsonWriter(stringWriter);
+    jsonWriter.value("\n" + new String(clean) + "\n");
+    assertThat(stringWriter.toString()).isEqualTo("\"\\n" + new String(clean) + "\\n\"");
+  }
+
+  private static String expectedEscape(String piece, boolean htmlSafe) {
+    switch (piece) {
+      case "\"": return "\\\"";
+      case "\\": return "\\\\";
+      case "\n": return "\\n";
+      case "\u0001": return "\\u0001";
+      case "<": return htmlSafe ? "\\u003c" : "<";
+      case "'": return htmlSafe ? "\\u0027" : "'";
+      case "\u2028": return "\\u2028";
+      case "\u2029": return "\\u2029";
+      default: return piece;
+    }
+  }
+
+  @Test
+  public void testOutputBuffered() throws IOException {
+    StringWriter stringWriter = new StringWriter();
+    JsonWriter jsonWriter = new JsonWriter(stringWriter);
+    jsonWriter.beginArray();
+    jsonWriter.value(1);
+    assertThat(stringWriter.toString()).isEqualTo("");
+    jsonWriter.flush();
+    assertThat(stringWriter.toString()).isEqualTo("[1");
+
+    // Output which does not fit into the buffer is written right away
+    char[] chars = new char[JsonWriter.BUFFER_SIZE * 3];
+    Arrays.fill(chars, 'x');
+    String string = new String(chars);
+    jsonWriter.value(string);
+    assertThat(stringWriter.toString()).isEqualTo("[1,\"" + string);
+    jsonWriter.value(false);
+    // A complete top-level value is written without flush()
+    jsonWriter.endArray();
+    assertThat(stringWriter.toString()).isEqualTo("[1,\"" + string + "\",false]");
+  }
+
   @Test
   public void testEmptyArray() throws IOException {
     StringWriter stringWriter = new StringWriter();
@@ -663,6 +732,89 @@ public final class JsonWriterTest {
     assertThat(stringWriter.toString()).isEqualTo("{\"a\":true,\"a\":false}");
   }
 
+  @Test
+  public void testPreparedName() throws IOException {
+    PreparedName a = PreparedName.of("a<\"\u2028");
+    PreparedName b = PreparedName.of("b");
+    assertThat(a.getName()).isEqualTo("a<\"\u2028");
+    assertThat(a.toString()).isEqualTo("\"a<\\\"\\u2028\"");
+
+    StringWriter stringWriter = new StringWriter();
+    JsonWriter jsonWriter = new JsonWriter(stringWriter);
+    jsonWriter.setIndent("  ");
+    jsonWriter.beginObject();
+    jsonWriter.preparedName(a).preparedValue(b);
+    jsonWriter.preparedName(b).value(1);
+    jsonWriter.endObject();
+    jsonWriter.close();
+    assertThat(stringWriter.toString()).isEqualTo("{\n  \"a<\\\"\\u2028\": \"b\",\n  \"b\": 1\n}");
+
+    stringWriter = new StringWriter();
+    jsonWriter = new JsonWriter(stringWriter);
+    jsonWriter.setHtmlSafe(true);
+    jsonWriter.beginArray();
+    jsonWriter.preparedValue(a);
+    jsonWriter.preparedValue(null);
+    jsonWriter.endArray();
+    jsonWriter.close();
+    assertThat(stringWriter.toString()).isEqualTo("[\"a\\u003c\\\"\\u2028\",null]");
+  }
+
+  @Test
+  public void testPreparedNameWithoutSerializeNulls() throws IOException {
+    StringWriter stringWriter = new StringWriter();
+    JsonWriter jsonWriter = new JsonWriter(stringWriter);
+    jsonWriter.setSerializeNulls(false);
+    jsonWriter.beginObject();
+    jsonWriter.preparedName(PreparedName.of("a")).nullValue();
+    jsonWriter.name("b").value(true);
+    jsonWriter.endObject();
+    assertThat(stringWriter.toString()).isEqualTo("{\"b\":true}");
+  }
+
+  /** Subclasses see prepared names as regular names. */
+  @Test
+  public void testPreparedNameSubclass() throws IOException {
+    StringWriter stringWriter = new StringWriter();
+    JsonWriter jsonWriter = new JsonWriter(stringWriter) {
+      @Override public JsonWriter name(String name) throws IOException {
+        return super.name(name.toUpperCase(java.util.Locale.ROOT));
+      }
+    };
+    jsonWriter.beginObject();
+    jsonWriter.preparedName(PreparedName.of("a")).preparedValue(PreparedName.of("b"));
+    jsonWriter.endObject();
+    assertThat(stringWriter.toString()).isEqualTo("{\"A\":\"b\"}");
+  }
+
+  @Test
+  public void testReset() throws IOException {
+    StringWriter first = new StringWriter();
+    JsonWriter jsonWriter = new JsonWriter(first);
+    jsonWriter.setIndent(" ");
+    jsonWriter.setSerializeNulls(false);
+    jsonWriter.beginObject();
+    jsonWriter.name("a");
+
+    StringWriter second = new StringWriter();
+    jsonWriter.reset(second);
+    jsonWriter.beginObject();
+    jsonWriter.name("b").nullValue();
+    jsonWriter.name("c").value(1);
+    jsonWriter.endObject();
+    jsonWriter.close();
+    // The incomplete output for the first writer was still buffered
+    assertThat(first.toString()).isEqualTo("");
+    assertThat(second.toString()).isEqualTo("{\n \"c\": 1\n}");
+
+    // Closed writers can be reused as well
+    StringWriter third = new StringWriter();
+    jsonWriter.reset(third);
+    jsonWriter.value(true);
+    jsonWriter.close();
+    assertThat(third.toString()).isEqualTo("true");
+  }
+
   @Test
   public void testPrettyPrintObject() throws IOException {
     StringWriter stringWriter = new StringWriter();
@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.stream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class NonBlockingJsonReaderTest {
+  private static final String JSON = "\ufeff{\"a\": [1, -2.5e+3, 0, true, false, null, \"\"],\n"
+      + " \"b\\\"\\u00e9\\n\": {\"c\": \"x\\u0041\\/\u00e9\u4e2d\ud83d\ude00\"}, \"d\": {}, \"e\": [[]]}  ";
+
+  /** Returns the tokens of {@code json} as read by {@link JsonReader}. */
+  private static List<String> expectedTokens(String json) throws IOException {
+    JsonReader reader = new JsonReader(new StringReader(json));
+    List<String> tokens = new ArrayList<>();
+    while (true) {
+      JsonToken token = reader.peek();
+      switch (token) {
+        case BEGIN_ARRAY:
+          reader.beginArray();
+          tokens.add(token.toString());
+          break;
+        case END_ARRAY:
+          reader.endArray();
+          tokens.add(token.toString());
+          break;
+        case BEGIN_OBJECT:
+          reader.beginObject();
+          tokens.add(token.toString());
+          break;
+        case END_OBJECT:
+          reader.endObject();
+          tokens.add(token.toString());
+          break;
+        case NAME:
+          tokens.add(token + " " + reader.nextName());
+          break;
+        case STRING:
+        case NUMBER:
+          tokens.add(token + " " + reader.nextString());
+          break;
+        case BOOLEAN:
+          tokens.add(token + " " + reader.nextBoolean());
+          break;
+        case NULL:
+          reader.nextNull();
+          tokens.add(token.toString());
+          break;
+        case END_DOCUMENT:
+          tokens.add(token.toString());
+          return tokens;
+      }
+    }
+  }
+
+  /** Reads all tokens which are available, adding them to {@code tokens}. */
+  private static void readAvailable(NonBlockingJsonReader reader, List<String> tokens) throws IOException {
+    JsonToken token;
+    while ((token = reader.nextToken()) != null) {
+      switch (token) {
+        case NAME:
+        case STRING:
+        case NUMBER:
+        case BOOLEAN:
+          tokens.add(token + " " + reader.getString());
+          break;
+        default:
+          tokens.add(token.toString());
+          if (token == JsonToken.END_DOCUMENT) {
+            return;
+          }
+      }
+    }
+  }
+
+  @Test
+  public void testWholeInput() throws IOException {
+    NonBlockingJsonReader reader = new NonBlockingJsonReader();
+    reader.feed(JSON);
+    reader.endOfInput();
+    List<String> tokens = new ArrayList<>();
+    readAvailable(reader, tokens);
+    assertThat(tokens).isEqualTo(expectedTokens(JSON));
+    assertThat(reader.nextToken()).isEqualTo(JsonToken.END_DOCUMENT);
+  }
+
+  @Test
+  public void testByteByByte() throws IOException {
+    byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+    NonBlockingJsonReader reader = new NonBlockingJsonReader();
+    List<String> tokens = new ArrayList<>();
+    for (byte b : bytes) {
+      reader.feed(ByteBuffer.wrap(new byte[] {b}));
+      readAvailable(reader, tokens);
+    }
+    assertThat(tokens).doesNotContain(JsonToken.END_DOCUMENT.toString());
+    reader.endOfInput();
+    readAvailable(reader, tokens);
+    assertThat(tokens).isEqualTo(expectedTokens(JSON));
+  }
+
+  @Test
+  public void testCharByChar() throws IOException {
+    NonBlockingJsonReader reader = new NonBlockingJsonReader();
+    List<String> tokens = new ArrayList<>();
+    for (int i = 0; i < JSON.length(); i++) {
+      reader.feed(JSON.substring(i, i + 1));
+      readAvailable(reader, tokens);
+    }
+    reader.endOfInput();
+    readAvailable(reader, tokens);
+    assertThat(tokens).isEqualTo(expectedTokens(JSON));
+  }
+
+  @Test
+  public void testNeedMoreInput() throws IOException {
+    NonBlockingJsonReader reader = new NonBlockingJsonReader();
+    reader.feed("[12");
+    assertThat(reader.nextToken()).isEqualTo(JsonToken.BEGIN_ARRAY);
+    // The number may continue
+    assertThat(reader.nextToken()).isNull();
+    reader.feed("3, tr");
+    assertThat(reader.nextToken()).isEqualTo(JsonToken.NUMBER);
+    assertThat(reader.getString()).isEqualTo("123");
+    assertThat(reader.getPath()).isEqualTo("$[1]");
+    assertThat(reader.nextToken()).isNull();
+    reader.feed("ue]");
+    assertThat(reader.nextToken()).isEqualTo(JsonToken.BOOLEAN);
+    assertThat(reader.nextToken()).isEqualTo(JsonToken.END_ARRAY);
+    assertThat(reader.nextToken()).isNull();
+    reader.endOfInput();
+    assertThat(reader.nextToken()).isEqualTo(JsonToken.END_DOCUMENT);
+  }
+
+  @Test
+  public void testTopLevelNumber() throws IOException {
+    NonBlockingJsonReader reader = new NonBlockingJsonReader();
+    reader.feed("42");
+    assertThat(reader.nextToken()).isNull();
+    reader.endOfInput();
+    assertThat(reader.nextToken()).isEqualTo(JsonToken.NUMBER);
+    assertThat(reader.getString()).isEqualTo("42");
+    assertThat(reader.nextToken()).isEqualTo(JsonToken.END_DOCUMENT);
+  }
+
+  @Test
+  public void testFeedAfterEndOfInput() throws IOException {
+    NonBlockingJsonReader reader = new NonBlockingJsonReader();
+    reader.endOfInput();
+    try {
+      reader.feed("1");
+      fail();
+    } catch (IllegalStateException expected) {
+      assertThat(expected).hasMessageThat().isEqualTo("endOfInput() was called");
+    }
+  }
+
+  @Test
+  public void testIncompleteUtf8() throws IOException {
+    NonBlockingJsonReader reader = new NonBlockingJsonReader();
+    reader.feed(ByteBuffer.wrap(new byte[] {'"', (byte) 0xC3}));
+    try {
+      reader.endOfInput();
+      fail();
+    } catch (MalformedJsonException expected) {
+      assertThat(expected).hasMessageThat().startsWith("Incomplete UTF-8 sequence at end of input");
+    }
+
+    reader = new NonBlockingJsonReader();
+    try {
+      reader.feed(ByteBuffer.wrap(new byte[] {'"', (byte) 0xFF}));
+      fail();
+    } catch (MalformedJsonException expected) {
+      assertThat(expected).hasMessageThat().startsWith("Invalid UTF-8 input");
+    }
+  }
+
+  @Test
+  public void testEndOfInput() throws IOException {
+    assertEndOfInput("", "End of input at line 1 column 1 path $");
+    assertEndOfInput("[1, ", "End of input at line 1 column 5 path $[1]");
+    assertEndOfInput("{\"a\": ", "End of input at line 1 column 7 path $.a");
+  }
+
+  private static void assertEndOfInput(String json, String message) throws IOException {
+    NonBlockingJsonReader reader = new NonBlockingJsonReader();
+    reader.feed(json);
+    reader.endOfInput();
+    try {
+      while (true) {
+        reader.nextToken();
+      }
+    } catch (EOFException expected) {
+      assertThat(expected).hasMessageThat().isEqualTo(message);
+    }
+  }
+
+  @Test
+  public void testMalformed() throws IOException {
+    assertMalformed("[1 2]", "Unterminated array at line 1 column 5 path $[1]");
+    assertMalformed("{\"a\" 1}", "Expected ':' at line 1 column 7 path $.a");
+    assertMalformed("{1: 2}", "Expected name at line 1 column 3 path $.");
+    assertMalformed("[1,]", "Expected value at line 1 column 5 path $[1]");
+    assertMalformed("[01]", "Malformed number at line 1 column 2 path $[0]");
+    assertMalformed("[1.]", "Malformed number at line 1 column 2 path $[0]");
+    assertMalformed("[truex]", "Unexpected character at line 1 column 6 path $[0]");
+    assertMalformed("[nul]", "Unexpected value at line 1 column 3 path $[0]");
+    assertMalformed("['a']", "Unexpected character at line 1 column 3 path $[0]");
+    assertMalformed("[\"\\x\"]", "Invalid escape sequence at line 1 column 3 path $[0]");
+    assertMalformed("[\"\\u00g0\"]", "Malformed Unicode escape \\u00g0 at line 1 column 3 path $[0]");
+    assertMalformed("[\"abc", "Unterminated string at line 1 column 6 path $[0]");
+    assertMalformed("1 2", "Expected end of document at line 1 column 4 path $");
+  }
+
+  private static void assertMalformed(String json, String message) throws IOException {
+    NonBlockingJsonReader reader = new NonBlockingJsonReader();
+    reader.feed(json);
+    reader.endOfInput();
+    try {
+      while (reader.nextToken() != JsonToken.END_DOCUMENT) {
+      }
+      fail(json);
+    } catch (MalformedJsonException expected) {
+      assertThat(expected).hasMessageThat().isEqualTo(message);
+    }
+  }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.stream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Test;
+
+@SuppressWarnings("resource")
+public final class Utf8ReaderTest {
+  private static final String MIXED = "a\u00e9\u20ac\ud83d\ude00z";
+
+  @Test
+  public void testDecodeArray() throws IOException {
+    byte[] bytes = MIXED.getBytes(StandardCharsets.UTF_8);
+    assertThat(readAll(new Utf8Reader(bytes, 0, bytes.length), 64)).isEqualTo(MIXED);
+  }
+
+  @Test
+  public void testDecodeArrayRange() throws IOException {
+    byte[] bytes = ("xx" + MIXED + "yy").getBytes(StandardCharsets.UTF_8);
+    assertThat(readAll(new Utf8Reader(bytes, 2, bytes.length - 4), 64)).isEqualTo(MIXED);
+  }
+
+  @Test
+  public void testDecodeHeapBuffer() throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(("[" + MIXED + "]").getBytes(StandardCharsets.UTF_8));
+    buffer.position(1);
+    buffer.limit(buffer.limit() - 1);
+    assertThat(readAll(new Utf8Reader(buffer.slice()), 64)).isEqualTo(MIXED);
+    assertThat(buffer.position()).isEqualTo(1);
+  }
+
+  @Test
+  public void testDecodeDirectBuffer() throws IOException {
+    byte[] bytes = MIXED.getBytes(StandardCharsets.UTF_8);
+    ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+    buffer.put(bytes);
+    buffer.flip();
+    assertThat(readAll(new Utf8Reader(buffer), 64)).isEqualTo(MIXED);
+    assertThat(buffer.position()).isEqualTo(0);
+  }
+
+  /** Single char reads force surrogate pairs to be split across reads. */
+  @Test
+  public void testSurrogatePairSplitAcrossReads() throws IOException {
+    byte[] bytes = MIXED.getBytes(StandardCharsets.UTF_8);
+    assertThat(readAll(new Utf8Reader(bytes, 0, bytes.length), 1)).isEqualTo(MIXED);
+  }
+
+  /** A stream returning one byte per read splits every multi-byte sequence. */
+  @Test
+  public void testSequencesSplitAcrossStreamReads() throws IOException {
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 3000; i++) {
+      expected.append(MIXED);
+    }
+    InputStream in = new OneByteInputStream(expected.toString().getBytes(StandardCharsets.UTF_8));
+    assertThat(readAll(new Utf8Reader(in), 1000)).isEqualTo(expected.toString());
+  }
+
+  @Test
+  public void testMalformedInput() throws IOException {
+    assertMalformed(new byte[] {'a', (byte) 0x80}, "Invalid UTF-8 start byte 0x80 at byte offset 1");
+    assertMalformed(new byte[] {(byte) 0xc0, (byte) 0xaf}, "Invalid UTF-8 start byte 0xc0 at byte offset 0");
+    assertMalformed(new byte[] {(byte) 0xe0, (byte) 0x80, (byte) 0xaf}, "Invalid UTF-8 sequence at byte offset 0");
+    assertMalformed(new byte[] {(byte) 0xed, (byte) 0xa0, (byte) 0x80}, "Invalid UTF-8 sequence at byte offset 0");
+    assertMalformed(new byte[] {(byte) 0xf4, (byte) 0x90, (byte) 0x80, (byte) 0x80}, "Invalid UTF-8 sequence at byte offset 0");
+    assertMalformed(new byte[] {'a', 'b', (byte) 0xc3, 'c'}, "Invalid UTF-8 continuation byte at byte offset 3");
+    assertMalformed(new byte[] {'a', (byte) 0xe2, (byte) 0x82}, "Truncated UTF-8 sequence at byte offset 1");
+  }
+
+  @Test
+  public void testJsonReader() throws IOException {
+    byte[] bytes = "{\"na\u00efve\": [\"\u20ac\", 1.5, true]}".getBytes(StandardCharsets.UTF_8);
+    JsonReader reader = JsonReader.fromUtf8(new ByteArrayInputStream(bytes));
+    reader.beginObject();
+    assertThat(reader.nextName()).isEqualTo("na\u00efve");
+    reader.beginArray();
+    assertThat(reader.nextString()).isEqualTo("\u20ac");
+    assertThat(reader.nextDouble()).isEqualTo(1.5);
+    assertThat(reader.nextBoolean()).isTrue();
+    reader.endArray();
+    reader.endObject();
+    assertThat(reader.peek()).isEqualTo(JsonToken.END_DOCUMENT);
+  }
+
+  @Test
+  public void testJsonReaderByteOrderMark() throws IOException {
+    byte[] bytes = "\ufeff[1]".getBytes(StandardCharsets.UTF_8);
+    JsonReader reader = JsonReader.fromUtf8(bytes, 0, bytes.length);
+    reader.beginArray();
+    assertThat(reader.nextInt()).isEqualTo(1);
+    reader.endArray();
+  }
+
+  @Test
+  public void testJsonReaderMalformedInput() throws IOException {
+    JsonReader reader = JsonReader.fromUtf8(ByteBuffer.wrap(new byte[] {'[', '"', (byte) 0xff, '"', ']'}));
+    try {
+      reader.beginArray();
+      reader.nextString();
+      fail();
+    } catch (MalformedJsonException expected) {
+      assertThat(expected.getMessage()).isEqualTo("Invalid UTF-8 start byte 0xff at byte offset 2");
+    }
+  }
+
+  /** Small windows force sequences to be split across mapped regions. */
+  @Test
+  public void testJsonReaderMappedFile() throws IOException {
+    StringBuilder json = new StringBuilder("[");
+    for (int i = 0; i < 1000; i++) {
+      json.append(i == 0 ? "" : ",").append('"').append(MIXED).append(i).append('"');
+    }
+    json.append(']');
+    Path file = Files.createTempFile("gson", ".json");
+    try {
+      Files.write(file, json.toString().getBytes(StandardCharsets.UTF_8));
+      for (int windowSize : new int[] {4, 5, 7, 4096, Utf8Reader.MAP_WINDOW_SIZE}) {
+        JsonReader reader = JsonReader.fromUtf8File(file, windowSize);
+        reader.beginArray();
+        for (int i = 0; i < 1000; i++) {
+          assertThat(reader.nextString()).isEqualTo(MIXED + i);
+        }
+        reader.endArray();
+        assertThat(reader.peek()).isEqualTo(JsonToken.END_DOCUMENT);
+        reader.close();
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testJsonReaderMappedFileMalformed() throws IOException {
+    Path file = Files.createTempFile("gson", ".json");
+    try {
+      Files.write(file, new byte[] {'[', '"', 'a', 'b', (byte) 0xe2, (byte) 0x82, '"', ']'});
+      JsonReader reader = JsonReader.fromUtf8File(file, 4);
+      try {
+        reader.beginArray();
+        reader.nextString();
+        fail();
+      } catch (MalformedJsonException expected) {
+        assertThat(expected.getMessage()).isEqualTo("Invalid UTF-8 continuation byte at byte offset 6");
+      }
+      reader.close();
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  private static void assertMalformed(byte[] bytes, String message) throws IOException {
+    try {
+      readAll(new Utf8Reader(bytes, 0, bytes.length), 64);
+      fail();
+    } catch (MalformedJsonException expected) {
+      assertThat(expected.getMessage()).isEqualTo(message);
+    }
+  }
+
+  private static String readAll(Utf8Reader reader, int chunkSize) throws IOException {
+    StringBuilder result = new StringBuilder();
+    char[] buffer = new char[chunkSize];
+    int count;
+    while ((count = reader.read(buffer, 0, buffer.length)) != -1) {
+      result.append(buffer, 0, count);
+    }
+    return result.toString();
+  }
+
+  private static final class OneByteInputStream extends InputStream {
+    private final byte[] bytes;
+    private int pos;
+
+    OneByteInputStream(byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+    @Override public int read() {
+      return pos < bytes.length ? bytes[pos++] & 0xff : -1;
+    }
+
+    @Override public int read(byte[] b, int off, int len) {
+      if (pos == bytes.length) {
+        return -1;
+      }
+      b[off] = bytes[pos++];
+      return 1;
+    }
+  }
+}